@@ -0,0 +1,69 @@
+package graph;
+
+/**
+ * CheckLevel controls how much work checkRep methods do when verifying
+ * representation invariants.
+ * <br>
+ * <br>
+ * OFF skips invariant checking entirely. CHEAP only performs constant time checks,
+ * such as checking the edge or node that was just added to a structure.  FULL walks
+ * the entire structure every time the invariant is checked, which is useful when
+ * testing but costs O(V + E) per check on a graph.
+ * <br>
+ * <br>
+ * The level is global and can be changed at runtime with set().  The initial level
+ * is read from the "graph.checkLevel" system property (e.g. -Dgraph.checkLevel=FULL),
+ * and is CHEAP if the property is not present.
+ * @author Janelle Van Hofwegen
+ */
+public enum CheckLevel {
+	OFF, CHEAP, FULL;
+
+	private static final String PROPERTY = "graph.checkLevel";
+
+	private static volatile CheckLevel current = initialLevel();
+
+	/**
+	 * Returns the check level currently in effect
+	 * @return the check level currently in effect
+	 */
+	public static CheckLevel current(){
+		return current;
+	}
+
+	/**
+	 * Sets the check level used by all subsequent invariant checks
+	 * @param level : the new check level
+	 * @requires level != null
+	 * @throws IllegalArgumentException if level == null
+	 */
+	public static void set(CheckLevel level){
+		if(level == null){
+			throw new IllegalArgumentException("level cannot be null");
+		}
+		current = level;
+	}
+
+	/**
+	 * Returns whether checks at the given level should currently be performed.
+	 * For example, enabled(CHEAP) is true when the current level is CHEAP or FULL.
+	 * @param level : level of the check about to be performed
+	 * @return true if the current level is at least the given level
+	 */
+	public static boolean enabled(CheckLevel level){
+		return current.compareTo(level) >= 0;
+	}
+
+	// Reads the initial level from the system property, defaulting to CHEAP
+	private static CheckLevel initialLevel(){
+		String value = System.getProperty(PROPERTY);
+		if(value == null){
+			return CHEAP;
+		}
+		try {
+			return valueOf(value.trim().toUpperCase());
+		} catch (IllegalArgumentException e){
+			throw new IllegalArgumentException("Unknown " + PROPERTY + ": " + value);
+		}
+	}
+}
@@ -1,332 +1,1176 @@
-package graph;
-
-
-
-import java.util.*;
-
-/**
- * A DirectedGraph models relationships between nodes. The objects
- * in the graph are referred to as nodes and the relationships between
- * those nodes are called edges. Each edge connects two nodes.
- * <br>
- * <br>
- * The edges are directed (one-way). So e => (n1, n2) means that there is a path
- * from node n1 to n2. Node n1 is referred to as the source node, and n2 is 
- * referred to as the target node.
- * <br>
- * <br>
- * There can be any number of edges (zero, one, or more) between a pair of nodes.
- * <br>
- * <br>
- * Each edge also has a label.
- * <br>
- * <br>
- * Graph nodes are generic (N); you must specify the type of node to be used in the graph.
- * Edges used in the graph must implement the Edge interface.
- * <br>
- * <br>
- * DirectedGraph is technically a type of graph called a "directed labeled multi-graph",
- * which you can read more about at: http://en.wikipedia.org/wiki/Multigraph
- * @author Janelle Van Hofwegen
- *
- */
-
-/* Abstraction function:
- * Map<N, Set<Edge> nodes represents a graph of nodes and edges for
- * which the type of node of the graph is N, and the type of labels is L.
- *
- * Every key n in nodes.keySet() represents one unique node of the graph. 
- 
- * Every key n in nodes.keySet() maps to a set of Edges, which are the 
- * edges that belong to n (if no edges belong to n, the set is empty).
- * 
- * An edge belongs to n if  e = (n, some other node)
- *
- * Representation invariant:
- * nodes != null
- * For every key/node n in nodes, the associated value/set s != null
- * All edges contained in the graph are legal, meaning that The edge's 
- * target and source is a node within the graph (possibly the same node).
- * <br>
- * <br>
- * No duplicate nodes can exist. If n1.equals(n2), n1 and n2 cannot both exist in the graph.
- * <br>
- * No duplicate edges can exist. If e1.equals(e2), e1 and e2 cannot both exist in the graph.
- *
- */
-public class DirectedGraph<N> {
-	
-	private Map<N, Set<Edge>> nodes;
-	/**
-	 * Constructs an empty DirectedGraph with no nodes, no edges
-	 * @modifies this
-	 */
-	public DirectedGraph(){
-		nodes = new HashMap<N, Set<Edge>>();
-		checkRep();
-	}
-	
-	/**
-	 * Constructs a DirectedGraph containing the nodes within list nodes
-	 * @param nodes - list of nodes to be added to the graph
-	 * @requires nodes != null
-	 * @throws IllegalArgumentException if nodes == null
-	 * @modifies this
-	 */
-	public DirectedGraph(List<N> nodes){
-		this();
-		if(nodes == null){
-			throw new IllegalArgumentException();
-		}
-		for(N node: nodes){
-			this.nodes.put(node, new HashSet<Edge>());
-		}
-		checkRep();
-	}
-	
-	/**
-	 * Constructs a DirectedGraph containing the nodes within list nodes, and
-	 * all the Edges within list edges.
-	 * @param nodes - collection of nodes to be added to the graph
-	 * @param edges - collection of edges to be added to the graph
-	 * @requires all edges are legal
-	 * @modifies this
-	 */
-	public DirectedGraph(List<N> nodes, List<Edge> edges){
-		this(nodes);
-		for(Edge e: edges){
-			// check that each edge is legal for given list of nodes
-			if(!containsNode(e.getSource()) || !containsNode(e.getTarget())){
-				throw new IllegalArgumentException("Edge is not legal");
-			}
-			this.nodes.get(e.getSource()).add(e);
-		}
-		checkRep();
-	}
-	
-	/**
-	 * Returns a set of all nodes contained in the graph.
-	 * @return a set of all nodes in the graph.  Returns an empty set if no nodes
-	 * are contained in graph.
-	 */
-	public Set<N> nodeSet() {
-		return new HashSet<N>(nodes.keySet());
-	}
-	
-	/**
-	 * Adds the given node to the graph.  Does nothing if node already exists in graph.
-	 * @param node - node to be added to the graph
-	 * @requires node != null
-	 * @throws IllegalArgumentException if node == null
-	 * @modifies this
-	 */
-	public void addNode(N node) {
-		if(node == null){
-			throw new IllegalArgumentException("node cannot be null");
-		}
-		if(!containsNode(node)){
-			nodes.put(node, new HashSet<Edge>());
-		}
-		
-		//checkRep();
-	}
-	
-	/**
-	 * Removes the given node from the graph.  Does nothing if node does not
-	 * exist in graph.
-	 * @param node - node to be removed from the graph
-	 * @modifies this
-	 */
-	public void removeNode(N node){
-		nodes.remove(node);
-		//checkRep();
-	}
-	
-	/**
-	 * Returns whether the given node exists in the graph
-	 * @param node - node to be searched for in the graph
-	 * @return true if given node is present in the graph
-	 */
-	public boolean containsNode(Object node){
-		return nodes.containsKey(node);
-	}
-	
-	/**
-	 * Creates a new edge between given source node and target node, 
-	 * with given label, and adds this edge to the graph.
-	 * @param source - Source node (node edge is pointing from)
-	 * @param target - Target node (node edge is pointing at)
-	 * @param label - Label for newly created edge
-	 * @ requires source != null, target !=null, label != null
-	 * @ requires source node, target node are both present within graph
-	 * @throws IllegalArgumentException if any parameters are null
-	 * @throws IllegalArgumentException if the source and/or target
-	 * node is not present within the graph
-	 * @modifies this
-	 */
-	/* void addEdge(N source, N target, L label) {
-		if(source == null || target == null || label == null){
-			throw new IllegalArgumentException("parameter(s) cannot be null");
-		}
-		addEdge(new Edge<N, L>(source, target, label));
-	}*/
-	
-	/**
-	 * Adds given edge to graph.  Does nothing if edge already exists.
-	 * @param e Edge to be added to graph
-	 * @requires e != null
-	 * @ requires given edge is legal for the graph
-	 * @throws IllegalArgumentException if edge is null
-	 * @throws IllegalArgumentException edge is not legal.
-	 * @modifies this
-	 */
-	public void addEdge(Edge e) {
-		if(e == null){
-			throw new IllegalArgumentException("e cannot be null");
-		}
-		if(!containsNode(e.getSource()) || !containsNode(e.getTarget())){
-			throw new IllegalArgumentException("node not contained within graph");
-		}
-		nodes.get(e.getSource()).add(e);
-		//checkRep();
-	}
-		
-	/**
-	 * Removes the given Edge.  If given Edge is not present within graph,
-	 * this method has no effect on the graph.
-	 * @param e - Edge to be removed from the graph
-	 * @requires - E is an edge present within the graph.
-	 * @modifies this
-	 */
-	public void removeEdge(Edge e){
-		if(containsNode(e.getTarget())){
-			nodes.get(e.getSource()).remove(e);
-		}
-		//checkRep();
-	}
-	
-	/**
-	 * Returns whether the given Edge is contained in the graph.
-	 * @param e - Edge being searched for in the graph
-	 * @return true if the given Edge is contained in the graph
-	 * @requires e != null
-	 * @throws IllegalArgumentException if e == null
-	 */
-	public boolean containsEdge(Edge e) {
-		if(e == null){
-			throw new IllegalArgumentException();
-		}
-		//Not possible for the map to contain the edge if it is illegal
-		if(!nodes.containsKey(e.getTarget())){
-			return false;
-		} else{
-			for(N node : nodes.keySet()){
-				if(nodes.get(node).contains(e)){
-					return true; 
-				}
-			}
-			return false;
-		}
-	}
-	
-	/**
-	 * Returns a List of all edges whose source is node.  Therefore every Edge e in
-	 * the List follows the form e = (node, some other node)
-	 * @param node - the source node for which a set of edges is being returned
-	 * @return a Set of all edges whose source is node. Returned set is empty if the
-	 * node has no edges.
-	 * @requires node != null
-	 * @requires that node is contained within the method
-	 * @throws IllegalArgumentException if node == null
-	 * @throws IllegalArgumentException if node node is not contained within the graph
-	 */
-	public List<Edge> edgesOf(Object node) {
-		if(node == null || !containsNode(node)){
-			throw new IllegalArgumentException();
-		}
-		return new ArrayList<Edge>(nodes.get(node));
-	}
-	
-	/**
-	 * Finds and returns the shortest path (in terms of # of nodes visited)
-	 * to get from node a to node b. Returns this path as an ordered list
-	 * of edges that can be followed to get from a to b.
-	 * <br>
-	 * The first edge of the list is the starting edge.  It points from a to
-	 * the second node in the path. The last edge of the list is the ending edge.
-	 * It points from  the second to last node in the path to node b.
-	 * <br>
-	 * If node a and node b are not connected by any path, returns null.
-	 * @param a - the source node for which a set of edges is being returned
-	 * @return a List of edges representing the shortest (in terms of nodes visited)
-	 * @requires a != null, b != null
-	 * @requires that a and b are both contained within the graph
-	 * @throws IllegalArgumentException if a == null or b == null
-	 * @throws IllegalArgumentException if a and/or b is not in the graph
-	 */
-	public List<Edge> leastPaths(N a, N b) {
-		if(a == null || b == null){
-			throw new IllegalArgumentException("parameter(s) cannot be null");
-		}
-		if(!containsNode(a) || !containsNode(b)){
-			throw new IllegalArgumentException("node does not exist within graph");
-		}
-		// paths is a Map from from nodes to paths (node -> lists of Edges that form a path)
-		Map<Object, List<Edge>> paths = new HashMap<Object, List<Edge>>();
-		// visit is a queue to of nodes to visit
-		Queue<Object> visit = new LinkedList<Object>();;
-		// add initial node (first name)
-		visit.add(a);
-		// add first path to map paths (u to empty path)
-		paths.put(a, new ArrayList<Edge>());
-		// while there are still nodes to visit in the visit queue
-		while(!visit.isEmpty()){
-			// dequeue node
-			Object n = visit.remove();
-			// if node is last name, we've found the shortest path
-			if(n.equals(b)){
-				return paths.get(n);
-			} 
-			// get a set of all the edges for this node in order to explore them
-			List<Edge> edgeList = edgesOf(n);  
-			// explore all of this node's edges
-			for(Edge e: edgeList){
-
-				// Target of edge is not in map (hasn't been visited)
-				if(!paths.containsKey(e.getTarget())){
-					// target node hasn't been visited, so add to visit Queue
-					visit.add(e.getTarget()); 
-					// look up path of node n and create copy, newPath
-					List<Edge> newPath = new ArrayList<Edge>(paths.get(n));
-					// append current edge to newPath
-					newPath.add(e);
-					// add newPath to paths Map
-					paths.put(e.getTarget(), newPath);
-				} 
-			}
-		}
-		return null;
-	}
-	
-	// Throws a RuntimeException if the rep invariant is violated.
-	private void checkRep(){
-		assert nodes != null;
-		
-		// assert all values (sets of edges)are not equal to null
-		for(N node : nodes.keySet()){
-			assert nodes.get(node) != null;
-		}
-		
-		// assert all nodes have legal edges
-		for(N node : nodes.keySet()){
-			
-			// check that each of single node's edges are legal
-			for(Edge e: nodes.get(node)){
-				if(!nodes.containsKey(e.getTarget())){
-					throw new IllegalStateException("Edge is not legal: " +
-							"target node not in graph");
-				}
-			}
-		}
-	}
-}
\ No newline at end of file
+package graph;
+
+
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * A DirectedGraph models relationships between nodes. The objects
+ * in the graph are referred to as nodes and the relationships between
+ * those nodes are called edges. Each edge connects two nodes.
+ * <br>
+ * <br>
+ * The edges are directed (one-way). So e => (n1, n2) means that there is a path
+ * from node n1 to n2. Node n1 is referred to as the source node, and n2 is 
+ * referred to as the target node.
+ * <br>
+ * <br>
+ * There can be any number of edges (zero, one, or more) between a pair of nodes.
+ * <br>
+ * <br>
+ * Each edge also has a label.
+ * <br>
+ * <br>
+ * Graph nodes are generic (N); you must specify the type of node to be used in the graph.
+ * Edges used in the graph must implement the Edge interface.
+ * <br>
+ * <br>
+ * Large graphs are best created with a DirectedGraph.Builder, which sizes all of the
+ * graph's storage once and groups the edges in parallel.
+ * <br>
+ * <br>
+ * DirectedGraph is technically a type of graph called a "directed labeled multi-graph",
+ * which you can read more about at: http://en.wikipedia.org/wiki/Multigraph
+ * <br>
+ * <br>
+ * A graph can be created that shares reverse edges.  In such a graph, when both an
+ * edge and its reverse (see ReversibleEdge) are added, only one of them is stored, and
+ * that record is used for both directions.  The graph behaves exactly the same as
+ * one that stores both edges, but edges returned by edgesOf may be new objects
+ * (equal to the edges that were added) created from the shared record.
+ * @author Janelle Van Hofwegen
+ *
+ */
+
+/* Abstraction function:
+ * Map<N, Set<Edge> nodes represents a graph of nodes and edges for
+ * which the type of node of the graph is N, and the type of labels is L.
+ *
+ * Every key n in nodes.keySet() represents one unique node of the graph. 
+ 
+ * Every key n in nodes.keySet() maps to a set of Edges, which are the 
+ * edges that belong to n (if no edges belong to n, the set is empty).
+ * 
+ * An edge belongs to n if  e = (n, some other node)
+ * 
+ * between -> for each node n in between.keySet(), maps every node t to the list of
+ * edges from n to t (absent if there are none). Built the first time edgesBetween is
+ * called for n, and discarded when the edges of n change.
+ * 
+ * parent -> union-find forest over the nodes: two nodes are in the same weakly
+ * connected component (connected when edge directions are ignored) if and only if
+ * following parent from each of them reaches the same root.  Built when the graph
+ * is constructed and updated as nodes and edges are added; null when it has to be
+ * rebuilt after edges or nodes are removed.
+ * components -> number of trees in parent, when parent != null
+ * connected -> parent != null and components == 1, so that every two nodes are
+ *              weakly connected
+ * 
+ * nodesRemoved -> whether removeNode has been called, so edges may point at nodes
+ *                 that were removed and might be added again
+ * snapshot -> numbered, array based copy of the graph used by parallel searches, or
+ *             null if the graph has changed since it was last made
+ * analysis -> strongly connected components and degrees of the graph, or null if
+ * the graph has changed since they were last computed.  Computed when the graph is
+ * constructed with edges, and again by the first mayReach or analysis() after a
+ * change.
+ * 
+ * If shareReverseEdges is true, an edge e and its reverse may be represented by a
+ * single record r (equal to one of them) which is in the sets of both r's source and
+ * r's target. A record r in the set of n with r.getSource() != n stands for the
+ * edge r.reverse(), which belongs to n.
+ *
+ * Representation invariant:
+ * nodes != null
+ * For every key/node n in nodes, the associated value/set s != null
+ * All edges contained in the graph are legal, meaning that The edge's 
+ * target and source is a node within the graph (possibly the same node).
+ * <br>
+ * <br>
+ * No duplicate nodes can exist. If n1.equals(n2), n1 and n2 cannot both exist in the graph.
+ * <br>
+ * No duplicate edges can exist. If e1.equals(e2), e1 and e2 cannot both exist in the graph.
+ * <br>
+ * If shareReverseEdges is false, every edge is in the set of its source only.
+ * If shareReverseEdges is true, every edge r in the set of n has r.getSource() == n or
+ * r.getTarget() == n, and r is in the set of its target (as well as its source) only if
+ * r is a ReversibleEdge standing for both r and r.reverse().
+ *
+ * How much of the invariant is verified is controlled by CheckLevel: mutators
+ * check the node or edge they touched (CHEAP), and only FULL walks the whole graph.
+ */
+public class DirectedGraph<N> {
+	
+	// load factor of the edge sets, used to size them for bulk additions
+	private static final float LOAD_FACTOR = 0.75f;
+	
+	private Map<N, Set<Edge>> nodes;
+	private final boolean shareReverseEdges;
+	private final Map<Object, Map<Object, List<Edge>>> between;
+	// guards parent and the caches below it, which are updated by queries.  The
+	// volatile fields are read without the lock when they are already known.
+	private final Object componentLock = new Object();
+	private Map<Object, Object> parent;
+	private int components;
+	private volatile boolean connected;
+	private boolean nodesRemoved;
+	private volatile GraphAnalysis<N> analysis;
+	private volatile IntGraph<N> snapshot;
+	/**
+	 * Constructs an empty DirectedGraph with no nodes, no edges
+	 * @modifies this
+	 */
+	public DirectedGraph(){
+		this(false);
+	}
+	
+	/**
+	 * Constructs an empty DirectedGraph with no nodes, no edges
+	 * @param shareReverseEdges - true to store an edge and its reverse as a single
+	 * record when both are added (see the class description)
+	 * @modifies this
+	 */
+	public DirectedGraph(boolean shareReverseEdges){
+		this.shareReverseEdges = shareReverseEdges;
+		nodes = new HashMap<N, Set<Edge>>();
+		between = new HashMap<Object, Map<Object, List<Edge>>>();
+		parent = new HashMap<Object, Object>();
+		checkRep();
+	}
+	
+	// Constructs a DirectedGraph using the given, already filled, node map, whose
+	// weakly connected components are given by parent
+	private DirectedGraph(Map<N, Set<Edge>> nodes, boolean shareReverseEdges,
+			Map<Object, Object> parent, int components){
+		this.shareReverseEdges = shareReverseEdges;
+		this.nodes = nodes;
+		between = new HashMap<Object, Map<Object, List<Edge>>>();
+		this.parent = parent;
+		this.components = components;
+		connected = components == 1;
+		analysis = new GraphAnalysis<N>(this);
+		checkRep();
+	}
+	
+	/**
+	 * Constructs a DirectedGraph containing the nodes within list nodes
+	 * @param nodes - list of nodes to be added to the graph
+	 * @requires nodes != null
+	 * @throws IllegalArgumentException if nodes == null
+	 * @modifies this
+	 */
+	public DirectedGraph(List<N> nodes){
+		this(nodes, false);
+	}
+	
+	/**
+	 * Constructs a DirectedGraph containing the nodes within list nodes
+	 * @param nodes - list of nodes to be added to the graph
+	 * @param shareReverseEdges - true to store an edge and its reverse as a single
+	 * record when both are added (see the class description)
+	 * @requires nodes != null
+	 * @throws IllegalArgumentException if nodes == null
+	 * @modifies this
+	 */
+	public DirectedGraph(List<N> nodes, boolean shareReverseEdges){
+		this(shareReverseEdges);
+		if(nodes == null){
+			throw new IllegalArgumentException();
+		}
+		for(N node: nodes){
+			this.nodes.put(node, new HashSet<Edge>());
+		}
+		labelComponents();
+		checkRep();
+	}
+	
+	/**
+	 * Constructs a DirectedGraph containing the nodes within list nodes, and
+	 * all the Edges within list edges.
+	 * @param nodes - collection of nodes to be added to the graph
+	 * @param edges - collection of edges to be added to the graph
+	 * @requires all edges are legal
+	 * @modifies this
+	 */
+	public DirectedGraph(List<N> nodes, List<Edge> edges){
+		this(nodes, edges, false);
+	}
+	
+	/**
+	 * Constructs a DirectedGraph containing the nodes within list nodes, and
+	 * all the Edges within list edges.
+	 * @param nodes - collection of nodes to be added to the graph
+	 * @param edges - collection of edges to be added to the graph
+	 * @param shareReverseEdges - true to store an edge and its reverse as a single
+	 * record when both are in edges (see the class description)
+	 * @requires all edges are legal
+	 * @modifies this
+	 */
+	public DirectedGraph(List<N> nodes, List<Edge> edges, boolean shareReverseEdges){
+		this(nodes, shareReverseEdges);
+		addEdges(edges);
+		analysis = new GraphAnalysis<N>(this);
+	}
+	
+	/**
+	 * Returns whether this graph stores an edge and its reverse as a single record
+	 * @return true if this graph was created to share reverse edges
+	 */
+	public boolean sharesReverseEdges(){
+		return shareReverseEdges;
+	}
+	
+	/**
+	 * Returns a set of all nodes contained in the graph.
+	 * @return a set of all nodes in the graph.  Returns an empty set if no nodes
+	 * are contained in graph.
+	 */
+	public Set<N> nodeSet() {
+		return new HashSet<N>(nodes.keySet());
+	}
+	
+	/**
+	 * Adds the given node to the graph.  Does nothing if node already exists in graph.
+	 * @param node - node to be added to the graph
+	 * @requires node != null
+	 * @throws IllegalArgumentException if node == null
+	 * @modifies this
+	 */
+	public void addNode(N node) {
+		if(node == null){
+			throw new IllegalArgumentException("node cannot be null");
+		}
+		if(!containsNode(node)){
+			nodes.put(node, new HashSet<Edge>());
+			synchronized(componentLock){
+				analysis = null;
+				snapshot = null;
+				if(parent != null && !nodesRemoved){
+					parent.put(node, node);
+					components++;
+				} else {
+					// node may be the target of edges left behind when it was removed
+					parent = null;
+				}
+				connected = parent != null && components == 1;
+			}
+		}
+		checkNode(node);
+		checkRep();
+	}
+	
+	/**
+	 * Removes the given node from the graph.  Does nothing if node does not
+	 * exist in graph.
+	 * @param node - node to be removed from the graph
+	 * @modifies this
+	 */
+	public void removeNode(N node){
+		nodes.remove(node);
+		unindex(node);
+		synchronized(componentLock){
+			nodesRemoved = true;
+			parent = null;
+			connected = false;
+			analysis = null;
+			snapshot = null;
+		}
+		//checkRep();
+	}
+	
+	/**
+	 * Returns whether the given node exists in the graph
+	 * @param node - node to be searched for in the graph
+	 * @return true if given node is present in the graph
+	 */
+	public boolean containsNode(Object node){
+		return nodes.containsKey(node);
+	}
+	
+	/**
+	 * Creates a new edge between given source node and target node, 
+	 * with given label, and adds this edge to the graph.
+	 * @param source - Source node (node edge is pointing from)
+	 * @param target - Target node (node edge is pointing at)
+	 * @param label - Label for newly created edge
+	 * @ requires source != null, target !=null, label != null
+	 * @ requires source node, target node are both present within graph
+	 * @throws IllegalArgumentException if any parameters are null
+	 * @throws IllegalArgumentException if the source and/or target
+	 * node is not present within the graph
+	 * @modifies this
+	 */
+	/* void addEdge(N source, N target, L label) {
+		if(source == null || target == null || label == null){
+			throw new IllegalArgumentException("parameter(s) cannot be null");
+		}
+		addEdge(new Edge<N, L>(source, target, label));
+	}*/
+	
+	/**
+	 * Adds given edge to graph.  Does nothing if edge already exists.
+	 * @param e Edge to be added to graph
+	 * @requires e != null
+	 * @ requires given edge is legal for the graph
+	 * @throws IllegalArgumentException if edge is null
+	 * @throws IllegalArgumentException edge is not legal.
+	 * @modifies this
+	 */
+	public void addEdge(Edge e) {
+		if(e == null){
+			throw new IllegalArgumentException("e cannot be null");
+		}
+		if(!containsNode(e.getSource()) || !containsNode(e.getTarget())){
+			throw new IllegalArgumentException("node not contained within graph");
+		}
+		unindex(e.getSource());
+		unindex(e.getTarget());
+		store(e);
+		checkEdge(e);
+		checkRep();
+	}
+		
+	/**
+	 * Removes the given Edge.  If given Edge is not present within graph,
+	 * this method has no effect on the graph.
+	 * @param e - Edge to be removed from the graph
+	 * @requires - E is an edge present within the graph.
+	 * @modifies this
+	 */
+	public void removeEdge(Edge e){
+		if(containsNode(e.getTarget())){
+			unindex(e.getSource());
+			unindex(e.getTarget());
+			forgetComponents();
+			Set<Edge> out = nodes.get(e.getSource());
+			if(!shareReverseEdges){
+				out.remove(e);
+			} else if(out.remove(e)){
+				// if e was shared with its reverse, keep the reverse as its own record
+				Set<Edge> in = nodes.get(e.getTarget());
+				if(in != out && in.remove(e)){
+					in.add(((ReversibleEdge) e).reverse());
+				}
+			} else if(e instanceof ReversibleEdge){
+				// e may be stored as the shared record of its reverse, which stays
+				// in the set of its own source
+				out.remove(((ReversibleEdge) e).reverse());
+			}
+		}
+		//checkRep();
+	}
+	
+	/**
+	 * Returns whether the given Edge is contained in the graph.
+	 * @param e - Edge being searched for in the graph
+	 * @return true if the given Edge is contained in the graph
+	 * @requires e != null
+	 * @throws IllegalArgumentException if e == null
+	 */
+	public boolean containsEdge(Edge e) {
+		if(e == null){
+			throw new IllegalArgumentException();
+		}
+		//Not possible for the map to contain the edge if it is illegal
+		if(!nodes.containsKey(e.getTarget())){
+			return false;
+		} else if(!nodes.containsKey(e.getSource())){
+			return false;
+		} else if(shareReverseEdges){
+			return isStored(e);
+		} else{
+			// an edge is only ever stored in the set of its source
+			return nodes.get(e.getSource()).contains(e);
+		}
+	}
+	
+	/**
+	 * Adds all of the given edges to the graph.  Edges that are already in the graph
+	 * (or that appear more than once in edges) are only added once.  This is faster
+	 * than calling addEdge for each edge, because the edge set of each node is grown
+	 * to its new size once instead of many times.
+	 * @param edges - Edges to be added to graph
+	 * @requires edges != null, and every edge is legal for the graph
+	 * @throws IllegalArgumentException if edges is null, contains null, or contains an
+	 * edge that is not legal. The graph is not changed in this case.
+	 * @modifies this
+	 * @return the number of edges that were added (not already in the graph)
+	 */
+	public int addEdges(Collection<? extends Edge> edges){
+		if(edges == null){
+			throw new IllegalArgumentException("edges cannot be null");
+		}
+		// check every edge first, and count the new edges of each source
+		Map<Object, int[]> counts = new HashMap<Object, int[]>();
+		for(Edge e : edges){
+			if(e == null){
+				throw new IllegalArgumentException("e cannot be null");
+			}
+			if(!containsNode(e.getSource()) || !containsNode(e.getTarget())){
+				throw new IllegalArgumentException("Edge is not legal");
+			}
+			int[] count = counts.get(e.getSource());
+			if(count == null){
+				count = new int[1];
+				counts.put(e.getSource(), count);
+			}
+			count[0]++;
+		}
+		// grow each edge set that would otherwise be resized while adding
+		for(Map.Entry<N, Set<Edge>> entry : nodes.entrySet()){
+			int[] count = counts.get(entry.getKey());
+			if(count != null){
+				Set<Edge> old = entry.getValue();
+				int size = old.size() + count[0];
+				if(size > 12){ // the initial capacity of a HashSet holds 12 elements
+					Set<Edge> grown = new HashSet<Edge>((int) (size / LOAD_FACTOR) + 1);
+					grown.addAll(old);
+					entry.setValue(grown);
+				}
+				unindex(entry.getKey());
+			}
+		}
+		int added = 0;
+		for(Edge e : edges){
+			if(store(e)){
+				added++;
+			}
+			checkEdge(e);
+		}
+		checkRep();
+		return added;
+	}
+	
+	/**
+	 * Returns a List of all edges from source to target.  There can be any number of
+	 * them, each with a different label.
+	 * <br>
+	 * The first time this is called for a given source, the edges of source are
+	 * indexed by their targets, so that later calls for the same source take time
+	 * proportional to the number of edges returned.
+	 * @param source - node the edges point from
+	 * @param target - node the edges point at
+	 * @return a List of every edge e in the graph with e.getSource().equals(source) and
+	 * e.getTarget().equals(target). Returned list is empty if there are none.
+	 * @requires source and target are contained within the graph
+	 * @throws IllegalArgumentException if source or target is null or not in the graph
+	 */
+	public List<Edge> edgesBetween(Object source, Object target){
+		if(source == null || target == null || !containsNode(source) || !containsNode(target)){
+			throw new IllegalArgumentException();
+		}
+		Map<Object, List<Edge>> index;
+		synchronized(between){
+			index = between.get(source);
+			if(index == null){
+				index = new HashMap<Object, List<Edge>>();
+				for(Edge e : edgesOf(source)){
+					List<Edge> edges = index.get(e.getTarget());
+					if(edges == null){
+						edges = new ArrayList<Edge>(1);
+						index.put(e.getTarget(), edges);
+					}
+					edges.add(e);
+				}
+				between.put(source, index);
+			}
+		}
+		List<Edge> edges = index.get(target);
+		return edges == null ? new ArrayList<Edge>() : new ArrayList<Edge>(edges);
+	}
+	
+	/**
+	 * Returns a List of all edges whose source is node.  Therefore every Edge e in
+	 * the List follows the form e = (node, some other node)
+	 * @param node - the source node for which a set of edges is being returned
+	 * @return a Set of all edges whose source is node. Returned set is empty if the
+	 * node has no edges.
+	 * @requires node != null
+	 * @requires that node is contained within the method
+	 * @throws IllegalArgumentException if node == null
+	 * @throws IllegalArgumentException if node node is not contained within the graph
+	 */
+	public List<Edge> edgesOf(Object node) {
+		if(node == null || !containsNode(node)){
+			throw new IllegalArgumentException();
+		}
+		if(!shareReverseEdges){
+			return new ArrayList<Edge>(nodes.get(node));
+		}
+		Set<Edge> records = nodes.get(node);
+		List<Edge> edges = new ArrayList<Edge>(records.size());
+		for(Edge r : records){
+			// a record whose source is another node stands for its reverse
+			edges.add(r.getSource().equals(node) ? r : ((ReversibleEdge) r).reverse());
+		}
+		return edges;
+	}
+	
+	/**
+	 * Finds and returns the shortest path (in terms of # of nodes visited)
+	 * to get from node a to node b. Returns this path as an ordered list
+	 * of edges that can be followed to get from a to b.
+	 * <br>
+	 * The first edge of the list is the starting edge.  It points from a to
+	 * the second node in the path. The last edge of the list is the ending edge.
+	 * It points from  the second to last node in the path to node b.
+	 * <br>
+	 * If node a and node b are not connected by any path, returns null.
+	 * @param a - the source node for which a set of edges is being returned
+	 * @return a List of edges representing the shortest (in terms of nodes visited)
+	 * @requires a != null, b != null
+	 * @requires that a and b are both contained within the graph
+	 * @throws IllegalArgumentException if a == null or b == null
+	 * @throws IllegalArgumentException if a and/or b is not in the graph
+	 */
+	public List<Edge> leastPaths(N a, N b) {
+		if(a == null || b == null){
+			throw new IllegalArgumentException("parameter(s) cannot be null");
+		}
+		if(!containsNode(a) || !containsNode(b)){
+			throw new IllegalArgumentException("node does not exist within graph");
+		}
+		// don't search if b is known to be out of reach
+		if(!mayReach(a, b)){
+			return null;
+		}
+		// paths is a Map from from nodes to paths (node -> lists of Edges that form a path)
+		Map<Object, List<Edge>> paths = new HashMap<Object, List<Edge>>();
+		// visit is a queue to of nodes to visit
+		Queue<Object> visit = new LinkedList<Object>();;
+		// add initial node (first name)
+		visit.add(a);
+		// add first path to map paths (u to empty path)
+		paths.put(a, new ArrayList<Edge>());
+		// while there are still nodes to visit in the visit queue
+		while(!visit.isEmpty()){
+			// dequeue node
+			Object n = visit.remove();
+			// if node is last name, we've found the shortest path
+			if(n.equals(b)){
+				return paths.get(n);
+			} 
+			// get a set of all the edges for this node in order to explore them
+			List<Edge> edgeList = edgesOf(n);  
+			// explore all of this node's edges
+			for(Edge e: edgeList){
+
+				// Target of edge is not in map (hasn't been visited)
+				if(!paths.containsKey(e.getTarget())){
+					// target node hasn't been visited, so add to visit Queue
+					visit.add(e.getTarget()); 
+					// look up path of node n and create copy, newPath
+					List<Edge> newPath = new ArrayList<Edge>(paths.get(n));
+					// append current edge to newPath
+					newPath.add(e);
+					// add newPath to paths Map
+					paths.put(e.getTarget(), newPath);
+				} 
+			}
+		}
+		return null;
+	}
+	
+	// Adds e to the set of its source, or, if this graph shares reverse edges and the
+	// reverse of e is stored on its own, shares that record with e.
+	// Does nothing if e is already in the graph.  Returns whether e was added.
+	private boolean store(Edge e){
+		boolean added = add(e);
+		if(added){
+			synchronized(componentLock){
+				analysis = null;
+				snapshot = null;
+				if(parent != null){
+					union(e.getSource(), e.getTarget());
+					connected = components == 1;
+				}
+			}
+		}
+		return added;
+	}
+	
+	// Adds e to the edge sets, sharing records with reverse edges if this graph does.
+	// Returns whether e was added.
+	private boolean add(Edge e){
+		Set<Edge> out = nodes.get(e.getSource());
+		if(!shareReverseEdges || !(e instanceof ReversibleEdge)){
+			return out.add(e);
+		}
+		if(isStored(e)){
+			return false;
+		}
+		Edge reverse = ((ReversibleEdge) e).reverse();
+		Set<Edge> in = nodes.get(e.getTarget());
+		if(in.remove(reverse)){
+			// the reverse is stored on its own, so replace it with one record that
+			// stands for both directions
+			in.add(e);
+		}
+		return out.add(e);
+	}
+	
+	/**
+	 * Returns a path with the fewest edges from a to b, like leastPaths(a, b), but
+	 * explores each level of the search in parallel on the given pool.  Worthwhile for
+	 * large graphs with few levels, such as social networks.  The first search after
+	 * the graph changes makes an array based copy of the graph, which takes about as
+	 * long as one sequential search; later searches reuse it.
+	 * @param a - node the path starts at
+	 * @param b - node the path ends at
+	 * @param pool - pool the search runs on
+	 * @throws IllegalArgumentException if a, b or pool is null, or a or b is not in the
+	 * graph
+	 * @return list of the edges of a path from a to b with as few edges as possible
+	 * (the same number as leastPaths(a, b), though it may be a different path), or null
+	 * if there is no path
+	 */
+	public List<Edge> leastPaths(N a, N b, ForkJoinPool pool) {
+		if(a == null || b == null || pool == null){
+			throw new IllegalArgumentException("parameter(s) cannot be null");
+		}
+		if(!containsNode(a) || !containsNode(b)){
+			throw new IllegalArgumentException("node does not exist within graph");
+		}
+		if(!mayReach(a, b)){
+			return null;
+		}
+		IntGraph<N> copy = snapshot;
+		if(copy == null){
+			synchronized(componentLock){
+				if(snapshot == null){
+					snapshot = new IntGraph<N>(this);
+				}
+				copy = snapshot;
+			}
+		}
+		return copy.leastPath(a, b, pool);
+	}
+	
+	/**
+	 * Returns whether the two nodes are weakly connected, meaning that there is a
+	 * path between them when the directions of edges are ignored.  Component labels
+	 * are made when the graph is constructed and kept up to date as nodes and edges
+	 * are added, so this takes nearly constant time; the first call after a node or
+	 * edge is removed relabels the whole graph.
+	 * While the graph is a single weakly connected component, no lock is taken.
+	 * @param a - first node
+	 * @param b - second node
+	 * @return true if a and b are in the same weakly connected component
+	 * @throws IllegalArgumentException if a or b is null or not in the graph
+	 */
+	public boolean weaklyConnected(Object a, Object b){
+		if(a == null || b == null || !containsNode(a) || !containsNode(b)){
+			throw new IllegalArgumentException("node does not exist within graph");
+		}
+		if(connected){
+			return true;
+		}
+		synchronized(componentLock){
+			if(parent == null){
+				labelComponents();
+			}
+			return find(a).equals(find(b));
+		}
+	}
+	
+	/**
+	 * Returns false if there is certainly no path from a to b.  Nodes that aren't
+	 * weakly connected can't reach each other (see weaklyConnected), and the strongly
+	 * connected components of analysis() rule out paths that go against the order of
+	 * the components.  Takes nearly constant time, except that the first call after
+	 * the graph changes redoes the analysis, in time proportional to the size of the
+	 * graph, unless a and b aren't weakly connected.
+	 * @param a - node the path would start at
+	 * @param b - node the path would end at
+	 * @return false if b can't be reached from a; true if it may be
+	 * @throws IllegalArgumentException if a or b is null or not in the graph
+	 */
+	public boolean mayReach(Object a, Object b){
+		if(!weaklyConnected(a, b)){
+			return false;
+		}
+		return analysis().mayReach(a, b);
+	}
+	
+	/**
+	 * Returns the degree and strongly connected component statistics of this graph.
+	 * The analysis is made when a graph is constructed with edges, kept until the graph
+	 * changes and then redone when next needed.  It is used by mayReach (and so by
+	 * leastPaths) to answer unreachable queries without searching.
+	 * @return analysis of this graph as it is now
+	 */
+	public GraphAnalysis<N> analysis(){
+		GraphAnalysis<N> current = analysis;
+		if(current != null){
+			return current;
+		}
+		synchronized(componentLock){
+			if(analysis == null){
+				analysis = new GraphAnalysis<N>(this);
+			}
+			return analysis;
+		}
+	}
+	
+	// Discards the component labels, which can't be updated when edges are removed
+	private void forgetComponents(){
+		synchronized(componentLock){
+			parent = null;
+			connected = false;
+			analysis = null;
+			snapshot = null;
+		}
+	}
+	
+	// Builds parent from scratch, with one tree for each weakly connected component
+	private void labelComponents(){
+		parent = new HashMap<Object, Object>(nodes.size() * 2);
+		components = nodes.size();
+		for(N node : nodes.keySet()){
+			parent.put(node, node);
+		}
+		for(Set<Edge> edges : nodes.values()){
+			for(Edge e : edges){
+				// edges left behind by removeNode don't connect anything
+				if(parent.containsKey(e.getSource()) && parent.containsKey(e.getTarget())){
+					union(e.getSource(), e.getTarget());
+				}
+			}
+		}
+		connected = components == 1;
+	}
+	
+	// Returns the root of the tree containing node, shortening the path to it
+	private Object find(Object node){
+		Object root = node;
+		for(Object p = parent.get(root); !p.equals(root); p = parent.get(root)){
+			root = p;
+		}
+		while(!node.equals(root)){
+			Object next = parent.get(node);
+			parent.put(node, root);
+			node = next;
+		}
+		return root;
+	}
+	
+	// Joins the trees containing a and b
+	private void union(Object a, Object b){
+		Object rootA = find(a);
+		Object rootB = find(b);
+		if(!rootA.equals(rootB)){
+			parent.put(rootA, rootB);
+			components--;
+		}
+	}
+	
+	// Discards the edgesBetween index of node, whose edges have changed
+	private void unindex(Object node){
+		synchronized(between){
+			if(!between.isEmpty()){
+				between.remove(node);
+			}
+		}
+	}
+	
+	// Returns whether e is in this graph, which shares reverse edges.
+	// The source of e must be a node of the graph.
+	private boolean isStored(Edge e){
+		Set<Edge> out = nodes.get(e.getSource());
+		// a record equal to the reverse of e in the set of e's source must be a
+		// shared record, since it doesn't start at e's source
+		return out.contains(e) || (e instanceof ReversibleEdge &&
+				!e.getSource().equals(e.getTarget()) &&
+				out.contains(((ReversibleEdge) e).reverse()));
+	}
+	
+	// Throws a RuntimeException if the rep invariant is violated.
+	// Only walks the whole graph when the check level is FULL.
+	private void checkRep(){
+		if(!CheckLevel.enabled(CheckLevel.CHEAP)){
+			return;
+		}
+		assert nodes != null;
+		if(!CheckLevel.enabled(CheckLevel.FULL)){
+			return;
+		}
+		
+		// assert all values (sets of edges)are not equal to null
+		for(N node : nodes.keySet()){
+			assert nodes.get(node) != null;
+		}
+		
+		// assert all nodes have legal edges
+		for(N node : nodes.keySet()){
+			
+			// check that each of single node's edges are legal
+			for(Edge e: nodes.get(node)){
+				if(!nodes.containsKey(e.getTarget()) || !nodes.containsKey(e.getSource())){
+					throw new IllegalStateException("Edge is not legal: " +
+							"node not in graph");
+				}
+				if(!e.getSource().equals(node) && (!shareReverseEdges ||
+						!e.getTarget().equals(node) || !nodes.get(e.getSource()).contains(e))){
+					throw new IllegalStateException("Edge is not stored with its source");
+				}
+			}
+		}
+	}
+	
+	// Throws a RuntimeException if the given node, which was just added,
+	// violates the rep invariant.  Constant time; skipped when the check level is OFF.
+	private void checkNode(N node){
+		if(CheckLevel.enabled(CheckLevel.CHEAP) && nodes.get(node) == null){
+			throw new IllegalStateException("Node has no edge set: " + node);
+		}
+	}
+	
+	// Throws a RuntimeException if the given edge, which was just added,
+	// is not legal.  Constant time; skipped when the check level is OFF.
+	private void checkEdge(Edge e){
+		if(!CheckLevel.enabled(CheckLevel.CHEAP)){
+			return;
+		}
+		Set<Edge> edges = nodes.get(e.getSource());
+		if(edges == null || !(shareReverseEdges ? isStored(e) : edges.contains(e))){
+			throw new IllegalStateException("Edge is not legal: " +
+					"source node not in graph");
+		}
+		if(!nodes.containsKey(e.getTarget())){
+			throw new IllegalStateException("Edge is not legal: " +
+					"target node not in graph");
+		}
+	}
+	
+	/**
+	 * A Builder collects the nodes and edges of a DirectedGraph and then creates the
+	 * graph in one pass.  Every node's edge set is created at its final size, and the
+	 * edges are grouped by source with a counting sort that runs on several threads
+	 * for large graphs, so building is faster than adding the nodes and edges to a
+	 * graph one at a time.
+	 * <br>
+	 * <br>
+	 * For example:
+	 * <pre>
+	 * DirectedGraph&lt;String&gt; g = new DirectedGraph.Builder&lt;String&gt;(nodes.size(), edges.size())
+	 *         .addNodes(nodes).addEdges(edges).build();
+	 * </pre>
+	 */
+	public static class Builder<N> {
+		// graphs with fewer edges than this are always built on the calling thread
+		private static final int PARALLEL_THRESHOLD = 50000;
+		
+		private final List<N> nodes;
+		private final List<Edge> edges;
+		private boolean shareReverseEdges;
+		private int parallelism;
+		
+		/**
+		 * Constructs a Builder with no nodes and no edges
+		 * @param expectedNodes - number of nodes that will be added
+		 * @param expectedEdges - number of edges that will be added
+		 * @throws IllegalArgumentException if either count is negative
+		 */
+		public Builder(int expectedNodes, int expectedEdges){
+			if(expectedNodes < 0 || expectedEdges < 0){
+				throw new IllegalArgumentException("counts cannot be negative");
+			}
+			nodes = new ArrayList<N>(expectedNodes);
+			edges = new ArrayList<Edge>(expectedEdges);
+			parallelism = Runtime.getRuntime().availableProcessors();
+		}
+		
+		/**
+		 * Sets whether the graph shares reverse edges (see DirectedGraph)
+		 * @param shareReverseEdges - true to store an edge and its reverse as one record
+		 * @return this Builder
+		 * @modifies this
+		 */
+		public Builder<N> shareReverseEdges(boolean shareReverseEdges){
+			this.shareReverseEdges = shareReverseEdges;
+			return this;
+		}
+		
+		/**
+		 * Sets the number of threads used to build large graphs.  The default is the
+		 * number of available processors.
+		 * @param threads - number of threads, or 1 to build on the calling thread
+		 * @return this Builder
+		 * @throws IllegalArgumentException if threads < 1
+		 * @modifies this
+		 */
+		public Builder<N> parallelism(int threads){
+			if(threads < 1){
+				throw new IllegalArgumentException("threads must be at least 1");
+			}
+			parallelism = threads;
+			return this;
+		}
+		
+		/**
+		 * Adds a node to the graph being built. Nodes that are added more than once
+		 * are only added to the graph once.
+		 * @param node - node to be added
+		 * @return this Builder
+		 * @throws IllegalArgumentException if node == null
+		 * @modifies this
+		 */
+		public Builder<N> addNode(N node){
+			if(node == null){
+				throw new IllegalArgumentException("node cannot be null");
+			}
+			nodes.add(node);
+			return this;
+		}
+		
+		/**
+		 * Adds every node in the given collection to the graph being built
+		 * @param nodes - nodes to be added
+		 * @return this Builder
+		 * @throws IllegalArgumentException if nodes is null or contains null
+		 * @modifies this
+		 */
+		public Builder<N> addNodes(Collection<? extends N> nodes){
+			if(nodes == null){
+				throw new IllegalArgumentException("nodes cannot be null");
+			}
+			for(N node : nodes){
+				addNode(node);
+			}
+			return this;
+		}
+		
+		/**
+		 * Adds an edge to the graph being built.  Whether the edge is legal is checked
+		 * by build(). Edges that are added more than once are only added to the
+		 * graph once.
+		 * @param e - edge to be added
+		 * @return this Builder
+		 * @throws IllegalArgumentException if e == null
+		 * @modifies this
+		 */
+		public Builder<N> addEdge(Edge e){
+			if(e == null){
+				throw new IllegalArgumentException("e cannot be null");
+			}
+			edges.add(e);
+			return this;
+		}
+		
+		/**
+		 * Adds every edge in the given collection to the graph being built
+		 * @param edges - edges to be added
+		 * @return this Builder
+		 * @throws IllegalArgumentException if edges is null or contains null
+		 * @modifies this
+		 */
+		public Builder<N> addEdges(Collection<? extends Edge> edges){
+			if(edges == null){
+				throw new IllegalArgumentException("edges cannot be null");
+			}
+			for(Edge e : edges){
+				addEdge(e);
+			}
+			return this;
+		}
+		
+		/**
+		 * Creates a graph holding the nodes and edges added so far.  The Builder can
+		 * still be used afterwards, and does not share any storage with the graph.
+		 * @return a new DirectedGraph with the added nodes and edges
+		 * @throws IllegalArgumentException if any edge is not legal (its source or
+		 * target was not added as a node)
+		 */
+		public DirectedGraph<N> build(){
+			// give each distinct node an index
+			final Map<N, Integer> index = new HashMap<N, Integer>(capacity(nodes.size()));
+			final List<N> distinct = new ArrayList<N>(nodes.size());
+			for(N node : nodes){
+				if(!index.containsKey(node)){
+					index.put(node, distinct.size());
+					distinct.add(node);
+				}
+			}
+			final int n = distinct.size();
+			final Edge[] all = edges.toArray(new Edge[edges.size()]);
+			final int m = all.length;
+			int threads = m < PARALLEL_THRESHOLD ? 1 : parallelism;
+			
+			// counting sort of the edges by source: count the edges of each source
+			// within each chunk, then give each chunk its place in every node's range
+			final int chunks = threads;
+			final int[] source = new int[m];
+			final int[] target = new int[m];
+			final int[][] counts = new int[chunks][n + 1];
+			List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+			for(int c = 0; c < chunks; c++){
+				final int chunk = c;
+				tasks.add(new Callable<Void>() {
+					public Void call() {
+						for(int i = start(chunk, chunks, m); i < start(chunk + 1, chunks, m); i++){
+							Integer s = index.get(all[i].getSource());
+							Integer t = index.get(all[i].getTarget());
+							if(s == null || t == null){
+								throw new IllegalArgumentException("Edge is not legal");
+							}
+							source[i] = s;
+							target[i] = t;
+							counts[chunk][s + 1]++;
+						}
+						return null;
+					}
+				});
+			}
+			run(tasks, threads);
+			final int[] first = new int[n + 1]; // edges of node v start at first[v]
+			for(int v = 0; v < n; v++){
+				int total = first[v];
+				for(int c = 0; c < chunks; c++){
+					int count = counts[c][v + 1];
+					counts[c][v + 1] = total; // where chunk c writes the edges of v
+					total += count;
+				}
+				first[v + 1] = total;
+			}
+			final Edge[] grouped = new Edge[m];
+			tasks.clear();
+			for(int c = 0; c < chunks; c++){
+				final int chunk = c;
+				tasks.add(new Callable<Void>() {
+					public Void call() {
+						int[] next = counts[chunk];
+						for(int i = start(chunk, chunks, m); i < start(chunk + 1, chunks, m); i++){
+							grouped[next[source[i] + 1]++] = all[i];
+						}
+						return null;
+					}
+				});
+			}
+			run(tasks, threads);
+			
+			// create each node's edge set at its final size
+			@SuppressWarnings({"unchecked", "rawtypes"})
+			final Set<Edge>[] sets = new Set[n];
+			tasks.clear();
+			for(int c = 0; c < chunks; c++){
+				final int chunk = c;
+				tasks.add(new Callable<Void>() {
+					public Void call() {
+						for(int v = start(chunk, chunks, n); v < start(chunk + 1, chunks, n); v++){
+							Set<Edge> set = new HashSet<Edge>(capacity(first[v + 1] - first[v]));
+							for(int i = first[v]; i < first[v + 1]; i++){
+								set.add(grouped[i]);
+							}
+							sets[v] = set;
+						}
+						return null;
+					}
+				});
+			}
+			run(tasks, threads);
+			
+			Map<N, Set<Edge>> map = new HashMap<N, Set<Edge>>(capacity(n));
+			for(int v = 0; v < n; v++){
+				map.put(distinct.get(v), sets[v]);
+			}
+			if(shareReverseEdges){
+				// store each edge whose reverse is also in the graph as a single record:
+				// the one of the two whose source was added to the Builder first
+				for(int v = 0; v < n; v++){
+					for(int i = first[v]; i < first[v + 1]; i++){
+						Edge e = grouped[i];
+						if(!(e instanceof ReversibleEdge) || e.getSource().equals(e.getTarget())){
+							continue;
+						}
+						int t = index.get(e.getTarget());
+						Set<Edge> in = sets[t];
+						if(t > v && in.remove(((ReversibleEdge) e).reverse())){
+							in.add(e);
+						}
+					}
+				}
+			}
+			
+			// label the weakly connected components now, so that queries don't have to
+			int[] root = new int[n];
+			for(int v = 0; v < n; v++){
+				root[v] = v;
+			}
+			int components = n;
+			for(int i = 0; i < m; i++){
+				int a = root(root, source[i]);
+				int b = root(root, target[i]);
+				if(a != b){
+					root[a] = b;
+					components--;
+				}
+			}
+			Map<Object, Object> parent = new HashMap<Object, Object>(capacity(n));
+			for(int v = 0; v < n; v++){
+				parent.put(distinct.get(v), distinct.get(root(root, v)));
+			}
+			return new DirectedGraph<N>(map, shareReverseEdges, parent, components);
+		}
+		
+		// Returns the root of the tree containing v in the forest root, halving the path
+		// to it
+		private static int root(int[] root, int v){
+			while(root[v] != v){
+				root[v] = root[root[v]];
+				v = root[v];
+			}
+			return v;
+		}
+		
+		// Returns the first position of the given chunk, when count positions are split
+		// into chunks nearly equal chunks
+		private static int start(int chunk, int chunks, int count){
+			return (int) ((long) count * chunk / chunks);
+		}
+		
+		// Returns the capacity of a HashMap or HashSet that holds size elements without
+		// being resized
+		private static int capacity(int size){
+			return Math.max((int) (size / LOAD_FACTOR) + 1, 2);
+		}
+		
+		// Runs the given tasks on the given number of threads, throwing any exception
+		// thrown by a task
+		private static void run(List<Callable<Void>> tasks, int threads){
+			if(threads <= 1){
+				for(Callable<Void> task : tasks){
+					try {
+						task.call();
+					} catch (RuntimeException e) {
+						throw e;
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				}
+				return;
+			}
+			ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+			try {
+				for(Future<Void> f : pool.invokeAll(tasks)){
+					f.get();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted while building graph", e);
+			} catch (ExecutionException e) {
+				if(e.getCause() instanceof RuntimeException){
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+}
@@ -0,0 +1,423 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * GraphAnalysis holds statistics about the structure of a DirectedGraph at the time
+ * the analysis was made: the degree of each node, and the strongly connected
+ * components of the graph.  A strongly connected component is a largest set of nodes
+ * in which every node can be reached from every other node.
+ * <br>
+ * <br>
+ * Components are found with Tarjan's algorithm, written without recursion so that
+ * graphs with very long paths can be analyzed.  Analyzing a graph takes time
+ * proportional to its number of nodes and edges.  Later changes to the graph are
+ * not reflected in the analysis.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * nodes.get(u) -> the node with index u, for 0 <= u < nodes.size()
+ * ids -> maps each node to its index
+ * The edges leaving node u go to the nodes with indices adjacent[first[u]] to
+ * adjacent[first[u + 1] - 1] (edges to nodes that are not in the graph are left out)
+ * component[u] -> id of the strongly connected component containing node u.
+ * Component ids are in reverse topological order: if any node of component c can
+ * reach a node of component d != c, then d < c.
+ * componentSize[c] -> number of nodes in component c
+ * outDegree[u], inDegree[u] -> number of edges leaving and entering node u
+ *
+ * Representation Invariant:
+ * nodes.size() == ids.size() == component.length == outDegree.length == inDegree.length
+ * first.length == nodes.size() + 1, first[nodes.size()] == adjacent.length
+ * 0 <= component[u] < componentSize.length for every u
+ */
+public class GraphAnalysis<N> {
+	private final List<N> nodes;
+	private final Map<N, Integer> ids;
+	private final int[] first;
+	private final int[] adjacent;
+	private final int[] component;
+	private final int[] componentSize;
+	private final int[] outDegree;
+	private final int[] inDegree;
+	private final int edgeCount;
+
+	/**
+	 * Analyzes the given graph
+	 * @param graph - graph to analyze
+	 * @throws IllegalArgumentException if graph == null
+	 */
+	public GraphAnalysis(DirectedGraph<N> graph){
+		if(graph == null){
+			throw new IllegalArgumentException("graph cannot be null");
+		}
+		nodes = new ArrayList<N>(graph.nodeSet());
+		int n = nodes.size();
+		ids = new HashMap<N, Integer>(n * 2);
+		for(int u = 0; u < n; u++){
+			ids.put(nodes.get(u), u);
+		}
+		// copy the edges into arrays, grouped by source
+		List<List<Edge>> out = new ArrayList<List<Edge>>(n);
+		int count = 0;
+		for(N node : nodes){
+			List<Edge> edges = graph.edgesOf(node);
+			out.add(edges);
+			count += edges.size();
+		}
+		edgeCount = count;
+		first = new int[n + 1];
+		outDegree = new int[n];
+		inDegree = new int[n];
+		int[] targets = new int[count];
+		int i = 0;
+		for(int u = 0; u < n; u++){
+			first[u] = i;
+			outDegree[u] = out.get(u).size();
+			for(Edge e : out.get(u)){
+				Integer v = ids.get(e.getTarget());
+				if(v != null){
+					targets[i++] = v;
+					inDegree[v]++;
+				}
+			}
+		}
+		first[n] = i;
+		adjacent = Arrays.copyOf(targets, i);
+
+		component = new int[n];
+		componentSize = findComponents();
+		checkRep();
+	}
+
+	// Fills component with the strongly connected component of every node, using an
+	// iterative version of Tarjan's algorithm. Returns the size of each component.
+	private int[] findComponents(){
+		int n = nodes.size();
+		int[] index = new int[n]; // order in which nodes were first visited, plus one
+		int[] low = new int[n]; // smallest index reachable through the search tree
+		int[] next = new int[n]; // position of the next edge of each node to follow
+		boolean[] onStack = new boolean[n];
+		int[] stack = new int[n]; // visited nodes not yet assigned a component
+		int[] path = new int[n]; // the current path of the depth first search
+		int stackSize = 0;
+		int visited = 0;
+		int components = 0;
+		int[] sizes = new int[n];
+		for(int root = 0; root < n; root++){
+			if(index[root] != 0){
+				continue;
+			}
+			int depth = 0;
+			path[0] = root;
+			index[root] = low[root] = ++visited;
+			next[root] = first[root];
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			while(depth >= 0){
+				int u = path[depth];
+				if(next[u] < first[u + 1]){
+					int v = adjacent[next[u]++];
+					if(index[v] == 0){
+						// visit v, continuing the search from it
+						index[v] = low[v] = ++visited;
+						next[v] = first[v];
+						stack[stackSize++] = v;
+						onStack[v] = true;
+						path[++depth] = v;
+					} else if(onStack[v]){
+						low[u] = Math.min(low[u], index[v]);
+					}
+				} else {
+					// every edge of u has been followed
+					if(low[u] == index[u]){
+						// u is the first node visited in its component
+						int w;
+						do {
+							w = stack[--stackSize];
+							onStack[w] = false;
+							component[w] = components;
+							sizes[components]++;
+						} while(w != u);
+						components++;
+					}
+					depth--;
+					if(depth >= 0){
+						int parent = path[depth];
+						low[parent] = Math.min(low[parent], low[u]);
+					}
+				}
+			}
+		}
+		return Arrays.copyOf(sizes, components);
+	}
+
+	/**
+	 * Returns the number of nodes in the analyzed graph
+	 * @return the number of nodes in the graph
+	 */
+	public int nodeCount(){
+		return nodes.size();
+	}
+
+	/**
+	 * Returns the number of edges in the analyzed graph
+	 * @return the number of edges in the graph
+	 */
+	public int edgeCount(){
+		return edgeCount;
+	}
+
+	/**
+	 * Returns the number of strongly connected components of the graph
+	 * @return the number of strongly connected components
+	 */
+	public int componentCount(){
+		return componentSize.length;
+	}
+
+	/**
+	 * Returns the id of the strongly connected component containing the given node.
+	 * Ids are between 0 and componentCount() - 1, and if any node of component c can
+	 * reach a node of a different component d, then d < c.
+	 * @param node - node to look up
+	 * @return the id of node's component
+	 * @throws IllegalArgumentException if node was not in the graph
+	 */
+	public int componentOf(Object node){
+		return component[id(node)];
+	}
+
+	/**
+	 * Returns the number of nodes in the given component
+	 * @param component - component id
+	 * @requires 0 <= component < componentCount()
+	 * @return the number of nodes in the component
+	 */
+	public int componentSize(int component){
+		return componentSize[component];
+	}
+
+	/**
+	 * Returns the number of nodes in the largest strongly connected component
+	 * @return the size of the largest component, or 0 if the graph has no nodes
+	 */
+	public int largestComponentSize(){
+		int largest = 0;
+		for(int size : componentSize){
+			largest = Math.max(largest, size);
+		}
+		return largest;
+	}
+
+	/**
+	 * Returns the strongly connected components of the graph, largest first
+	 * @return list of the components, each given as the set of its nodes
+	 */
+	public List<Set<N>> components(){
+		List<Set<N>> result = new ArrayList<Set<N>>(componentSize.length);
+		for(int c = 0; c < componentSize.length; c++){
+			result.add(new HashSet<N>());
+		}
+		for(int u = 0; u < nodes.size(); u++){
+			result.get(component[u]).add(nodes.get(u));
+		}
+		Collections.sort(result, new Comparator<Set<N>>() {
+			public int compare(Set<N> a, Set<N> b) {
+				return b.size() - a.size();
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Returns whether the two nodes are in the same strongly connected component,
+	 * which means that each can be reached from the other
+	 * @param a - first node
+	 * @param b - second node
+	 * @return true if a and b can both reach each other
+	 * @throws IllegalArgumentException if a or b was not in the graph
+	 */
+	public boolean sameComponent(Object a, Object b){
+		return componentOf(a) == componentOf(b);
+	}
+
+	/**
+	 * Returns false if b can certainly not be reached from a.  Takes constant time.
+	 * @param a - node a path would start at
+	 * @param b - node a path would end at
+	 * @return false if there is no path from a to b; true if there may be one (there
+	 * always is if sameComponent(a, b))
+	 * @throws IllegalArgumentException if a or b was not in the graph
+	 */
+	public boolean mayReach(Object a, Object b){
+		return componentOf(b) <= componentOf(a);
+	}
+
+	/**
+	 * Finds which of the given nodes can be reached from each of them.
+	 * Takes time proportional to the size of the graph times targets.size() / 64.
+	 * @param targets - nodes to find the reachability of
+	 * @return array r with r.length == targets.size(), where r[i].get(j) is true if
+	 * and only if there is a path from targets.get(i) to targets.get(j) (every node
+	 * can reach itself)
+	 * @throws IllegalArgumentException if targets is null or a node in it was not in
+	 * the graph
+	 */
+	public BitSet[] reachability(List<? extends N> targets){
+		if(targets == null){
+			throw new IllegalArgumentException("targets cannot be null");
+		}
+		int components = componentSize.length;
+		BitSet[] reach = new BitSet[components];
+		for(int c = 0; c < components; c++){
+			reach[c] = new BitSet(targets.size());
+		}
+		for(int j = 0; j < targets.size(); j++){
+			reach[componentOf(targets.get(j))].set(j);
+		}
+		// list the nodes of each component
+		int[] start = new int[components + 1];
+		for(int u = 0; u < nodes.size(); u++){
+			start[component[u] + 1]++;
+		}
+		for(int c = 0; c < components; c++){
+			start[c + 1] += start[c];
+		}
+		int[] members = new int[nodes.size()];
+		int[] fill = Arrays.copyOf(start, components);
+		for(int u = 0; u < nodes.size(); u++){
+			members[fill[component[u]]++] = u;
+		}
+		// every component only reaches components with smaller ids, so those are done
+		// before it is
+		for(int c = 0; c < components; c++){
+			for(int i = start[c]; i < start[c + 1]; i++){
+				int u = members[i];
+				for(int k = first[u]; k < first[u + 1]; k++){
+					int d = component[adjacent[k]];
+					if(d != c){
+						reach[c].or(reach[d]);
+					}
+				}
+			}
+		}
+		BitSet[] result = new BitSet[targets.size()];
+		for(int i = 0; i < result.length; i++){
+			result[i] = (BitSet) reach[componentOf(targets.get(i))].clone();
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of edges leaving the given node
+	 * @param node - node to look up
+	 * @return the out-degree of node
+	 * @throws IllegalArgumentException if node was not in the graph
+	 */
+	public int outDegree(Object node){
+		return outDegree[id(node)];
+	}
+
+	/**
+	 * Returns the number of edges pointing at the given node
+	 * @param node - node to look up
+	 * @return the in-degree of node
+	 * @throws IllegalArgumentException if node was not in the graph
+	 */
+	public int inDegree(Object node){
+		return inDegree[id(node)];
+	}
+
+	/**
+	 * Returns how many nodes have each out-degree
+	 * @return sorted map from each out-degree that occurs to the number of nodes
+	 * with that out-degree
+	 */
+	public SortedMap<Integer, Integer> outDegreeDistribution(){
+		return distribution(outDegree);
+	}
+
+	/**
+	 * Returns how many nodes have each in-degree
+	 * @return sorted map from each in-degree that occurs to the number of nodes
+	 * with that in-degree
+	 */
+	public SortedMap<Integer, Integer> inDegreeDistribution(){
+		return distribution(inDegree);
+	}
+
+	/**
+	 * Returns a readable summary of the analysis, with one statistic per line
+	 * @return summary of the node and edge counts, degrees and components
+	 */
+	public String report(){
+		StringBuilder sb = new StringBuilder();
+		sb.append("nodes: ").append(nodeCount()).append('\n');
+		sb.append("edges: ").append(edgeCount()).append('\n');
+		sb.append("strongly connected components: ").append(componentCount());
+		sb.append(" (largest has ").append(largestComponentSize()).append(" nodes)\n");
+		int single = 0;
+		for(int size : componentSize){
+			if(size == 1){
+				single++;
+			}
+		}
+		sb.append("components with a single node: ").append(single).append('\n');
+		sb.append("out-degree: ").append(summary(outDegree)).append('\n');
+		sb.append("out-degree distribution: ").append(outDegreeDistribution()).append('\n');
+		sb.append("in-degree: ").append(summary(inDegree)).append('\n');
+		sb.append("in-degree distribution: ").append(inDegreeDistribution()).append('\n');
+		return sb.toString();
+	}
+
+	// Returns the index of node, or throws an exception if it was not in the graph
+	private int id(Object node){
+		Integer u = ids.get(node);
+		if(u == null){
+			throw new IllegalArgumentException("node was not in the graph: " + node);
+		}
+		return u;
+	}
+
+	// Returns the number of nodes with each degree
+	private static SortedMap<Integer, Integer> distribution(int[] degrees){
+		SortedMap<Integer, Integer> result = new TreeMap<Integer, Integer>();
+		for(int d : degrees){
+			Integer count = result.get(d);
+			result.put(d, count == null ? 1 : count + 1);
+		}
+		return result;
+	}
+
+	// Returns the smallest, largest and mean degree
+	private static String summary(int[] degrees){
+		if(degrees.length == 0){
+			return "none";
+		}
+		int min = Integer.MAX_VALUE, max = 0;
+		long total = 0;
+		for(int d : degrees){
+			min = Math.min(min, d);
+			max = Math.max(max, d);
+			total += d;
+		}
+		return String.format("min %d, max %d, mean %.2f", min, max, (double) total / degrees.length);
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert nodes.size() == ids.size();
+		assert component.length == nodes.size();
+		assert first[nodes.size()] == adjacent.length;
+		if(!CheckLevel.enabled(CheckLevel.FULL)){
+			return;
+		}
+		for(int u = 0; u < nodes.size(); u++){
+			assert component[u] >= 0 && component[u] < componentSize.length;
+		}
+	}
+}
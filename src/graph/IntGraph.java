@@ -0,0 +1,314 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * IntGraph is a read-only copy of a DirectedGraph in which every node is numbered,
+ * and the edges leaving and entering each node are stored in arrays.  It is used to
+ * search large graphs with many threads, which the hash map based DirectedGraph
+ * can't do cheaply.
+ * <br>
+ * <br>
+ * leastPath is a level synchronous, direction optimizing breadth first search.  Each
+ * level of the search is explored in parallel on a fork-join pool, either top down
+ * (following the edges that leave the nodes found in the last level) or, once the
+ * last level is large, bottom up (checking, for every node not found yet, whether
+ * one of its incoming edges comes from the last level).
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * nodes.get(u) -> the node numbered u, for 0 <= u < nodes.size()
+ * ids -> maps each node to its number
+ * The edges leaving node u are edges[outStart[u]] to edges[outStart[u + 1] - 1],
+ * and edge position i leads to node outTarget[i].
+ * The edges entering node v are at edge positions inEdge[inStart[v]] to
+ * inEdge[inStart[v + 1] - 1], and inSource[j] is the source of inEdge[j].
+ * (Edges to nodes that are not in the graph are left out.)
+ *
+ * Representation Invariant:
+ * outStart.length == inStart.length == nodes.size() + 1
+ * outStart[nodes.size()] == edges.length == outTarget.length == inEdge.length
+ * == inSource.length
+ */
+final class IntGraph<N> {
+	// number of nodes searched by one fork-join task
+	private static final int LEAF_SIZE = 512;
+	// switch to bottom up when the edges leaving the frontier are more than 1/ALPHA of
+	// the edges not yet explored, and back when the frontier has fewer than 1/BETA of
+	// the nodes
+	private static final int ALPHA = 15;
+	private static final int BETA = 18;
+
+	private final List<N> nodes;
+	private final Map<Object, Integer> ids;
+	private final int[] outStart;
+	private final int[] outTarget;
+	private final Edge[] edges;
+	private final int[] inStart;
+	private final int[] inSource;
+	private final int[] inEdge;
+
+	/**
+	 * Copies the given graph
+	 * @param graph - graph to copy
+	 * @requires graph != null
+	 */
+	IntGraph(DirectedGraph<N> graph){
+		nodes = new ArrayList<N>(graph.nodeSet());
+		int n = nodes.size();
+		ids = new HashMap<Object, Integer>(n * 2);
+		for(int u = 0; u < n; u++){
+			ids.put(nodes.get(u), u);
+		}
+		List<List<Edge>> out = new ArrayList<List<Edge>>(n);
+		int count = 0;
+		for(N node : nodes){
+			List<Edge> kept = new ArrayList<Edge>();
+			for(Edge e : graph.edgesOf(node)){
+				if(ids.containsKey(e.getTarget())){
+					kept.add(e);
+				}
+			}
+			out.add(kept);
+			count += kept.size();
+		}
+		outStart = new int[n + 1];
+		outTarget = new int[count];
+		edges = new Edge[count];
+		inStart = new int[n + 1];
+		int i = 0;
+		for(int u = 0; u < n; u++){
+			outStart[u] = i;
+			for(Edge e : out.get(u)){
+				edges[i] = e;
+				outTarget[i] = ids.get(e.getTarget());
+				inStart[outTarget[i] + 1]++;
+				i++;
+			}
+		}
+		outStart[n] = i;
+		for(int v = 0; v < n; v++){
+			inStart[v + 1] += inStart[v];
+		}
+		inSource = new int[count];
+		inEdge = new int[count];
+		int[] next = Arrays.copyOf(inStart, n);
+		for(int u = 0; u < n; u++){
+			for(int j = outStart[u]; j < outStart[u + 1]; j++){
+				int k = next[outTarget[j]]++;
+				inSource[k] = u;
+				inEdge[k] = j;
+			}
+		}
+		checkRep();
+	}
+
+	/**
+	 * Returns a path with the fewest edges from a to b.
+	 * @param a - node the path starts at
+	 * @param b - node the path ends at
+	 * @param pool - pool the search runs on
+	 * @requires a and b are nodes of this graph, pool != null
+	 * @return list of the edges of a shortest path from a to b, in order (empty if
+	 * a.equals(b)), or null if there is no path
+	 */
+	List<Edge> leastPath(Object a, Object b, ForkJoinPool pool){
+		int source = ids.get(a);
+		int target = ids.get(b);
+		if(source == target){
+			return new ArrayList<Edge>();
+		}
+		int n = nodes.size();
+		// parent[v] is the position of the edge v was reached by, or -1
+		int[] parent = new int[n];
+		Arrays.fill(parent, -1);
+		AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+		mark(visited, source);
+		int[] frontier = {source};
+		long unexplored = edges.length;
+		boolean bottomUp = false;
+		while(frontier.length > 0 && parent[target] < 0){
+			long frontierEdges = 0;
+			for(int u : frontier){
+				frontierEdges += outStart[u + 1] - outStart[u];
+			}
+			unexplored -= frontierEdges;
+			if(!bottomUp && frontierEdges > unexplored / ALPHA){
+				bottomUp = true;
+			} else if(bottomUp && frontier.length < n / BETA){
+				bottomUp = false;
+			}
+			if(bottomUp){
+				long[] inFrontier = new long[(n + 63) >>> 6];
+				for(int u : frontier){
+					inFrontier[u >>> 6] |= 1L << u;
+				}
+				frontier = pool.invoke(new BottomUp(inFrontier, visited, parent, 0, n)).toArray();
+			} else {
+				frontier = pool.invoke(new TopDown(frontier, visited, parent, 0,
+						frontier.length)).toArray();
+			}
+		}
+		if(parent[target] < 0){
+			return null;
+		}
+		LinkedList<Edge> path = new LinkedList<Edge>();
+		for(int v = target; v != source; v = ids.get(edges[parent[v]].getSource())){
+			path.addFirst(edges[parent[v]]);
+		}
+		return new ArrayList<Edge>(path);
+	}
+
+	// Marks node u as visited. Returns false if it already was.
+	private static boolean mark(AtomicLongArray visited, int u){
+		int word = u >>> 6;
+		long bit = 1L << u;
+		long current = visited.get(word);
+		while((current & bit) == 0){
+			if(visited.compareAndSet(word, current, current | bit)){
+				return true;
+			}
+			current = visited.get(word);
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the unvisited nodes reached by the edges leaving frontier[from..to), and
+	 * returns them as the next frontier.
+	 */
+	private class TopDown extends RecursiveTask<IntList> {
+		private static final long serialVersionUID = 1L;
+		private final int[] frontier;
+		private final AtomicLongArray visited;
+		private final int[] parent;
+		private final int from;
+		private final int to;
+
+		TopDown(int[] frontier, AtomicLongArray visited, int[] parent, int from, int to){
+			this.frontier = frontier;
+			this.visited = visited;
+			this.parent = parent;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected IntList compute(){
+			if(to - from > LEAF_SIZE){
+				int mid = (from + to) >>> 1;
+				TopDown left = new TopDown(frontier, visited, parent, from, mid);
+				left.fork();
+				IntList found = new TopDown(frontier, visited, parent, mid, to).compute();
+				return left.join().addAll(found);
+			}
+			IntList found = new IntList();
+			for(int i = from; i < to; i++){
+				int u = frontier[i];
+				for(int j = outStart[u]; j < outStart[u + 1]; j++){
+					int v = outTarget[j];
+					// only the task that marks v writes parent[v]
+					if(!isSet(visited.get(v >>> 6), v) && mark(visited, v)){
+						parent[v] = j;
+						found.add(v);
+					}
+				}
+			}
+			return found;
+		}
+	}
+
+	/**
+	 * Finds the unvisited nodes in [from, to) with an incoming edge from a node in
+	 * inFrontier, and returns them as the next frontier.
+	 */
+	private class BottomUp extends RecursiveTask<IntList> {
+		private static final long serialVersionUID = 1L;
+		private final long[] inFrontier;
+		private final AtomicLongArray visited;
+		private final int[] parent;
+		private final int from;
+		private final int to;
+
+		BottomUp(long[] inFrontier, AtomicLongArray visited, int[] parent, int from, int to){
+			this.inFrontier = inFrontier;
+			this.visited = visited;
+			this.parent = parent;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected IntList compute(){
+			if(to - from > LEAF_SIZE * 8){
+				// split on a multiple of 64 so no two tasks share a word of visited
+				int mid = ((from + to) >>> 1) & ~63;
+				if(mid > from){
+					BottomUp left = new BottomUp(inFrontier, visited, parent, from, mid);
+					left.fork();
+					IntList found = new BottomUp(inFrontier, visited, parent, mid, to).compute();
+					return left.join().addAll(found);
+				}
+			}
+			IntList found = new IntList();
+			for(int v = from; v < to; v++){
+				if(isSet(visited.get(v >>> 6), v)){
+					continue;
+				}
+				for(int k = inStart[v]; k < inStart[v + 1]; k++){
+					int u = inSource[k];
+					if(isSet(inFrontier[u >>> 6], u)){
+						mark(visited, v);
+						parent[v] = inEdge[k];
+						found.add(v);
+						break;
+					}
+				}
+			}
+			return found;
+		}
+	}
+
+	// Returns whether bit u of a bitset is set in its word
+	private static boolean isSet(long word, int u){
+		return (word & (1L << u)) != 0;
+	}
+
+	/**
+	 * A growable list of node numbers
+	 */
+	private static class IntList {
+		private int[] values = new int[16];
+		private int size;
+
+		void add(int value){
+			if(size == values.length){
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		IntList addAll(IntList other){
+			if(size + other.size > values.length){
+				values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+			}
+			System.arraycopy(other.values, 0, values, size, other.size);
+			size += other.size;
+			return this;
+		}
+
+		int[] toArray(){
+			return Arrays.copyOf(values, size);
+		}
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert outStart.length == nodes.size() + 1 && inStart.length == nodes.size() + 1;
+		assert outStart[nodes.size()] == edges.length && inStart[nodes.size()] == edges.length;
+	}
+}
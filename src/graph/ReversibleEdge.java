@@ -0,0 +1,25 @@
+package graph;
+
+// An edge that can be followed in the opposite direction.
+/* A ReversibleEdge can create the edge that points from its target back to its
+ * source, with the same label.  Graphs can use this to store an edge and its
+ * reverse as a single record.
+ * 
+ * Abstraction Function:
+ * ReversibleEdge e = (source, target), and e.reverse() = (target, source)
+ * 
+ * Class invariant:
+ * e.reverse().reverse().equals(e)
+ * e.reverse().getSource().equals(e.getTarget())
+ * e.reverse().getTarget().equals(e.getSource())
+ */
+
+public interface ReversibleEdge extends Edge {
+	/**
+	 * Returns the edge pointing from this edge's target to its source, with the
+	 * same label as this edge
+	 * @return the reverse of this edge
+	 */
+	public ReversibleEdge reverse();
+	
+}
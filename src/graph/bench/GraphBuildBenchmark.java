@@ -0,0 +1,109 @@
+package graph.bench;
+
+import graph.DirectedGraph;
+import graph.Edge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import marvel.MarvelEdge;
+import marvel.MarvelParser;
+import route_finder.CampusDataParser;
+import route_finder.EndPoint;
+import route_finder.EndPointRegistry;
+
+/**
+ * GraphBuildBenchmark compares the ways of creating a DirectedGraph (adding nodes and
+ * edges one at a time, the (nodes, edges) constructor, and DirectedGraph.Builder on
+ * one thread and on all processors) on the campus and Marvel data sets.
+ * <br>
+ * <br>
+ * Run from the directory holding the data files:
+ * java graph.bench.GraphBuildBenchmark
+ * @author Janelle Van Hofwegen
+ */
+public class GraphBuildBenchmark {
+	private static final int ROUNDS = 7;
+
+	public static void main(String[] args){
+		EndPointRegistry registry = new EndPointRegistry();
+		CampusDataParser.parseBuildingData(registry);
+		List<Edge> paths = new ArrayList<Edge>();
+		CampusDataParser.parsePathsData(paths, new ArrayList<EndPoint>(), registry);
+		run("campus", registry.endPoints(), paths);
+
+		Collection<String> characters = new LinkedList<String>();
+		Map<String, List<String>> books = new HashMap<String, List<String>>();
+		MarvelParser.parseData(characters, books);
+		List<Edge> edges = new ArrayList<Edge>();
+		for(String book : books.keySet()){
+			List<String> inBook = books.get(book);
+			for(int i = 0; i < inBook.size(); i++){
+				for(int j = 0; j < inBook.size(); j++){
+					if(i != j){
+						edges.add(new MarvelEdge(inBook.get(i), inBook.get(j), book));
+					}
+				}
+			}
+		}
+		run("marvel", new ArrayList<String>(characters), edges);
+	}
+
+	// Times every way of building a graph of the given nodes and edges
+	private static <N> void run(String name, final List<N> nodes, final List<Edge> edges){
+		System.out.println(name + ": " + nodes.size() + " nodes, " + edges.size() + " edges");
+		time("  one at a time", new Build() {
+			public Object build() {
+				DirectedGraph<N> g = new DirectedGraph<N>();
+				for(N node : nodes){
+					g.addNode(node);
+				}
+				for(Edge e : edges){
+					g.addEdge(e);
+				}
+				return g;
+			}
+		});
+		time("  constructor", new Build() {
+			public Object build() {
+				return new DirectedGraph<N>(nodes, edges);
+			}
+		});
+		time("  builder, 1 thread", new Build() {
+			public Object build() {
+				return new DirectedGraph.Builder<N>(nodes.size(), edges.size()).parallelism(1)
+						.addNodes(nodes).addEdges(edges).build();
+			}
+		});
+		final int threads = Runtime.getRuntime().availableProcessors();
+		time("  builder, " + threads + " processors", new Build() {
+			public Object build() {
+				return new DirectedGraph.Builder<N>(nodes.size(), edges.size())
+						.addNodes(nodes).addEdges(edges).build();
+			}
+		});
+	}
+
+	// Builds a graph
+	private interface Build {
+		Object build();
+	}
+
+	// Prints the median time taken by build, after one round to warm up
+	private static void time(String label, Build build){
+		build.build();
+		long[] times = new long[ROUNDS];
+		for(int i = 0; i < ROUNDS; i++){
+			long start = System.nanoTime();
+			build.build();
+			times[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(times);
+		System.out.printf("%-24s %8.1f ms%n", label, times[ROUNDS / 2] / 1e6);
+	}
+}
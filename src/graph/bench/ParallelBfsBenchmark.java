@@ -0,0 +1,98 @@
+package graph.bench;
+
+import graph.DirectedGraph;
+import graph.Edge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import marvel.MarvelParser;
+import marvel.MarvelPaths;
+
+/**
+ * ParallelBfsBenchmark compares DirectedGraph.leastPaths with the parallel
+ * leastPaths on the Marvel graph, over random pairs of characters, on pools of
+ * several sizes.  It checks that both find paths of the same length.
+ * <br>
+ * <br>
+ * Run from the directory holding the data files:
+ * java graph.bench.ParallelBfsBenchmark [pairs]
+ * @author Janelle Van Hofwegen
+ */
+public class ParallelBfsBenchmark {
+	private static final int DEFAULT_PAIRS = 50;
+
+	public static void main(String[] args){
+		int pairs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PAIRS;
+		List<String> characters = new LinkedList<String>();
+		Map<String, List<String>> books = new HashMap<String, List<String>>();
+		MarvelParser.parseData(characters, books);
+		DirectedGraph<String> graph = MarvelPaths.buildGraph(characters, books);
+		List<String> names = new ArrayList<String>(graph.nodeSet());
+		Random random = new Random(41);
+		String[][] queries = new String[pairs][];
+		for(int i = 0; i < pairs; i++){
+			queries[i] = new String[] {names.get(random.nextInt(names.size())),
+					names.get(random.nextInt(names.size()))};
+		}
+		System.out.println("marvel: " + names.size() + " nodes, " + pairs + " pairs");
+		System.out.println("processors: " + Runtime.getRuntime().availableProcessors());
+
+		int[] lengths = new int[pairs];
+		long[] times = new long[pairs];
+		for(int i = 0; i < pairs; i++){
+			long start = System.nanoTime();
+			List<Edge> path = graph.leastPaths(queries[i][0], queries[i][1]);
+			times[i] = System.nanoTime() - start;
+			lengths[i] = path == null ? -1 : path.size();
+		}
+		print("sequential", times);
+
+		int processors = Runtime.getRuntime().availableProcessors();
+		for(int t = 1; ; t = Math.min(t * 2, processors)){
+			ForkJoinPool pool = new ForkJoinPool(t);
+			// the first search makes the array based copy of the graph
+			long start = System.nanoTime();
+			graph.leastPaths(queries[0][0], queries[0][1], pool);
+			System.out.println("  copy + first search: " + millis(System.nanoTime() - start) + " ms");
+			for(int i = 0; i < pairs; i++){
+				start = System.nanoTime();
+				List<Edge> path = graph.leastPaths(queries[i][0], queries[i][1], pool);
+				times[i] = System.nanoTime() - start;
+				if((path == null ? -1 : path.size()) != lengths[i]){
+					throw new IllegalStateException("different path lengths for " +
+							Arrays.toString(queries[i]));
+				}
+			}
+			pool.shutdown();
+			print(t + " thread" + (t == 1 ? "" : "s"), times);
+			if(t == processors){
+				break;
+			}
+		}
+	}
+
+	// Prints the mean, median and largest of the given times
+	private static void print(String name, long[] times){
+		long[] sorted = times.clone();
+		Arrays.sort(sorted);
+		long total = 0;
+		for(long t : sorted){
+			total += t;
+		}
+		System.out.println(name + ": mean " + millis(total / sorted.length) + " ms, p50 " +
+				millis(sorted[sorted.length / 2]) + " ms, max " +
+				millis(sorted[sorted.length - 1]) + " ms");
+	}
+
+	// Returns the given number of nanoseconds in milliseconds
+	private static String millis(long nanos){
+		return String.format("%.2f", nanos / 1e6);
+	}
+}
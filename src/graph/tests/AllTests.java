@@ -1,13 +1,14 @@
-package graph.tests;
-
-import org.junit.runner.RunWith;
-import org.junit.runners.Suite;
-
-@RunWith(Suite.class)
-@Suite.SuiteClasses({
-	EdgeTest.class,
-	DirectedGraphTest.class
-	})
-public class AllTests {
-	// this class intentionally left blank.
-}
+package graph.tests;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+	EdgeTest.class,
+	DirectedGraphTest.class,
+	GraphAnalysisTest.class
+	})
+public class AllTests {
+	// this class intentionally left blank.
+}
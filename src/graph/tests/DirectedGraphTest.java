@@ -1,416 +1,928 @@
-package graph.tests;
-
-
-import java.util.*;
-import graph.*;
-import marvel.MarvelEdge;
-import org.junit.Test;
-import static org.junit.Assert.*; 
-/**
- * Tests the various methods of DirectedGraph to make sure that they are operating properly
- * (doing what their specification says)
- * @author Janelle Van Hofwegen
- *
- */
-public class DirectedGraphTest {
-	// Individual nodes to be used commonly in test operations
-	private final String n1 = "Fred";
-	private final String n2 = "Lucy";
-	private final String n3 = "Sally";	
-	private final String n4 = "Jenny";
-	private final String n5 = "Darold";
-	
-	private final Edge e1 = new MarvelEdge(n1, n2, "label 1");
-	private final Edge e2 = new MarvelEdge(n2, n1, "label 2");
-	private final Edge e3 = new MarvelEdge(n2, n3, "label 3");	
-	private final Edge e4 = new MarvelEdge(n3, n2, "label 4");
-	private final Edge e5 = new MarvelEdge(n1, n3, "label 5");
-	private final Edge e6 = new MarvelEdge(n5, n4, "label 6");
-	
-	// Lists of nodes to be used commonly in test operations
-	private final List <String> multiNodesList = new LinkedList<String>();
-	private final List<Edge> multiEdgesList = new LinkedList<Edge>();
-	
-	// Initializes multiNodesList & multiEdgesList
-	public DirectedGraphTest(){
-		// add nodes
-		multiNodesList.add(n1);
-		multiNodesList.add(n2);
-		multiNodesList.add(n3);
-		// add edges
-		multiEdgesList.add(e1);
-		multiEdgesList.add(e2);
-		multiEdgesList.add(e3);
-	}
-	
-	// **************************************************************
-	// Test nodeSet
-	//***************************************************************
-	@Test
-	public void testNodeSet() { 
-		// test empty graph
-		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
-		assertTrue("set should not contain any elements", gEmpty.nodeSet().size() == 0);
-		
-		// test one String graph
-		List<String> oneList = new LinkedList<String>();
-		oneList.add(n1);
-		DirectedGraph<String> gOne = new DirectedGraph<String>(oneList);
-		assertTrue("set contains wrong # of elements", gOne.nodeSet().size() == 1);
-		assertTrue("set does not contain expected element", gOne.nodeSet().contains(n1));
-		
-		// test multi-String graph
-		DirectedGraph<String> multiNode = new DirectedGraph<String>(multiNodesList);
-		assertTrue("set contains wrong # elements", multiNode.nodeSet().size() == 3);
-		assertTrue("set does not contain expected element", 
-				multiNode.nodeSet().containsAll(multiNodesList));
-	}
-	
-	// **************************************************************
-	// Test various constructor combinations.  Assumes  nodeSet works properly
-	// because it was tested earlier.
-	//***************************************************************
-	@Test
-	public void testConstructors(){
-		List<String> emptyNodeList = new LinkedList<String>();
-		List<String> oneNodeList = new LinkedList<String>();
-		List<String> twoNodeList = new LinkedList<String>();
-		List<String> fiveNodeList = new LinkedList<String>();
-		oneNodeList.add(n1);
-		twoNodeList.add(n1);
-		twoNodeList.add(n2);
-		fiveNodeList.add(n1);
-		fiveNodeList.add(n2);
-		fiveNodeList.add(n3);
-		fiveNodeList.add(n4);
-		fiveNodeList.add(n5);
-		
-		// Test Constructor that accepts a list of nodes.  Lists sent in
-		// are of various lengths.
-		DirectedGraph<String> emptyNodeGraph = new DirectedGraph<String>(emptyNodeList); 
-		DirectedGraph<String> oneNodeGraph = new DirectedGraph<String>(oneNodeList);
-		DirectedGraph<String> twoNodeGraph = new DirectedGraph<String>(twoNodeList);
-		DirectedGraph<String> fiveNodeGraph = new DirectedGraph<String>(fiveNodeList);
-		
-		assertTrue(emptyNodeGraph.nodeSet().size() == 0);
-		assertTrue(oneNodeGraph.nodeSet().size() == 1);
-		assertTrue(twoNodeGraph.nodeSet().size() == 2);
-		assertTrue(fiveNodeGraph.nodeSet().size() == 5);
-	}
-	
-	// **************************************************************
-	// Test addNode: assumes nodeSet works properly because it was tested
-	// earlier.
-	//***************************************************************
-	@Test
-	public void testaddNode() { 
-		// add onto empty graph
-		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
-		gEmpty.addNode(n1);
-		assertTrue("set does not contain expected element", gEmpty.nodeSet().contains(n1));
-		gEmpty.addNode(n2);
-		assertTrue("set does not contain expected element", gEmpty.nodeSet().contains(n1));
-		assertTrue("set does not contain expected element", gEmpty.nodeSet().contains(n2));
-		gEmpty.addNode(n3);
-		assertTrue("set does not contain expected element", gEmpty.nodeSet().containsAll(multiNodesList));
-		
-		// add onto graph already containing some elements
-		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
-		gMult.addNode(n4);
-		gMult.addNode(n5);
-		assertTrue("set does not contain expected element", gMult.nodeSet().contains(n4));
-		assertTrue("set does not contain expected element", gMult.nodeSet().contains(n5));
-		assertTrue("set does not contain expected element", gMult.nodeSet().containsAll(multiNodesList));
-		
-		// try to insert same String multiple times (should have no effect)
-		gMult.addNode(n5);
-		gMult.addNode(n5);
-		gMult.addNode(n4);
-		assertTrue("set does not contain expected element", gMult.nodeSet().contains(n4));
-		assertTrue("set does not contain expected element", gMult.nodeSet().contains(n5));
-		
-	}	
-	
-	
-	// **************************************************************
-	// Test containsNode
-	//***************************************************************
-	@Test
-	public void testContainsNode(){
-		// test empty graph
-		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
-		assertFalse(gEmpty.containsNode(n1));
-		
-		// test multi-String graph
-		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
-		assertFalse(gMult.containsNode(n4));
-		assertTrue(gMult.containsNode(n1));
-
-	}
-	
-	// **************************************************************
-	// Test removeNode: assumes addNode(), containsNode(), and  NodeSet()
-	// work properly because they were tested earlier.
-	//***************************************************************
-	
-	@Test
-	public void testRemoveNode(){
-		// add 1, then remove 1
-		DirectedGraph<String> g1 = new DirectedGraph<String>();
-		g1.addNode(n1);
-		g1.removeNode(n1);
-		assertFalse(g1.containsNode(n1));
-		
-		// add 3, then remove 1
-		DirectedGraph<String> g2 = new DirectedGraph<String>();
-		g2.addNode(n1);
-		g2.addNode(n2);
-		g2.addNode(n3);
-		g2.removeNode(n2);
-		assertFalse(g2.containsNode(n2));
-		
-		// add 3, then remove 3
-		DirectedGraph<String> g3 = new DirectedGraph<String>();
-		g3.addNode(n1);
-		g3.addNode(n2);
-		g3.addNode(n3);
-		g3.removeNode(n1);
-		g3.removeNode(n2);
-		g3.removeNode(n3);
-		assertFalse(g3.containsNode(n1));
-		assertFalse(g3.containsNode(n2));
-		assertFalse(g3.containsNode(n3));
-		
-		// try to remove elements not contained in list	
-		DirectedGraph<String> g4 = new DirectedGraph<String>(multiNodesList);
-		g4.removeNode(n4);
-		g4.removeNode(n5);
-		assertTrue(g4.nodeSet().containsAll(multiNodesList));
-		assertTrue(g4.nodeSet().size() == 3);
-	}
-	
-	// **************************************************************
-	// Test containsEdge
-	//***************************************************************
-	@Test
-	public void testContainsEdge(){
-		// test empty graph
-		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
-		assertFalse(gEmpty.containsEdge(e1));
-		
-		// test multi-String graph with no edges
-		DirectedGraph<String> gMult1 = new DirectedGraph<String>(multiNodesList);
-		assertFalse(gMult1.containsEdge(e1));
-		
-		// test multi-String graph with multiple edges
-		DirectedGraph<String> gMult2 = new DirectedGraph<String>(multiNodesList, multiEdgesList);
-		assertTrue(gMult2.containsEdge(e1));
-		assertTrue(gMult2.containsEdge(e2));
-		assertTrue(gMult2.containsEdge(e3));
-		assertFalse(gMult2.containsEdge(e4));
-	}
-	
-	// **************************************************************
-	// Test edgesOf
-	//***************************************************************
-	@Test(expected=IllegalArgumentException.class)
-	public void testEdgesOfExceptionForBadEdgePass(){
-		// try to get a set from a graph that doesn't contain the given String
-		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
-		gMult.edgesOf(n5);
-	}
-	
-	@Test
-	public void testEdgesOf(){
-		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList, multiEdgesList);
-
-		// test String that exists but has no edges
-		assertTrue(gMult.edgesOf(n3).size() == 0);
-		
-		// test String that exists with one edges
-		assertTrue(gMult.edgesOf(n1).size() == 1);
-		assertTrue(gMult.edgesOf(n1).contains(e1));
-
-
-		// test String that exists with multiple edges
-		assertTrue(gMult.edgesOf(n2).size() == 2);
-		assertTrue(gMult.edgesOf(n2).contains(e2));
-		assertTrue(gMult.edgesOf(n2).contains(e3));
-	}
-	
-	// **************************************************************
-	// Test addEdge : assumes that containsEdge works properly, since
-	// it was tested earlier
-	//***************************************************************
-	@Test(expected=IllegalArgumentException.class)
-	public void testAddEdgeExceptionEmptyGraph(){
-		// try to add edge into empty list
-		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
-		gEmpty.addEdge(e1);
-	}
-	
-	@Test(expected=IllegalArgumentException.class)
-	public void testAddEdgeExceptionMultiGraph(){
-		// try to add illegal edge into graph containing some elements
-		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
-		gMult.addEdge(e6);
-	}
-	
-	@Test
-	public void testAddEdge(){	
-		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
-
-		// add legal edges onto graph already containing some elements
-		gMult.addEdge(e1);
-		assertTrue(gMult.containsEdge(e1));
-		assertTrue(gMult.edgesOf(n1).size() ==1);
-		gMult.addEdge(e2);
-		assertTrue(gMult.containsEdge(e1));
-		assertTrue(gMult.containsEdge(e2));
-		assertTrue(gMult.edgesOf(n1).size() ==1);
-		assertTrue(gMult.edgesOf(n2).size() ==1);
-
-		gMult.addEdge(e3);
-		assertTrue(gMult.containsEdge(e1));
-		assertTrue(gMult.containsEdge(e2));
-		assertTrue(gMult.containsEdge(e3));
-		assertTrue(gMult.edgesOf(n1).size() ==1);
-		assertTrue(gMult.edgesOf(n2).size() ==2);
-
-		// try to insert same edge multiple times (legal)
-		// Should have no effect.
-     	gMult.addEdge(new MarvelEdge(n2, n3, "label 3")); 
-		gMult.addEdge(new MarvelEdge(n2, n3, "label 3"));
-		gMult.addEdge(e3);
-		assertTrue(gMult.containsEdge(e1));
-		assertTrue(gMult.containsEdge(e2));
-		assertTrue(gMult.containsEdge(e3));
-		assertFalse(gMult.containsEdge(e6));
-		assertTrue(gMult.edgesOf(n1).size() == 1);
-		for(Edge e: gMult.edgesOf(n2)){
-			System.out.println(e.getTarget() + " " + e.getSource() + " " + ((MarvelEdge)e).getBook());
-		}
-		assertTrue("size of edgesOf is " + gMult.edgesOf(n2).size() + " when it should be 2",gMult.edgesOf(n2).size() == 2);
-	}
-	
-	/*@Test
-	public void testAddEdgeOtherConstructor(){	
-		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
-
-		// add legal edges onto graph already containing some elements
-		gMult.addEdge(n1, n2, "label 1");
-		assertTrue(gMult.containsEdge(e1));
-		assertTrue(gMult.edgesOf(n1).size() ==1);
-		gMult.addEdge(n2, n1, "label 2");
-		assertTrue(gMult.containsEdge(e1));
-		assertTrue(gMult.containsEdge(e2));
-		assertTrue(gMult.edgesOf(n1).size() ==1);
-		assertTrue(gMult.edgesOf(n2).size() ==1);
-
-		gMult.addEdge(n2, n3, "label 3");
-		assertTrue(gMult.containsEdge(e1));
-		assertTrue(gMult.containsEdge(e2));
-		assertTrue(gMult.containsEdge(e3));
-		assertTrue(gMult.edgesOf(n1).size() ==1);
-		assertTrue(gMult.edgesOf(n2).size() ==2);
-
-		// try to insert same edge multiple times (legal)
-		// Should have no effect.
-     	gMult.addEdge(new MarvelEdge(n2, n3, "label 3")); 
-		gMult.addEdge(new MarvelEdge(n2, n3, "label 3"));
-		gMult.addEdge(n2, n1, "label 2");
-		assertTrue(gMult.containsEdge(e1));
-		assertTrue(gMult.containsEdge(e2));
-		assertTrue(gMult.containsEdge(e3));
-		assertFalse(gMult.containsEdge(e6));
-		assertTrue(gMult.edgesOf(n1).size() ==1);
-		assertTrue(gMult.edgesOf(n2).size() ==2);
-	}*/
-	
-	// **************************************************************
-	// Test removeEdge: Assumes addEdge and containsEdge work properly,
-	// since they were tested earlier.
-	//***************************************************************
-	
-	@Test
-	public void testRemoveEdge(){
-		// add 1, remove 1
-		DirectedGraph<String> g1 = new DirectedGraph<String>(multiNodesList);
-		g1.addEdge(e1);
-		g1.removeEdge(e1);
-		assertFalse(g1.containsEdge(e1));
-		
-		// add 3, remove 1
-		DirectedGraph<String> g2 = new DirectedGraph<String>(multiNodesList);
-		g2.addEdge(e1);
-		g2.addEdge(e3);
-		g2.addEdge(e2);
-		g2.removeEdge(e3);
-		assertFalse(g2.containsEdge(e3));
-		
-		// add 3, remove 3
-		DirectedGraph<String> g3 = new DirectedGraph<String>(multiNodesList);
-		g3.addEdge(e1);
-		g3.addEdge(e3);
-		g3.addEdge(e2);
-		g3.removeEdge(e3);
-		g3.removeEdge(e1);
-		g3.removeEdge(e2);
-		assertFalse(g3.containsEdge(e1));
-		assertFalse(g3.containsEdge(e2));
-		assertFalse(g3.containsEdge(e3));
-		
-		// mixed combination of add, remove
-		DirectedGraph<String> g4 = new DirectedGraph<String>(multiNodesList);
-		g4.addEdge(e1);
-		g4.addEdge(e3);
-		g4.removeEdge(e1);
-		g4.addEdge(e2);
-		g4.addEdge(e1);
-		g4.removeEdge(e3);
-		g4.removeEdge(e2);
-		assertTrue(g4.containsEdge(e1));
-		assertFalse(g4.containsEdge(e2));
-		assertFalse(g4.containsEdge(e3));
-
-		// try to remove edge not contained in graph
-		DirectedGraph<String> g5 = new DirectedGraph<String>(multiNodesList, multiEdgesList);
-		g4.removeEdge(e5);
-		assertTrue(g5.containsEdge(e1));
-		assertTrue(g5.containsEdge(e2));
-		assertTrue(g5.containsEdge(e3));
-	}	
-	
-	// **************************************************************
-	// Test leastPaths
-	//***************************************************************
-	@Test(expected=IllegalArgumentException.class)
-	public  void testLeastPathsNonExistentSource(){
-		// test trying to find path of Source Node not in graph
-		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
-		g.leastPaths(n4, n2);
-		
-	}
-	@Test(expected=IllegalArgumentException.class)
-	public  void testLeastPathsNonExistentTarget(){
-		// test trying to find path of Target Node not in graph
-		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
-		g.leastPaths(n1, n4);	
-	}
-	
-	@Test
-	public void testLeastPaths(){
-		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);		
-		// one edge path
-		assertTrue(g.leastPaths(n1, n2).size() == 1);
-		assertTrue(g.leastPaths(n1, n2).contains(e1));
-		// path to self
-		assertTrue(g.leastPaths(n1, n1).size() == 0);
-		// no path
-		assertNull(g.leastPaths(n3, n1));
-		// two edge path
-		assertTrue(g.leastPaths(n1, n3).size() == 2);
-		assertTrue(g.leastPaths(n1, n3).contains(e1));
-		assertTrue(g.leastPaths(n1, n3).contains(e3));
-	}
-}
\ No newline at end of file
+package graph.tests;
+
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import graph.*;
+import marvel.MarvelEdge;
+import route_finder.CampusEdge;
+import route_finder.EndPoint;
+import org.junit.AfterClass;
+import org.junit.Test;
+import static org.junit.Assert.*; 
+/**
+ * Tests the various methods of DirectedGraph to make sure that they are operating properly
+ * (doing what their specification says)
+ * @author Janelle Van Hofwegen
+ *
+ */
+public class DirectedGraphTest {
+	// Individual nodes to be used commonly in test operations
+	private final String n1 = "Fred";
+	private final String n2 = "Lucy";
+	private final String n3 = "Sally";	
+	private final String n4 = "Jenny";
+	private final String n5 = "Darold";
+	
+	private final Edge e1 = new MarvelEdge(n1, n2, "label 1");
+	private final Edge e2 = new MarvelEdge(n2, n1, "label 2");
+	private final Edge e3 = new MarvelEdge(n2, n3, "label 3");	
+	private final Edge e4 = new MarvelEdge(n3, n2, "label 4");
+	private final Edge e5 = new MarvelEdge(n1, n3, "label 5");
+	private final Edge e6 = new MarvelEdge(n5, n4, "label 6");
+	
+	// Lists of nodes to be used commonly in test operations
+	private final List <String> multiNodesList = new LinkedList<String>();
+	private final List<Edge> multiEdgesList = new LinkedList<Edge>();
+	
+	// Initializes multiNodesList & multiEdgesList
+	public DirectedGraphTest(){
+		// add nodes
+		multiNodesList.add(n1);
+		multiNodesList.add(n2);
+		multiNodesList.add(n3);
+		// add edges
+		multiEdgesList.add(e1);
+		multiEdgesList.add(e2);
+		multiEdgesList.add(e3);
+	}
+	
+	// **************************************************************
+	// Test nodeSet
+	//***************************************************************
+	@Test
+	public void testNodeSet() { 
+		// test empty graph
+		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
+		assertTrue("set should not contain any elements", gEmpty.nodeSet().size() == 0);
+		
+		// test one String graph
+		List<String> oneList = new LinkedList<String>();
+		oneList.add(n1);
+		DirectedGraph<String> gOne = new DirectedGraph<String>(oneList);
+		assertTrue("set contains wrong # of elements", gOne.nodeSet().size() == 1);
+		assertTrue("set does not contain expected element", gOne.nodeSet().contains(n1));
+		
+		// test multi-String graph
+		DirectedGraph<String> multiNode = new DirectedGraph<String>(multiNodesList);
+		assertTrue("set contains wrong # elements", multiNode.nodeSet().size() == 3);
+		assertTrue("set does not contain expected element", 
+				multiNode.nodeSet().containsAll(multiNodesList));
+	}
+	
+	// **************************************************************
+	// Test various constructor combinations.  Assumes  nodeSet works properly
+	// because it was tested earlier.
+	//***************************************************************
+	@Test
+	public void testConstructors(){
+		List<String> emptyNodeList = new LinkedList<String>();
+		List<String> oneNodeList = new LinkedList<String>();
+		List<String> twoNodeList = new LinkedList<String>();
+		List<String> fiveNodeList = new LinkedList<String>();
+		oneNodeList.add(n1);
+		twoNodeList.add(n1);
+		twoNodeList.add(n2);
+		fiveNodeList.add(n1);
+		fiveNodeList.add(n2);
+		fiveNodeList.add(n3);
+		fiveNodeList.add(n4);
+		fiveNodeList.add(n5);
+		
+		// Test Constructor that accepts a list of nodes.  Lists sent in
+		// are of various lengths.
+		DirectedGraph<String> emptyNodeGraph = new DirectedGraph<String>(emptyNodeList); 
+		DirectedGraph<String> oneNodeGraph = new DirectedGraph<String>(oneNodeList);
+		DirectedGraph<String> twoNodeGraph = new DirectedGraph<String>(twoNodeList);
+		DirectedGraph<String> fiveNodeGraph = new DirectedGraph<String>(fiveNodeList);
+		
+		assertTrue(emptyNodeGraph.nodeSet().size() == 0);
+		assertTrue(oneNodeGraph.nodeSet().size() == 1);
+		assertTrue(twoNodeGraph.nodeSet().size() == 2);
+		assertTrue(fiveNodeGraph.nodeSet().size() == 5);
+	}
+	
+	// **************************************************************
+	// Test addNode: assumes nodeSet works properly because it was tested
+	// earlier.
+	//***************************************************************
+	@Test
+	public void testaddNode() { 
+		// add onto empty graph
+		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
+		gEmpty.addNode(n1);
+		assertTrue("set does not contain expected element", gEmpty.nodeSet().contains(n1));
+		gEmpty.addNode(n2);
+		assertTrue("set does not contain expected element", gEmpty.nodeSet().contains(n1));
+		assertTrue("set does not contain expected element", gEmpty.nodeSet().contains(n2));
+		gEmpty.addNode(n3);
+		assertTrue("set does not contain expected element", gEmpty.nodeSet().containsAll(multiNodesList));
+		
+		// add onto graph already containing some elements
+		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
+		gMult.addNode(n4);
+		gMult.addNode(n5);
+		assertTrue("set does not contain expected element", gMult.nodeSet().contains(n4));
+		assertTrue("set does not contain expected element", gMult.nodeSet().contains(n5));
+		assertTrue("set does not contain expected element", gMult.nodeSet().containsAll(multiNodesList));
+		
+		// try to insert same String multiple times (should have no effect)
+		gMult.addNode(n5);
+		gMult.addNode(n5);
+		gMult.addNode(n4);
+		assertTrue("set does not contain expected element", gMult.nodeSet().contains(n4));
+		assertTrue("set does not contain expected element", gMult.nodeSet().contains(n5));
+		
+	}	
+	
+	
+	// **************************************************************
+	// Test containsNode
+	//***************************************************************
+	@Test
+	public void testContainsNode(){
+		// test empty graph
+		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
+		assertFalse(gEmpty.containsNode(n1));
+		
+		// test multi-String graph
+		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
+		assertFalse(gMult.containsNode(n4));
+		assertTrue(gMult.containsNode(n1));
+
+	}
+	
+	// **************************************************************
+	// Test removeNode: assumes addNode(), containsNode(), and  NodeSet()
+	// work properly because they were tested earlier.
+	//***************************************************************
+	
+	@Test
+	public void testRemoveNode(){
+		// add 1, then remove 1
+		DirectedGraph<String> g1 = new DirectedGraph<String>();
+		g1.addNode(n1);
+		g1.removeNode(n1);
+		assertFalse(g1.containsNode(n1));
+		
+		// add 3, then remove 1
+		DirectedGraph<String> g2 = new DirectedGraph<String>();
+		g2.addNode(n1);
+		g2.addNode(n2);
+		g2.addNode(n3);
+		g2.removeNode(n2);
+		assertFalse(g2.containsNode(n2));
+		
+		// add 3, then remove 3
+		DirectedGraph<String> g3 = new DirectedGraph<String>();
+		g3.addNode(n1);
+		g3.addNode(n2);
+		g3.addNode(n3);
+		g3.removeNode(n1);
+		g3.removeNode(n2);
+		g3.removeNode(n3);
+		assertFalse(g3.containsNode(n1));
+		assertFalse(g3.containsNode(n2));
+		assertFalse(g3.containsNode(n3));
+		
+		// try to remove elements not contained in list	
+		DirectedGraph<String> g4 = new DirectedGraph<String>(multiNodesList);
+		g4.removeNode(n4);
+		g4.removeNode(n5);
+		assertTrue(g4.nodeSet().containsAll(multiNodesList));
+		assertTrue(g4.nodeSet().size() == 3);
+	}
+	
+	// **************************************************************
+	// Test containsEdge
+	//***************************************************************
+	@Test
+	public void testContainsEdge(){
+		// test empty graph
+		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
+		assertFalse(gEmpty.containsEdge(e1));
+		
+		// test multi-String graph with no edges
+		DirectedGraph<String> gMult1 = new DirectedGraph<String>(multiNodesList);
+		assertFalse(gMult1.containsEdge(e1));
+		
+		// test multi-String graph with multiple edges
+		DirectedGraph<String> gMult2 = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		assertTrue(gMult2.containsEdge(e1));
+		assertTrue(gMult2.containsEdge(e2));
+		assertTrue(gMult2.containsEdge(e3));
+		assertFalse(gMult2.containsEdge(e4));
+	}
+	
+	// **************************************************************
+	// Test edgesOf
+	//***************************************************************
+	@Test(expected=IllegalArgumentException.class)
+	public void testEdgesOfExceptionForBadEdgePass(){
+		// try to get a set from a graph that doesn't contain the given String
+		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
+		gMult.edgesOf(n5);
+	}
+	
+	@Test
+	public void testEdgesOf(){
+		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+
+		// test String that exists but has no edges
+		assertTrue(gMult.edgesOf(n3).size() == 0);
+		
+		// test String that exists with one edges
+		assertTrue(gMult.edgesOf(n1).size() == 1);
+		assertTrue(gMult.edgesOf(n1).contains(e1));
+
+
+		// test String that exists with multiple edges
+		assertTrue(gMult.edgesOf(n2).size() == 2);
+		assertTrue(gMult.edgesOf(n2).contains(e2));
+		assertTrue(gMult.edgesOf(n2).contains(e3));
+	}
+	
+	// **************************************************************
+	// Test addEdge : assumes that containsEdge works properly, since
+	// it was tested earlier
+	//***************************************************************
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddEdgeExceptionEmptyGraph(){
+		// try to add edge into empty list
+		DirectedGraph<String> gEmpty = new DirectedGraph<String>();
+		gEmpty.addEdge(e1);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAddEdgeExceptionMultiGraph(){
+		// try to add illegal edge into graph containing some elements
+		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
+		gMult.addEdge(e6);
+	}
+	
+	@Test
+	public void testAddEdge(){	
+		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
+
+		// add legal edges onto graph already containing some elements
+		gMult.addEdge(e1);
+		assertTrue(gMult.containsEdge(e1));
+		assertTrue(gMult.edgesOf(n1).size() ==1);
+		gMult.addEdge(e2);
+		assertTrue(gMult.containsEdge(e1));
+		assertTrue(gMult.containsEdge(e2));
+		assertTrue(gMult.edgesOf(n1).size() ==1);
+		assertTrue(gMult.edgesOf(n2).size() ==1);
+
+		gMult.addEdge(e3);
+		assertTrue(gMult.containsEdge(e1));
+		assertTrue(gMult.containsEdge(e2));
+		assertTrue(gMult.containsEdge(e3));
+		assertTrue(gMult.edgesOf(n1).size() ==1);
+		assertTrue(gMult.edgesOf(n2).size() ==2);
+
+		// try to insert same edge multiple times (legal)
+		// Should have no effect.
+     	gMult.addEdge(new MarvelEdge(n2, n3, "label 3")); 
+		gMult.addEdge(new MarvelEdge(n2, n3, "label 3"));
+		gMult.addEdge(e3);
+		assertTrue(gMult.containsEdge(e1));
+		assertTrue(gMult.containsEdge(e2));
+		assertTrue(gMult.containsEdge(e3));
+		assertFalse(gMult.containsEdge(e6));
+		assertTrue(gMult.edgesOf(n1).size() == 1);
+		for(Edge e: gMult.edgesOf(n2)){
+			System.out.println(e.getTarget() + " " + e.getSource() + " " + ((MarvelEdge)e).getBook());
+		}
+		assertTrue("size of edgesOf is " + gMult.edgesOf(n2).size() + " when it should be 2",gMult.edgesOf(n2).size() == 2);
+	}
+	
+	/*@Test
+	public void testAddEdgeOtherConstructor(){	
+		DirectedGraph<String> gMult = new DirectedGraph<String>(multiNodesList);
+
+		// add legal edges onto graph already containing some elements
+		gMult.addEdge(n1, n2, "label 1");
+		assertTrue(gMult.containsEdge(e1));
+		assertTrue(gMult.edgesOf(n1).size() ==1);
+		gMult.addEdge(n2, n1, "label 2");
+		assertTrue(gMult.containsEdge(e1));
+		assertTrue(gMult.containsEdge(e2));
+		assertTrue(gMult.edgesOf(n1).size() ==1);
+		assertTrue(gMult.edgesOf(n2).size() ==1);
+
+		gMult.addEdge(n2, n3, "label 3");
+		assertTrue(gMult.containsEdge(e1));
+		assertTrue(gMult.containsEdge(e2));
+		assertTrue(gMult.containsEdge(e3));
+		assertTrue(gMult.edgesOf(n1).size() ==1);
+		assertTrue(gMult.edgesOf(n2).size() ==2);
+
+		// try to insert same edge multiple times (legal)
+		// Should have no effect.
+     	gMult.addEdge(new MarvelEdge(n2, n3, "label 3")); 
+		gMult.addEdge(new MarvelEdge(n2, n3, "label 3"));
+		gMult.addEdge(n2, n1, "label 2");
+		assertTrue(gMult.containsEdge(e1));
+		assertTrue(gMult.containsEdge(e2));
+		assertTrue(gMult.containsEdge(e3));
+		assertFalse(gMult.containsEdge(e6));
+		assertTrue(gMult.edgesOf(n1).size() ==1);
+		assertTrue(gMult.edgesOf(n2).size() ==2);
+	}*/
+	
+	// **************************************************************
+	// Test removeEdge: Assumes addEdge and containsEdge work properly,
+	// since they were tested earlier.
+	//***************************************************************
+	
+	@Test
+	public void testRemoveEdge(){
+		// add 1, remove 1
+		DirectedGraph<String> g1 = new DirectedGraph<String>(multiNodesList);
+		g1.addEdge(e1);
+		g1.removeEdge(e1);
+		assertFalse(g1.containsEdge(e1));
+		
+		// add 3, remove 1
+		DirectedGraph<String> g2 = new DirectedGraph<String>(multiNodesList);
+		g2.addEdge(e1);
+		g2.addEdge(e3);
+		g2.addEdge(e2);
+		g2.removeEdge(e3);
+		assertFalse(g2.containsEdge(e3));
+		
+		// add 3, remove 3
+		DirectedGraph<String> g3 = new DirectedGraph<String>(multiNodesList);
+		g3.addEdge(e1);
+		g3.addEdge(e3);
+		g3.addEdge(e2);
+		g3.removeEdge(e3);
+		g3.removeEdge(e1);
+		g3.removeEdge(e2);
+		assertFalse(g3.containsEdge(e1));
+		assertFalse(g3.containsEdge(e2));
+		assertFalse(g3.containsEdge(e3));
+		
+		// mixed combination of add, remove
+		DirectedGraph<String> g4 = new DirectedGraph<String>(multiNodesList);
+		g4.addEdge(e1);
+		g4.addEdge(e3);
+		g4.removeEdge(e1);
+		g4.addEdge(e2);
+		g4.addEdge(e1);
+		g4.removeEdge(e3);
+		g4.removeEdge(e2);
+		assertTrue(g4.containsEdge(e1));
+		assertFalse(g4.containsEdge(e2));
+		assertFalse(g4.containsEdge(e3));
+
+		// try to remove edge not contained in graph
+		DirectedGraph<String> g5 = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		g4.removeEdge(e5);
+		assertTrue(g5.containsEdge(e1));
+		assertTrue(g5.containsEdge(e2));
+		assertTrue(g5.containsEdge(e3));
+	}	
+	
+	// **************************************************************
+	// Test leastPaths
+	//***************************************************************
+	@Test(expected=IllegalArgumentException.class)
+	public  void testLeastPathsNonExistentSource(){
+		// test trying to find path of Source Node not in graph
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		g.leastPaths(n4, n2);
+		
+	}
+	@Test(expected=IllegalArgumentException.class)
+	public  void testLeastPathsNonExistentTarget(){
+		// test trying to find path of Target Node not in graph
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		g.leastPaths(n1, n4);	
+	}
+	
+	@Test
+	public void testLeastPaths(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);		
+		// one edge path
+		assertTrue(g.leastPaths(n1, n2).size() == 1);
+		assertTrue(g.leastPaths(n1, n2).contains(e1));
+		// path to self
+		assertTrue(g.leastPaths(n1, n1).size() == 0);
+		// no path
+		assertNull(g.leastPaths(n3, n1));
+		// two edge path
+		assertTrue(g.leastPaths(n1, n3).size() == 2);
+		assertTrue(g.leastPaths(n1, n3).contains(e1));
+		assertTrue(g.leastPaths(n1, n3).contains(e3));
+	}
+	
+	// **************************************************************
+	// Test edgesBetween and addEdges
+	//***************************************************************
+	@Test
+	public void testEdgesBetween(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		Edge e7 = new MarvelEdge(n1, n2, "label 7");
+		assertEquals(Arrays.asList(e1), g.edgesBetween(n1, n2));
+		assertTrue(g.edgesBetween(n1, n3).isEmpty());
+		// the index is updated when edges change
+		g.addEdge(e7);
+		assertEquals(new HashSet<Edge>(Arrays.asList(e1, e7)),
+				new HashSet<Edge>(g.edgesBetween(n1, n2)));
+		g.removeEdge(e1);
+		assertEquals(Arrays.asList(e7), g.edgesBetween(n1, n2));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testEdgesBetweenNonExistentNode(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		g.edgesBetween(n1, n4);
+	}
+	
+	@Test
+	public void testAddEdgesSkipsDuplicates(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		List<Edge> edges = new ArrayList<Edge>();
+		edges.add(e1); // already in the graph
+		edges.add(e4);
+		edges.add(e5);
+		edges.add(new MarvelEdge(n3, n2, "label 4")); // equal to e4
+		assertEquals(2, g.addEdges(edges));
+		assertTrue(g.containsEdge(e4));
+		assertTrue(g.containsEdge(e5));
+		assertEquals(2, g.edgesOf(n1).size());
+		assertEquals(1, g.edgesOf(n3).size());
+	}
+	
+	@Test
+	public void testAddEdgesManyEdgesFromOneNode(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList);
+		List<Edge> edges = new ArrayList<Edge>();
+		for(int i = 0; i < 100; i++){
+			edges.add(new MarvelEdge(n1, n2, "book " + i));
+		}
+		assertEquals(100, g.addEdges(edges));
+		assertEquals(100, g.edgesOf(n1).size());
+		assertEquals(100, g.edgesBetween(n1, n2).size());
+		assertTrue(g.containsEdge(new MarvelEdge(n1, n2, "book 42")));
+	}
+	
+	@Test
+	public void testAddEdgesIllegalEdgeChangesNothing(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList);
+		List<Edge> edges = new ArrayList<Edge>();
+		edges.add(e1);
+		edges.add(e6); // nodes not in graph
+		try {
+			g.addEdges(edges);
+			fail("illegal edge was added");
+		} catch (IllegalArgumentException e) {
+			assertFalse(g.containsEdge(e1));
+		}
+	}
+	
+	// **************************************************************
+	// Test Builder
+	//***************************************************************
+	
+	// Returns whether a and b have the same nodes, and the same edges for every node
+	private static <N> boolean sameGraph(DirectedGraph<N> a, DirectedGraph<N> b){
+		if(!a.nodeSet().equals(b.nodeSet())){
+			return false;
+		}
+		for(N node : a.nodeSet()){
+			if(!new HashSet<Edge>(a.edgesOf(node)).equals(new HashSet<Edge>(b.edgesOf(node)))){
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	@Test
+	public void testBuilderSameAsConstructor(){
+		DirectedGraph<String> g = new DirectedGraph.Builder<String>(3, 3)
+				.addNodes(multiNodesList).addEdges(multiEdgesList).build();
+		assertTrue(sameGraph(new DirectedGraph<String>(multiNodesList, multiEdgesList), g));
+		assertTrue(g.containsEdge(e3));
+		assertEquals(Arrays.asList(e3), g.leastPaths(n2, n3));
+	}
+	
+	@Test
+	public void testBuilderDuplicates(){
+		DirectedGraph<String> g = new DirectedGraph.Builder<String>(0, 0)
+				.addNodes(multiNodesList).addNode(n1)
+				.addEdges(multiEdgesList).addEdge(new MarvelEdge(n1, n2, "label 1")).build();
+		assertEquals(3, g.nodeSet().size());
+		assertEquals(1, g.edgesOf(n1).size());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testBuilderIllegalEdge(){
+		new DirectedGraph.Builder<String>(3, 1).addNodes(multiNodesList).addEdge(e6).build();
+	}
+	
+	@Test
+	public void testBuilderParallel(){
+		List<Edge> edges = new ArrayList<Edge>();
+		for(int i = 0; i < 60000; i++){
+			String source = multiNodesList.get(i % 3);
+			String target = multiNodesList.get((i / 3) % 3);
+			edges.add(new MarvelEdge(source, target, "book " + i / 9));
+		}
+		DirectedGraph<String> sequential = new DirectedGraph.Builder<String>(3, edges.size())
+				.parallelism(1).addNodes(multiNodesList).addEdges(edges).build();
+		DirectedGraph<String> parallel = new DirectedGraph.Builder<String>(3, edges.size())
+				.parallelism(4).addNodes(multiNodesList).addEdges(edges).build();
+		assertTrue(sameGraph(new DirectedGraph<String>(multiNodesList, edges), sequential));
+		assertTrue(sameGraph(sequential, parallel));
+		assertEquals(20000, parallel.edgesOf(n1).size());
+	}
+	
+	@Test
+	public void testBuilderSharedReverseEdges(){
+		List<EndPoint> points = new ArrayList<EndPoint>();
+		points.add(p1);
+		points.add(p2);
+		points.add(p3);
+		DirectedGraph<EndPoint> g = new DirectedGraph.Builder<EndPoint>(3, 3)
+				.shareReverseEdges(true).addNodes(points).addEdge(r21).addEdge(r23)
+				.addEdge(r12).build();
+		assertTrue(g.sharesReverseEdges());
+		assertTrue(sameGraph(sharedGraph(r12, r21, r23), g));
+		g.removeEdge(r21);
+		assertEquals(Arrays.asList((Edge) r12), g.edgesOf(p1));
+		assertEquals(Arrays.asList((Edge) r23), g.edgesOf(p2));
+	}
+	
+	// **************************************************************
+	// Test CheckLevel
+	//***************************************************************
+	// An edge whose target can be changed after it is added to a graph, to make a
+	// graph with an edge whose target is not a node
+	private static class MovableEdge implements Edge {
+		private final Object source;
+		private Object target;
+		
+		MovableEdge(Object source, Object target){
+			this.source = source;
+			this.target = target;
+		}
+		
+		public Object getSource(){
+			return source;
+		}
+		
+		public Object getTarget(){
+			return target;
+		}
+	}
+	
+	// Returns a graph of multiNodesList and multiEdgesList with an extra edge from n1
+	// to n4, which is not a node of the graph
+	private DirectedGraph<String> illegalGraph(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		MovableEdge e = new MovableEdge(n1, n2);
+		g.addEdge(e);
+		e.target = n4;
+		return g;
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testFullCheckLevelDetectsIllegalEdge(){
+		DirectedGraph<String> g = illegalGraph();
+		CheckLevel old = CheckLevel.current();
+		CheckLevel.set(CheckLevel.FULL);
+		try {
+			g.addNode(n5);
+		} finally {
+			CheckLevel.set(old);
+		}
+	}
+	
+	@Test
+	public void testCheapCheckLevelSkipsFullSweep(){
+		DirectedGraph<String> g = illegalGraph();
+		CheckLevel old = CheckLevel.current();
+		CheckLevel.set(CheckLevel.CHEAP);
+		try {
+			g.addNode(n5);
+			assertTrue(g.containsNode(n5));
+		} finally {
+			CheckLevel.set(old);
+		}
+	}
+	
+	// **************************************************************
+	// Test component labels
+	//***************************************************************
+	@Test
+	public void testWeaklyConnected(){
+		List<String> nodes = new ArrayList<String>(multiNodesList);
+		nodes.add(n4);
+		nodes.add(n5);
+		DirectedGraph<String> g = new DirectedGraph<String>(nodes, multiEdgesList);
+		assertTrue(g.weaklyConnected(n1, n3));
+		assertTrue(g.weaklyConnected(n3, n1));
+		assertFalse(g.weaklyConnected(n1, n4));
+		g.addEdge(e6);
+		assertTrue(g.weaklyConnected(n4, n5));
+		assertFalse(g.weaklyConnected(n4, n1));
+	}
+	
+	@Test
+	public void testMayReachUnreachable(){
+		List<String> nodes = new ArrayList<String>(multiNodesList);
+		nodes.add(n4);
+		DirectedGraph<String> g = new DirectedGraph<String>(nodes, multiEdgesList);
+		assertFalse(g.mayReach(n1, n4));
+		assertNull(g.leastPaths(n1, n4));
+		// bridging edge connects the components
+		g.addEdge(new MarvelEdge(n3, n4, "bridge"));
+		assertTrue(g.mayReach(n1, n4));
+		assertEquals(3, g.leastPaths(n1, n4).size());
+	}
+	
+	@Test
+	public void testMayReachAfterRemoveEdge(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		assertTrue(g.weaklyConnected(n1, n3));
+		g.removeEdge(e3);
+		assertFalse(g.weaklyConnected(n1, n3));
+		assertNull(g.leastPaths(n1, n3));
+		g.addEdge(e5);
+		assertTrue(g.weaklyConnected(n1, n3));
+		assertEquals(1, g.leastPaths(n1, n3).size());
+	}
+	
+	@Test
+	public void testMayReachAfterRemoveNode(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		g.removeNode(n2);
+		assertFalse(g.weaklyConnected(n1, n3));
+		// e1 is left behind by removeNode, and connects n1 to n2 again once it's back
+		g.addNode(n2);
+		assertTrue(g.weaklyConnected(n1, n2));
+		assertFalse(g.weaklyConnected(n2, n3));
+	}
+	
+	@Test
+	public void testMayReachUsesAnalysis(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList);
+		g.addEdge(e1);
+		g.addEdge(e3);
+		// n3 can't reach n1, but they are weakly connected
+		assertTrue(g.weaklyConnected(n3, n1));
+		GraphAnalysis<String> a = g.analysis();
+		assertSame(a, g.analysis());
+		assertFalse(g.mayReach(n3, n1));
+		assertNull(g.leastPaths(n3, n1));
+		assertTrue(g.mayReach(n1, n3));
+		// changing the graph discards the analysis
+		g.addEdge(e4);
+		g.addEdge(e2);
+		assertNotSame(a, g.analysis());
+		assertTrue(g.mayReach(n3, n1));
+		assertEquals(2, g.leastPaths(n3, n1).size());
+	}
+	
+	// after a change, mayReach redoes the analysis rather than using weak components
+	// alone
+	@Test
+	public void testMayReachRedoesAnalysis(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList);
+		g.addEdge(e1);
+		assertFalse(g.mayReach(n2, n1));
+		g.addEdge(e3);
+		assertFalse(g.mayReach(n3, n1));
+		assertTrue(g.mayReach(n1, n3));
+		g.addEdge(e4);
+		g.addEdge(e2);
+		assertTrue(g.mayReach(n3, n1));
+	}
+	
+	// graphs are labeled when they are made, by constructors and by the Builder
+	@Test
+	public void testComponentsLabeledOnConstruction(){
+		List<String> nodes = new ArrayList<String>(multiNodesList);
+		nodes.add(n4);
+		DirectedGraph<String> g = new DirectedGraph<String>(nodes, multiEdgesList);
+		GraphAnalysis<String> a = g.analysis();
+		assertSame(a, g.analysis());
+		assertFalse(g.mayReach(n1, n4));
+		assertSame(a, g.analysis());
+		
+		DirectedGraph<String> built = new DirectedGraph.Builder<String>(4, 3)
+				.addNodes(nodes).addEdges(multiEdgesList).build();
+		a = built.analysis();
+		assertTrue(built.weaklyConnected(n1, n3));
+		assertFalse(built.weaklyConnected(n3, n4));
+		assertFalse(built.mayReach(n4, n1));
+		assertSame(a, built.analysis());
+		built.addEdge(new MarvelEdge(n3, n4, "bridge"));
+		assertTrue(built.weaklyConnected(n1, n4));
+		assertTrue(built.mayReach(n1, n4));
+		assertFalse(built.mayReach(n4, n1));
+	}
+	
+	// a graph that is one weakly connected component stays correct as it changes
+	@Test
+	public void testWeaklyConnectedSingleComponent(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		assertTrue(g.weaklyConnected(n1, n3));
+		g.addNode(n4);
+		assertFalse(g.weaklyConnected(n1, n4));
+		assertTrue(g.weaklyConnected(n1, n3));
+		g.addEdge(new MarvelEdge(n4, n3, "bridge"));
+		assertTrue(g.weaklyConnected(n1, n4));
+		g.removeEdge(e3);
+		assertFalse(g.weaklyConnected(n1, n3));
+		assertTrue(g.weaklyConnected(n4, n3));
+		g.addEdge(e3);
+		assertTrue(g.weaklyConnected(n1, n4));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testMayReachMissingNode(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList);
+		g.mayReach(n1, n4);
+	}
+	
+	// **************************************************************
+	// Test parallel leastPaths
+	//***************************************************************
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+	
+	@AfterClass
+	public static void shutDownPool(){
+		pool.shutdown();
+	}
+	
+	// Throws an AssertionError unless path is a path from a to b in g
+	private static void assertPath(DirectedGraph<?> g, Object a, Object b, List<Edge> path){
+		Object at = a;
+		for(Edge e : path){
+			assertEquals(at, e.getSource());
+			assertTrue(g.containsEdge(e));
+			at = e.getTarget();
+		}
+		assertEquals(b, at);
+	}
+	
+	// Returns a random graph of n nodes "0".."n-1" with about n * degree edges
+	private static DirectedGraph<String> randomGraph(int n, int degree, long seed){
+		Random random = new Random(seed);
+		List<String> nodes = new ArrayList<String>();
+		for(int i = 0; i < n; i++){
+			nodes.add("" + i);
+		}
+		List<Edge> edges = new ArrayList<Edge>();
+		for(int i = 0; i < n * degree; i++){
+			String u = "" + random.nextInt(n);
+			String v = "" + random.nextInt(n);
+			edges.add(new MarvelEdge(u, v, "e" + i));
+		}
+		return new DirectedGraph<String>(nodes, edges);
+	}
+	
+	@Test
+	public void testParallelLeastPathsMatchesSequential(){
+		// sparse graphs are searched top down, dense ones mostly bottom up
+		for(int degree : new int[] {1, 2, 20}){
+			DirectedGraph<String> g = randomGraph(3000, degree, degree);
+			Random random = new Random(41);
+			for(int i = 0; i < 30; i++){
+				String a = "" + random.nextInt(3000);
+				String b = "" + random.nextInt(3000);
+				List<Edge> expected = g.leastPaths(a, b);
+				List<Edge> found = g.leastPaths(a, b, pool);
+				if(expected == null){
+					assertNull(found);
+				} else {
+					assertEquals(expected.size(), found.size());
+					assertPath(g, a, b, found);
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testParallelLeastPathsSameNode(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		assertTrue(g.leastPaths(n1, n1, pool).isEmpty());
+	}
+	
+	@Test
+	public void testParallelLeastPathsAfterChange(){
+		List<String> nodes = new ArrayList<String>(multiNodesList);
+		nodes.add(n4);
+		DirectedGraph<String> g = new DirectedGraph<String>(nodes, multiEdgesList);
+		assertEquals(2, g.leastPaths(n1, n3, pool).size());
+		assertNull(g.leastPaths(n1, n4, pool));
+		g.addEdge(e5);
+		Edge bridge = new MarvelEdge(n3, n4, "bridge");
+		g.addEdge(bridge);
+		assertEquals(Arrays.asList(e5, bridge), g.leastPaths(n1, n4, pool));
+		g.removeEdge(bridge);
+		assertNull(g.leastPaths(n1, n4, pool));
+	}
+	
+	@Test
+	public void testParallelLeastPathsSharedReverseEdges(){
+		EndPoint p4 = new EndPoint(2, 1);
+		DirectedGraph<EndPoint> g = sharedGraph(r12, r21, r23, r23.reverse());
+		g.addNode(p4);
+		g.addEdge(new CampusEdge(p4, p3, 1));
+		List<Edge> path = g.leastPaths(p3, p1, pool);
+		assertEquals(Arrays.asList(r23.reverse(), r21), path);
+		assertNull(g.leastPaths(p1, p4, pool));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testParallelLeastPathsNullPool(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList);
+		g.leastPaths(n1, n3, null);
+	}
+	
+	// **************************************************************
+	// Test graphs that share reverse edges
+	//***************************************************************
+	private final EndPoint p1 = new EndPoint(0, 0);
+	private final EndPoint p2 = new EndPoint(1, 0);
+	private final EndPoint p3 = new EndPoint(1, 1);
+	private final CampusEdge r12 = new CampusEdge(p1, p2, 1);
+	private final CampusEdge r21 = new CampusEdge(p2, p1, 1);
+	private final CampusEdge r23 = new CampusEdge(p2, p3, 2);
+	
+	// Returns a graph sharing reverse edges with nodes p1, p2, p3 and the given edges
+	private DirectedGraph<EndPoint> sharedGraph(Edge... edges){
+		List<EndPoint> points = new ArrayList<EndPoint>();
+		points.add(p1);
+		points.add(p2);
+		points.add(p3);
+		return new DirectedGraph<EndPoint>(points, Arrays.asList(edges), true);
+	}
+	
+	@Test
+	public void testSharedReverseEdgesBothDirections(){
+		DirectedGraph<EndPoint> g = sharedGraph(r12, r21, r23);
+		assertTrue(g.sharesReverseEdges());
+		assertTrue(g.containsEdge(r12));
+		assertTrue(g.containsEdge(r21));
+		assertTrue(g.containsEdge(r23));
+		assertFalse(g.containsEdge(r23.reverse()));
+		assertEquals(Arrays.asList((Edge) r12), g.edgesOf(p1));
+		assertEquals(new HashSet<Edge>(Arrays.asList((Edge) r21, r23)),
+				new HashSet<Edge>(g.edgesOf(p2)));
+		assertTrue(g.edgesOf(p3).isEmpty());
+		assertEquals(Arrays.asList((Edge) r21), g.leastPaths(p2, p1));
+	}
+	
+	@Test
+	public void testSharedReverseEdgesAddTwice(){
+		DirectedGraph<EndPoint> g = sharedGraph(r12, r21);
+		g.addEdge(r21.reverse());
+		g.addEdge(r21);
+		assertEquals(1, g.edgesOf(p1).size());
+		assertEquals(1, g.edgesOf(p2).size());
+	}
+	
+	@Test
+	public void testSharedReverseEdgesRemoveOneDirection(){
+		DirectedGraph<EndPoint> g = sharedGraph(r12, r21);
+		g.removeEdge(r12);
+		assertFalse(g.containsEdge(r12));
+		assertTrue(g.containsEdge(r21));
+		assertTrue(g.edgesOf(p1).isEmpty());
+		assertEquals(Arrays.asList((Edge) r21), g.edgesOf(p2));
+		
+		g = sharedGraph(r12, r21);
+		g.removeEdge(r21);
+		assertTrue(g.containsEdge(r12));
+		assertFalse(g.containsEdge(r21));
+		assertEquals(Arrays.asList((Edge) r12), g.edgesOf(p1));
+		assertTrue(g.edgesOf(p2).isEmpty());
+	}
+	
+	@Test
+	public void testSharedReverseEdgesFullCheck(){
+		CheckLevel old = CheckLevel.current();
+		CheckLevel.set(CheckLevel.FULL);
+		try {
+			DirectedGraph<EndPoint> g = sharedGraph(r12, r21, r23);
+			g.addEdge(r23.reverse());
+			assertEquals(2, g.edgesOf(p2).size());
+		} finally {
+			CheckLevel.set(old);
+		}
+	}
+	
+	@Test
+	public void testSharedReverseEdgesNotReversible(){
+		DirectedGraph<String> g = new DirectedGraph<String>(multiNodesList, multiEdgesList, true);
+		assertTrue(g.containsEdge(e1));
+		assertTrue(g.containsEdge(e2));
+		assertEquals(2, g.edgesOf(n2).size());
+	}
+}
@@ -0,0 +1,134 @@
+package graph.tests;
+
+import java.util.*;
+import graph.*;
+import marvel.MarvelEdge;
+import org.junit.Test;
+import static org.junit.Assert.*;
+/**
+ * Tests the degree and strongly connected component statistics of GraphAnalysis
+ * @author Janelle Van Hofwegen
+ *
+ */
+public class GraphAnalysisTest {
+	private final String n1 = "Fred";
+	private final String n2 = "Lucy";
+	private final String n3 = "Sally";
+	private final String n4 = "Jenny";
+	private final String n5 = "Darold";
+	
+	// Fred <-> Lucy -> Sally <-> Jenny, and Darold on its own
+	private final DirectedGraph<String> graph;
+	private final GraphAnalysis<String> analysis;
+	
+	public GraphAnalysisTest(){
+		List<String> nodes = Arrays.asList(n1, n2, n3, n4, n5);
+		List<Edge> edges = new ArrayList<Edge>();
+		edges.add(new MarvelEdge(n1, n2, "label 1"));
+		edges.add(new MarvelEdge(n2, n1, "label 2"));
+		edges.add(new MarvelEdge(n2, n3, "label 3"));
+		edges.add(new MarvelEdge(n3, n4, "label 4"));
+		edges.add(new MarvelEdge(n4, n3, "label 5"));
+		edges.add(new MarvelEdge(n4, n3, "label 6"));
+		graph = new DirectedGraph<String>(nodes, edges);
+		analysis = new GraphAnalysis<String>(graph);
+	}
+	
+	@Test
+	public void testCounts(){
+		assertEquals(5, analysis.nodeCount());
+		assertEquals(6, analysis.edgeCount());
+		assertEquals(3, analysis.componentCount());
+		assertEquals(2, analysis.largestComponentSize());
+	}
+	
+	@Test
+	public void testComponents(){
+		assertTrue(analysis.sameComponent(n1, n2));
+		assertTrue(analysis.sameComponent(n3, n4));
+		assertFalse(analysis.sameComponent(n2, n3));
+		assertFalse(analysis.sameComponent(n5, n1));
+		assertEquals(2, analysis.componentSize(analysis.componentOf(n1)));
+		List<Set<String>> components = analysis.components();
+		assertEquals(3, components.size());
+		assertEquals(1, components.get(2).size());
+		assertTrue(components.get(2).contains(n5));
+	}
+	
+	@Test
+	public void testMayReach(){
+		assertTrue(analysis.mayReach(n1, n4));
+		assertTrue(analysis.mayReach(n1, n2));
+		assertFalse(analysis.mayReach(n3, n1));
+		assertFalse(analysis.mayReach(n4, n2));
+	}
+	
+	@Test
+	public void testReachability(){
+		BitSet[] reach = analysis.reachability(Arrays.asList(n1, n3, n5));
+		assertEquals(3, reach.length);
+		// Fred reaches Sally, but Sally can't reach Fred and Darold reaches no one
+		assertTrue(reach[0].get(0) && reach[0].get(1) && !reach[0].get(2));
+		assertTrue(!reach[1].get(0) && reach[1].get(1) && !reach[1].get(2));
+		assertTrue(!reach[2].get(0) && !reach[2].get(1) && reach[2].get(2));
+	}
+	
+	@Test
+	public void testDegrees(){
+		assertEquals(2, analysis.outDegree(n4));
+		assertEquals(3, analysis.inDegree(n3));
+		assertEquals(0, analysis.outDegree(n5));
+		SortedMap<Integer, Integer> out = analysis.outDegreeDistribution();
+		assertEquals(Integer.valueOf(1), out.get(0));
+		assertEquals(Integer.valueOf(2), out.get(1));
+		assertEquals(Integer.valueOf(2), out.get(2));
+		// only Darold has in-degree 0
+		assertEquals(Integer.valueOf(1), analysis.inDegreeDistribution().get(0));
+		assertTrue(analysis.report().contains("strongly connected components: 3"));
+	}
+	
+	// a long path must not overflow the stack
+	@Test
+	public void testLongPath(){
+		final int length = 200000;
+		List<Integer> nodes = new ArrayList<Integer>();
+		List<Edge> edges = new ArrayList<Edge>();
+		for(int i = 0; i < length; i++){
+			nodes.add(i);
+		}
+		DirectedGraph<Integer> path =
+				new DirectedGraph.Builder<Integer>(length, length).addNodes(nodes).build();
+		for(int i = 1; i < length; i++){
+			edges.add(new IntEdge(i - 1, i));
+		}
+		edges.add(new IntEdge(length - 1, 0));
+		path.addEdges(edges);
+		GraphAnalysis<Integer> a = new GraphAnalysis<Integer>(path);
+		assertEquals(1, a.componentCount());
+		assertEquals(length, a.largestComponentSize());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNodeNotInGraph(){
+		analysis.componentOf("Nobody");
+	}
+	
+	// An unlabeled edge between two Integers
+	private static class IntEdge implements Edge {
+		private final Integer source;
+		private final Integer target;
+		
+		IntEdge(int source, int target){
+			this.source = source;
+			this.target = target;
+		}
+		
+		public Object getSource() {
+			return source;
+		}
+		
+		public Object getTarget() {
+			return target;
+		}
+	}
+}
@@ -1,105 +1,209 @@
-package route_finder;
-
-import graph.Edge;
-
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.*;
-/**
- * CampusDataParser parses a path file and buildings file.
- * 
- *  The paths file contains straight-line walking path data, and the building
- *  file contains containing building coordinate locations.
- * @author Janelle Van Hofwegen
- */
-public class CampusDataParser {
-	private static final String PATHS_FILE = "campus_paths.txt";
-	private static final String BUILDINGS_FILE = "campus_buildings.txt";
-
-	// Parses building file into a list of building objects
-	// returns null if file was not found
-	/**
-	 * Reads in the campus Building data file and returns a set of those Buildings
-	 * @return set of Buildings present on campus
-	 */
-	public static Set<Building> parseBuildingData(){
-		try {
-			// Load the data file
-			InputStream is = new FileInputStream(BUILDINGS_FILE);
-			InputStreamReader isr = new InputStreamReader(is);
-			BufferedReader rdr = new BufferedReader(isr);
-			
-			// Fill this with buildings
-			Set<Building> buildings = new TreeSet<Building>();
-			
-			// Parse
-			String line = rdr.readLine();
-			while (line != null) {
-				String[] tokens = line.split("\t");
-				if(tokens.length == 4){
-					buildings.add(new Building(Double.parseDouble(tokens[2]), 
-							Double.parseDouble(tokens[3]), tokens[0], tokens[1]));
-				}
-				line = rdr.readLine();
-			}		
-			return buildings;
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-		return null;
-	}
-	
-	/**
-	 * Reads in the campus paths data file and fills a list of the Edges representing
-	 * those paths, and fills a list of EndPoints representing all the coordinate
-	 * locations present in the paths file 
-	 * @param paths: empty list of edges for storing edges/paths 
-	 * @param endPoints: empty list of EndPoints for storing EndPoints/coordinate locations
-	 * @modifies paths, endPoints
-	 * @effects fills paths with edges representing the paths in the paths file
-	 * @effects fills endPoints with EndPoints representing each coordinate location 
-	 * present in the paths file
-	 */
-	public static void parsePathsData(List<Edge> paths, List<EndPoint> endPoints){
-		try {
-			// Load the data file
-			InputStream is = new FileInputStream(PATHS_FILE);
-			InputStreamReader isr = new InputStreamReader(is);
-			BufferedReader rdr = new BufferedReader(isr);
-			
-			// Parse
-			String sourceCoordinate = rdr.readLine();
-			while(sourceCoordinate != null){
-				String[] sourceTokens = sourceCoordinate.split("[,]");
-				//System.out.println(Arrays.toString(sourceTokens));
-				EndPoint e = new EndPoint(Double.parseDouble(sourceTokens[0]), 
-						Double.parseDouble(sourceTokens[1]));
-				endPoints.add(e);
-				String next = rdr.readLine().trim();
-				String[] tokens = next.split("[ \t,:]+");
-				while(next != null && tokens.length == 3){
-						//System.out.println(Arrays.toString(tokens)+ "hi!");
-						CampusEdge p = new CampusEdge(e, new EndPoint(Double.parseDouble(tokens[0]),
-								Double.parseDouble(tokens[1])), Double.parseDouble(tokens[2]));
-						paths.add(p);
-						next = rdr.readLine();
-						if(next != null){
-							next = next.trim();
-							tokens = next.split("[ \t,:]+");
-						}
-				}
-				sourceCoordinate = next;
-			}
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
-	}
-}
\ No newline at end of file
+package route_finder;
+
+import graph.DirectedGraph;
+import graph.Edge;
+
+import java.io.IOException;
+import java.util.*;
+/**
+ * CampusDataParser parses a path file and buildings file.
+ * 
+ *  The paths file contains straight-line walking path data, and the building
+ *  file contains containing building coordinate locations.  Maps from other
+ *  sources (compressed files, class path resources, memory, or snapshots) are
+ *  read with the parse methods taking a MapDataSource.
+ * @author Janelle Van Hofwegen
+ */
+public class CampusDataParser {
+	static final String PATHS_FILE = "campus_paths.txt";
+	static final String BUILDINGS_FILE = "campus_buildings.txt";
+
+	/**
+	 * Reads in the campus Building data file and returns a set of those Buildings
+	 * @throws IllegalArgumentException if the file can't be read or is not in the
+	 * expected format
+	 * @return set of Buildings present on campus
+	 */
+	public static Set<Building> parseBuildingData(){
+		return parseBuildingData(new EndPointRegistry());
+	}
+	
+	/**
+	 * Reads in the campus Building data file and returns a set of those Buildings.
+	 * Each Building is interned in the given registry, so the returned Buildings are
+	 * the canonical EndPoints for their locations.
+	 * @param registry : registry used to create canonical Buildings
+	 * @throws IllegalArgumentException if the file can't be read or is not in the
+	 * expected format
+	 * @return set of Buildings present on campus
+	 * @modifies registry
+	 */
+	public static Set<Building> parseBuildingData(EndPointRegistry registry){
+		return parseBuildingData(BUILDINGS_FILE, registry);
+	}
+	
+	/**
+	 * Reads in the given Building data file and returns a set of those Buildings.
+	 * Each line of the file is "short name TAB long name TAB x TAB y".  Each Building
+	 * is interned in the given registry, so the returned Buildings are the canonical
+	 * EndPoints for their locations.
+	 * @param file : name of the buildings file
+	 * @param registry : registry used to create canonical Buildings
+	 * @throws IllegalArgumentException if the file can't be read or is not in the
+	 * expected format
+	 * @return set of Buildings in the file
+	 * @modifies registry
+	 */
+	public static Set<Building> parseBuildingData(String file, EndPointRegistry registry){
+		try {
+			return parse(MapDataSource.file(file, null), registry, new ArrayList<Edge>(),
+					new ArrayList<EndPoint>());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("could not read map: " + e.getMessage(), e);
+		}
+	}
+	
+	/**
+	 * Reads in the campus paths data file and fills a list of the Edges representing
+	 * those paths, and fills a list of EndPoints representing all the coordinate
+	 * locations present in the paths file 
+	 * @param paths: empty list of edges for storing edges/paths 
+	 * @param endPoints: empty list of EndPoints for storing EndPoints/coordinate locations
+	 * @throws IllegalArgumentException if the file can't be read or is not in the
+	 * expected format
+	 * @modifies paths, endPoints
+	 * @effects fills paths with edges representing the paths in the paths file
+	 * @effects fills endPoints with EndPoints representing each coordinate location 
+	 * present in the paths file
+	 */
+	public static void parsePathsData(List<Edge> paths, List<EndPoint> endPoints){
+		parsePathsData(paths, endPoints, new EndPointRegistry());
+	}
+	
+	/**
+	 * Reads in the campus paths data file and fills a list of the Edges representing
+	 * those paths, and fills a list of EndPoints representing all the source coordinate
+	 * locations present in the paths file. Every EndPoint (including the targets of
+	 * paths) is interned in the given registry, so a coordinate that appears several
+	 * times in the file is represented by a single EndPoint.
+	 * @param paths: empty list of edges for storing edges/paths 
+	 * @param endPoints: empty list of EndPoints for storing EndPoints/coordinate locations
+	 * @param registry: registry used to create canonical EndPoints
+	 * @throws IllegalArgumentException if the file can't be read or is not in the
+	 * expected format
+	 * @modifies paths, endPoints, registry
+	 * @effects fills paths with edges representing the paths in the paths file
+	 * @effects fills endPoints with EndPoints representing each source coordinate location 
+	 * present in the paths file
+	 */
+	public static void parsePathsData(List<Edge> paths, List<EndPoint> endPoints,
+			EndPointRegistry registry){
+		parsePathsData(PATHS_FILE, paths, endPoints, registry);
+	}
+	
+	/**
+	 * Reads in the given paths data file, as parsePathsData(paths, endPoints, registry)
+	 * does.  The file is a series of blocks, each a line "x,y" naming a source
+	 * coordinate followed by one line "TAB x,y: distance" for every path leaving it.
+	 * @param file: name of the paths file
+	 * @param paths: empty list of edges for storing edges/paths 
+	 * @param endPoints: empty list of EndPoints for storing EndPoints/coordinate locations
+	 * @param registry: registry used to create canonical EndPoints
+	 * @throws IllegalArgumentException if the file can't be read or is not in the
+	 * expected format
+	 * @modifies paths, endPoints, registry
+	 * @effects fills paths with edges representing the paths in the file
+	 * @effects fills endPoints with EndPoints representing each source coordinate location 
+	 * present in the file
+	 */
+	public static void parsePathsData(String file, List<Edge> paths, List<EndPoint> endPoints,
+			EndPointRegistry registry){
+		try {
+			parse(MapDataSource.file(null, file), registry, paths, endPoints);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("could not read map: " + e.getMessage(), e);
+		}
+	}
+	
+	/**
+	 * Reads the given map, interning every Building and EndPoint in the given registry
+	 * and filling lists of its paths and of the source coordinate of each block of
+	 * paths.
+	 * @param source : map to read
+	 * @param registry : registry used to create canonical EndPoints
+	 * @param paths : list the paths of the map are added to
+	 * @param endPoints : list the source coordinate locations of the map are added to
+	 * @requires source, registry, paths, endPoints != null
+	 * @modifies registry, paths, endPoints
+	 * @throws IOException if source can't be read or is not in the expected format
+	 * @return set of Buildings of the map
+	 */
+	public static Set<Building> parse(MapDataSource source, EndPointRegistry registry,
+			List<Edge> paths, List<EndPoint> endPoints) throws IOException {
+		Collector collector = new Collector(registry, paths, endPoints, null);
+		source.read(collector);
+		return collector.buildings;
+	}
+	
+	/**
+	 * Reads the given map, interning every Building and EndPoint in the given registry
+	 * and adding its paths to the given graph builder as they are read, followed by
+	 * every EndPoint of registry
+	 * @param source : map to read
+	 * @param registry : registry used to create canonical EndPoints
+	 * @param builder : builder of the graph of the map
+	 * @requires source, registry, builder != null
+	 * @modifies registry, builder
+	 * @throws IOException if source can't be read or is not in the expected format
+	 * @return set of Buildings of the map
+	 */
+	public static Set<Building> parse(MapDataSource source, EndPointRegistry registry,
+			DirectedGraph.Builder<EndPoint> builder) throws IOException {
+		Collector collector = new Collector(registry, null, null, builder);
+		source.read(collector);
+		builder.addNodes(registry.endPoints());
+		return collector.buildings;
+	}
+	
+	/**
+	 * A Collector turns the parts of a map into canonical Buildings, EndPoints and
+	 * CampusEdges, adding them to whichever of its lists and builder are not null
+	 */
+	private static class Collector implements MapDataSource.Handler {
+		private final EndPointRegistry registry;
+		private final Set<Building> buildings = new TreeSet<Building>();
+		private final List<Edge> paths;
+		private final List<EndPoint> endPoints;
+		private final DirectedGraph.Builder<EndPoint> builder;
+		private EndPoint source;
+		
+		Collector(EndPointRegistry registry, List<Edge> paths, List<EndPoint> endPoints,
+				DirectedGraph.Builder<EndPoint> builder){
+			this.registry = registry;
+			this.paths = paths;
+			this.endPoints = endPoints;
+			this.builder = builder;
+		}
+		
+		public void building(double x, double y, String shortName, String longName) {
+			buildings.add(registry.internBuilding(x, y, shortName, longName));
+		}
+		
+		public void point(double x, double y) {
+			source = registry.intern(x, y);
+			if(endPoints != null){
+				endPoints.add(source);
+			}
+		}
+		
+		public void walkway(double x, double y, double distance) {
+			CampusEdge e = new CampusEdge(source, registry.intern(x, y), distance);
+			if(paths != null){
+				paths.add(e);
+			}
+			if(builder != null){
+				builder.addEdge(e);
+			}
+		}
+	}
+}
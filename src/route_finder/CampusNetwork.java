@@ -0,0 +1,270 @@
+package route_finder;
+
+import graph.CheckLevel;
+import graph.DirectedGraph;
+import graph.Edge;
+
+import java.util.List;
+
+/**
+ * CampusNetwork is a compact, read-only copy of the campus graph in which every
+ * EndPoint is identified by its EndPointRegistry id and every edge by a dense edge
+ * id.  Search algorithms use it to keep their state in arrays instead of hash maps.
+ * <br>
+ * <br>
+ * Outgoing edges are stored in compressed sparse row form: the edges leaving node u
+ * have ids firstEdge(u) to firstEdge(u + 1) - 1.  Incoming edges are indexed the
+ * first time they are needed.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * registry.get(u) -> the EndPoint represented by node u, for 0 <= u < nodeCount
+ * edge id i -> the CampusEdge from node edgeSource[i] to node edgeTarget[i] with
+ *              distance edgeDistance[i], where edgeStart[u] <= i < edgeStart[u + 1]
+ *              for u = edgeSource[i]
+ * inStart, inEdges -> for node v, inEdges[inStart[v]] to inEdges[inStart[v + 1] - 1]
+ *                     are the ids of the edges whose target is v (null until needed)
+ *
+ * Representation Invariant:
+ * edgeStart.length == nodeCount + 1, edgeStart[0] == 0, edgeStart is non-decreasing
+ * edgeStart[nodeCount] == edgeTarget.length == edgeSource.length == edgeDistance.length
+ * 0 <= edgeTarget[i] < nodeCount for every edge id i
+ */
+public class CampusNetwork {
+	private final EndPointRegistry registry;
+	private final int nodeCount;
+	private final int[] edgeStart;
+	private final int[] edgeSource;
+	private final int[] edgeTarget;
+	private final double[] edgeDistance;
+	private final long fingerprint;
+	private volatile int[] inStart;
+	private volatile int[] inEdges;
+
+	/**
+	 * Constructs a network containing the nodes and edges of the given graph
+	 * @param registry : registry containing every node of graph
+	 * @param graph : graph whose nodes are the EndPoints of registry, and whose
+	 * edges are CampusEdges
+	 * @requires registry != null, graph != null
+	 * @requires the nodes of graph are exactly registry.endPoints()
+	 */
+	public CampusNetwork(EndPointRegistry registry, DirectedGraph<EndPoint> graph){
+		this.registry = registry;
+		nodeCount = registry.size();
+		edgeStart = new int[nodeCount + 1];
+		int count = 0;
+		for(int u = 0; u < nodeCount; u++){
+			count += graph.edgesOf(registry.get(u)).size();
+		}
+		edgeSource = new int[count];
+		edgeTarget = new int[count];
+		edgeDistance = new double[count];
+		int i = 0;
+		for(int u = 0; u < nodeCount; u++){
+			edgeStart[u] = i;
+			List<Edge> out = graph.edgesOf(registry.get(u));
+			for(Edge e : out){
+				CampusEdge c = (CampusEdge) e;
+				edgeSource[i] = u;
+				edgeTarget[i] = registry.idOf(c.getTarget());
+				edgeDistance[i] = c.getDistance();
+				i++;
+			}
+		}
+		edgeStart[nodeCount] = i;
+		fingerprint = computeFingerprint();
+		checkRep();
+	}
+
+	/**
+	 * Returns the number of nodes in this network
+	 * @return the number of nodes in this network
+	 */
+	public int nodeCount(){
+		return nodeCount;
+	}
+
+	/**
+	 * Returns the number of edges in this network
+	 * @return the number of edges in this network
+	 */
+	public int edgeCount(){
+		return edgeTarget.length;
+	}
+
+	/**
+	 * Returns the node id of the given EndPoint
+	 * @param p : EndPoint to look up
+	 * @return the node id of p, or -1 if p is not in this network
+	 */
+	public int idOf(EndPoint p){
+		return registry.idOf(p);
+	}
+
+	/**
+	 * Returns the EndPoint represented by the given node
+	 * @param node : node id
+	 * @requires 0 <= node < nodeCount()
+	 * @return the EndPoint represented by node
+	 */
+	public EndPoint endPoint(int node){
+		return registry.get(node);
+	}
+
+	/**
+	 * Returns the id of the first edge leaving the given node.  The edges leaving
+	 * node have ids firstEdge(node) to firstEdge(node + 1) - 1.
+	 * @param node : node id
+	 * @requires 0 <= node <= nodeCount()
+	 * @return the id of the first edge leaving node
+	 */
+	public int firstEdge(int node){
+		return edgeStart[node];
+	}
+
+	/**
+	 * Returns the node that the given edge starts at
+	 * @param edge : edge id
+	 * @return the source node of edge
+	 */
+	public int source(int edge){
+		return edgeSource[edge];
+	}
+
+	/**
+	 * Returns the node that the given edge points at
+	 * @param edge : edge id
+	 * @return the target node of edge
+	 */
+	public int target(int edge){
+		return edgeTarget[edge];
+	}
+
+	// Returns the distances of all edges, indexed by edge id. The array must not be
+	// modified.
+	double[] distances(){
+		return edgeDistance;
+	}
+
+	/**
+	 * Returns the CampusEdge with the given edge id.  The network only keeps the
+	 * nodes and distances of its edges, so each call creates a new CampusEdge.
+	 * @param edge : edge id
+	 * @return a CampusEdge equal to the edge with the given id
+	 */
+	public CampusEdge edge(int edge){
+		return new CampusEdge(endPoint(edgeSource[edge]), endPoint(edgeTarget[edge]),
+				edgeDistance[edge]);
+	}
+
+	/**
+	 * Returns the length of the given edge
+	 * @param edge : edge id
+	 * @return the distance of the CampusEdge with the given id
+	 */
+	public double distance(int edge){
+		return edgeDistance[edge];
+	}
+
+	/**
+	 * Returns the position of the first incoming edge of the given node in inEdge().
+	 * The edges pointing at node are inEdge(firstInEdge(node)) to
+	 * inEdge(firstInEdge(node + 1) - 1).
+	 * @param node : node id
+	 * @requires 0 <= node <= nodeCount()
+	 * @return position of the first edge pointing at node
+	 */
+	public int firstInEdge(int node){
+		if(inEdges == null){
+			indexIncoming();
+		}
+		return inStart[node];
+	}
+
+	/**
+	 * Returns the id of the incoming edge at the given position
+	 * (see firstInEdge).
+	 * @param position : position in the incoming edge index
+	 * @return the edge id at that position
+	 */
+	public int inEdge(int position){
+		return inEdges[position];
+	}
+
+	/**
+	 * Returns the Route made by following the given edges from the given start node
+	 * @param start : node the route starts at
+	 * @param path : ids of linked edges, in order, starting at start
+	 * @param length : number of edges of path to use
+	 * @return the Route following the first length edges of path
+	 */
+	public Route route(int start, int[] path, int length){
+		Route r = new Route(endPoint(start));
+		for(int i = 0; i < length; i++){
+			r = r.extend(edge(path[i]));
+		}
+		return r;
+	}
+
+	/**
+	 * Returns a value that changes whenever the nodes, edges, or edge distances of the
+	 * network change, for checking that precomputed data still matches the network.
+	 * @return fingerprint of this network
+	 */
+	public long fingerprint(){
+		return fingerprint;
+	}
+
+	// Returns a hash of the node coordinates, edges and edge distances
+	private long computeFingerprint(){
+		long h = 1125899906842597L;
+		for(int u = 0; u < nodeCount; u++){
+			h = 31 * h + Double.doubleToLongBits(endPoint(u).x);
+			h = 31 * h + Double.doubleToLongBits(endPoint(u).y);
+		}
+		for(int i = 0; i < edgeTarget.length; i++){
+			h = 31 * h + edgeSource[i];
+			h = 31 * h + edgeTarget[i];
+			h = 31 * h + Double.doubleToLongBits(edgeDistance[i]);
+		}
+		return h;
+	}
+
+	// Builds inStart and inEdges, if that hasn't been done yet
+	private synchronized void indexIncoming(){
+		if(inEdges != null){
+			return;
+		}
+		int[] start = new int[nodeCount + 1];
+		for(int i = 0; i < edgeTarget.length; i++){
+			start[edgeTarget[i] + 1]++;
+		}
+		for(int v = 0; v < nodeCount; v++){
+			start[v + 1] += start[v];
+		}
+		int[] next = new int[nodeCount];
+		System.arraycopy(start, 0, next, 0, nodeCount);
+		int[] in = new int[edgeTarget.length];
+		for(int i = 0; i < edgeTarget.length; i++){
+			in[next[edgeTarget[i]]++] = i;
+		}
+		inStart = start;
+		inEdges = in;
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert edgeStart.length == nodeCount + 1;
+		assert edgeStart[nodeCount] == edgeTarget.length;
+		if(!CheckLevel.enabled(CheckLevel.FULL)){
+			return;
+		}
+		for(int i = 0; i < edgeTarget.length; i++){
+			assert edgeTarget[i] >= 0 : "edge target is not in the registry";
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package route_finder;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * CostProfile is an immutable set of costs, one for every edge of a CampusNetwork,
+ * which a search minimizes instead of the edges' distances.  Profiles share the nodes
+ * and edges of the network and only add one array of costs each, so many profiles
+ * (for example accessible-only, time based, or avoiding long walkways) can be used
+ * with one loaded map.
+ * <br>
+ * <br>
+ * A profile is computed from an EdgeCost, which gives the cost of a single edge.
+ * An edge with an infinite cost is never used.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * weights[i] -> the cost of the edge with edge id i in the network this profile
+ *               was computed for (Double.POSITIVE_INFINITY if it may not be used)
+ * fingerprint -> CampusNetwork.fingerprint() of that network
+ *
+ * Representation Invariant:
+ * weights != null, and every weights[i] >= 0 (and not NaN)
+ */
+public class CostProfile {
+
+	/**
+	 * An EdgeCost gives the cost of walking along a single CampusEdge.
+	 */
+	public interface EdgeCost {
+		/**
+		 * Returns the cost of walking along edge
+		 * @param edge : edge to find the cost of
+		 * @return the cost of edge, which must be >= 0, or Double.POSITIVE_INFINITY
+		 * if edge may not be used
+		 */
+		double cost(CampusEdge edge);
+	}
+
+	/**
+	 * The cost of each edge is its distance, which gives the same routes as
+	 * RouteModel.findLeastCostPath
+	 */
+	public static final EdgeCost DISTANCE = new EdgeCost() {
+		public double cost(CampusEdge edge) {
+			return edge.getDistance();
+		}
+	};
+
+	private final long fingerprint;
+	private final double[] weights;
+
+	// Constructs a profile with the given costs
+	private CostProfile(long fingerprint, double[] weights){
+		this.fingerprint = fingerprint;
+		this.weights = weights;
+		checkRep();
+	}
+
+	/**
+	 * Computes the cost of every edge of the given network
+	 * @param network : network to compute costs for
+	 * @param cost : gives the cost of each edge
+	 * @requires network != null
+	 * @throws IllegalArgumentException if cost is null, or gives a negative or NaN cost
+	 * for any edge
+	 * @return profile holding cost.cost(e) for every edge e of network
+	 */
+	public static CostProfile compute(CampusNetwork network, EdgeCost cost){
+		if(cost == null){
+			throw new IllegalArgumentException("cost should not be null");
+		}
+		double[] weights = new double[network.edgeCount()];
+		for(int i = 0; i < weights.length; i++){
+			weights[i] = cost.cost(network.edge(i));
+			if(!(weights[i] >= 0)){
+				throw new IllegalArgumentException("Invalid cost " + weights[i] +
+						" for " + network.edge(i));
+			}
+		}
+		return new CostProfile(network.fingerprint(), weights);
+	}
+
+	/**
+	 * Returns an EdgeCost giving the time, in seconds, taken to walk each edge
+	 * @param feetPerSecond : walking speed
+	 * @throws IllegalArgumentException if feetPerSecond <= 0
+	 * @return EdgeCost whose cost for each edge is its distance / feetPerSecond
+	 */
+	public static EdgeCost walkingTime(final double feetPerSecond){
+		if(!(feetPerSecond > 0)){
+			throw new IllegalArgumentException("speed must be positive");
+		}
+		return new EdgeCost() {
+			public double cost(CampusEdge edge) {
+				return edge.getDistance() / feetPerSecond;
+			}
+		};
+	}
+
+	/**
+	 * Returns an EdgeCost that makes long walkways more expensive, so that routes
+	 * prefer several short walkways (with more places to stop) over one long one
+	 * @param maxLength : longest walkway that is not penalized
+	 * @param factor : number the distance of longer walkways is multiplied by
+	 * @throws IllegalArgumentException if factor < 1
+	 * @return EdgeCost whose cost for each edge is its distance, multiplied by factor
+	 * if its distance is greater than maxLength
+	 */
+	public static EdgeCost penalizeLongerThan(final double maxLength, final double factor){
+		if(!(factor >= 1)){
+			throw new IllegalArgumentException("factor must be at least 1");
+		}
+		return new EdgeCost() {
+			public double cost(CampusEdge edge) {
+				double d = edge.getDistance();
+				return d > maxLength ? d * factor : d;
+			}
+		};
+	}
+
+	/**
+	 * Returns an EdgeCost that never uses the given edges, for example walkways with
+	 * stairs when an accessible route is wanted
+	 * @param excluded : edges that may not be used
+	 * @throws IllegalArgumentException if excluded is null
+	 * @return EdgeCost whose cost for each edge is Double.POSITIVE_INFINITY if it is
+	 * in excluded, and its distance otherwise
+	 */
+	public static EdgeCost avoiding(Collection<? extends CampusEdge> excluded){
+		if(excluded == null){
+			throw new IllegalArgumentException("argument should not be null");
+		}
+		final Set<CampusEdge> blocked = new HashSet<CampusEdge>(excluded);
+		return new EdgeCost() {
+			public double cost(CampusEdge edge) {
+				return blocked.contains(edge) ? Double.POSITIVE_INFINITY : edge.getDistance();
+			}
+		};
+	}
+
+	/**
+	 * Returns whether this profile was computed for the given network (same nodes,
+	 * edges and distances)
+	 * @param network : network to check against
+	 * @return true if this profile can be used to search network
+	 */
+	public boolean matches(CampusNetwork network){
+		return network.edgeCount() == weights.length && network.fingerprint() == fingerprint;
+	}
+
+	/**
+	 * Returns the cost of the given edge
+	 * @param edge : edge id
+	 * @return the cost of the edge with the given id
+	 */
+	public double weight(int edge){
+		return weights[edge];
+	}
+
+	// Returns the costs of all edges, indexed by edge id. The array must not be modified.
+	double[] weights(){
+		return weights;
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert weights != null;
+	}
+}
@@ -0,0 +1,366 @@
+package route_finder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * DeltaStepping finds the least cost distance from one node of a CampusNetwork to
+ * every other node, relaxing many edges at once on a fork-join pool.  Edge costs are
+ * the distances of the edges.
+ * <br>
+ * <br>
+ * Nodes are kept in buckets of width delta by their tentative distance.  The nodes in
+ * the lowest bucket are relaxed together, in parallel, and any node whose distance
+ * improves is put in the bucket for its new distance, until every bucket is empty.
+ * A small delta does little wasted work but has little parallelism in each bucket; a
+ * large one the other way around.  The default is the average edge distance.
+ * <br>
+ * <br>
+ * The results are the same as those of Dijkstra's algorithm (see dijkstra()), except
+ * that a different one of several equally short paths may be chosen.
+ * @author Janelle Van Hofwegen
+ */
+public final class DeltaStepping {
+	// smallest number of frontier nodes relaxed by one fork-join task
+	private static final int LEAF_SIZE = 256;
+	private static volatile ForkJoinPool sharedPool;
+
+	private DeltaStepping(){
+		// static methods only
+	}
+
+	/**
+	 * Finds the least cost distances from source to every node of network, using a
+	 * pool shared by all searches with one thread per processor and the average edge
+	 * distance as delta.
+	 * @param network : network to search
+	 * @param source : node the paths start at
+	 * @param dist : array of length network.nodeCount() that is filled with the
+	 * distances from source, or Double.POSITIVE_INFINITY for nodes that can't be reached
+	 * @requires network != null, dist != null
+	 * @modifies dist
+	 * @throws IllegalArgumentException if source is not a node of network or dist has
+	 * the wrong length
+	 * @return array p where p[u] is the edge used to reach each reachable node u on
+	 * a least cost path from source, p[source] == -1, and p[u] == -1 for nodes that
+	 * can't be reached
+	 */
+	public static int[] shortestPaths(CampusNetwork network, int source, double[] dist){
+		return shortestPaths(network, source, defaultDelta(network), pool(), dist);
+	}
+
+	/**
+	 * Finds the least cost distances from source to every node of network.
+	 * @param network : network to search
+	 * @param source : node the paths start at
+	 * @param delta : width of the distance buckets
+	 * @param pool : pool the edges are relaxed on
+	 * @param dist : array of length network.nodeCount() that is filled with the
+	 * distances from source, or Double.POSITIVE_INFINITY for nodes that can't be reached
+	 * @requires network != null, dist != null
+	 * @modifies dist
+	 * @throws IllegalArgumentException if source is not a node of network, dist has
+	 * the wrong length, delta is not positive, or pool is null
+	 * @return array p where p[u] is the edge used to reach each reachable node u on
+	 * a least cost path from source, p[source] == -1, and p[u] == -1 for nodes that
+	 * can't be reached
+	 */
+	public static int[] shortestPaths(CampusNetwork network, int source, double delta,
+			ForkJoinPool pool, double[] dist){
+		int n = network.nodeCount();
+		if(source < 0 || source >= n || dist.length != n){
+			throw new IllegalArgumentException("source must be a node of the network");
+		}
+		if(!(delta > 0) || delta == Double.POSITIVE_INFINITY || pool == null){
+			throw new IllegalArgumentException("delta must be positive and pool non-null");
+		}
+		// distances are stored as the bits of non-negative doubles, which are ordered
+		// the same way as the doubles, so that they can be lowered with compareAndSet
+		AtomicLongArray bits = new AtomicLongArray(n);
+		long infinity = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+		for(int u = 0; u < n; u++){
+			bits.set(u, infinity);
+		}
+		bits.set(source, Double.doubleToLongBits(0));
+
+		TreeMap<Long, IntList> buckets = new TreeMap<Long, IntList>();
+		IntList first = new IntList();
+		first.add(source);
+		buckets.put(0L, first);
+		while(!buckets.isEmpty()){
+			Map.Entry<Long, IntList> lowest = buckets.pollFirstEntry();
+			long bucket = lowest.getKey();
+			IntList frontier = lowest.getValue();
+			// nodes improved into this same bucket are relaxed again right away
+			while(frontier != null){
+				Relax task = new Relax(network, bits, delta, bucket, frontier.values,
+						0, frontier.size);
+				Map<Long, IntList> found = pool.invoke(task);
+				frontier = found.remove(bucket);
+				for(Map.Entry<Long, IntList> entry : found.entrySet()){
+					IntList existing = buckets.get(entry.getKey());
+					if(existing == null){
+						buckets.put(entry.getKey(), entry.getValue());
+					} else {
+						existing.addAll(entry.getValue());
+					}
+				}
+			}
+		}
+		for(int u = 0; u < n; u++){
+			dist[u] = Double.longBitsToDouble(bits.get(u));
+		}
+		int[] predecessor = new int[n];
+		pool.invoke(new Predecessors(network, dist, source, predecessor, 0, n));
+		linkTies(network, dist, source, predecessor);
+		return predecessor;
+	}
+
+	/**
+	 * Finds the least cost distances from source to every node of network on one
+	 * thread, with Dijkstra's algorithm.  Gives the same distances as shortestPaths.
+	 * @param network : network to search
+	 * @param source : node the paths start at
+	 * @param dist : array of length network.nodeCount() that is filled with the
+	 * distances from source, or Double.POSITIVE_INFINITY for nodes that can't be reached
+	 * @requires network != null, dist != null
+	 * @modifies dist
+	 * @throws IllegalArgumentException if source is not a node of network or dist has
+	 * the wrong length
+	 * @return array p where p[u] is the edge used to reach each reachable node u on
+	 * a least cost path from source, and p[source] == -1
+	 */
+	public static int[] dijkstra(CampusNetwork network, int source, double[] dist){
+		int n = network.nodeCount();
+		if(source < 0 || source >= n || dist.length != n){
+			throw new IllegalArgumentException("source must be a node of the network");
+		}
+		int[] all = new int[n];
+		for(int u = 0; u < n; u++){
+			all[u] = u;
+		}
+		return NetworkSearch.pathTree(network, source, all, dist);
+	}
+
+	/**
+	 * Returns the delta used when none is given: the average edge distance of network
+	 * @param network : network to be searched
+	 * @requires network != null
+	 * @return the average edge distance of network, or 1 if it has no edges of
+	 * positive distance
+	 */
+	public static double defaultDelta(CampusNetwork network){
+		double total = 0;
+		for(int e = 0; e < network.edgeCount(); e++){
+			total += network.distance(e);
+		}
+		return total > 0 ? total / network.edgeCount() : 1;
+	}
+
+	// Returns the pool shared by searches that don't give one
+	private static ForkJoinPool pool(){
+		ForkJoinPool pool = sharedPool;
+		if(pool == null){
+			synchronized(DeltaStepping.class){
+				if(sharedPool == null){
+					sharedPool = new ForkJoinPool();
+				}
+				pool = sharedPool;
+			}
+		}
+		return pool;
+	}
+
+	// Lowers the distance of v to alt if alt is smaller. Returns whether it did.
+	private static boolean lower(AtomicLongArray bits, int v, double alt){
+		long altBits = Double.doubleToLongBits(alt);
+		long current = bits.get(v);
+		while(altBits < current){
+			if(bits.compareAndSet(v, current, altBits)){
+				return true;
+			}
+			current = bits.get(v);
+		}
+		return false;
+	}
+
+	/**
+	 * Relaxes the edges leaving frontier[from..to) and returns the nodes whose
+	 * distances improved, grouped by the bucket of their new distance.
+	 */
+	private static class Relax extends RecursiveTask<Map<Long, IntList>> {
+		private static final long serialVersionUID = 1L;
+		private final CampusNetwork network;
+		private final AtomicLongArray bits;
+		private final double delta;
+		private final long bucket;
+		private final int[] frontier;
+		private final int from;
+		private final int to;
+
+		Relax(CampusNetwork network, AtomicLongArray bits, double delta, long bucket,
+				int[] frontier, int from, int to){
+			this.network = network;
+			this.bits = bits;
+			this.delta = delta;
+			this.bucket = bucket;
+			this.frontier = frontier;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected Map<Long, IntList> compute(){
+			if(to - from > LEAF_SIZE){
+				int mid = (from + to) >>> 1;
+				Relax left = new Relax(network, bits, delta, bucket, frontier, from, mid);
+				Relax right = new Relax(network, bits, delta, bucket, frontier, mid, to);
+				left.fork();
+				Map<Long, IntList> found = right.compute();
+				for(Map.Entry<Long, IntList> entry : left.join().entrySet()){
+					IntList existing = found.get(entry.getKey());
+					if(existing == null){
+						found.put(entry.getKey(), entry.getValue());
+					} else {
+						existing.addAll(entry.getValue());
+					}
+				}
+				return found;
+			}
+			Map<Long, IntList> found = new TreeMap<Long, IntList>();
+			for(int i = from; i < to; i++){
+				int u = frontier[i];
+				double du = Double.longBitsToDouble(bits.get(u));
+				// u has already moved to a lower bucket and been relaxed from there.  The
+				// bucket is found the same way as when u was filed: comparing du with
+				// bucket * delta can disagree with it by rounding.
+				if((long) (du / delta) < bucket){
+					continue;
+				}
+				for(int e = network.firstEdge(u); e < network.firstEdge(u + 1); e++){
+					int v = network.target(e);
+					double alt = du + network.distance(e);
+					if(lower(bits, v, alt)){
+						Long b = (long) (alt / delta);
+						IntList list = found.get(b);
+						if(list == null){
+							list = new IntList();
+							found.put(b, list);
+						}
+						list.add(v);
+					}
+				}
+			}
+			return found;
+		}
+	}
+
+	/**
+	 * Sets predecessor[v], for every reachable v in [from, to) other than source, to the
+	 * lowest numbered edge (u, v) with dist[u] < dist[v] on a least cost path.  Nodes
+	 * only reached by edges of zero distance are left at -1 for linkTies.
+	 */
+	private static class Predecessors extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final CampusNetwork network;
+		private final double[] dist;
+		private final int source;
+		private final int[] predecessor;
+		private final int from;
+		private final int to;
+
+		Predecessors(CampusNetwork network, double[] dist, int source, int[] predecessor,
+				int from, int to){
+			this.network = network;
+			this.dist = dist;
+			this.source = source;
+			this.predecessor = predecessor;
+			this.from = from;
+			this.to = to;
+		}
+
+		protected void compute(){
+			if(to - from > LEAF_SIZE * 4){
+				int mid = (from + to) >>> 1;
+				invokeAll(new Predecessors(network, dist, source, predecessor, from, mid),
+						new Predecessors(network, dist, source, predecessor, mid, to));
+				return;
+			}
+			for(int v = from; v < to; v++){
+				predecessor[v] = -1;
+				if(v == source || dist[v] == Double.POSITIVE_INFINITY){
+					continue;
+				}
+				for(int i = network.firstInEdge(v); i < network.firstInEdge(v + 1); i++){
+					int e = network.inEdge(i);
+					int u = network.source(e);
+					if(dist[u] < dist[v] && dist[u] + network.distance(e) == dist[v]){
+						if(predecessor[v] < 0 || e < predecessor[v]){
+							predecessor[v] = e;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	// Gives a predecessor to the reachable nodes that Predecessors left without one,
+	// which are only reached through edges of zero distance, without making cycles
+	private static void linkTies(CampusNetwork network, double[] dist, int source,
+			int[] predecessor){
+		List<Integer> waiting = new ArrayList<Integer>();
+		for(int v = 0; v < dist.length; v++){
+			if(v != source && predecessor[v] < 0 && dist[v] != Double.POSITIVE_INFINITY){
+				waiting.add(v);
+			}
+		}
+		boolean linked = true;
+		while(!waiting.isEmpty() && linked){
+			linked = false;
+			for(int i = waiting.size() - 1; i >= 0; i--){
+				int v = waiting.get(i);
+				for(int j = network.firstInEdge(v); j < network.firstInEdge(v + 1); j++){
+					int e = network.inEdge(j);
+					int u = network.source(e);
+					boolean hasPath = u == source || predecessor[u] >= 0;
+					if(hasPath && dist[u] + network.distance(e) == dist[v]){
+						predecessor[v] = e;
+						waiting.remove(i);
+						linked = true;
+						break;
+					}
+				}
+			}
+		}
+		assert waiting.isEmpty();
+	}
+
+	/**
+	 * A growable list of node ids
+	 */
+	private static class IntList {
+		int[] values = new int[16];
+		int size;
+
+		void add(int value){
+			if(size == values.length){
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		void addAll(IntList other){
+			if(size + other.size > values.length){
+				values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+			}
+			System.arraycopy(other.values, 0, values, size, other.size);
+			size += other.size;
+		}
+	}
+}
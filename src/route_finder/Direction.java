@@ -0,0 +1,31 @@
+package route_finder;
+
+/**
+ * Direction is the compass direction a walkway points, as written in walking
+ * directions.  y-coordinates grow to the south, as on the campus map.
+ * <br>
+ * <br>
+ * A walkway points north if its target is north of its source and south otherwise,
+ * and also east or west if its target is east or west of its source.
+ * @author Janelle Van Hofwegen
+ */
+public enum Direction {
+	N, NE, NW, S, SE, SW;
+
+	/**
+	 * Returns the direction the given edge points
+	 * @param e : edge to find the direction of
+	 * @requires e != null
+	 * @return the direction from e's source to e's target
+	 */
+	public static Direction of(CampusEdge e){
+		double x1 = e.getSource().getX();
+		double y1 = e.getSource().getY();
+		double x2 = e.getTarget().getX();
+		double y2 = e.getTarget().getY();
+		if(y2 < y1){
+			return x2 < x1 ? NW : x2 > x1 ? NE : N;
+		}
+		return x2 < x1 ? SW : x2 > x1 ? SE : S;
+	}
+}
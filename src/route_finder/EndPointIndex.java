@@ -0,0 +1,175 @@
+package route_finder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * EndPointIndex is an immutable 2-d tree (k-d tree) over a set of EndPoints.  It
+ * answers nearest neighbor and radius queries for arbitrary coordinates, so that a
+ * point which is not itself a node of the campus graph (such as a mouse click) can
+ * be snapped onto the graph.
+ * <br>
+ * <br>
+ * Building the index takes O(n log^2 n) time. Queries take O(log n) time on average.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * points -> the EndPoints in the index, stored as an implicit balanced k-d tree:
+ *   the subtree over points[lo..hi) has its root at mid = (lo + hi) / 2, its left
+ *   subtree over points[lo..mid) and its right subtree over points[mid+1..hi).
+ *   Subtrees at even depth are split on x, subtrees at odd depth on y.
+ *
+ * Representation Invariant:
+ * points != null, and no element of points is null
+ * For the subtree over points[lo..hi) at depth d with root mid, every point in
+ * points[lo..mid) has a coordinate (x if d is even, y if d is odd) <= that of
+ * points[mid], and every point in points[mid+1..hi) has a coordinate >= that of points[mid]
+ */
+public class EndPointIndex {
+	private final EndPoint[] points;
+
+	// orders EndPoints by x, then y
+	private static final Comparator<EndPoint> BY_X = new Comparator<EndPoint>() {
+		public int compare(EndPoint a, EndPoint b) {
+			int c = Double.compare(a.x, b.x);
+			return c != 0 ? c : Double.compare(a.y, b.y);
+		}
+	};
+
+	// orders EndPoints by y, then x
+	private static final Comparator<EndPoint> BY_Y = new Comparator<EndPoint>() {
+		public int compare(EndPoint a, EndPoint b) {
+			int c = Double.compare(a.y, b.y);
+			return c != 0 ? c : Double.compare(a.x, b.x);
+		}
+	};
+
+	/**
+	 * Constructs an index over the given EndPoints
+	 * @param endPoints : EndPoints to be indexed
+	 * @requires endPoints != null, and endPoints does not contain null
+	 * @throws IllegalArgumentException if endPoints == null
+	 */
+	public EndPointIndex(Collection<? extends EndPoint> endPoints){
+		if(endPoints == null){
+			throw new IllegalArgumentException("argument should not be null");
+		}
+		points = endPoints.toArray(new EndPoint[endPoints.size()]);
+		build(0, points.length, 0);
+	}
+
+	/**
+	 * Returns the number of EndPoints in this index
+	 * @return the number of EndPoints in this index
+	 */
+	public int size(){
+		return points.length;
+	}
+
+	/**
+	 * Returns the indexed EndPoint closest to (x, y).  If several EndPoints are equally
+	 * close, any one of them may be returned.
+	 * @param x : x-coordinate of the query point
+	 * @param y : y-coordinate of the query point
+	 * @return the EndPoint closest to (x, y), or null if the index is empty
+	 */
+	public EndPoint nearest(double x, double y){
+		if(points.length == 0){
+			return null;
+		}
+		Nearest best = new Nearest();
+		nearest(0, points.length, 0, x, y, best);
+		return best.point;
+	}
+
+	/**
+	 * Returns all indexed EndPoints within the given distance of (x, y), in no
+	 * particular order.
+	 * @param x : x-coordinate of the query point
+	 * @param y : y-coordinate of the query point
+	 * @param radius : maximum distance from (x, y)
+	 * @return list of EndPoints p with distance(p, (x, y)) <= radius
+	 */
+	public List<EndPoint> withinRadius(double x, double y, double radius){
+		List<EndPoint> result = new ArrayList<EndPoint>();
+		if(radius >= 0){
+			withinRadius(0, points.length, 0, x, y, radius, result);
+		}
+		return result;
+	}
+
+	// Arranges points[lo..hi) into a k-d subtree at the given depth
+	private void build(int lo, int hi, int depth){
+		if(hi - lo <= 1){
+			return;
+		}
+		Arrays.sort(points, lo, hi, depth % 2 == 0 ? BY_X : BY_Y);
+		int mid = (lo + hi) >>> 1;
+		build(lo, mid, depth + 1);
+		build(mid + 1, hi, depth + 1);
+	}
+
+	// Searches the subtree over points[lo..hi) for a point closer than best
+	private void nearest(int lo, int hi, int depth, double x, double y, Nearest best){
+		if(lo >= hi){
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		EndPoint p = points[mid];
+		double d2 = squaredDistance(p, x, y);
+		if(d2 < best.squaredDistance){
+			best.squaredDistance = d2;
+			best.point = p;
+		}
+		double diff = depth % 2 == 0 ? x - p.x : y - p.y;
+		// search the side of the split containing the query first
+		if(diff < 0){
+			nearest(lo, mid, depth + 1, x, y, best);
+			if(diff * diff < best.squaredDistance){
+				nearest(mid + 1, hi, depth + 1, x, y, best);
+			}
+		} else {
+			nearest(mid + 1, hi, depth + 1, x, y, best);
+			if(diff * diff < best.squaredDistance){
+				nearest(lo, mid, depth + 1, x, y, best);
+			}
+		}
+	}
+
+	// Adds every point of the subtree over points[lo..hi) within radius of (x, y) to result
+	private void withinRadius(int lo, int hi, int depth, double x, double y,
+			double radius, List<EndPoint> result){
+		if(lo >= hi){
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		EndPoint p = points[mid];
+		if(squaredDistance(p, x, y) <= radius * radius){
+			result.add(p);
+		}
+		double diff = depth % 2 == 0 ? x - p.x : y - p.y;
+		if(diff - radius <= 0){
+			withinRadius(lo, mid, depth + 1, x, y, radius, result);
+		}
+		if(diff + radius >= 0){
+			withinRadius(mid + 1, hi, depth + 1, x, y, radius, result);
+		}
+	}
+
+	// Returns the squared distance between p and (x, y)
+	private static double squaredDistance(EndPoint p, double x, double y){
+		double dx = p.x - x;
+		double dy = p.y - y;
+		return dx * dx + dy * dy;
+	}
+
+	// Best candidate found so far by a nearest neighbor search
+	private static class Nearest {
+		EndPoint point;
+		double squaredDistance = Double.POSITIVE_INFINITY;
+	}
+}
@@ -0,0 +1,171 @@
+package route_finder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EndPointRegistry hands out canonical EndPoints: it creates exactly one EndPoint
+ * per coordinate, and gives each one a dense int id (0, 1, 2, ...) in the order
+ * the coordinates were first seen.
+ * <br>
+ * <br>
+ * Because there is only one instance per coordinate, EndPoints from the same registry
+ * can be compared with ==, and per-EndPoint state in search algorithms can be kept in
+ * arrays indexed by id instead of in hash maps.
+ * <br>
+ * <br>
+ * Buildings should be interned before any plain EndPoints at the same coordinates, so
+ * that the Building itself becomes the canonical EndPoint for its location.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * byId.get(i) -> the canonical EndPoint with id i
+ * canonical -> maps any EndPoint to the canonical EndPoint with the same coordinates
+ *
+ * Representation Invariant:
+ * byId != null, canonical != null
+ * byId.size() == canonical.size()
+ * For every i, byId.get(i).getId() == i and canonical.get(byId.get(i)) == byId.get(i)
+ */
+public class EndPointRegistry {
+	private final List<EndPoint> byId;
+	private final Map<EndPoint, EndPoint> canonical;
+
+	/**
+	 * Constructs an empty registry
+	 */
+	public EndPointRegistry(){
+		byId = new ArrayList<EndPoint>();
+		canonical = new HashMap<EndPoint, EndPoint>();
+	}
+
+	/**
+	 * Returns the canonical EndPoint at the given coordinates, creating it if this is
+	 * the first time the coordinates have been seen.
+	 * @param x : x-coordinate of the EndPoint
+	 * @param y : y-coordinate of the EndPoint
+	 * @return the canonical EndPoint at (x, y)
+	 * @modifies this
+	 */
+	public EndPoint intern(double x, double y){
+		EndPoint key = new EndPoint(x, y);
+		EndPoint existing = canonical.get(key);
+		if(existing != null){
+			return existing;
+		}
+		return add(new EndPoint(x, y, byId.size()));
+	}
+
+	/**
+	 * Returns the canonical EndPoint at the same coordinates as the given EndPoint,
+	 * creating it if this is the first time the coordinates have been seen.  If p
+	 * is a Building, the canonical EndPoint that is created is a Building with the
+	 * same names. The given EndPoint is never modified.
+	 * @param p : EndPoint to look up
+	 * @requires p != null
+	 * @throws IllegalArgumentException if p == null
+	 * @return the canonical EndPoint with p's coordinates
+	 * @modifies this
+	 */
+	public EndPoint intern(EndPoint p){
+		if(p == null){
+			throw new IllegalArgumentException("argument should not be null");
+		}
+		EndPoint existing = canonical.get(p);
+		if(existing != null){
+			return existing;
+		}
+		if(p instanceof Building){
+			Building b = (Building) p;
+			return add(new Building(b.x, b.y, b.shortName, b.longName, byId.size()));
+		}
+		return add(new EndPoint(p.x, p.y, byId.size()));
+	}
+
+	/**
+	 * Returns the canonical Building at the given coordinates, creating it if this is
+	 * the first time the coordinates have been seen.  If a Building has already been
+	 * registered at these coordinates, that Building is returned.
+	 * @param x : x-coordinate of the building
+	 * @param y : y-coordinate of the building
+	 * @param shortName : abbreviated name of the building
+	 * @param longName : long name of the building
+	 * @throws IllegalStateException if a plain (non Building) EndPoint has already
+	 * been registered at these coordinates
+	 * @return the canonical Building at (x, y)
+	 * @modifies this
+	 */
+	public Building internBuilding(double x, double y, String shortName, String longName){
+		EndPoint existing = canonical.get(new EndPoint(x, y));
+		if(existing == null){
+			return (Building) add(new Building(x, y, shortName, longName, byId.size()));
+		}
+		if(!(existing instanceof Building)){
+			throw new IllegalStateException("Buildings must be registered before other " +
+					"EndPoints at the same location: " + shortName);
+		}
+		return (Building) existing;
+	}
+
+	/**
+	 * Returns the id of the canonical EndPoint with the same coordinates as p.
+	 * Runs in constant time without hashing if p is itself canonical.
+	 * @param p : EndPoint to look up
+	 * @return the id of p's canonical EndPoint, or -1 if p's coordinates are not registered
+	 */
+	public int idOf(EndPoint p){
+		int id = p.getId();
+		if(id >= 0 && id < byId.size() && byId.get(id) == p){
+			return id;
+		}
+		EndPoint existing = canonical.get(p);
+		return existing == null ? -1 : existing.getId();
+	}
+
+	/**
+	 * Returns the canonical EndPoint with the given id
+	 * @param id : id of the EndPoint
+	 * @requires 0 <= id < size()
+	 * @return the canonical EndPoint with the given id
+	 */
+	public EndPoint get(int id){
+		return byId.get(id);
+	}
+
+	/**
+	 * Returns the number of canonical EndPoints in this registry
+	 * @return the number of canonical EndPoints in this registry
+	 */
+	public int size(){
+		return byId.size();
+	}
+
+	/**
+	 * Returns an unmodifiable list of all canonical EndPoints, ordered by id
+	 * @return list of all canonical EndPoints, where get(i).getId() == i
+	 */
+	public List<EndPoint> endPoints(){
+		return Collections.unmodifiableList(byId);
+	}
+
+	// Records p as the canonical EndPoint for its coordinates
+	private EndPoint add(EndPoint p){
+		byId.add(p);
+		canonical.put(p, p);
+		checkRep(p);
+		return p;
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated for the
+	 *  most recently added EndPoint.
+	 */
+	private void checkRep(EndPoint p){
+		assert byId.size() == canonical.size();
+		assert byId.get(p.getId()) == p;
+	}
+}
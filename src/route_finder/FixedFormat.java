@@ -0,0 +1,73 @@
+package route_finder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * FixedFormat writes numbers with a fixed number of digits after the decimal point,
+ * giving exactly the same text as String.format("%.nf", value) but without making a
+ * Formatter, parsing a format string, or building intermediate strings.
+ * <br>
+ * <br>
+ * Formatter rounds the shortest decimal form of a double half up.  Scaling and
+ * rounding the double itself gives the same digits unless the scaled value is
+ * within rounding error of a half, a few ulps of the scaled value, so those rare
+ * values (and values too large for a long) are rounded the same way Formatter
+ * rounds them, with BigDecimal.
+ * @author Janelle Van Hofwegen
+ */
+final class FixedFormat {
+	// largest number of decimals supported, and the powers of ten up to it
+	static final int MAX_DECIMALS = 6;
+	private static final double[] SCALE = {1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6};
+	private static final long[] POWER = {1, 10, 100, 1000, 10000, 100000, 1000000};
+	// scaled values within this many ulps of a half are rounded with BigDecimal
+	private static final double TIE_ULPS = 4;
+	// scaled values at least this large are rounded with BigDecimal
+	private static final double LIMIT = 1e15;
+
+	private FixedFormat(){
+		// static methods only
+	}
+
+	/**
+	 * Appends value to sb, rounded to the given number of decimals
+	 * @param sb : where to append the text
+	 * @param value : number to write
+	 * @param decimals : number of digits after the decimal point
+	 * @requires sb != null, 0 <= decimals <= MAX_DECIMALS
+	 * @modifies sb
+	 * @return sb
+	 */
+	static StringBuilder append(StringBuilder sb, double value, int decimals){
+		if(Double.isNaN(value) || Double.isInfinite(value)){
+			return sb.append(value);
+		}
+		boolean negative = Double.doubleToRawLongBits(value) < 0;
+		double scaled = Math.abs(value) * SCALE[decimals];
+		double floor = Math.floor(scaled);
+		double fraction = scaled - floor;
+		if(scaled >= LIMIT || Math.abs(fraction - 0.5) < TIE_ULPS * Math.ulp(scaled)){
+			BigDecimal exact = new BigDecimal(Double.toString(Math.abs(value)));
+			if(negative){
+				sb.append('-');
+			}
+			return sb.append(exact.setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+		}
+		long digits = (long) floor + (fraction > 0.5 ? 1 : 0);
+		if(negative){
+			sb.append('-');
+		}
+		sb.append(digits / POWER[decimals]);
+		if(decimals > 0){
+			sb.append('.');
+			long rest = digits % POWER[decimals];
+			// leading zeros of the fraction
+			for(long p = POWER[decimals] / 10; p > rest && p > 1; p /= 10){
+				sb.append('0');
+			}
+			sb.append(rest);
+		}
+		return sb;
+	}
+}
@@ -0,0 +1,284 @@
+package route_finder;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Instructions are the walking directions of a route as maneuvers: each maneuver is
+ * a run of consecutive walkways of the route heading in the same Direction, to be
+ * walked as one, with their distances added up.  Routes often follow many short
+ * walkways in the same direction, so a route has far fewer maneuvers than walkways.
+ * <br>
+ * <br>
+ * Instructions are compiled in one pass over a route's walkways, which may come
+ * from an iterator, so nothing but the maneuvers themselves is kept.  Because a
+ * Direction depends only on whether a walkway goes north or south, and east, west
+ * or neither, a straight line from the start of a maneuver to its end points in
+ * the maneuver's Direction, so each maneuver can also be used as a single
+ * CampusEdge, for example by RouteWriter or to draw it.
+ * <br>
+ * <br>
+ * Instructions are immutable.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * maneuvers[0], ..., maneuvers[maneuvers.length-1] -> the maneuvers of the route
+ *   in order
+ * start -> where the route starts
+ *
+ * Representation Invariant:
+ * maneuvers != null, start != null, no element of maneuvers is null
+ * maneuvers[0].getStart() == start if there are any maneuvers
+ * maneuvers[i].getEnd() == maneuvers[i+1].getStart()
+ * maneuvers[i].getDirection() != maneuvers[i+1].getDirection()
+ */
+public final class Instructions implements Iterable<Instructions.Maneuver> {
+	private final Maneuver[] maneuvers;
+	private final EndPoint start;
+
+	/**
+	 * A Maneuver is a run of walkways heading in the same Direction
+	 */
+	public static final class Maneuver {
+		private final CampusEdge edge;
+		private final Direction direction;
+		private final int steps;
+
+		Maneuver(EndPoint start, EndPoint end, double feet, Direction direction, int steps){
+			this.edge = new CampusEdge(start, end, feet);
+			this.direction = direction;
+			this.steps = steps;
+		}
+
+		/**
+		 * Returns the direction of every walkway of this maneuver
+		 * @return the direction walked
+		 */
+		public Direction getDirection(){
+			return direction;
+		}
+
+		/**
+		 * Returns the distance walked
+		 * @return the sum of the distances of the walkways of this maneuver
+		 */
+		public double getFeet(){
+			return edge.getDistance();
+		}
+
+		/**
+		 * Returns the number of walkways merged into this maneuver
+		 * @return the number of walkways, at least 1
+		 */
+		public int getSteps(){
+			return steps;
+		}
+
+		/**
+		 * Returns where this maneuver starts
+		 * @return the source of its first walkway
+		 */
+		public EndPoint getStart(){
+			return edge.getSource();
+		}
+
+		/**
+		 * Returns where this maneuver ends
+		 * @return the target of its last walkway
+		 */
+		public EndPoint getEnd(){
+			return edge.getTarget();
+		}
+
+		/**
+		 * Returns this maneuver as one edge
+		 * @return an edge from the start to the end of this maneuver, whose distance
+		 * is the distance walked
+		 */
+		public CampusEdge asEdge(){
+			return edge;
+		}
+
+		/**
+		 * Returns the walking direction for this maneuver
+		 * @return "Walk 12.3 feet NE to (1903.72,1952.43)"
+		 */
+		@Override
+		public String toString(){
+			return RouteWriter.appendStep(new StringBuilder(), edge).toString().trim();
+		}
+	}
+
+	// Constructs Instructions of the given maneuvers, of a route starting at start
+	private Instructions(Maneuver[] maneuvers, EndPoint start){
+		this.maneuvers = maneuvers;
+		this.start = start;
+		checkRep();
+	}
+
+	/**
+	 * Compiles the instructions of the given route
+	 * @param route : route to compile
+	 * @throws IllegalArgumentException if route is null
+	 * @return the maneuvers of route; none if it has no walkways
+	 */
+	public static Instructions compile(Route route){
+		if(route == null){
+			throw new IllegalArgumentException("route must not be null");
+		}
+		if(route.size() == 0){
+			return new Instructions(new Maneuver[0], route.getStart());
+		}
+		return compile(route.iterator());
+	}
+
+	/**
+	 * Compiles the instructions of a route, reading its walkways from the given
+	 * iterator one at a time
+	 * @param edges : walkways of the route in order (linked, as in a Route)
+	 * @throws IllegalArgumentException if edges is null or has no walkways
+	 * @return the maneuvers of the route
+	 */
+	public static Instructions compile(Iterator<CampusEdge> edges){
+		if(edges == null || !edges.hasNext()){
+			throw new IllegalArgumentException("a route needs at least one walkway");
+		}
+		Maneuver[] maneuvers = new Maneuver[8];
+		int count = 0;
+		CampusEdge e = edges.next();
+		EndPoint start = e.getSource();
+		// the maneuver being built
+		EndPoint from = start;
+		Direction heading = Direction.of(e);
+		double feet = 0;
+		int steps = 0;
+		while(true){
+			feet += e.getDistance();
+			steps++;
+			Direction next = null;
+			CampusEdge following = null;
+			if(edges.hasNext()){
+				following = edges.next();
+				next = Direction.of(following);
+			}
+			if(next != heading){
+				if(count == maneuvers.length){
+					maneuvers = Arrays.copyOf(maneuvers, count * 2);
+				}
+				maneuvers[count++] = new Maneuver(from, e.getTarget(), feet, heading, steps);
+				if(following == null){
+					break;
+				}
+				from = e.getTarget();
+				heading = next;
+				feet = 0;
+				steps = 0;
+			}
+			e = following;
+		}
+		return new Instructions(Arrays.copyOf(maneuvers, count), start);
+	}
+
+	/**
+	 * Returns the number of maneuvers
+	 * @return the number of maneuvers, 0 for a route with no walkways
+	 */
+	public int size(){
+		return maneuvers.length;
+	}
+
+	/**
+	 * Returns a maneuver
+	 * @param i : index of the maneuver, from 0
+	 * @throws IndexOutOfBoundsException if i is not in [0, size())
+	 * @return the i'th maneuver
+	 */
+	public Maneuver get(int i){
+		return maneuvers[i];
+	}
+
+	/**
+	 * Returns where the route starts
+	 * @return the start of the first maneuver, or the only point of a route with no
+	 * walkways
+	 */
+	public EndPoint getStart(){
+		return start;
+	}
+
+	/**
+	 * Returns the distance of the route
+	 * @return the sum of the distances of the maneuvers
+	 */
+	public double getFeet(){
+		double feet = 0;
+		for(Maneuver m : maneuvers){
+			feet += m.getFeet();
+		}
+		return feet;
+	}
+
+	/**
+	 * Returns an iterator over the maneuvers, in order
+	 * @return an iterator over the maneuvers, which does not support remove
+	 */
+	public Iterator<Maneuver> iterator(){
+		return new Iterator<Maneuver>() {
+			private int next = 0;
+
+			public boolean hasNext() {
+				return next < maneuvers.length;
+			}
+
+			public Maneuver next() {
+				if(next == maneuvers.length){
+					throw new NoSuchElementException();
+				}
+				return maneuvers[next++];
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Returns an iterator over the maneuvers as edges, in order, which can be
+	 * written with RouteWriter.writeRoute
+	 * @return an iterator over asEdge() of each maneuver
+	 */
+	public Iterator<CampusEdge> edges(){
+		final Iterator<Maneuver> it = iterator();
+		return new Iterator<CampusEdge>() {
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			public CampusEdge next() {
+				return it.next().asEdge();
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert maneuvers != null && start != null;
+		for(int i = 0; i < maneuvers.length; i++){
+			assert maneuvers[i] != null;
+			if(i + 1 < maneuvers.length){
+				assert maneuvers[i].getEnd() == maneuvers[i + 1].getStart();
+				assert maneuvers[i].getDirection() != maneuvers[i + 1].getDirection();
+			}
+		}
+		assert maneuvers.length == 0 || maneuvers[0].getStart() == start;
+	}
+}
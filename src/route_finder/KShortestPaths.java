@@ -0,0 +1,145 @@
+package route_finder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * KShortestPaths finds the k least cost loopless routes between two nodes of a
+ * CampusNetwork, using Yen's algorithm.
+ * <br>
+ * <br>
+ * Each new route is found by deviating ("spurring") from a route that was already
+ * found.  Instead of running a full search for every deviation, the distance from
+ * every node to the destination is computed once.  This reverse shortest path tree is
+ * an exact A* heuristic for the spur searches, so a spur search only explores nodes
+ * away from the tree where a blocked edge or node forces it to.
+ * @author Janelle Van Hofwegen
+ */
+class KShortestPaths {
+
+	private KShortestPaths(){
+		// static methods only
+	}
+
+	/**
+	 * Finds up to k least cost routes from source to target that do not visit any node
+	 * more than once.
+	 * @param network : network to search
+	 * @param source : node the routes start at
+	 * @param target : node the routes end at
+	 * @param k : largest number of routes to return
+	 * @requires k >= 1
+	 * @return list of the (at most k) least cost loopless routes from source to target,
+	 * ordered by cost, cheapest first. The list is empty if there is no route, and holds
+	 * only a Route with no edges if source == target.
+	 */
+	static List<Route> find(CampusNetwork network, int source, int target, int k){
+		List<Route> routes = new ArrayList<Route>();
+		// distance from every node to target, shared by all spur searches
+		final double[] toTarget = NetworkSearch.distances(network, target, true);
+		if(toTarget[source] == Double.POSITIVE_INFINITY){
+			return routes;
+		}
+		NetworkSearch.Heuristic exact = new NetworkSearch.Heuristic() {
+			public double estimate(int node) {
+				return toTarget[node];
+			}
+		};
+
+		List<int[]> found = new ArrayList<int[]>();
+		PriorityQueue<Candidate> candidates = new PriorityQueue<Candidate>();
+		Set<Candidate> seen = new HashSet<Candidate>();
+		double[] weights = network.distances();
+		int[] best = NetworkSearch.searchPath(network, weights, source, target, exact, null, null);
+		found.add(best);
+		seen.add(new Candidate(network, best));
+
+		boolean[] blockedNodes = new boolean[network.nodeCount()];
+		boolean[] blockedEdges = new boolean[network.edgeCount()];
+		while(found.size() < k){
+			int[] last = found.get(found.size() - 1);
+			int spur = source;
+			for(int i = 0; i < last.length; i++){
+				// routes found so far that share the first i edges may not leave spur
+				// the same way again
+				for(int[] p : found){
+					if(p.length > i && samePrefix(p, last, i)){
+						blockedEdges[p[i]] = true;
+					}
+				}
+				int[] spurPath = NetworkSearch.searchPath(network, weights, spur, target, exact,
+						blockedNodes, blockedEdges);
+				if(spurPath != null){
+					int[] path = Arrays.copyOf(last, i + spurPath.length);
+					System.arraycopy(spurPath, 0, path, i, spurPath.length);
+					Candidate c = new Candidate(network, path);
+					if(seen.add(c)){
+						candidates.add(c);
+					}
+				}
+				for(int[] p : found){
+					if(p.length > i){
+						blockedEdges[p[i]] = false;
+					}
+				}
+				// the route may not come back to a node it already passed through
+				blockedNodes[spur] = true;
+				spur = network.target(last[i]);
+			}
+			Arrays.fill(blockedNodes, false);
+			if(candidates.isEmpty()){
+				break;
+			}
+			found.add(candidates.poll().path);
+		}
+
+		for(int[] path : found){
+			routes.add(network.route(source, path, path.length));
+		}
+		return routes;
+	}
+
+	// Returns whether a and b have the same first length edges
+	private static boolean samePrefix(int[] a, int[] b, int length){
+		for(int i = 0; i < length; i++){
+			if(a[i] != b[i]){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// A route that may be one of the k least cost routes, ordered by cost
+	private static class Candidate implements Comparable<Candidate> {
+		final int[] path;
+		final double cost;
+
+		Candidate(CampusNetwork network, int[] path){
+			this.path = path;
+			double c = 0;
+			for(int e : path){
+				c += network.distance(e);
+			}
+			cost = c;
+		}
+
+		public int compareTo(Candidate other){
+			int c = Double.compare(cost, other.cost);
+			return c != 0 ? c : path.length - other.path.length;
+		}
+
+		@Override
+		public boolean equals(Object obj){
+			return obj instanceof Candidate && Arrays.equals(path, ((Candidate) obj).path);
+		}
+
+		@Override
+		public int hashCode(){
+			return Arrays.hashCode(path);
+		}
+	}
+}
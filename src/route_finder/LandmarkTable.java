@@ -0,0 +1,288 @@
+package route_finder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * LandmarkTable holds precomputed least cost distances between a few landmark nodes
+ * and every node of a CampusNetwork.  By the triangle inequality these distances give
+ * lower bounds on the distance between any two nodes, which are used as the heuristic
+ * of an A* search (the ALT algorithm: A*, Landmarks, and Triangle inequality).
+ * <br>
+ * <br>
+ * A table can be saved to a file and loaded again later, so the distances only need
+ * to be computed once for a given map.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * landmarks[i] -> node id of the i-th landmark
+ * from[i][u] -> least cost distance from landmarks[i] to node u
+ * to[i][u] -> least cost distance from node u to landmarks[i]
+ * (Double.POSITIVE_INFINITY if there is no route)
+ * fingerprint -> CampusNetwork.fingerprint() of the network the distances are for
+ *
+ * Representation Invariant:
+ * landmarks.length == from.length == to.length
+ * every from[i] and to[i] has length nodeCount
+ */
+public class LandmarkTable {
+	// identifies landmark table files
+	private static final int MAGIC = 0x4c4d524b; // "LMRK"
+	private static final int VERSION = 1;
+
+	private final int nodeCount;
+	private final long fingerprint;
+	private final int[] landmarks;
+	private final double[][] from;
+	private final double[][] to;
+
+	// Constructs a table from already computed distances
+	private LandmarkTable(int nodeCount, long fingerprint, int[] landmarks,
+			double[][] from, double[][] to){
+		this.nodeCount = nodeCount;
+		this.fingerprint = fingerprint;
+		this.landmarks = landmarks;
+		this.from = from;
+		this.to = to;
+		checkRep();
+	}
+
+	/**
+	 * Chooses up to count landmarks of the given network and computes their distances.
+	 * Landmarks are chosen to be far away from each other (each new landmark is the
+	 * node farthest from the landmarks already chosen), which gives the best bounds.
+	 * @param network : network to compute distances for
+	 * @param count : number of landmarks to use
+	 * @requires count >= 0
+	 * @return landmark table for network with at most count landmarks (fewer if the
+	 * network has fewer nodes)
+	 */
+	public static LandmarkTable compute(CampusNetwork network, int count){
+		if(count < 0){
+			throw new IllegalArgumentException("count must not be negative");
+		}
+		int n = network.nodeCount();
+		count = Math.min(count, n);
+		int[] landmarks = new int[count];
+		double[][] from = new double[count][];
+		double[][] to = new double[count][];
+		// smallest distance from any chosen landmark to each node
+		double[] nearest = new double[n];
+		Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+		// the first landmark is the node farthest from an arbitrary node
+		int next = count > 0 ? farthest(NetworkSearch.distances(network, 0, false)) : 0;
+		for(int i = 0; i < count; i++){
+			landmarks[i] = next;
+			from[i] = NetworkSearch.distances(network, next, false);
+			to[i] = NetworkSearch.distances(network, next, true);
+			// the next landmark is the reachable node farthest from all landmarks so far
+			for(int u = 0; u < n; u++){
+				nearest[u] = Math.min(nearest[u], from[i][u]);
+			}
+			next = farthest(nearest);
+		}
+		return new LandmarkTable(n, network.fingerprint(), landmarks, from, to);
+	}
+
+	// Returns the node with the largest finite distance in dist
+	private static int farthest(double[] dist){
+		int farthest = 0;
+		for(int u = 0; u < dist.length; u++){
+			if(dist[u] != Double.POSITIVE_INFINITY && dist[u] > dist[farthest]){
+				farthest = u;
+			}
+		}
+		return farthest;
+	}
+
+	/**
+	 * Returns the number of landmarks in this table
+	 * @return the number of landmarks in this table
+	 */
+	public int landmarkCount(){
+		return landmarks.length;
+	}
+
+	/**
+	 * Returns whether this table was computed for the given network (same nodes, edges
+	 * and distances)
+	 * @param network : network to check against
+	 * @return true if this table can be used to search network
+	 */
+	public boolean matches(CampusNetwork network){
+		return network.nodeCount() == nodeCount && network.fingerprint() == fingerprint;
+	}
+
+	/**
+	 * Returns a lower bound on the least cost distance from node u to node v
+	 * @param u : node the distance is measured from
+	 * @param v : node the distance is measured to
+	 * @return a value that is never greater than the least cost distance from u to v
+	 */
+	public double lowerBound(int u, int v){
+		double bound = 0;
+		for(int i = 0; i < landmarks.length; i++){
+			// d(u, v) >= d(L, v) - d(L, u)  and  d(u, v) >= d(u, L) - d(v, L)
+			double a = from[i][v] - from[i][u];
+			double b = to[i][u] - to[i][v];
+			if(a > bound && a != Double.POSITIVE_INFINITY){
+				bound = a;
+			}
+			if(b > bound && b != Double.POSITIVE_INFINITY){
+				bound = b;
+			}
+		}
+		return bound;
+	}
+
+	/**
+	 * Writes this table to the given file, replacing anything already in it
+	 * @param file : file to write to
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(File file) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try {
+			write(out);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes this table to the given stream.  The stream is not closed.
+	 * @param out : stream to write to
+	 * @throws IOException if writing fails
+	 */
+	public void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(nodeCount);
+		data.writeLong(fingerprint);
+		data.writeInt(landmarks.length);
+		for(int i = 0; i < landmarks.length; i++){
+			data.writeInt(landmarks[i]);
+			for(int u = 0; u < nodeCount; u++){
+				data.writeDouble(from[i][u]);
+			}
+			for(int u = 0; u < nodeCount; u++){
+				data.writeDouble(to[i][u]);
+			}
+		}
+		data.flush();
+	}
+
+	/**
+	 * Reads a table from the given file.
+	 * @param file : file to read from
+	 * @return the table stored in file
+	 * @throws IOException if the file cannot be read or is not a landmark table
+	 */
+	public static LandmarkTable load(File file) throws IOException {
+		return load(file, null);
+	}
+
+	/**
+	 * Reads a table for the given network from the given file.  A table for another
+	 * network is rejected from its header, before its distances are read.
+	 * @param file : file to read from
+	 * @param network : network the table must be for, or null to accept any table
+	 * @return the table stored in file
+	 * @throws IOException if the file cannot be read, is not a landmark table, or is a
+	 * table for a network other than network
+	 */
+	public static LandmarkTable load(File file, CampusNetwork network) throws IOException {
+		InputStream in = new FileInputStream(file);
+		try {
+			return read(in, network, file.length());
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Reads a table from the given stream.  The stream is not closed.
+	 * @param in : stream to read from
+	 * @return the table read from in
+	 * @throws IOException if reading fails or the data is not a landmark table
+	 */
+	public static LandmarkTable read(InputStream in) throws IOException {
+		return read(in, null);
+	}
+
+	/**
+	 * Reads a table for the given network from the given stream, as load(file,
+	 * network) does.  The stream is not closed.
+	 * @param in : stream to read from
+	 * @param network : network the table must be for, or null to accept any table
+	 * @return the table read from in
+	 * @throws IOException if reading fails, the data is not a landmark table, or it is
+	 * a table for a network other than network
+	 */
+	public static LandmarkTable read(InputStream in, CampusNetwork network)
+			throws IOException {
+		return read(in, network, -1);
+	}
+
+	// Reads a table from in, which holds length bytes (or an unknown number if length
+	// is negative).  The header is checked against network and length before the
+	// distances are allocated, so a corrupt header can't exhaust memory.
+	private static LandmarkTable read(InputStream in, CampusNetwork network, long length)
+			throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+		if(data.readInt() != MAGIC || data.readInt() != VERSION){
+			throw new IOException("Not a landmark table");
+		}
+		int nodeCount = data.readInt();
+		long fingerprint = data.readLong();
+		int count = data.readInt();
+		if(nodeCount < 0 || count < 0 || count > nodeCount){
+			throw new IOException("Corrupt landmark table");
+		}
+		if(network != null && (network.nodeCount() != nodeCount ||
+				network.fingerprint() != fingerprint)){
+			throw new IOException("Landmark table is for a different map");
+		}
+		// magic, version, node count, fingerprint and landmark count, then for each
+		// landmark its node and two distances per node
+		if(length >= 0 && length != 24 + count * (4 + 16L * nodeCount)){
+			throw new IOException("Corrupt landmark table");
+		}
+		int[] landmarks = new int[count];
+		double[][] from = new double[count][nodeCount];
+		double[][] to = new double[count][nodeCount];
+		for(int i = 0; i < count; i++){
+			landmarks[i] = data.readInt();
+			for(int u = 0; u < nodeCount; u++){
+				from[i][u] = data.readDouble();
+			}
+			for(int u = 0; u < nodeCount; u++){
+				to[i][u] = data.readDouble();
+			}
+		}
+		return new LandmarkTable(nodeCount, fingerprint, landmarks, from, to);
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert landmarks.length == from.length;
+		assert landmarks.length == to.length;
+		for(int i = 0; i < landmarks.length; i++){
+			assert from[i].length == nodeCount;
+			assert to[i].length == nodeCount;
+		}
+	}
+}
@@ -0,0 +1,446 @@
+package route_finder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A MapDataSource is where the data of a map comes from.  Reading a source passes
+ * each building, point and walkway of the map to a Handler as it is read, so a map
+ * is never held in memory as text or as a list of records, and stops at the first
+ * bad line with an IOException naming the line.
+ * <br>
+ * <br>
+ * Text sources hold a buildings file and a paths file in the formats described by
+ * CampusDataParser, and can be read from files, class path resources, streams, or
+ * bytes in memory.  Text compressed with gzip is recognized and decompressed as it
+ * is read.  A snapshot is a compact binary copy of a map, written by writeSnapshot,
+ * that is read without parsing any text.
+ * <br>
+ * <br>
+ * For example:
+ * <pre>
+ * MapDataSource.file("campus_buildings.txt", "campus_paths.txt.gz").writeSnapshot("campus.map");
+ * RouteModel model = new RouteModel(MapDataSource.snapshot("campus.map"));
+ * </pre>
+ * @author Janelle Van Hofwegen
+ */
+public abstract class MapDataSource {
+	// first bytes of a gzip stream
+	private static final int GZIP_MAGIC = 0x8b1f;
+	// first bytes of a snapshot, and the version of its format
+	private static final int SNAPSHOT_MAGIC = 0x52464d53;
+	private static final int SNAPSHOT_VERSION = 1;
+	// tags of the records of a snapshot
+	private static final byte BUILDING = 'B';
+	private static final byte POINT = 'P';
+	private static final byte WALKWAY = 'W';
+	private static final byte END = 'E';
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * A Handler receives the parts of a map as a MapDataSource reads them.  Every
+	 * building is passed before any point.  Each point is the source of the walkways
+	 * passed after it, up to the next point.
+	 */
+	public interface Handler {
+		/**
+		 * Receives a building of the map
+		 * @param x : x-coordinate of the building
+		 * @param y : y-coordinate of the building
+		 * @param shortName : short name of the building
+		 * @param longName : long name of the building
+		 */
+		void building(double x, double y, String shortName, String longName);
+
+		/**
+		 * Receives a point of the map that is the source of the walkways that follow
+		 * @param x : x-coordinate of the point
+		 * @param y : y-coordinate of the point
+		 */
+		void point(double x, double y);
+
+		/**
+		 * Receives a walkway leaving the last point received
+		 * @param x : x-coordinate of the walkway's target
+		 * @param y : y-coordinate of the walkway's target
+		 * @param distance : length of the walkway, in feet
+		 */
+		void walkway(double x, double y, double distance);
+	}
+
+	/**
+	 * Reads the map, passing its parts to handler in order
+	 * @param handler : receiver of the buildings, points and walkways of the map
+	 * @requires handler != null
+	 * @throws FileNotFoundException if the data doesn't exist
+	 * @throws IOException if the data can't be read or is not in the expected format,
+	 * in which case handler may have received part of the map
+	 */
+	public abstract void read(Handler handler) throws IOException;
+
+	/**
+	 * Returns a source reading the given text files.  Either file may be null, for a
+	 * map with no buildings or with no walkways.
+	 * @param buildingsFile : name of the buildings file, or null
+	 * @param pathsFile : name of the paths file, or null
+	 * @return a source reading the files each time it is read
+	 */
+	public static MapDataSource file(final String buildingsFile, final String pathsFile){
+		return new TextSource(buildingsFile, pathsFile) {
+			protected InputStream open(String name) throws IOException {
+				return new FileInputStream(name);
+			}
+		};
+	}
+
+	/**
+	 * Returns a source reading the given text resources of the class path
+	 * @param loader : class loader finding the resources
+	 * @param buildingsResource : name of the buildings resource, or null
+	 * @param pathsResource : name of the paths resource, or null
+	 * @requires loader != null
+	 * @return a source reading the resources each time it is read
+	 */
+	public static MapDataSource resource(final ClassLoader loader, String buildingsResource,
+			String pathsResource){
+		return new TextSource(buildingsResource, pathsResource) {
+			protected InputStream open(String name) throws IOException {
+				InputStream in = loader.getResourceAsStream(name);
+				if(in == null){
+					throw new FileNotFoundException("no resource " + name);
+				}
+				return in;
+			}
+		};
+	}
+
+	/**
+	 * Returns a source reading the given text from memory
+	 * @param buildings : contents of the buildings file, or null
+	 * @param paths : contents of the paths file, or null
+	 * @return a source reading the given bytes each time it is read.  The arrays are
+	 * not copied.
+	 */
+	public static MapDataSource bytes(final byte[] buildings, final byte[] paths){
+		return new TextSource(buildings == null ? null : "buildings",
+				paths == null ? null : "paths") {
+			protected InputStream open(String name) {
+				return new ByteArrayInputStream(name.equals("buildings") ? buildings : paths);
+			}
+		};
+	}
+
+	/**
+	 * Returns a source reading the given text streams, which is read once only
+	 * @param buildings : stream of the buildings file, or null
+	 * @param paths : stream of the paths file, or null
+	 * @return a source reading the given streams and closing them.  Reading it again
+	 * throws an IllegalStateException.
+	 */
+	public static MapDataSource stream(final InputStream buildings, final InputStream paths){
+		return new TextSource(buildings == null ? null : "buildings",
+				paths == null ? null : "paths") {
+			private boolean read;
+
+			public void read(Handler handler) throws IOException {
+				if(read){
+					throw new IllegalStateException("streams have already been read");
+				}
+				read = true;
+				super.read(handler);
+			}
+
+			protected InputStream open(String name) {
+				return name.equals("buildings") ? buildings : paths;
+			}
+		};
+	}
+
+	/**
+	 * Returns a source reading the given snapshot file
+	 * @param file : name of a file written by writeSnapshot
+	 * @return a source reading the snapshot each time it is read
+	 */
+	public static MapDataSource snapshot(final String file){
+		return new MapDataSource() {
+			public void read(Handler handler) throws IOException {
+				DataInputStream in = new DataInputStream(new BufferedInputStream(
+						new FileInputStream(file), BUFFER_SIZE));
+				try {
+					readSnapshot(in, file, handler);
+				} finally {
+					in.close();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Reads this source and writes it to the given file as a snapshot.  The snapshot
+	 * is written to a temporary file in the same directory, which replaces file only
+	 * once it is complete, so file is left as it was if this fails.
+	 * @param file : name of the snapshot file to write
+	 * @throws IOException if this source can't be read or the file can't be written
+	 */
+	public void writeSnapshot(String file) throws IOException {
+		File target = new File(file).getAbsoluteFile();
+		File temp = File.createTempFile(target.getName() + ".part", ".tmp",
+				target.getParentFile());
+		boolean written = false;
+		try {
+			writeSnapshot(temp);
+			Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			written = true;
+		} finally {
+			if(!written){
+				temp.delete();
+			}
+		}
+	}
+
+	// Reads this source and writes it to the given file as a snapshot
+	private void writeSnapshot(File file) throws IOException {
+		final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(file), BUFFER_SIZE));
+		try {
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeInt(SNAPSHOT_VERSION);
+			final IOException[] failure = new IOException[1];
+			read(new Handler() {
+				public void building(double x, double y, String shortName, String longName) {
+					try {
+						out.writeByte(BUILDING);
+						out.writeDouble(x);
+						out.writeDouble(y);
+						out.writeUTF(shortName);
+						out.writeUTF(longName);
+					} catch (IOException e) {
+						fail(e);
+					}
+				}
+
+				public void point(double x, double y) {
+					try {
+						out.writeByte(POINT);
+						out.writeDouble(x);
+						out.writeDouble(y);
+					} catch (IOException e) {
+						fail(e);
+					}
+				}
+
+				public void walkway(double x, double y, double distance) {
+					try {
+						out.writeByte(WALKWAY);
+						out.writeDouble(x);
+						out.writeDouble(y);
+						out.writeDouble(distance);
+					} catch (IOException e) {
+						fail(e);
+					}
+				}
+
+				// Handlers can't throw IOExceptions, so the first one is kept for later
+				private void fail(IOException e){
+					if(failure[0] == null){
+						failure[0] = e;
+					}
+				}
+			});
+			if(failure[0] != null){
+				throw failure[0];
+			}
+			out.writeByte(END);
+		} finally {
+			out.close();
+		}
+	}
+
+	// Reads the records of a snapshot, after checking its header
+	private static void readSnapshot(DataInputStream in, String file, Handler handler)
+			throws IOException {
+		try {
+			if(in.readInt() != SNAPSHOT_MAGIC){
+				throw new IOException(file + " is not a map snapshot");
+			}
+			int version = in.readInt();
+			if(version != SNAPSHOT_VERSION){
+				throw new IOException(file + " is snapshot version " + version +
+						", expected " + SNAPSHOT_VERSION);
+			}
+			boolean point = false;
+			while(true){
+				byte tag = in.readByte();
+				if(tag == END){
+					return;
+				} else if(tag == BUILDING && !point){
+					double x = in.readDouble();
+					double y = in.readDouble();
+					handler.building(x, y, in.readUTF(), in.readUTF());
+				} else if(tag == POINT){
+					point = true;
+					handler.point(in.readDouble(), in.readDouble());
+				} else if(tag == WALKWAY && point){
+					handler.walkway(in.readDouble(), in.readDouble(), in.readDouble());
+				} else {
+					throw new IOException(file + " has a bad record '" + (char) tag + "'");
+				}
+			}
+		} catch (EOFException e) {
+			throw new IOException(file + " ends before the end of the map", e);
+		}
+	}
+
+	// Returns in, decompressing it if it is compressed with gzip.  Closes in if its
+	// header can't be read.
+	private static InputStream decompress(InputStream in) throws IOException {
+		try {
+			BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+			buffered.mark(2);
+			int magic = buffered.read() | (buffered.read() << 8);
+			buffered.reset();
+			if(magic == GZIP_MAGIC){
+				return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE),
+						BUFFER_SIZE);
+			}
+			return buffered;
+		} catch (IOException e) {
+			in.close();
+			throw e;
+		} catch (RuntimeException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * A TextSource reads the buildings and paths text formats from two named inputs,
+	 * either of which may be missing
+	 */
+	private abstract static class TextSource extends MapDataSource {
+		private final String buildings;
+		private final String paths;
+
+		TextSource(String buildings, String paths){
+			this.buildings = buildings;
+			this.paths = paths;
+		}
+
+		// Opens the input with the given name
+		protected abstract InputStream open(String name) throws IOException;
+
+		public void read(Handler handler) throws IOException {
+			if(buildings != null){
+				BufferedReader in = reader(buildings);
+				try {
+					readBuildings(in, handler);
+				} finally {
+					in.close();
+				}
+			}
+			if(paths != null){
+				BufferedReader in = reader(paths);
+				try {
+					readPaths(in, handler);
+				} finally {
+					in.close();
+				}
+			}
+		}
+
+		// Returns a reader of the text of the input with the given name
+		private BufferedReader reader(String name) throws IOException {
+			return new BufferedReader(new InputStreamReader(decompress(open(name))), BUFFER_SIZE);
+		}
+
+		// Reads lines "short name TAB long name TAB x TAB y", skipping blank lines
+		private void readBuildings(BufferedReader in, Handler handler) throws IOException {
+			int number = 0;
+			String line;
+			while((line = in.readLine()) != null){
+				number++;
+				if(line.trim().isEmpty()){
+					continue;
+				}
+				int a = line.indexOf('\t');
+				int b = a < 0 ? -1 : line.indexOf('\t', a + 1);
+				int c = b < 0 ? -1 : line.indexOf('\t', b + 1);
+				if(c < 0 || line.indexOf('\t', c + 1) >= 0){
+					throw error(buildings, number, "expected 4 tab separated fields", line);
+				}
+				handler.building(number(line, b + 1, c, buildings, number),
+						number(line, c + 1, line.length(), buildings, number),
+						line.substring(0, a), line.substring(a + 1, b));
+			}
+		}
+
+		// Reads blocks of a line "x,y" followed by lines "TAB x,y: distance"
+		private void readPaths(BufferedReader in, Handler handler) throws IOException {
+			int number = 0;
+			boolean point = false;
+			String line;
+			while((line = in.readLine()) != null){
+				number++;
+				boolean walkway = line.length() > 0 && Character.isWhitespace(line.charAt(0));
+				line = line.trim();
+				if(line.isEmpty()){
+					continue;
+				}
+				int comma = line.indexOf(',');
+				if(comma < 0){
+					throw error(paths, number, "expected x,y", line);
+				}
+				double x = number(line, 0, comma, paths, number);
+				if(!walkway){
+					handler.point(x, number(line, comma + 1, line.length(), paths, number));
+					point = true;
+					continue;
+				}
+				int colon = line.indexOf(':', comma);
+				if(colon < 0){
+					throw error(paths, number, "expected x,y: distance", line);
+				}
+				if(!point){
+					throw error(paths, number, "walkway before its source point", line);
+				}
+				double y = number(line, comma + 1, colon, paths, number);
+				double distance = number(line, colon + 1, line.length(), paths, number);
+				if(!(distance >= 0) || Double.isInfinite(distance)){
+					throw error(paths, number, "bad distance", line);
+				}
+				handler.walkway(x, y, distance);
+			}
+		}
+
+		// Returns the number in line[start, end)
+		private static double number(String line, int start, int end, String name, int number)
+				throws IOException {
+			try {
+				return Double.parseDouble(line.substring(start, end));
+			} catch (NumberFormatException e) {
+				throw error(name, number, "bad number \"" + line.substring(start, end).trim() + "\"", line);
+			}
+		}
+
+		// Returns an exception describing the given bad line
+		private static IOException error(String name, int number, String problem, String line){
+			return new IOException(name + " line " + number + ": " + problem + ": " + line);
+		}
+	}
+}
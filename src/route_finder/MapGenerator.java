@@ -0,0 +1,362 @@
+package route_finder;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * MapGenerator makes synthetic maps, much larger than the campus, in the formats read
+ * by CampusDataParser, so that how RouteModel and DirectedGraph scale can be measured
+ * and tested.  Two kinds of map are made:
+ * <br>
+ * - a grid, where each point is joined to the points next to it in its row and
+ *   column, optionally moved a random amount so that routes aren't all ties
+ * <br>
+ * - a random geometric map, where points are placed uniformly at random and every
+ *   two points closer than a radius are joined, the radius being chosen to give the
+ *   requested average number of walkways per point
+ * <br>
+ * <br>
+ * Every walkway is written in both directions, with its Euclidean length as its
+ * distance.  Buildings are placed at randomly chosen points that have at least one
+ * walkway, and are named B1, B2, ... (padded with zeros to the same length) with
+ * long names "Building 1", "Building 2", ...  The same arguments and seed always
+ * make the same map.  Walkways are written as they are found, so maps with millions
+ * of walkways are made in memory proportional to the number of points.
+ * <br>
+ * <br>
+ * Usage: java route_finder.MapGenerator [-seed s] grid width height buildings
+ * buildingsFile pathsFile
+ * <br>
+ * or: java route_finder.MapGenerator [-seed s] geometric points degree buildings
+ * buildingsFile pathsFile
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * x[i], y[i] -> coordinates of the i'th point of the map
+ * if width > 0, the map is a grid with width points in each row; point i is in
+ *   column i % width and row i / width
+ * if width == 0, the map is random geometric; points i and j are joined if
+ *   they are within radius of each other.  cellStart and cellPoints are a
+ *   bucketing of the points into square cells of side radius: the points of
+ *   cell c are cellPoints[cellStart[c]] to cellPoints[cellStart[c + 1] - 1],
+ *   and cell c is column c % cells and row c / cells
+ * seed -> seed of the random choice of building locations
+ *
+ * Representation Invariant:
+ * x != null, y != null, x.length == y.length > 0
+ * width >= 0
+ * if width > 0, x.length % width == 0
+ * if width == 0, radius > 0, cells >= 1, cellStart.length == cells * cells + 1,
+ *   cellPoints.length == x.length
+ */
+public final class MapGenerator {
+	// distance between points next to each other on a grid, in feet
+	public static final double GRID_SPACING = 50;
+	// size of the map for each point of a random geometric map, in square feet
+	private static final double AREA_PER_POINT = GRID_SPACING * GRID_SPACING;
+
+	private final double[] x;
+	private final double[] y;
+	private final int width;
+	private final double radius;
+	private final int cells;
+	private final int[] cellStart;
+	private final int[] cellPoints;
+	private final long seed;
+
+	// Constructs a grid map
+	private MapGenerator(double[] x, double[] y, int width, long seed){
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.radius = 0;
+		this.cells = 0;
+		this.cellStart = null;
+		this.cellPoints = null;
+		this.seed = seed;
+		checkRep();
+	}
+
+	// Constructs a random geometric map, bucketing the points into cells
+	private MapGenerator(double[] x, double[] y, double radius, double size, long seed){
+		this.x = x;
+		this.y = y;
+		this.width = 0;
+		this.radius = radius;
+		this.cells = Math.max(1, (int) Math.ceil(size / radius));
+		this.seed = seed;
+		cellStart = new int[cells * cells + 1];
+		int[] cellOf = new int[x.length];
+		for(int i = 0; i < x.length; i++){
+			cellOf[i] = cell(x[i]) + cell(y[i]) * cells;
+			cellStart[cellOf[i] + 1]++;
+		}
+		for(int c = 0; c < cells * cells; c++){
+			cellStart[c + 1] += cellStart[c];
+		}
+		cellPoints = new int[x.length];
+		int[] next = new int[cells * cells];
+		for(int i = 0; i < x.length; i++){
+			cellPoints[cellStart[cellOf[i]] + next[cellOf[i]]++] = i;
+		}
+		checkRep();
+	}
+
+	/**
+	 * Returns a generator of a grid map
+	 * @param width : number of points in each row
+	 * @param height : number of points in each column
+	 * @param jitter : largest distance a point is moved from its place on the grid, as
+	 * a fraction of GRID_SPACING
+	 * @param seed : seed of the random choices
+	 * @throws IllegalArgumentException if width < 1, height < 1, width * height is more
+	 * than Integer.MAX_VALUE, or jitter is not in [0, 0.5)
+	 * @return a generator making a width by height grid with GRID_SPACING feet between
+	 * rows and columns
+	 */
+	public static MapGenerator grid(int width, int height, double jitter, long seed){
+		if(width < 1 || height < 1 || (long) width * height > Integer.MAX_VALUE){
+			throw new IllegalArgumentException("bad grid size " + width + " by " + height);
+		}
+		if(!(jitter >= 0 && jitter < 0.5)){
+			throw new IllegalArgumentException("jitter must be in [0, 0.5): " + jitter);
+		}
+		Random random = new Random(seed);
+		int n = width * height;
+		double[] x = new double[n];
+		double[] y = new double[n];
+		for(int i = 0; i < n; i++){
+			x[i] = (i % width) * GRID_SPACING;
+			y[i] = (i / width) * GRID_SPACING;
+			if(jitter > 0){
+				x[i] += (random.nextDouble() * 2 - 1) * jitter * GRID_SPACING;
+				y[i] += (random.nextDouble() * 2 - 1) * jitter * GRID_SPACING;
+			}
+		}
+		return new MapGenerator(x, y, width, seed);
+	}
+
+	/**
+	 * Returns a generator of a random geometric map
+	 * @param points : number of points
+	 * @param degree : average number of walkways leaving each point
+	 * @param seed : seed of the random choices
+	 * @throws IllegalArgumentException if points < 1 or degree <= 0
+	 * @return a generator making a square map of points points, with an average of
+	 * GRID_SPACING * GRID_SPACING square feet per point
+	 */
+	public static MapGenerator randomGeometric(int points, double degree, long seed){
+		if(points < 1 || !(degree > 0)){
+			throw new IllegalArgumentException("need points >= 1 and degree > 0");
+		}
+		Random random = new Random(seed);
+		double size = Math.sqrt(points * AREA_PER_POINT);
+		double[] x = new double[points];
+		double[] y = new double[points];
+		for(int i = 0; i < points; i++){
+			x[i] = random.nextDouble() * size;
+			y[i] = random.nextDouble() * size;
+		}
+		// a circle of the radius holds degree points on average
+		double radius = Math.sqrt(degree * AREA_PER_POINT / Math.PI);
+		return new MapGenerator(x, y, radius, size, seed);
+	}
+
+	/**
+	 * Returns the number of points of the map
+	 * @return the number of points, including those with no walkways
+	 */
+	public int pointCount(){
+		return x.length;
+	}
+
+	/**
+	 * Writes the map to the given files
+	 * @param buildings : number of buildings to place
+	 * @param buildingsFile : name of the buildings file to write
+	 * @param pathsFile : name of the paths file to write
+	 * @throws IllegalArgumentException if buildings is negative or more than the number
+	 * of points with walkways
+	 * @throws IOException if a file can't be written
+	 * @return the number of walkways written, counting each direction once
+	 */
+	public long write(int buildings, String buildingsFile, String pathsFile) throws IOException {
+		Writer b = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(buildingsFile)));
+		try {
+			Writer p = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(pathsFile)));
+			try {
+				return write(buildings, b, p);
+			} finally {
+				p.close();
+			}
+		} finally {
+			b.close();
+		}
+	}
+
+	/**
+	 * Writes the map to the given Writers
+	 * @param buildings : number of buildings to place
+	 * @param buildingsOut : where the buildings file is written
+	 * @param pathsOut : where the paths file is written
+	 * @requires buildingsOut != null, pathsOut != null
+	 * @modifies buildingsOut, pathsOut
+	 * @throws IllegalArgumentException if buildings is negative or more than the number
+	 * of points with walkways
+	 * @throws IOException if a Writer can't be written
+	 * @return the number of walkways written, counting each direction once
+	 */
+	public long write(int buildings, Writer buildingsOut, Writer pathsOut) throws IOException {
+		if(buildings < 0){
+			throw new IllegalArgumentException("buildings must not be negative: " + buildings);
+		}
+		// points with walkways, which are the only places a building can go
+		int[] placed = new int[x.length];
+		int connected = 0;
+		long edges = 0;
+		int[] adjacent = new int[16];
+		StringBuilder line = new StringBuilder();
+		for(int i = 0; i < x.length; i++){
+			adjacent = neighbours(i, adjacent);
+			int count = adjacent[0];
+			if(count == 0){
+				continue;
+			}
+			placed[connected++] = i;
+			line.setLength(0);
+			appendPoint(line, i).append('\n');
+			for(int k = 1; k <= count; k++){
+				int j = adjacent[k];
+				line.append('\t');
+				appendPoint(line, j).append(": ").append(distance(i, j)).append('\n');
+			}
+			pathsOut.append(line);
+			edges += count;
+		}
+		if(buildings > connected){
+			throw new IllegalArgumentException("only " + connected +
+					" points have walkways, can't place " + buildings + " buildings");
+		}
+		// the first buildings entries of a partial shuffle of the connected points
+		Random random = new Random(seed);
+		int digits = Integer.toString(buildings).length();
+		for(int k = 0; k < buildings; k++){
+			int swap = k + random.nextInt(connected - k);
+			int point = placed[swap];
+			placed[swap] = placed[k];
+			placed[k] = point;
+			String number = Integer.toString(k + 1);
+			line.setLength(0);
+			line.append('B');
+			for(int pad = number.length(); pad < digits; pad++){
+				line.append('0');
+			}
+			line.append(number).append("\tBuilding ").append(number).append('\t');
+			line.append(x[point]).append('\t').append(y[point]).append('\n');
+			buildingsOut.append(line);
+		}
+		pathsOut.flush();
+		buildingsOut.flush();
+		return edges;
+	}
+
+	// Appends "x,y" of point i to sb, returning sb
+	private StringBuilder appendPoint(StringBuilder sb, int i){
+		return sb.append(x[i]).append(',').append(y[i]);
+	}
+
+	// Returns the distance between points i and j
+	private double distance(int i, int j){
+		double dx = x[i] - x[j];
+		double dy = y[i] - y[j];
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
+	// Returns the cell row or column holding coordinate v of a random geometric map
+	private int cell(double v){
+		return Math.min(cells - 1, (int) (v / radius));
+	}
+
+	/*
+	 * Fills result with the number of points joined to point i, followed by those
+	 * points, returning result or, if result is too small, a bigger array
+	 */
+	private int[] neighbours(int i, int[] result){
+		int count = 0;
+		if(width > 0){
+			int column = i % width;
+			if(column > 0) result[++count] = i - 1;
+			if(column < width - 1) result[++count] = i + 1;
+			if(i >= width) result[++count] = i - width;
+			if(i + width < x.length) result[++count] = i + width;
+		} else {
+			int cx = cell(x[i]);
+			int cy = cell(y[i]);
+			for(int row = Math.max(0, cy - 1); row <= Math.min(cells - 1, cy + 1); row++){
+				for(int col = Math.max(0, cx - 1); col <= Math.min(cells - 1, cx + 1); col++){
+					int c = col + row * cells;
+					for(int k = cellStart[c]; k < cellStart[c + 1]; k++){
+						int j = cellPoints[k];
+						double d = distance(i, j);
+						if(j != i && d > 0 && d <= radius){
+							if(count + 1 >= result.length){
+								int[] bigger = new int[result.length * 2];
+								System.arraycopy(result, 0, bigger, 0, result.length);
+								result = bigger;
+							}
+							result[++count] = j;
+						}
+					}
+				}
+			}
+		}
+		result[0] = count;
+		return result;
+	}
+
+	public static void main(String[] args) throws IOException {
+		long seed = 1;
+		int i = 0;
+		if(args.length > 1 && args[0].equals("-seed")){
+			seed = Long.parseLong(args[1]);
+			i = 2;
+		}
+		if(args.length - i != 6 || !(args[i].equals("grid") || args[i].equals("geometric"))){
+			System.err.println("Usage: java route_finder.MapGenerator [-seed s] " +
+					"grid width height buildings buildingsFile pathsFile");
+			System.err.println("   or: java route_finder.MapGenerator [-seed s] " +
+					"geometric points degree buildings buildingsFile pathsFile");
+			System.exit(2);
+		}
+		MapGenerator generator;
+		if(args[i].equals("grid")){
+			generator = grid(Integer.parseInt(args[i + 1]), Integer.parseInt(args[i + 2]), 0.25, seed);
+		} else {
+			generator = randomGeometric(Integer.parseInt(args[i + 1]),
+					Double.parseDouble(args[i + 2]), seed);
+		}
+		long start = System.nanoTime();
+		long edges = generator.write(Integer.parseInt(args[i + 3]), args[i + 4], args[i + 5]);
+		System.err.println(generator.pointCount() + " points, " + edges + " walkways in " +
+				Math.round((System.nanoTime() - start) / 1e6) + " ms");
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert x != null && y != null && x.length == y.length && x.length > 0;
+		assert width >= 0;
+		if(width > 0){
+			assert x.length % width == 0;
+		} else {
+			assert radius > 0 && cells >= 1;
+			assert cellStart.length == cells * cells + 1 && cellPoints.length == x.length;
+		}
+	}
+}
@@ -0,0 +1,388 @@
+package route_finder;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A MapReloader holds the current RouteModel of a map kept in data files, and
+ * replaces it with a new RouteModel when the files change, without stopping the
+ * application.
+ * <br>
+ * <br>
+ * A reload reads the files and builds a complete new RouteModel, with its indexes
+ * and, if landmarks are in use, its landmark table, before it is made current with
+ * a single atomic swap.  A RouteModel is never changed by a reload, so a query that
+ * took the old RouteModel from current() finishes on it, and queries that call
+ * current() afterwards use the new one.  If the files can't be read or are not in
+ * the expected format, the current RouteModel is kept.
+ * <br>
+ * <br>
+ * Once start() is called, a background thread watches the directories holding the
+ * files and reloads the map once the files have stopped changing for a moment, so
+ * that a file is not read while it is still being written.  Listeners are told the
+ * outcome of every reload: how long it took and the peak heap used while it ran.
+ * <br>
+ * <br>
+ * For example:
+ * <pre>
+ * MapReloader maps = new MapReloader("campus_buildings.txt", "campus_paths.txt");
+ * maps.start();
+ * Route r = maps.current().findLeastCostPath("CSE", "MGH");
+ * </pre>
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * current.get() -> the RouteModel queries are answered with
+ * version -> number of RouteModels made current, counting the first
+ * buildingsFile, pathsFile -> files the map is read from
+ * landmarkCount, landmarkCache -> landmarks made for every new RouteModel, none
+ *                                 if landmarkCount == 0
+ * watcher -> watch of the directories of the files, or null if not started
+ *
+ * Representation Invariant:
+ * current.get() != null, version >= 1
+ * buildingsFile != null, pathsFile != null
+ * landmarkCount >= 0
+ */
+public class MapReloader implements Closeable {
+	// how long the files must go unchanged before they are read, in milliseconds
+	private static final long QUIET_MILLIS = 500;
+
+	private final String buildingsFile;
+	private final String pathsFile;
+	private final AtomicReference<RouteModel> current;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+	private int version;
+	private int landmarkCount;
+	private File landmarkCache;
+	private WatchService watcher;
+	private Thread watchThread;
+
+	/**
+	 * A Listener is told the outcome of each reload, on the thread that did it.  An
+	 * exception thrown by a listener is passed to that thread's uncaught exception
+	 * handler; it does not stop the other listeners or the watch of the files.
+	 */
+	public interface Listener {
+		/**
+		 * Called after a new RouteModel has been made current
+		 * @param reload : what was reloaded and what it cost
+		 */
+		void reloaded(Reload reload);
+
+		/**
+		 * Called when the files could not be loaded, so the current RouteModel was kept
+		 * @param e : why the files could not be loaded
+		 */
+		void failed(Exception e);
+	}
+
+	/**
+	 * A Reload describes one successful reload
+	 */
+	public static final class Reload {
+		private final RouteModel model;
+		private final int version;
+		private final long nanos;
+		private final long peakHeap;
+		private final boolean landmarksSaved;
+
+		Reload(RouteModel model, int version, long nanos, long peakHeap,
+				boolean landmarksSaved){
+			this.model = model;
+			this.version = version;
+			this.nanos = nanos;
+			this.peakHeap = peakHeap;
+			this.landmarksSaved = landmarksSaved;
+		}
+
+		/**
+		 * Returns the RouteModel made current
+		 * @return the new RouteModel
+		 */
+		public RouteModel getModel(){
+			return model;
+		}
+
+		/**
+		 * Returns the number of RouteModels made current so far, counting this one
+		 * and the first
+		 * @return the version of the new RouteModel, 2 for the first reload
+		 */
+		public int getVersion(){
+			return version;
+		}
+
+		/**
+		 * Returns how long the reload took, from starting to read the files to
+		 * making the new RouteModel current
+		 * @return duration of the reload, in milliseconds
+		 */
+		public double getMillis(){
+			return nanos / 1e6;
+		}
+
+		/**
+		 * Returns the peak heap use while the reload ran, the sum of the peaks of the
+		 * heap memory pools, which includes the RouteModel being replaced
+		 * @return peak heap use, in bytes
+		 */
+		public long getPeakHeap(){
+			return peakHeap;
+		}
+
+		/**
+		 * Returns whether the landmark table of the new RouteModel, if it was computed,
+		 * was saved to the landmark cache
+		 * @return false if a computed landmark table could not be saved, true otherwise
+		 */
+		public boolean isLandmarkTableSaved(){
+			return landmarksSaved;
+		}
+
+		@Override
+		public String toString(){
+			return "map version " + version + " loaded in " + Math.round(getMillis()) +
+					" ms, peak heap " + (peakHeap >> 20) + " MB" +
+					(landmarksSaved ? "" : ", landmark table not saved");
+		}
+	}
+
+	/**
+	 * Constructs a MapReloader for the map in the given files, loading it now
+	 * @param buildingsFile : name of the buildings file
+	 * @param pathsFile : name of the paths file
+	 * @throws IllegalArgumentException if either name is null, or if the files can't
+	 * be read or are not in the expected format
+	 */
+	public MapReloader(String buildingsFile, String pathsFile){
+		if(buildingsFile == null || pathsFile == null){
+			throw new IllegalArgumentException("file names must not be null");
+		}
+		this.buildingsFile = buildingsFile;
+		this.pathsFile = pathsFile;
+		current = new AtomicReference<RouteModel>(new RouteModel(buildingsFile, pathsFile));
+		version = 1;
+		checkRep();
+	}
+
+	/**
+	 * Returns the current RouteModel.  A query should call this once and use the
+	 * returned RouteModel throughout, so that all of it is answered on one version of
+	 * the map.
+	 * @return the most recently loaded RouteModel
+	 */
+	public RouteModel current(){
+		return current.get();
+	}
+
+	/**
+	 * Turns on landmark based searching for the current RouteModel and every
+	 * RouteModel loaded afterwards, as RouteModel.useLandmarks(count, cache) does
+	 * @param count : number of landmarks
+	 * @param cache : file the landmark table is saved in, or null
+	 * @throws IllegalArgumentException if count < 1
+	 * @modifies this
+	 * @return false if the table of the current RouteModel was computed and could not
+	 * be saved to cache, true otherwise
+	 */
+	public synchronized boolean useLandmarks(int count, File cache){
+		if(count < 1){
+			throw new IllegalArgumentException("count must be at least 1");
+		}
+		landmarkCount = count;
+		landmarkCache = cache;
+		return current().useLandmarks(count, cache);
+	}
+
+	/**
+	 * Adds a listener told the outcome of every later reload
+	 * @param listener : listener to add
+	 * @requires listener != null
+	 * @modifies this
+	 */
+	public void addListener(Listener listener){
+		listeners.add(listener);
+	}
+
+	/**
+	 * Reads the files and, if they are loaded, makes a RouteModel of them current.
+	 * Only one reload runs at a time.
+	 * @modifies this
+	 * @return a description of the reload, or null if the files could not be loaded
+	 */
+	public synchronized Reload reload(){
+		List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+		for(MemoryPoolMXBean pool : pools){
+			if(pool.getType() == MemoryType.HEAP && pool.isValid()){
+				pool.resetPeakUsage();
+			}
+		}
+		long start = System.nanoTime();
+		RouteModel model;
+		boolean landmarksSaved = true;
+		try {
+			model = new RouteModel(MapDataSource.file(buildingsFile, pathsFile));
+			if(landmarkCount > 0){
+				landmarksSaved = model.useLandmarks(landmarkCount, landmarkCache);
+			}
+			// build the walkway index now, rather than in the first query that needs it
+			model.walkwaysIn(0, 0, 0, 0);
+		} catch (IOException e) {
+			fail(e);
+			return null;
+		} catch (RuntimeException e) {
+			fail(e);
+			return null;
+		}
+		current.set(model);
+		long nanos = System.nanoTime() - start;
+		long peak = 0;
+		for(MemoryPoolMXBean pool : pools){
+			if(pool.getType() == MemoryType.HEAP && pool.isValid()){
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		version++;
+		Reload reload = new Reload(model, version, nanos, peak, landmarksSaved);
+		for(Listener l : listeners){
+			try {
+				l.reloaded(reload);
+			} catch (RuntimeException e) {
+				report(e);
+			}
+		}
+		checkRep();
+		return reload;
+	}
+
+	// Tells the listeners a reload failed
+	private void fail(Exception e){
+		for(Listener l : listeners){
+			try {
+				l.failed(e);
+			} catch (RuntimeException thrown) {
+				report(thrown);
+			}
+		}
+	}
+
+	// Passes an exception thrown by a listener to the uncaught exception handler of
+	// the current thread, without stopping the thread
+	private static void report(RuntimeException e){
+		Thread thread = Thread.currentThread();
+		thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+	}
+
+	/**
+	 * Starts watching the files, reloading the map in the background whenever they
+	 * change.  Does nothing if already started.
+	 * @modifies this
+	 * @throws IOException if the directories of the files can't be watched
+	 */
+	public synchronized void start() throws IOException {
+		if(watcher != null){
+			return;
+		}
+		final WatchService service = FileSystems.getDefault().newWatchService();
+		final Set<Path> names = new HashSet<Path>();
+		Set<Path> directories = new HashSet<Path>();
+		for(String file : new String[] {buildingsFile, pathsFile}){
+			Path path = new File(file).getAbsoluteFile().toPath();
+			names.add(path.getFileName());
+			directories.add(path.getParent());
+		}
+		try {
+			for(Path dir : directories){
+				dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY);
+			}
+		} catch (IOException e) {
+			service.close();
+			throw e;
+		}
+		watcher = service;
+		watchThread = new Thread(new Runnable() {
+			public void run() {
+				watch(service, names);
+			}
+		}, "map reloader");
+		watchThread.setDaemon(true);
+		watchThread.start();
+	}
+
+	// Reloads the map each time the named files change and then go unchanged for
+	// QUIET_MILLIS, until service is closed
+	private void watch(WatchService service, Set<Path> names){
+		boolean changed = false;
+		try {
+			while(true){
+				WatchKey key = changed ? service.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)
+						: service.take();
+				if(key == null){
+					// quiet since the last change
+					changed = false;
+					reload();
+					continue;
+				}
+				for(WatchEvent<?> event : key.pollEvents()){
+					if(names.contains(event.context())){
+						changed = true;
+					}
+				}
+				key.reset();
+			}
+		} catch (InterruptedException e) {
+			// closed
+		} catch (ClosedWatchServiceException e) {
+			// closed
+		}
+	}
+
+	/**
+	 * Stops watching the files.  The current RouteModel can still be used.
+	 * @modifies this
+	 * @throws IOException if the watch can't be closed
+	 */
+	public void close() throws IOException {
+		WatchService service;
+		Thread thread;
+		synchronized(this){
+			service = watcher;
+			thread = watchThread;
+			watcher = null;
+			watchThread = null;
+		}
+		if(service != null){
+			service.close();
+			thread.interrupt();
+		}
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert current.get() != null && version >= 1;
+		assert buildingsFile != null && pathsFile != null;
+		assert landmarkCount >= 0;
+	}
+}
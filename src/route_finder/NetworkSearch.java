@@ -0,0 +1,198 @@
+package route_finder;
+
+import java.util.Arrays;
+
+/**
+ * NetworkSearch contains the array based shortest path searches over a CampusNetwork.
+ * Edge costs are the distances of the edges.
+ * @author Janelle Van Hofwegen
+ */
+class NetworkSearch {
+
+	/**
+	 * A Heuristic estimates the remaining cost from a node to the destination of a
+	 * search.  Estimates must never be larger than the real remaining cost, and must be
+	 * consistent: estimate(u) <= cost(u, v) + estimate(v) for every edge (u, v).
+	 */
+	interface Heuristic {
+		double estimate(int node);
+	}
+
+	// Heuristic that always estimates zero, which makes A* behave like Dijkstra's algorithm
+	static final Heuristic NONE = new Heuristic() {
+		public double estimate(int node) {
+			return 0;
+		}
+	};
+
+	private NetworkSearch(){
+		// static methods only
+	}
+
+	/**
+	 * Returns the least cost distance from source to every node of the network (or,
+	 * if reverse is true, from every node to source), using Dijkstra's algorithm.
+	 * @param network : network to search
+	 * @param source : node the distances are measured from (or to, if reverse is true)
+	 * @param reverse : true to follow edges backwards
+	 * @return array d where d[u] is the least cost distance between source and u,
+	 * or Double.POSITIVE_INFINITY if there is no route between them
+	 */
+	static double[] distances(CampusNetwork network, int source, boolean reverse){
+		int n = network.nodeCount();
+		double[] dist = new double[n];
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		boolean[] finished = new boolean[n];
+		NodeHeap active = new NodeHeap(n);
+		dist[source] = 0;
+		active.insertOrDecrease(source, 0);
+		while(!active.isEmpty()){
+			int u = active.poll();
+			finished[u] = true;
+			int first = reverse ? network.firstInEdge(u) : network.firstEdge(u);
+			int last = reverse ? network.firstInEdge(u + 1) : network.firstEdge(u + 1);
+			for(int i = first; i < last; i++){
+				int e = reverse ? network.inEdge(i) : i;
+				int v = reverse ? network.source(e) : network.target(e);
+				double alt = dist[u] + network.distance(e);
+				if(!finished[v] && alt < dist[v]){
+					dist[v] = alt;
+					active.insertOrDecrease(v, alt);
+				}
+			}
+		}
+		return dist;
+	}
+
+	/**
+	 * Grows the tree of least cost paths from source with Dijkstra's algorithm until
+	 * every one of the given targets has been reached, so one search answers the
+	 * distances from source to many targets.
+	 * @param network : network to search
+	 * @param source : node the paths start at
+	 * @param targets : nodes the paths end at
+	 * @param dist : array of length network.nodeCount() that is filled with the
+	 * distances from source. dist[t] is the least cost distance from source to each t
+	 * in targets, or Double.POSITIVE_INFINITY if t can't be reached.
+	 * @modifies dist
+	 * @return array p where p[t] is the edge used to reach each reachable target t on
+	 * its least cost path (see path()), and p[source] == -1
+	 */
+	static int[] pathTree(CampusNetwork network, int source, int[] targets, double[] dist){
+		int n = network.nodeCount();
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		int[] predecessor = new int[n];
+		boolean[] finished = new boolean[n];
+		boolean[] isTarget = new boolean[n];
+		int remaining = 0;
+		for(int t : targets){
+			if(!isTarget[t]){
+				isTarget[t] = true;
+				remaining++;
+			}
+		}
+		NodeHeap active = new NodeHeap(n);
+		dist[source] = 0;
+		predecessor[source] = -1;
+		active.insertOrDecrease(source, 0);
+		while(!active.isEmpty() && remaining > 0){
+			int u = active.poll();
+			finished[u] = true;
+			if(isTarget[u]){
+				remaining--;
+			}
+			for(int e = network.firstEdge(u); e < network.firstEdge(u + 1); e++){
+				int v = network.target(e);
+				double alt = dist[u] + network.distance(e);
+				if(!finished[v] && alt < dist[v]){
+					dist[v] = alt;
+					predecessor[v] = e;
+					active.insertOrDecrease(v, alt);
+				}
+			}
+		}
+		return predecessor;
+	}
+
+	/**
+	 * Finds the least cost route from source to target with the A* algorithm, using the
+	 * given heuristic to guide the search.
+	 * @param network : network to search
+	 * @param source : node the route starts at
+	 * @param target : node the route ends at
+	 * @param heuristic : consistent estimate of the remaining cost to target
+	 * @return the least cost Route from source to target, or null if there is none
+	 */
+	static Route search(CampusNetwork network, int source, int target, Heuristic heuristic){
+		int[] path = searchPath(network, network.distances(), source, target, heuristic,
+				null, null);
+		return path == null ? null : network.route(source, path, path.length);
+	}
+
+	/**
+	 * Finds the least cost path from source to target with the A* algorithm, without
+	 * using any of the given blocked nodes or edges.
+	 * @param network : network to search
+	 * @param weights : cost of each edge, indexed by edge id. Edges with an infinite
+	 * cost are never used.
+	 * @param source : node the path starts at
+	 * @param target : node the path ends at
+	 * @param heuristic : consistent estimate of the remaining cost to target
+	 * @param blockedNodes : blockedNodes[u] is true if the path may not visit u, or
+	 * null if no nodes are blocked
+	 * @param blockedEdges : blockedEdges[e] is true if the path may not use edge e, or
+	 * null if no edges are blocked
+	 * @return the edge ids of the least cost path from source to target, in order,
+	 * or null if there is no such path
+	 */
+	static int[] searchPath(CampusNetwork network, double[] weights, int source, int target,
+			Heuristic heuristic, boolean[] blockedNodes, boolean[] blockedEdges){
+		int n = network.nodeCount();
+		double[] dist = new double[n];
+		Arrays.fill(dist, Double.POSITIVE_INFINITY);
+		int[] predecessor = new int[n]; // edge used to reach each node
+		boolean[] finished = new boolean[n];
+		NodeHeap active = new NodeHeap(n);
+		dist[source] = 0;
+		predecessor[source] = -1;
+		active.insertOrDecrease(source, heuristic.estimate(source));
+		while(!active.isEmpty()){
+			int u = active.poll();
+			if(u == target){
+				return path(network, source, target, predecessor);
+			}
+			finished[u] = true;
+			for(int e = network.firstEdge(u); e < network.firstEdge(u + 1); e++){
+				int v = network.target(e);
+				if((blockedEdges != null && blockedEdges[e]) ||
+						(blockedNodes != null && blockedNodes[v])){
+					continue;
+				}
+				double alt = dist[u] + weights[e];
+				if(!finished[v] && alt < dist[v]){
+					dist[v] = alt;
+					predecessor[v] = e;
+					active.insertOrDecrease(v, alt + heuristic.estimate(v));
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the edge ids of the path from source to target formed by following
+	 * predecessor edges back from target, in order from source to target.
+	 * @param predecessor : predecessor[v] is the edge used to reach v, or -1 for source
+	 */
+	static int[] path(CampusNetwork network, int source, int target, int[] predecessor){
+		int length = 0;
+		for(int v = target; v != source; v = network.source(predecessor[v])){
+			length++;
+		}
+		int[] path = new int[length];
+		for(int v = target, i = length - 1; v != source; v = network.source(predecessor[v]), i--){
+			path[i] = predecessor[v];
+		}
+		return path;
+	}
+}
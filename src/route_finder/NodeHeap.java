@@ -0,0 +1,135 @@
+package route_finder;
+
+import java.util.Arrays;
+
+/**
+ * NodeHeap is a binary min-heap of node ids (0 to capacity - 1) ordered by a double
+ * key, with support for lowering the key of a node already in the heap.  It is the
+ * priority queue used by the array based shortest path searches over a CampusNetwork.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * heap[0..size) -> the nodes currently in the heap, stored as an implicit binary tree
+ * key[u] -> the priority of node u while u is in the heap
+ * position[u] -> index of node u in heap, or -1 if u is not in the heap
+ *
+ * Representation Invariant:
+ * 0 <= size <= capacity
+ * For all 0 < i < size, key[heap[(i - 1) / 2]] <= key[heap[i]]
+ * For all 0 <= i < size, position[heap[i]] == i
+ */
+class NodeHeap {
+	private final int[] heap;
+	private final int[] position;
+	private final double[] key;
+	private int size;
+
+	/**
+	 * Constructs an empty heap that can hold the nodes 0 to capacity - 1
+	 * @param capacity : number of nodes
+	 */
+	NodeHeap(int capacity){
+		heap = new int[capacity];
+		position = new int[capacity];
+		key = new double[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * Returns whether the heap is empty
+	 */
+	boolean isEmpty(){
+		return size == 0;
+	}
+
+	/**
+	 * Returns whether the given node is in the heap
+	 */
+	boolean contains(int node){
+		return position[node] >= 0;
+	}
+
+	/**
+	 * Inserts node with the given key, or lowers node's key if it is already in the
+	 * heap with a larger key.  Does nothing if node is in the heap with a smaller key.
+	 * @modifies this
+	 */
+	void insertOrDecrease(int node, double k){
+		int i = position[node];
+		if(i < 0){
+			i = size++;
+			heap[i] = node;
+			position[node] = i;
+		} else if(k >= key[node]){
+			return;
+		}
+		key[node] = k;
+		siftUp(i);
+	}
+
+	/**
+	 * Returns the key of the node with the smallest key
+	 * @requires !isEmpty()
+	 */
+	double peekKey(){
+		return key[heap[0]];
+	}
+
+	/**
+	 * Removes and returns the node with the smallest key
+	 * @requires !isEmpty()
+	 * @modifies this
+	 */
+	int poll(){
+		int top = heap[0];
+		position[top] = -1;
+		size--;
+		if(size > 0){
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return top;
+	}
+
+	// Moves the node at heap[i] up until its parent's key is not larger
+	private void siftUp(int i){
+		int node = heap[i];
+		double k = key[node];
+		while(i > 0){
+			int parent = (i - 1) >>> 1;
+			if(key[heap[parent]] <= k){
+				break;
+			}
+			heap[i] = heap[parent];
+			position[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = node;
+		position[node] = i;
+	}
+
+	// Moves the node at heap[i] down until neither child has a smaller key
+	private void siftDown(int i){
+		int node = heap[i];
+		double k = key[node];
+		while(true){
+			int child = 2 * i + 1;
+			if(child >= size){
+				break;
+			}
+			if(child + 1 < size && key[heap[child + 1]] < key[heap[child]]){
+				child++;
+			}
+			if(key[heap[child]] >= k){
+				break;
+			}
+			heap[i] = heap[child];
+			position[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = node;
+		position[node] = i;
+	}
+}
@@ -1,215 +1,323 @@
-package route_finder;
-
-import java.util.LinkedList;
-import java.util.List;
-/**
- * Route represents a series of linked walking paths.
- * @author Janelle Van Hofwegen
- *
- */
-/*
- * Abstraction Function:
- * List<CampusEdge> route represents a series of linked paths/edges (CampusEdges) that represent a
- * route from one EndPoint to another EndPoint.
- * The beginning of the route is the first edge in the list, and the end of the route is the last
- * edge in the list.
- * 
- * Route also contains a reference to the start and end EndPoints of the path:
- * start = the first EndPoint of the path
- * end = the last EndPoint of the path
- * 
- * Each edge in the route has a source and target EndPoint.  Because edges in the route are linked,
- * for any edge e in the middle of the list route, the element to e's left (l) will have a target EndPoint
- * that is the same as e's source EndPoint. Similarly, the element to e's right (r) will have a source
- * EndPoint that is the same as e's target EndPoint. For example:
- * 
- *   l = list.get(0)          e = list.get(1)          r = list.get(2)
- *   +----+                   +----+                   +----+
- *   | l  |      ---->        | e  |      ---->        | r  |
- *   +----+                   +----+                   +----+
- *         l.target == e.source     e.target ==  r.source
- *         
- *         
- * Representation Invariant:
- * route != null
- * start != null
- * end != null
- * 
- * list.get(0).getSource().equals(start)
- * (In other words, the first edge's source EndPoint is equal to start)
- * 
- * list.get(list.size()-1).getTarget.equals(end)
- * (In other words, the last edge's target EndPoint is equal to end)
- * 
- * For each edge e in route, the edge to to the left (l) of e has a target EndPoint that
- * is equal to e's source EndPoint, and the edge to the right of e has a source EndPoint
- * that is equal to e's target EndPoint.
- */
-public class Route implements Comparable<Route> {
-	private final List<CampusEdge> route; // list of paths that represent one route
-	private final EndPoint start; // EndPoint that is the start of route
-	private final EndPoint end; // EndPoint that is the end of route
-	
-	/**
-	 * Creates a route based on given list of CampusEdges. First edge in given list
-	 * becomes the first edge in the route, second edge in the given list becomes the second
-	 * edge in the route, etc.
-	 * @param route: list of paths from which a route will be constructed
-	 * @requires: route != null
-	 * @requires: the CampusEdges in route are linked (that is, for each edge e in route, the edge
-	 * to to the left (l) of e in the list has a target EndPoint that is equal to e's source EndPoint,
-	 * and the edge to the right of e in list has a source EndPoint that is equal to e's target EndPoint.
-	 * @throws IllegalArgumentException if route == null
-	 */
-	public Route(List<CampusEdge> route){
-		this.route = route;
-		if(route == null){
-			throw new IllegalArgumentException("argument should not be null");
-		}
-		start = route.get(0).getSource();
-		end = route.get(route.size() - 1).getTarget();
-		checkRep();
-	}
-	
-	/**
-	 * Constructs a route with no edges, and just one EndPoint. 
-	 * Start and end are the same given EndPoint.
-	 * @param path: EndPoint that will represent this route
-	 * @requires path != null
-	 * @throws IllegalArgumentException if path == null
-	 */
-	public Route(EndPoint path){
-		route = new LinkedList<CampusEdge>();
-		if(path == null){
-			throw new IllegalArgumentException("argument should not be null");
-		}
-		start = path;
-		end = path;
-		checkRep();
-	}
-	
-	/**
-	 * Returns the list of this route's paths (the sequence of paths that form this route)
-	 * If this route contains no edges, returns an empty list.
-	 * @return the list of this route's paths (the sequence of paths that form this route)
-	 */
-	public List<CampusEdge> getPaths(){
-		return route;
-	}
-	
-	/**
-	 * Compares this Route to the given route
-	 * @return 0 if the cost of this route is equal to the cost of the other Route, a value
-	 * less than 0 if this route's cost is less than the cost of the other route, and a value
-	 * greater than 0 if this route's cost is greater than the cost of the other route
-	 */
-	public int compareTo(Route other){
-		if(getCost() > other.getCost()){
-			return 1;
-		} else if(getCost() < other.getCost()){
-			return -1;
-		} else {
-			return 0;
-		}
-	}
-	
-	/**
-	 * Returns the cost of this Route, which is the sum of the individual costs of all
-	 * edges of this Route.  Returns zero if this route contains no edges.
-	 * @return cost of this Route
-	 */
-	public double getCost(){
-		double cost = 0.0;
-		for(CampusEdge p : route){
-			cost += p.getDistance();
-		}
-		return cost;
-	}
-	
-	/**
-	 * Returns the starting EndPoint of this Route
-	 * @return starting EndPoint of this Route
-	 */
-	public EndPoint getStart(){
-		return start;
-	}
-	
-	/**
-	 * Returns the ending EndPoint of this Route
-	 * @return ending EndPoint of this Route
-	 */
-	public EndPoint getEnd(){
-		return end;
-	}
-	
-	/**
-	 * Returns a String representation of this Route
-	 */
-	@Override
-	public String toString() {
-		return "Route [start=" + start + ", end=" + end
-				+ ", # of edges=" + route.size() + "]";
-	}
-
-	@Override
-	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + ((end == null) ? 0 : end.hashCode());
-		result = prime * result + ((route == null) ? 0 : route.hashCode());
-		result = prime * result + ((start == null) ? 0 : start.hashCode());
-		return result;
-	}
-
-	/**
-	 * Returns whether this Route is equal to the given Object
-	 * @return true if given Object is a Route whose series of linked
-	 * edges is equal to this Route's series of linked edges
-	 */
-	@Override
-	public boolean equals(Object obj) {
-		if (this == obj)
-			return true;
-		if (obj == null)
-			return false;
-		if (!(obj instanceof Route))
-			return false;
-		Route other = (Route) obj;
-		if (end == null) {
-			if (other.end != null)
-				return false;
-		} else if (!end.equals(other.end))
-			return false;
-		if (route == null) {
-			if (other.route != null)
-				return false;
-		} else if (!route.equals(other.route))
-			return false;
-		if (start == null) {
-			if (other.start != null)
-				return false;
-		} else if (!start.equals(other.start))
-			return false;
-		return true;
-	}
-	
-	/**
-	 *  Throws an exception if the representation invariant is violated.
-	 */
-	private void checkRep(){
-		assert route != null;
-		assert start != null;
-		assert end != null;
-		
-		// start and end should match route
-		if(route.size() > 0){
-			assert start == route.get(0).getSource();
-			assert end == route.get(route.size() - 1).getTarget();
-		}
-		
-		// check that edges are linked (only a concern if at least 2 edges are in route)
-		for(int i = 0 ; i < route.size() - 2 ; i++){
-			assert route.get(i).getTarget().equals(route.get(i + 1).getSource());
-		} 
-	}
-}
\ No newline at end of file
+package route_finder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+/**
+ * Route represents a series of linked walking paths.
+ * <br>
+ * <br>
+ * Routes are immutable.  A Route that is one edge longer than an existing Route can be
+ * made in constant time with extend(), and shares all of the existing Route's edges.
+ * @author Janelle Van Hofwegen
+ *
+ */
+/*
+ * Abstraction Function:
+ * A Route is stored as a persistent, parent-pointer list of linked paths/edges (CampusEdges)
+ * that represent a route from one EndPoint to another EndPoint.
+ *
+ * prefix -> the Route made up of every edge of this Route except the last one
+ * (null if this route contains no edges)
+ * last -> the last edge of this Route (null if this route contains no edges)
+ *
+ * The beginning of the route is the first edge of the chain of prefixes, and the end of
+ * the route is last.  For example, the route [l, e, r] is stored as:
+ *
+ *   +-------+  prefix  +-------+  prefix  +-------+  prefix  +-------+
+ *   | r     |  ----->  | e     |  ----->  | l     |  ----->  | (no   |
+ *   |       |          |       |          |       |          | edges)|
+ *   +-------+          +-------+          +-------+          +-------+
+ *         l.target == e.source     e.target ==  r.source
+ *
+ * Route also contains a reference to the start and end EndPoints of the path:
+ * start = the first EndPoint of the path
+ * end = the last EndPoint of the path
+ *
+ * size, cost and pathHash are cached so they never need to walk the chain:
+ * size = number of edges in the route
+ * cost = sum of the distances of the edges, added from first edge to last edge
+ * pathHash = the List.hashCode() of the edges, from first edge to last edge
+ *
+ * Representation Invariant:
+ * start != null
+ * end != null
+ * (prefix == null) == (last == null) == (size == 0)
+ *
+ * If size > 0, prefix.end.equals(last.getSource()) and end == last.getTarget()
+ * (In other words, the last edge is linked to the rest of the route)
+ *
+ * If size > 0, prefix.start == start
+ *
+ * size == prefix.size + 1, cost == prefix.cost + last.getDistance(), and
+ * pathHash == 31 * prefix.pathHash + last.hashCode()
+ */
+public class Route implements Comparable<Route>, Iterable<CampusEdge> {
+	private final Route prefix; // route made of every edge but the last
+	private final CampusEdge last; // last path of this route
+	private final EndPoint start; // EndPoint that is the start of route
+	private final EndPoint end; // EndPoint that is the end of route
+	private final int size; // number of edges in the route
+	private final double cost; // sum of distances of the edges in the route
+	private final int pathHash; // List.hashCode() of the edges in the route
+	private List<CampusEdge> paths; // lazily built list of edges, for getPaths()
+
+	/**
+	 * Creates a route based on given list of CampusEdges. First edge in given list
+	 * becomes the first edge in the route, second edge in the given list becomes the second
+	 * edge in the route, etc.
+	 * @param route: list of paths from which a route will be constructed
+	 * @requires: route != null
+	 * @requires: route contains at least one edge
+	 * @requires: the CampusEdges in route are linked (that is, for each edge e in route, the edge
+	 * to to the left (l) of e in the list has a target EndPoint that is equal to e's source EndPoint,
+	 * and the edge to the right of e in list has a source EndPoint that is equal to e's target EndPoint.
+	 * @throws IllegalArgumentException if route == null or route is empty
+	 */
+	public Route(List<CampusEdge> route){
+		if(route == null){
+			throw new IllegalArgumentException("argument should not be null");
+		}
+		if(route.isEmpty()){
+			throw new IllegalArgumentException("route must contain at least one edge");
+		}
+		// build the chain of prefixes, then make this the final link
+		Route chain = new Route(route.get(0).getSource());
+		for(int i = 0; i < route.size() - 1; i++){
+			chain = new Route(chain, route.get(i));
+		}
+		last = route.get(route.size() - 1);
+		prefix = chain;
+		start = chain.start;
+		end = last.getTarget();
+		size = chain.size + 1;
+		cost = chain.cost + last.getDistance();
+		pathHash = 31 * chain.pathHash + last.hashCode();
+		checkRep();
+	}
+
+	/**
+	 * Constructs a route with no edges, and just one EndPoint.
+	 * Start and end are the same given EndPoint.
+	 * @param path: EndPoint that will represent this route
+	 * @requires path != null
+	 * @throws IllegalArgumentException if path == null
+	 */
+	public Route(EndPoint path){
+		if(path == null){
+			throw new IllegalArgumentException("argument should not be null");
+		}
+		prefix = null;
+		last = null;
+		start = path;
+		end = path;
+		size = 0;
+		cost = 0.0;
+		pathHash = 1;
+		checkRep();
+	}
+
+	// Constructs the route formed by following prefix, then edge
+	private Route(Route prefix, CampusEdge edge){
+		this.prefix = prefix;
+		this.last = edge;
+		start = prefix.start;
+		end = edge.getTarget();
+		size = prefix.size + 1;
+		cost = prefix.cost + edge.getDistance();
+		pathHash = 31 * prefix.pathHash + edge.hashCode();
+		checkRep();
+	}
+
+	/**
+	 * Returns a new Route made up of this Route's paths followed by the given path.
+	 * This Route is not modified. Runs in constant time.
+	 * @param edge : path to be appended
+	 * @requires edge != null
+	 * @requires edge's source EndPoint is equal to the end of this Route
+	 * @throws IllegalArgumentException if edge == null
+	 * @return a Route that is one edge longer than this Route, ending at edge's target
+	 */
+	public Route extend(CampusEdge edge){
+		if(edge == null){
+			throw new IllegalArgumentException("argument should not be null");
+		}
+		assert end.equals(edge.getSource()) : "edge is not linked to the end of this route";
+		return new Route(this, edge);
+	}
+
+	/**
+	 * Returns the list of this route's paths (the sequence of paths that form this route)
+	 * If this route contains no edges, returns an empty list.
+	 * The returned list cannot be modified.
+	 * @return the list of this route's paths (the sequence of paths that form this route)
+	 */
+	public List<CampusEdge> getPaths(){
+		if(paths == null){
+			CampusEdge[] edges = new CampusEdge[size];
+			Route r = this;
+			for(int i = size - 1; i >= 0; i--){
+				edges[i] = r.last;
+				r = r.prefix;
+			}
+			paths = Collections.unmodifiableList(Arrays.asList(edges));
+		}
+		return paths;
+	}
+
+	/**
+	 * Returns an iterator over this route's paths, from first to last.  Unlike
+	 * getPaths(), the edges are not kept by the Route once iteration is done, so routes
+	 * that are only written out once don't hold a second copy of their edges.
+	 * The iterator does not support remove().
+	 * @return iterator over the paths of this route, in order
+	 */
+	public Iterator<CampusEdge> iterator(){
+		if(paths != null){
+			return paths.iterator();
+		}
+		final CampusEdge[] edges = new CampusEdge[size];
+		Route r = this;
+		for(int i = size - 1; i >= 0; i--){
+			edges[i] = r.last;
+			r = r.prefix;
+		}
+		return new Iterator<CampusEdge>() {
+			private int next = 0;
+			
+			public boolean hasNext() {
+				return next < edges.length;
+			}
+			
+			public CampusEdge next() {
+				if(next == edges.length){
+					throw new NoSuchElementException();
+				}
+				CampusEdge e = edges[next];
+				edges[next++] = null; // let written edges be collected
+				return e;
+			}
+			
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * Returns the number of paths in this Route
+	 * @return the number of paths in this Route
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * Compares this Route to the given route
+	 * @return 0 if the cost of this route is equal to the cost of the other Route, a value
+	 * less than 0 if this route's cost is less than the cost of the other route, and a value
+	 * greater than 0 if this route's cost is greater than the cost of the other route
+	 */
+	public int compareTo(Route other){
+		if(cost > other.cost){
+			return 1;
+		} else if(cost < other.cost){
+			return -1;
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the cost of this Route, which is the sum of the individual costs of all
+	 * edges of this Route.  Returns zero if this route contains no edges.
+	 * @return cost of this Route
+	 */
+	public double getCost(){
+		return cost;
+	}
+
+	/**
+	 * Returns the starting EndPoint of this Route
+	 * @return starting EndPoint of this Route
+	 */
+	public EndPoint getStart(){
+		return start;
+	}
+
+	/**
+	 * Returns the ending EndPoint of this Route
+	 * @return ending EndPoint of this Route
+	 */
+	public EndPoint getEnd(){
+		return end;
+	}
+
+	/**
+	 * Returns a String representation of this Route
+	 */
+	@Override
+	public String toString() {
+		return "Route [start=" + start + ", end=" + end
+				+ ", # of edges=" + size + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + end.hashCode();
+		result = prime * result + pathHash;
+		result = prime * result + start.hashCode();
+		return result;
+	}
+
+	/**
+	 * Returns whether this Route is equal to the given Object
+	 * @return true if given Object is a Route whose series of linked
+	 * edges is equal to this Route's series of linked edges
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (!(obj instanceof Route))
+			return false;
+		Route other = (Route) obj;
+		// cheap comparisons first; only walk the edges if everything else matches
+		if (size != other.size || pathHash != other.pathHash)
+			return false;
+		if (!end.equals(other.end) || !start.equals(other.start))
+			return false;
+		Route a = this;
+		Route b = other;
+		// walk both chains backwards, stopping early once they share a prefix
+		while (a != b && a.size > 0) {
+			if (!a.last.equals(b.last))
+				return false;
+			a = a.prefix;
+			b = b.prefix;
+		}
+		return true;
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert start != null;
+		assert end != null;
+		assert (prefix == null) == (last == null);
+		assert (last == null) == (size == 0);
+
+		// the last edge should be linked to the rest of the route
+		if(size > 0){
+			assert prefix.start == start;
+			assert end == last.getTarget();
+		}
+	}
+}
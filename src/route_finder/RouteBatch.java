@@ -0,0 +1,311 @@
+package route_finder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * RouteBatch answers a list of route queries without a user interface, for example
+ * to replay a log of the routes people asked for.  Each line of the input names a
+ * start and a destination building (by short or long name), separated by a tab, a
+ * comma, or, if neither is present, white space.  Blank lines and lines starting
+ * with '#' are skipped.
+ * <br>
+ * <br>
+ * Building names are looked up in a hash map made once, the queries are answered on
+ * a pool of worker threads sharing one RouteModel, and the results are written with
+ * a RouteWriter in the same order as the queries.  At most a fixed number of queries
+ * per thread are in progress at once, so input of any length is read in bounded
+ * memory.
+ * <br>
+ * <br>
+ * Usage: java route_finder.RouteBatch [-threads n] [-format text|tsv|json|geojson]
+ * [-landmarks n] [-merge] [-out file] [queries file]
+ * <br>
+ * Queries are read from standard input if no file (or "-") is given, and results are
+ * written to standard output unless -out is given.  With -merge, each route is
+ * written as compiled Instructions, one step per maneuver.  A summary is printed to
+ * standard error.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * model -> the campus the queries are answered on
+ * byName -> maps the short name and the long name of every building of model to
+ *           that building
+ * threads -> number of queries answered at the same time
+ * merge -> true if routes are written as Instructions, one step per maneuver
+ *
+ * Representation Invariant:
+ * model != null, byName != null, threads >= 1
+ */
+public class RouteBatch {
+	// queries in progress per thread, waiting to be written
+	private static final int WINDOW_PER_THREAD = 64;
+
+	private final RouteModel model;
+	private final Map<String, Building> byName;
+	private final int threads;
+	private final boolean merge;
+	private long unknown;
+	private long missing;
+
+	/**
+	 * Constructs a RouteBatch that answers queries on the given model
+	 * @param model : campus to find routes on
+	 * @param threads : number of queries to answer at the same time
+	 * @throws IllegalArgumentException if model is null or threads < 1
+	 */
+	public RouteBatch(RouteModel model, int threads){
+		this(model, threads, false);
+	}
+
+	/**
+	 * Constructs a RouteBatch that answers queries on the given model
+	 * @param model : campus to find routes on
+	 * @param threads : number of queries to answer at the same time
+	 * @param merge : true to write routes as Instructions, with one step per maneuver
+	 * instead of one per edge
+	 * @throws IllegalArgumentException if model is null or threads < 1
+	 */
+	public RouteBatch(RouteModel model, int threads, boolean merge){
+		if(model == null || threads < 1){
+			throw new IllegalArgumentException("model must not be null and threads >= 1");
+		}
+		this.model = model;
+		this.threads = threads;
+		this.merge = merge;
+		byName = new HashMap<String, Building>();
+		for(Building b : model.getBuildings()){
+			byName.put(b.longName, b);
+		}
+		// short names take precedence, as in RouteModel.getBuilding
+		for(Building b : model.getBuildings()){
+			byName.put(b.shortName, b);
+		}
+		checkRep();
+	}
+
+	/**
+	 * Answers every query read from in, writing the results to out in order
+	 * @param in : lines of queries
+	 * @param out : where the results are written
+	 * @requires in != null, out != null
+	 * @modifies out
+	 * @throws IOException if in can't be read or out can't be written
+	 * @return number of queries answered (including those naming unknown buildings)
+	 */
+	public long run(BufferedReader in, RouteWriter out) throws IOException {
+		ExecutorService pool = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+		ArrayDeque<Query> pending = new ArrayDeque<Query>();
+		int window = threads * WINDOW_PER_THREAD;
+		long count = 0;
+		try {
+			String line;
+			while((line = in.readLine()) != null){
+				Query q = parse(line);
+				if(q == null){
+					continue;
+				}
+				count++;
+				if(q.error == null && pool != null){
+					q.route = pool.submit(search(q));
+				}
+				pending.add(q);
+				if(pending.size() >= window){
+					write(pending.poll(), out);
+				}
+			}
+			while(!pending.isEmpty()){
+				write(pending.poll(), out);
+			}
+			out.flush();
+		} finally {
+			if(pool != null){
+				pool.shutdownNow();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of queries that named a building that is not on campus, or
+	 * could not be read
+	 * @return the number of queries answered with an error by run
+	 */
+	public long unknownCount(){
+		return unknown;
+	}
+
+	/**
+	 * Returns the number of queries between buildings with no route between them
+	 * @return the number of queries answered with no route by run
+	 */
+	public long missingCount(){
+		return missing;
+	}
+
+	// Returns the query on the given line, or null if the line is blank or a comment
+	private Query parse(String line){
+		line = line.trim();
+		if(line.isEmpty() || line.startsWith("#")){
+			return null;
+		}
+		int split = line.indexOf('\t');
+		if(split < 0){
+			split = line.indexOf(',');
+		}
+		String[] names;
+		if(split >= 0){
+			names = new String[] {line.substring(0, split).trim(), line.substring(split + 1).trim()};
+		} else {
+			names = line.split("\\s+");
+		}
+		Query q = new Query();
+		if(names.length != 2){
+			q.error = "Malformed query: " + line;
+			return q;
+		}
+		q.start = byName.get(names[0]);
+		q.dest = byName.get(names[1]);
+		if(q.start == null || q.dest == null){
+			q.error = "Unknown building: " + (q.start == null ? names[0] : names[1]);
+		}
+		return q;
+	}
+
+	// Returns a task finding the route of q
+	private Callable<Route> search(final Query q){
+		return new Callable<Route>() {
+			public Route call() {
+				return model.findLeastCostPath(q.start, q.dest);
+			}
+		};
+	}
+
+	// Writes the result of q, waiting for it if it isn't found yet
+	private void write(Query q, RouteWriter out) throws IOException {
+		if(q.error != null){
+			unknown++;
+			out.writeError(q.error);
+			return;
+		}
+		Route r;
+		try {
+			r = q.route == null ? model.findLeastCostPath(q.start, q.dest) : q.route.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while finding routes", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+		if(r == null){
+			missing++;
+		}
+		if(merge && r != null){
+			out.writeRoute(q.start.shortName, q.dest.shortName, Instructions.compile(r));
+		} else {
+			out.writeRoute(q.start.shortName, q.dest.shortName, r);
+		}
+	}
+
+	/**
+	 * One line of input: the buildings named, or why the line can't be answered, and
+	 * the route being found (null if it is found when written, on one thread)
+	 */
+	private static class Query {
+		Building start;
+		Building dest;
+		String error;
+		Future<Route> route;
+	}
+
+	public static void main(String[] args) throws IOException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		RouteWriter.Format format = RouteWriter.Format.TEXT;
+		int landmarks = 0;
+		boolean merge = false;
+		String outFile = null;
+		String inFile = null;
+		boolean usage = false;
+		try {
+			for(int i = 0; i < args.length && !usage; i++){
+				if(args[i].equals("-threads") && i + 1 < args.length){
+					threads = Integer.parseInt(args[++i]);
+					usage = threads < 1;
+				} else if(args[i].equals("-format") && i + 1 < args.length){
+					format = RouteWriter.Format.valueOf(args[++i].toUpperCase());
+				} else if(args[i].equals("-landmarks") && i + 1 < args.length){
+					landmarks = Integer.parseInt(args[++i]);
+					usage = landmarks < 0;
+				} else if(args[i].equals("-merge")){
+					merge = true;
+				} else if(args[i].equals("-out") && i + 1 < args.length){
+					outFile = args[++i];
+				} else if(inFile == null && (!args[i].startsWith("-") || args[i].equals("-"))){
+					inFile = args[i];
+				} else {
+					usage = true;
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			// a number that isn't one (NumberFormatException), or an unknown format
+			usage = true;
+		}
+		if(usage){
+			System.err.println("Usage: java route_finder.RouteBatch [-threads n] " +
+					"[-format text|tsv|json|geojson] [-landmarks n] [-merge] " +
+					"[-out file] [queries file]");
+			System.exit(2);
+		}
+		RouteModel model = new RouteModel();
+		if(landmarks > 0){
+			model.useLandmarks(landmarks, null);
+		}
+		RouteBatch batch = new RouteBatch(model, threads, merge);
+		Reader reader = inFile == null || inFile.equals("-") ? new InputStreamReader(System.in)
+				: new InputStreamReader(new FileInputStream(new File(inFile)));
+		Writer writer = outFile == null ? new OutputStreamWriter(System.out)
+				: new OutputStreamWriter(new FileOutputStream(new File(outFile)));
+		BufferedReader in = new BufferedReader(reader);
+		RouteWriter out = new RouteWriter(writer, format);
+		long start = System.nanoTime();
+		long count;
+		try {
+			count = batch.run(in, out);
+		} finally {
+			in.close();
+			if(outFile == null){
+				out.flush();
+			} else {
+				out.close();
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.err.println(String.format("%d queries (%d unknown, %d with no route) in %.2f s, " +
+				"%.0f queries/s on %d threads", count, batch.unknownCount(),
+				batch.missingCount(), seconds, count / seconds, threads));
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert model != null && byName != null;
+		assert threads >= 1;
+	}
+}
@@ -1,14 +1,41 @@
-package route_finder;
-
-import java.util.Scanner;
-
-/**
- * RouteFinder generates directions for the shortest walking route between any two buildings
- * on the University of Washington campus.
- */
-public class RouteFinder {
-	public static void main(String[] args) {
-		RouteModel model = new RouteModel(); // handles data
-		AdvancedGUI viewer = new AdvancedGUI(model); // handles GUI
-	}
+package route_finder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Scanner;
+
+/**
+ * RouteFinder generates directions for the shortest walking route between any two buildings
+ * on the University of Washington campus.
+ */
+public class RouteFinder {
+	// number of landmarks used for landmark based (ALT) route searches
+	private static final int LANDMARKS = 8;
+	// precomputed landmark distances are saved here so they are only computed once
+	private static final String LANDMARK_FILE = "campus_landmarks.dat";
+	
+	public static void main(String[] args){
+		// handles data, reloading it when the data files change
+		MapReloader maps = new MapReloader(CampusDataParser.BUILDINGS_FILE,
+				CampusDataParser.PATHS_FILE);
+		if(!maps.useLandmarks(LANDMARKS, new File(LANDMARK_FILE))){
+			System.err.println("landmark table not saved to " + LANDMARK_FILE);
+		}
+		maps.addListener(new MapReloader.Listener() {
+			public void reloaded(MapReloader.Reload reload) {
+				System.err.println(reload);
+			}
+
+			public void failed(Exception e) {
+				System.err.println("map not reloaded: " + e.getMessage());
+			}
+		});
+		try {
+			maps.start();
+		} catch (IOException e) {
+			System.err.println("can't watch the map files, so they won't be reloaded: " +
+					e.getMessage());
+		}
+		AdvancedGUI viewer = new AdvancedGUI(maps); // handles GUI
+	}
 }
\ No newline at end of file
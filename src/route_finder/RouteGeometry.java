@@ -0,0 +1,260 @@
+package route_finder;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * RouteGeometry is the line a route follows on the map: the points where its
+ * walkways meet, in order, from its start to its end.  The walkway data has many
+ * short walkways in nearly straight lines, so a RouteGeometry can be simplified to
+ * fewer points for drawing or sending, at any tolerance: simplify(t) drops every
+ * point that the Douglas-Peucker algorithm drops at tolerance t, so the simplified
+ * line is never further than t from the route.  Tolerances are in the units of
+ * the map's coordinates (pixels of the full size campus map), not in feet.
+ * <br>
+ * <br>
+ * The Douglas-Peucker algorithm is run once, when a RouteGeometry is made,
+ * recording for each point the largest tolerance at which it is kept.  Simplifying
+ * to any tolerance is then one pass over the points, so the same route can be
+ * drawn or written at several levels of detail cheaply.  At tolerance 0 only points
+ * in exactly straight lines, and repeated points, are dropped.
+ * <br>
+ * <br>
+ * RouteGeometry is immutable.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * the line through (x[0], y[0]), (x[1], y[1]), ..., (x[x.length-1], y[x.length-1])
+ * kept[i] -> the largest tolerance at which point i is kept by simplify
+ *
+ * Representation Invariant:
+ * x != null, y != null, kept != null, x.length == y.length == kept.length > 0
+ * kept[0] and kept[x.length-1] are infinite (the ends are always kept)
+ * kept[i] >= 0 for all i
+ */
+public final class RouteGeometry {
+	/** tolerance used when a route is written as a line rather than as walkways */
+	public static final double DEFAULT_TOLERANCE = 1.0;
+
+	private final double[] x;
+	private final double[] y;
+	private final double[] kept;
+
+	// Constructs the geometry of the given points, with the given tolerances
+	private RouteGeometry(double[] x, double[] y, double[] kept){
+		this.x = x;
+		this.y = y;
+		this.kept = kept;
+		checkRep();
+	}
+
+	/**
+	 * Returns the geometry of the given route
+	 * @param route : route to find the line of
+	 * @throws IllegalArgumentException if route is null
+	 * @return the line from the start of route, through the target of each of its
+	 * walkways.  A route with no walkways is the single point it starts at.
+	 */
+	public static RouteGeometry of(Route route){
+		if(route == null){
+			throw new IllegalArgumentException("route must not be null");
+		}
+		if(route.size() == 0){
+			return of(new double[] {route.getStart().getX()},
+					new double[] {route.getStart().getY()}, 1);
+		}
+		return of(route.iterator());
+	}
+
+	/**
+	 * Returns the geometry of a route, reading its walkways from the given iterator
+	 * @param edges : walkways of the route in order (linked, as in a Route)
+	 * @throws IllegalArgumentException if edges is null or has no walkways
+	 * @return the line from the source of the first walkway, through the target of
+	 * each walkway
+	 */
+	public static RouteGeometry of(Iterator<CampusEdge> edges){
+		if(edges == null || !edges.hasNext()){
+			throw new IllegalArgumentException("a route needs at least one walkway");
+		}
+		double[] x = new double[16];
+		double[] y = new double[16];
+		CampusEdge e = edges.next();
+		x[0] = e.getSource().getX();
+		y[0] = e.getSource().getY();
+		int n = 1;
+		while(true){
+			if(n == x.length){
+				x = Arrays.copyOf(x, n * 2);
+				y = Arrays.copyOf(y, n * 2);
+			}
+			x[n] = e.getTarget().getX();
+			y[n] = e.getTarget().getY();
+			n++;
+			if(!edges.hasNext()){
+				break;
+			}
+			e = edges.next();
+		}
+		return of(x, y, n);
+	}
+
+	// Returns the geometry of the first n points of x and y, finding the largest
+	// tolerance at which each is kept with the Douglas-Peucker algorithm
+	private static RouteGeometry of(double[] x, double[] y, int n){
+		x = Arrays.copyOf(x, n);
+		y = Arrays.copyOf(y, n);
+		double[] kept = new double[n];
+		kept[0] = Double.POSITIVE_INFINITY;
+		kept[n - 1] = Double.POSITIVE_INFINITY;
+		// spans still to split: first point, last point, and the tolerance below which
+		// the span exists (a point is kept only while the point splitting its span is)
+		int[] first = new int[16];
+		int[] last = new int[16];
+		double[] limit = new double[16];
+		int spans = 0;
+		if(n > 2){
+			first[0] = 0;
+			last[0] = n - 1;
+			limit[0] = Double.POSITIVE_INFINITY;
+			spans = 1;
+		}
+		while(spans > 0){
+			spans--;
+			int a = first[spans];
+			int b = last[spans];
+			double bound = limit[spans];
+			int farthest = a + 1;
+			double distance = -1;
+			for(int i = a + 1; i < b; i++){
+				double d = distance(x[i], y[i], x[a], y[a], x[b], y[b]);
+				if(d > distance){
+					distance = d;
+					farthest = i;
+				}
+			}
+			kept[farthest] = Math.min(distance, bound);
+			if(spans + 2 > first.length){
+				first = Arrays.copyOf(first, first.length * 2);
+				last = Arrays.copyOf(last, last.length * 2);
+				limit = Arrays.copyOf(limit, limit.length * 2);
+			}
+			if(farthest - a > 1){
+				first[spans] = a;
+				last[spans] = farthest;
+				limit[spans] = kept[farthest];
+				spans++;
+			}
+			if(b - farthest > 1){
+				first[spans] = farthest;
+				last[spans] = b;
+				limit[spans] = kept[farthest];
+				spans++;
+			}
+		}
+		return new RouteGeometry(x, y, kept);
+	}
+
+	// Returns the distance from (px, py) to the segment from (ax, ay) to (bx, by)
+	private static double distance(double px, double py, double ax, double ay,
+			double bx, double by){
+		double dx = bx - ax;
+		double dy = by - ay;
+		double length = dx * dx + dy * dy;
+		double t = length == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / length;
+		t = Math.max(0, Math.min(1, t));
+		double ex = px - (ax + t * dx);
+		double ey = py - (ay + t * dy);
+		return Math.sqrt(ex * ex + ey * ey);
+	}
+
+	/**
+	 * Returns this line with every point the Douglas-Peucker algorithm drops at the
+	 * given tolerance removed
+	 * @param tolerance : largest distance, in map coordinates, the simplified line may
+	 * be from this line
+	 * @throws IllegalArgumentException if tolerance is negative or NaN
+	 * @return a line with the same ends as this, made of a subset of its points, no
+	 * further than tolerance from this line; this if no point is dropped
+	 */
+	public RouteGeometry simplify(double tolerance){
+		if(!(tolerance >= 0)){
+			throw new IllegalArgumentException("bad tolerance " + tolerance);
+		}
+		int n = 0;
+		for(double k : kept){
+			if(k > tolerance){
+				n++;
+			}
+		}
+		if(n == kept.length){
+			return this;
+		}
+		double[] sx = new double[n];
+		double[] sy = new double[n];
+		double[] sk = new double[n];
+		int j = 0;
+		for(int i = 0; i < kept.length; i++){
+			if(kept[i] > tolerance){
+				sx[j] = x[i];
+				sy[j] = y[i];
+				sk[j] = kept[i];
+				j++;
+			}
+		}
+		return new RouteGeometry(sx, sy, sk);
+	}
+
+	/**
+	 * Returns the number of points of this line
+	 * @return the number of points, at least 1
+	 */
+	public int size(){
+		return x.length;
+	}
+
+	/**
+	 * Returns the x-coordinate of a point of this line
+	 * @param i : index of the point, from 0
+	 * @throws IndexOutOfBoundsException if i is not in [0, size())
+	 * @return the x-coordinate of the i'th point
+	 */
+	public double getX(int i){
+		return x[i];
+	}
+
+	/**
+	 * Returns the y-coordinate of a point of this line
+	 * @param i : index of the point, from 0
+	 * @throws IndexOutOfBoundsException if i is not in [0, size())
+	 * @return the y-coordinate of the i'th point
+	 */
+	public double getY(int i){
+		return y[i];
+	}
+
+	/**
+	 * Returns the length of this line
+	 * @return the sum of the straight-line distances between consecutive points, in
+	 * map coordinates
+	 */
+	public double length(){
+		double length = 0;
+		for(int i = 1; i < x.length; i++){
+			double dx = x[i] - x[i - 1];
+			double dy = y[i] - y[i - 1];
+			length += Math.sqrt(dx * dx + dy * dy);
+		}
+		return length;
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert x != null && y != null && kept != null;
+		assert x.length == y.length && y.length == kept.length && x.length > 0;
+		assert Double.isInfinite(kept[0]) && Double.isInfinite(kept[kept.length - 1]);
+	}
+}
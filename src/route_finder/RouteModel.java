@@ -1,195 +1,778 @@
-package route_finder;
-import java.util.*;
-
-import graph.*;
-/**
- * RouteModel provides access to Route and Building data, and generates the least
- * cost path between any two Buildings.
- * For example, it can return a list of buildings present on campus, and also
- * find the shortest route between any two buildings.
- * @author Janelle Van Hofwegen
- */
-/*
- * Abstraction Function:
- * campusGraph -> graph containing all known endPoints across campus, and the
- * paths between them. 
- * 			 nodes of graph -> EndPoints on campus
- * 			 edges of graph -> Paths between EndPoints on campus
- * 
- * buildings -> list of all buildings present on campus
- * 
- * Representation Invariant:
- * campusGraph != null
- * buildings != null
- * buildings is a list of all buildings present as EndPoints in campusGraph
- * 
- */
-public class RouteModel {
-	private final DirectedGraph<EndPoint> campusGraph;
-	private final Set<Building> buildings;
-	/**
-	 * Constructs a new RouteManager that provides access to Route & Building data,
-	 * and which generates least cost paths (aka Routes) between buildings across
-	 * the University of Washington campus.
-	 */
-	public RouteModel(){
-		// use parser to fill list of EndPoints and Edges		
-		List<EndPoint> endPoints = new ArrayList<EndPoint>();
-		List<Edge> paths = new ArrayList<Edge>();
-		CampusDataParser.parsePathsData(paths, endPoints);
-		
-		// call parser to get buildings list, add to endPoints
-		buildings = CampusDataParser.parseBuildingData();
-		assert buildings != null;
-		endPoints.addAll(buildings);
-		
-		// initialize graph
-		campusGraph = new DirectedGraph<EndPoint>(endPoints, paths);
-		
-		checkRep();
-	}
-	
-	/**
-	 * Constructs a new RouteManager that can generate least cost paths (aka Routes) between 
-	 * the Buildings in buildings, based on the given endPoint, paths, and buildings data.
-	 * @param endPoints: list of EndPoint to be used in generating Routes
-	 * @param paths: list of Edges to be used in generating Routes
-	 * @param buildings: list of Buildings to be used in generating Routes
-	 */
-	// Constructor isn't useful for Route Finder Application, but was necessary
-	// for testing purposes
-	public RouteModel(List<EndPoint> endPoints, List<Edge> paths, Set<Building> buildings){
-		endPoints.addAll(buildings);
-		this.buildings = buildings;
-		campusGraph = new DirectedGraph<EndPoint>(endPoints, paths);
-	}
-	
-	/**
-	 * Finds and returns the least cost path between any two buildings
-	 * @param startBuilding: short name of the starting building
-	 * @param destBuilding: short name of the destination building
-	 * @requires: both buildings are present on campus (in other words, there 
-	 * is a building on campus with that short name)
-	 * @throws IllegalArgumentException if either building is not found on Campus. The
-	 * exception's String is the name of the (first) building that wasn't found
-	 * @returns null if a route is not found
-	 * @returns a Route with no edges if the startBuilding and destBuliding are the same.
-	 * In this case, the returned Route's start and end EndPoints are that Building.
-	 */
-	public Route findLeastCostPath(String startBuilding, String destBuilding){
-		Building start = getBuilding(startBuilding);
-		Building dest =  getBuilding(destBuilding);
-		if(start == null || dest == null){
-			throw new IllegalArgumentException();
-		}
-
-		PriorityQueue<Route> active = new PriorityQueue<Route>();
-		// initializes active to have one Route representing a single node (no actual edges in route)
-		active.add(new Route(start));	
-		Set<EndPoint> finished = new HashSet<EndPoint>();
-		// MincostPaths holds minimum route known thus far from start (S) to any given node
-		// MincostPaths is updated as we find new paths, or as we find better routes
-		Map<EndPoint, Route> minCostPaths = new HashMap<EndPoint, Route>(); // provides fast access
-		minCostPaths.put(start, new Route(start));
-		while(!active.isEmpty()){
-			Route queueMinPath = active.poll();
-			EndPoint queueMin = queueMinPath.getEnd();
-			assert queueMinPath.getStart().equals(start);
-			if ((queueMin).equals(dest)) { // if QueuMin equals dest, we're done!
-				return queueMinPath;
-			}
-			for(Edge p: campusGraph.edgesOf(queueMin)){
-				EndPoint nbr = (EndPoint) p.getTarget();
-				if (!finished.contains(nbr)){
-					// check if we don't have a path to this node yet (no key), or if this path is
-					// actually less costly than the existing path we know
-					if(!minCostPaths.containsKey(nbr) || minCostPaths.get(nbr).getCost() > 
-					    minCostPaths.get(queueMin).getCost() + ((CampusEdge) p).getDistance()){	
-						LinkedList<CampusEdge> alt = 
-							new LinkedList<CampusEdge>(minCostPaths.get(queueMin).getPaths());
-						Route oldRoute = minCostPaths.get(nbr);
-						alt.add((CampusEdge) p);
-						Route newRoute = new Route(alt);
-						minCostPaths.put(nbr, newRoute); // update database of minCostPaths
-						// if active contains old route to nbr, remove and insert new route
-						// because we have found a cheaper route to nbr
-						if(active.contains(oldRoute)){
-							boolean removedOldRoute = active.remove(oldRoute);
-							assert removedOldRoute;
-						}
-						active.add(newRoute); // add cheaper route to PQ
-					}		
-				}
-			}
-			finished.add(queueMin);
-		}
-		return null;
-	}
-
-	/**
-	 * Returns the Building object associated with this short name.
-	 * Returns null if the building is not found.
-	 */
-	public Building getBuilding(String name){
-		for(Building b : buildings){
-			if(b.shortName.equals(name) || b.longName.equals(name)){
-				return b;
-			}
-		}
-		return null;
-	}
-	
-	/**
-	 * Returns whether there is a building with the given short name on campus.
-	 * @return true if there is a building on campus with the given shortName
-	 * @param shortName: the short name of the building being searched for
-	 */
-	public boolean containsBuilding(String shortName){
-		for(Building b : buildings){
-			if(b.shortName.equals(shortName)){
-				return true;
-			}
-		}
-		return false;
-	}
-	
-	/**
-	 * Returns a set of the Buildings present on campus
-	 * @return set of buildings present on campus
-	 */
-	public Set<Building> getBuildings(){
-		return buildings;
-	}
-	
-	/**
-	 *  Throws an exception if the representation invariant is violated.
-	 */
-	private void checkRep() {
-		assert campusGraph != null;
-		assert buildings != null;
-		// check that all Buildings in buildings are present in campusGraph
-		// compares based on coordinates (sufficient because duplicate endPoints
-		// are not allowed in graph, and endPoints & buildings are compared for
-		// equality based on coordinates)
-		Set<EndPoint> endPoints = campusGraph.nodeSet();
-		for(Building b: buildings){
-			if(!endPoints.contains(b)){
-				throw new IllegalStateException();
-			}
-		}
-	}
-
-	public Route findLeastCostPathLongName(String startBuilding,
-			String endBuilding) {
-		return findLeastCostPath(longtoShort(startBuilding), longtoShort(endBuilding));
-	}
-	
-	private String longtoShort(String longName){
-		for(Building b : buildings){
-			if(b.longName.equals(longName)){
-				return b.shortName();
-			}
-		}
-		return null;
-	}
-}
+package route_finder;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import graph.*;
+/**
+ * RouteModel provides access to Route and Building data, and generates the least
+ * cost path between any two Buildings.
+ * For example, it can return a list of buildings present on campus, and also
+ * find the shortest route between any two buildings.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * campusGraph -> graph containing all known endPoints across campus, and the
+ * paths between them. 
+ * 			 nodes of graph -> EndPoints on campus
+ * 			 edges of graph -> Paths between EndPoints on campus
+ * 
+ * buildings -> list of all buildings present on campus
+ * 
+ * registry -> canonical EndPoints of the campus. The nodes of campusGraph are
+ *             exactly registry.endPoints()
+ * 
+ * endPointIndex -> spatial index over the nodes of campusGraph, used to snap
+ *                  arbitrary coordinates onto the graph
+ * 
+ * network -> compact, array based copy of campusGraph used by the faster searches
+ * 
+ * landmarks -> precomputed landmark distances for network, or null if landmark
+ *              based (ALT) searching has not been turned on
+ * 
+ * analysis -> degree and strongly connected component statistics of campusGraph
+ * 
+ * buildingIndex, buildingReach -> buildingReach[buildingIndex.get(a)].get(buildingIndex.get(b))
+ *                  is true if and only if there is a route from Building a to Building b
+ * 
+ * trees -> the shortest path trees most recently asked for, by their start, least
+ *          recently used first. Holds at most TREE_CACHE_SIZE trees.
+ * 
+ * walkwayIndex -> spatial index over the walkways of the campus, with one edge per
+ *                 pair of reciprocal edges. Built the first time it is needed.
+ * 
+ * Representation Invariant:
+ * campusGraph != null
+ * buildings != null
+ * registry != null
+ * endPointIndex != null
+ * network != null
+ * analysis != null, and analysis was made from campusGraph
+ * buildingIndex maps every Building in buildings to an index of buildingReach
+ * landmarks == null, or landmarks.matches(network)
+ * buildings is a list of all buildings present as EndPoints in campusGraph
+ * 
+ */
+public class RouteModel {
+	private final DirectedGraph<EndPoint> campusGraph;
+	private final Set<Building> buildings;
+	private final EndPointRegistry registry;
+	private final EndPointIndex endPointIndex;
+	private final CampusNetwork network;
+	private final GraphAnalysis<EndPoint> analysis;
+	private final Map<EndPoint, Integer> buildingIndex;
+	private final BitSet[] buildingReach;
+	private volatile LandmarkTable landmarks;
+	// number of shortest path trees kept for reuse
+	private static final int TREE_CACHE_SIZE = 32;
+	private final Map<EndPoint, ShortestPathTree> trees =
+			new LinkedHashMap<EndPoint, ShortestPathTree>(TREE_CACHE_SIZE * 2, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		protected boolean removeEldestEntry(Map.Entry<EndPoint, ShortestPathTree> eldest) {
+			return size() > TREE_CACHE_SIZE;
+		}
+	};
+	private SegmentIndex walkwayIndex;
+	/**
+	 * Constructs a new RouteManager that provides access to Route & Building data,
+	 * and which generates least cost paths (aka Routes) between buildings across
+	 * the University of Washington campus.
+	 */
+	public RouteModel(){
+		this(CampusDataParser.BUILDINGS_FILE, CampusDataParser.PATHS_FILE);
+	}
+	
+	/**
+	 * Constructs a new RouteModel for the map described by the given data files, which
+	 * are in the formats read by CampusDataParser and may be compressed with gzip
+	 * @param buildingsFile : name of the buildings file
+	 * @param pathsFile : name of the paths file
+	 * @throws IllegalArgumentException if either file can't be read or is not in the
+	 * expected format
+	 */
+	public RouteModel(String buildingsFile, String pathsFile){
+		this(loadFiles(buildingsFile, pathsFile));
+	}
+	
+	/**
+	 * Constructs a new RouteModel for the map read from the given source
+	 * @param source : where the map is read from
+	 * @requires source != null
+	 * @throws IOException if the map can't be read or is not in the expected format
+	 */
+	public RouteModel(MapDataSource source) throws IOException {
+		this(load(source));
+	}
+	
+	// Constructs a RouteModel for the given map
+	private RouteModel(MapData data){
+		registry = data.registry;
+		buildings = data.buildings;
+		
+		// initialize graph with one node per coordinate
+		campusGraph = data.builder.build();
+		endPointIndex = new EndPointIndex(registry.endPoints());
+		network = new CampusNetwork(registry, campusGraph);
+		
+		// find which buildings can reach each other once, so that routes which
+		// can't exist are rejected without searching
+		analysis = campusGraph.analysis();
+		List<EndPoint> buildingList = new ArrayList<EndPoint>(buildings);
+		buildingIndex = indexOf(buildingList);
+		buildingReach = analysis.reachability(buildingList);
+		
+		checkRep();
+	}
+	
+	/**
+	 * Constructs a new RouteManager that can generate least cost paths (aka Routes) between 
+	 * the Buildings in buildings, based on the given endPoint, paths, and buildings data.
+	 * @param endPoints: list of EndPoint to be used in generating Routes
+	 * @param paths: list of Edges to be used in generating Routes
+	 * @param buildings: list of Buildings to be used in generating Routes
+	 */
+	// Constructor isn't useful for Route Finder Application, but was necessary
+	// for testing purposes
+	public RouteModel(List<EndPoint> endPoints, List<Edge> paths, Set<Building> buildings){
+		this.buildings = buildings;
+		registry = new EndPointRegistry();
+		for(Building b : buildings){
+			registry.intern(b);
+		}
+		for(EndPoint p : endPoints){
+			registry.intern(p);
+		}
+		campusGraph = new DirectedGraph<EndPoint>(registry.endPoints(), paths);
+		endPointIndex = new EndPointIndex(registry.endPoints());
+		network = new CampusNetwork(registry, campusGraph);
+		analysis = campusGraph.analysis();
+		List<EndPoint> buildingList = new ArrayList<EndPoint>(buildings);
+		buildingIndex = indexOf(buildingList);
+		buildingReach = analysis.reachability(buildingList);
+	}
+	
+	/**
+	 * The parts of a map read from a MapDataSource: its canonical EndPoints, its
+	 * Buildings, and a builder holding its walkways
+	 */
+	private static class MapData {
+		final EndPointRegistry registry = new EndPointRegistry();
+		// Most walkways are listed in both directions, so each such pair is stored
+		// as one edge
+		final DirectedGraph.Builder<EndPoint> builder =
+				new DirectedGraph.Builder<EndPoint>(0, 0).shareReverseEdges(true);
+		Set<Building> buildings;
+	}
+	
+	// Reads the map of source. Buildings are read first, so that each Building is the
+	// canonical EndPoint for its location
+	private static MapData load(MapDataSource source) throws IOException {
+		MapData data = new MapData();
+		data.buildings = CampusDataParser.parse(source, data.registry, data.builder);
+		return data;
+	}
+	
+	// Reads the map in the given files, throwing an IllegalArgumentException if it
+	// can't be read
+	private static MapData loadFiles(String buildingsFile, String pathsFile){
+		try {
+			return load(MapDataSource.file(buildingsFile, pathsFile));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("could not read map: " + e.getMessage(), e);
+		}
+	}
+	
+	// Returns a map from each EndPoint in list to its position in list
+	private static Map<EndPoint, Integer> indexOf(List<EndPoint> list){
+		Map<EndPoint, Integer> index = new HashMap<EndPoint, Integer>();
+		for(int i = 0; i < list.size(); i++){
+			index.put(list.get(i), i);
+		}
+		return index;
+	}
+	
+	/**
+	 * Finds and returns the least cost path between any two buildings
+	 * @param startBuilding: short name of the starting building
+	 * @param destBuilding: short name of the destination building
+	 * @requires: both buildings are present on campus (in other words, there 
+	 * is a building on campus with that short name)
+	 * @throws IllegalArgumentException if either building is not found on Campus. The
+	 * exception's String is the name of the (first) building that wasn't found
+	 * @returns null if a route is not found
+	 * @returns a Route with no edges if the startBuilding and destBuliding are the same.
+	 * In this case, the returned Route's start and end EndPoints are that Building.
+	 */
+	public Route findLeastCostPath(String startBuilding, String destBuilding){
+		Building start = getBuilding(startBuilding);
+		Building dest =  getBuilding(destBuilding);
+		if(start == null || dest == null){
+			throw new IllegalArgumentException();
+		}
+		return findLeastCostPath(start, dest);
+	}
+	
+	/**
+	 * Returns the least cost routes from the given building to every EndPoint of the
+	 * campus.  The trees of the buildings most recently asked for are kept, so asking
+	 * again for the same building needs no search; while a building's tree is kept,
+	 * findLeastCostPath also uses it for routes starting at that building.
+	 * @param startBuilding : short or long name of the building the routes start at
+	 * @throws IllegalArgumentException if the building is not found on campus
+	 * @return tree of the least cost routes from startBuilding
+	 */
+	public ShortestPathTree shortestPathTree(String startBuilding){
+		Building start = getBuilding(startBuilding);
+		if(start == null){
+			throw new IllegalArgumentException(startBuilding);
+		}
+		return shortestPathTree(start);
+	}
+	
+	/**
+	 * Returns the least cost routes from the given EndPoint to every EndPoint of the
+	 * campus, reusing a recently found tree if there is one (see
+	 * shortestPathTree(String)).
+	 * @param start : EndPoint the routes start at
+	 * @throws IllegalArgumentException if start is not an EndPoint of the campus
+	 * @return tree of the least cost routes from start
+	 */
+	public ShortestPathTree shortestPathTree(EndPoint start){
+		if(start == null || !campusGraph.containsNode(start)){
+			throw new IllegalArgumentException("EndPoint is not on campus");
+		}
+		ShortestPathTree tree;
+		synchronized(trees){
+			tree = trees.get(start);
+		}
+		if(tree == null){
+			// search without holding the lock, so other trees can be read meanwhile
+			tree = new ShortestPathTree(network, network.idOf(start));
+			synchronized(trees){
+				trees.put(start, tree);
+			}
+		}
+		return tree;
+	}
+	
+	/**
+	 * Finds and returns the least cost path between the EndPoints of the campus
+	 * closest to the two given coordinates.  Each coordinate is snapped to the nearest
+	 * EndPoint (see nearestEndPoint), so routes can start and end anywhere on the map.
+	 * @param startX : x-coordinate of the starting location
+	 * @param startY : y-coordinate of the starting location
+	 * @param destX : x-coordinate of the destination
+	 * @param destY : y-coordinate of the destination
+	 * @returns null if the campus has no EndPoints, or if a route is not found
+	 * @returns a Route with no edges if both coordinates snap to the same EndPoint
+	 */
+	public Route findLeastCostPath(double startX, double startY, double destX, double destY){
+		EndPoint start = nearestEndPoint(startX, startY);
+		EndPoint dest = nearestEndPoint(destX, destY);
+		if(start == null || dest == null){
+			return null;
+		}
+		return findLeastCostPath(start, dest);
+	}
+	
+	/**
+	 * Finds and returns the least cost path between two EndPoints of the campus
+	 * @param start : starting EndPoint
+	 * @param dest : destination EndPoint
+	 * @requires start and dest are EndPoints of the campus
+	 * @throws IllegalArgumentException if start or dest is not an EndPoint of the campus
+	 * @returns null if a route is not found
+	 * @returns a Route with no edges if start and dest are the same
+	 */
+	public Route findLeastCostPath(EndPoint start, EndPoint dest){
+		if(start == null || dest == null || !campusGraph.containsNode(start) ||
+				!campusGraph.containsNode(dest)){
+			throw new IllegalArgumentException("EndPoint is not on campus");
+		}
+		if(!mayReach(start, dest)){
+			return null;
+		}
+		ShortestPathTree tree;
+		synchronized(trees){
+			tree = trees.get(start);
+		}
+		if(tree != null){
+			return tree.routeTo(dest);
+		}
+		final LandmarkTable table = landmarks;
+		if(table != null){
+			// A* search guided by landmark distances (ALT)
+			final int target = network.idOf(dest);
+			return NetworkSearch.search(network, network.idOf(start), target,
+					new NetworkSearch.Heuristic() {
+						public double estimate(int node) {
+							return table.lowerBound(node, target);
+						}
+					});
+		}
+
+		PriorityQueue<Route> active = new PriorityQueue<Route>();
+		// initializes active to have one Route representing a single node (no actual edges in route)
+		active.add(new Route(start));	
+		Set<EndPoint> finished = new HashSet<EndPoint>();
+		// MincostPaths holds minimum route known thus far from start (S) to any given node
+		// MincostPaths is updated as we find new paths, or as we find better routes
+		Map<EndPoint, Route> minCostPaths = new HashMap<EndPoint, Route>(); // provides fast access
+		minCostPaths.put(start, new Route(start));
+		while(!active.isEmpty()){
+			Route queueMinPath = active.poll();
+			EndPoint queueMin = queueMinPath.getEnd();
+			assert queueMinPath.getStart().equals(start);
+			if ((queueMin).equals(dest)) { // if QueuMin equals dest, we're done!
+				return queueMinPath;
+			}
+			for(Edge p: campusGraph.edgesOf(queueMin)){
+				EndPoint nbr = (EndPoint) p.getTarget();
+				if (!finished.contains(nbr)){
+					// check if we don't have a path to this node yet (no key), or if this path is
+					// actually less costly than the existing path we know
+					if(!minCostPaths.containsKey(nbr) || minCostPaths.get(nbr).getCost() > 
+					    minCostPaths.get(queueMin).getCost() + ((CampusEdge) p).getDistance()){	
+						Route oldRoute = minCostPaths.get(nbr);
+						// extending shares the existing route's edges instead of copying them
+						Route newRoute = minCostPaths.get(queueMin).extend((CampusEdge) p);
+						minCostPaths.put(nbr, newRoute); // update database of minCostPaths
+						// if active contains old route to nbr, remove and insert new route
+						// because we have found a cheaper route to nbr
+						if(active.contains(oldRoute)){
+							boolean removedOldRoute = active.remove(oldRoute);
+							assert removedOldRoute;
+						}
+						active.add(newRoute); // add cheaper route to PQ
+					}		
+				}
+			}
+			finished.add(queueMin);
+		}
+		return null;
+	}
+
+	/**
+	 * Computes a cost profile for this model's map, which can be passed to
+	 * findLeastCostPath to find routes that minimize something other than distance.
+	 * Any number of profiles can be used with the same model.
+	 * @param cost : gives the cost of each walkway (see CostProfile for some useful
+	 * EdgeCosts)
+	 * @throws IllegalArgumentException if cost is null or gives a negative cost
+	 * @return the cost profile for this map given by cost
+	 */
+	public CostProfile createCostProfile(CostProfile.EdgeCost cost){
+		return CostProfile.compute(network, cost);
+	}
+	
+	/**
+	 * Finds and returns the route between two buildings with the least cost according
+	 * to the given cost profile
+	 * @param startBuilding : short name of the starting building
+	 * @param destBuilding : short name of the destination building
+	 * @param profile : cost of each walkway, created by createCostProfile
+	 * @throws IllegalArgumentException if either building is not found on campus, or if
+	 * profile is null or was created for a different map
+	 * @returns null if a route is not found (or every route uses a walkway that the
+	 * profile does not allow)
+	 * @returns the Route with the least total cost under profile. Its getCost() is
+	 * still its distance.
+	 */
+	public Route findLeastCostPath(String startBuilding, String destBuilding, CostProfile profile){
+		Building start = getBuilding(startBuilding);
+		Building dest =  getBuilding(destBuilding);
+		if(start == null || dest == null){
+			throw new IllegalArgumentException();
+		}
+		return findLeastCostPath(start, dest, profile);
+	}
+	
+	/**
+	 * Finds and returns the route between two EndPoints of the campus with the least
+	 * cost according to the given cost profile
+	 * @param start : starting EndPoint
+	 * @param dest : destination EndPoint
+	 * @param profile : cost of each walkway, created by createCostProfile
+	 * @throws IllegalArgumentException if start or dest is not an EndPoint of the
+	 * campus, or if profile is null or was created for a different map
+	 * @returns null if a route is not found
+	 * @returns the Route with the least total cost under profile
+	 */
+	public Route findLeastCostPath(EndPoint start, EndPoint dest, CostProfile profile){
+		if(start == null || dest == null || !campusGraph.containsNode(start) ||
+				!campusGraph.containsNode(dest)){
+			throw new IllegalArgumentException("EndPoint is not on campus");
+		}
+		if(profile == null || !profile.matches(network)){
+			throw new IllegalArgumentException("Cost profile does not match the map");
+		}
+		if(!mayReach(start, dest)){
+			return null;
+		}
+		// landmark distances are only lower bounds for distance, so use Dijkstra's algorithm
+		int source = network.idOf(start);
+		int[] path = NetworkSearch.searchPath(network, profile.weights(), source,
+				network.idOf(dest), NetworkSearch.NONE, null, null);
+		return path == null ? null : network.route(source, path, path.length);
+	}
+	
+	/**
+	 * Returns whether there is any route from one building to another.  Takes
+	 * constant time, because the buildings that can reach each other are found when
+	 * the map is loaded.
+	 * @param startBuilding : short name of the starting building
+	 * @param destBuilding : short name of the destination building
+	 * @throws IllegalArgumentException if either building is not found on campus
+	 * @returns true if findLeastCostPath(startBuilding, destBuilding) finds a route
+	 */
+	public boolean canReach(String startBuilding, String destBuilding){
+		Building start = getBuilding(startBuilding);
+		Building dest =  getBuilding(destBuilding);
+		if(start == null || dest == null || !campusGraph.containsNode(start) ||
+				!campusGraph.containsNode(dest)){
+			throw new IllegalArgumentException();
+		}
+		return mayReach(start, dest);
+	}
+	
+	/**
+	 * Returns a readable report on the structure of the campus map: the numbers of
+	 * EndPoints and walkways, how many walkways meet at each EndPoint, the strongly
+	 * connected components of the map, and every pair of buildings with no route
+	 * between them.  Useful for finding out why a route was not found.
+	 * @return report on the connectivity of the map
+	 */
+	public String connectivityReport(){
+		StringBuilder sb = new StringBuilder(analysis.report());
+		List<Building> sorted = new ArrayList<Building>();
+		for(Building b : buildings){
+			if(campusGraph.containsNode(b)){
+				sorted.add(b);
+			}
+		}
+		Collections.sort(sorted, new Comparator<Building>() {
+			public int compare(Building a, Building b) {
+				return a.shortName.compareTo(b.shortName);
+			}
+		});
+		List<String> unreachable = new ArrayList<String>();
+		for(Building a : sorted){
+			for(Building b : sorted){
+				if(!mayReach(a, b)){
+					unreachable.add(a.shortName + " -> " + b.shortName);
+				}
+			}
+		}
+		sb.append("building pairs with no route: ").append(unreachable.size()).append('\n');
+		for(String pair : unreachable){
+			sb.append("  ").append(pair).append('\n');
+		}
+		return sb.toString();
+	}
+	
+	// Returns false if there is certainly no route from start to dest, which must be
+	// EndPoints of the campus. Exact when both are Buildings; takes constant time.
+	private boolean mayReach(EndPoint start, EndPoint dest){
+		Integer from = buildingIndex.get(start);
+		Integer to = buildingIndex.get(dest);
+		if(from != null && to != null){
+			return buildingReach[from].get(to);
+		}
+		return analysis.mayReach(start, dest);
+	}
+	
+	/**
+	 * Finds the k least cost routes between two buildings, so that other options can
+	 * be offered when the best route is not wanted.  No returned Route visits any
+	 * EndPoint more than once.
+	 * @param startBuilding : short name of the starting building
+	 * @param destBuilding : short name of the destination building
+	 * @param k : largest number of routes to return
+	 * @throws IllegalArgumentException if either building is not found on campus,
+	 * or if k < 1
+	 * @returns list of at most k Routes from startBuilding to destBuilding, ordered by
+	 * cost with the least cost Route first. The list is empty if no route is found.
+	 */
+	public List<Route> findLeastCostPaths(String startBuilding, String destBuilding, int k){
+		Building start = getBuilding(startBuilding);
+		Building dest =  getBuilding(destBuilding);
+		if(start == null || dest == null){
+			throw new IllegalArgumentException();
+		}
+		return findLeastCostPaths(start, dest, k);
+	}
+	
+	/**
+	 * Finds the k least cost routes between two EndPoints of the campus.  No returned
+	 * Route visits any EndPoint more than once.
+	 * @param start : starting EndPoint
+	 * @param dest : destination EndPoint
+	 * @param k : largest number of routes to return
+	 * @throws IllegalArgumentException if start or dest is not an EndPoint of the
+	 * campus, or if k < 1
+	 * @returns list of at most k Routes from start to dest, ordered by cost with the
+	 * least cost Route first. The list is empty if no route is found, and holds only a
+	 * Route with no edges if start and dest are the same.
+	 */
+	public List<Route> findLeastCostPaths(EndPoint start, EndPoint dest, int k){
+		if(start == null || dest == null || !campusGraph.containsNode(start) ||
+				!campusGraph.containsNode(dest)){
+			throw new IllegalArgumentException("EndPoint is not on campus");
+		}
+		if(k < 1){
+			throw new IllegalArgumentException("k must be at least 1");
+		}
+		if(!mayReach(start, dest)){
+			return new ArrayList<Route>();
+		}
+		return KShortestPaths.find(network, network.idOf(start), network.idOf(dest), k);
+	}
+
+	/**
+	 * Finds a least cost route that starts at one building, visits each of the given
+	 * buildings in whatever order is cheapest, and ends at another building.
+	 * @param startBuilding : short name of the starting building
+	 * @param stops : short names of the buildings to visit on the way
+	 * @param destBuilding : short name of the destination building (which may be the
+	 * same as startBuilding, for a round trip)
+	 * @throws IllegalArgumentException if stops is null, or if any building is not found
+	 * on campus
+	 * @returns null if no route through every building is found
+	 * @returns a Route from startBuilding to destBuilding passing through every stop.
+	 * The order of the stops is the least cost order when there are at most 12 stops,
+	 * and a good (but not always the best) order otherwise.
+	 */
+	public Route findTour(String startBuilding, List<String> stops, String destBuilding){
+		if(stops == null){
+			throw new IllegalArgumentException("stops should not be null");
+		}
+		List<EndPoint> stopPoints = new ArrayList<EndPoint>(stops.size());
+		for(String name : stops){
+			Building b = getBuilding(name);
+			if(b == null){
+				throw new IllegalArgumentException(name);
+			}
+			stopPoints.add(b);
+		}
+		Building start = getBuilding(startBuilding);
+		Building dest =  getBuilding(destBuilding);
+		if(start == null || dest == null){
+			throw new IllegalArgumentException();
+		}
+		return findTour(start, stopPoints, dest);
+	}
+	
+	/**
+	 * Finds a least cost route that starts at one EndPoint of the campus, visits each
+	 * of the given EndPoints in whatever order is cheapest, and ends at another EndPoint.
+	 * @param start : starting EndPoint
+	 * @param stops : EndPoints to visit on the way
+	 * @param dest : destination EndPoint
+	 * @throws IllegalArgumentException if stops is null, or if start, dest or any of the
+	 * stops is not an EndPoint of the campus
+	 * @returns null if no route through every EndPoint is found
+	 * @returns a Route from start to dest passing through every stop (see
+	 * findTour(String, List, String))
+	 */
+	public Route findTour(EndPoint start, List<EndPoint> stops, EndPoint dest){
+		if(start == null || dest == null || stops == null || !campusGraph.containsNode(start) ||
+				!campusGraph.containsNode(dest)){
+			throw new IllegalArgumentException("EndPoint is not on campus");
+		}
+		int[] stopIds = new int[stops.size()];
+		for(int i = 0; i < stopIds.length; i++){
+			EndPoint p = stops.get(i);
+			if(p == null || !campusGraph.containsNode(p)){
+				throw new IllegalArgumentException("EndPoint is not on campus");
+			}
+			stopIds[i] = network.idOf(p);
+		}
+		return TourPlanner.plan(network, network.idOf(start), stopIds, network.idOf(dest));
+	}
+
+	/**
+	 * Turns on landmark based A* (ALT) searching, using the given precomputed table.
+	 * Routes found this way have the same cost as the routes found by Dijkstra's
+	 * algorithm, but far fewer EndPoints are explored to find them.
+	 * @param table : landmark table computed for this model's map, or null to go back
+	 * to plain Dijkstra's algorithm
+	 * @throws IllegalArgumentException if table was computed for a different map
+	 * @modifies this
+	 */
+	public void useLandmarks(LandmarkTable table){
+		if(table != null && !table.matches(network)){
+			throw new IllegalArgumentException("Landmark table does not match the map");
+		}
+		landmarks = table;
+	}
+	
+	/**
+	 * Turns on landmark based A* (ALT) searching with the given number of landmarks.
+	 * If cache names a file holding a landmark table for this map, the table is loaded
+	 * from it. Otherwise the table is computed and, if cache is not null, saved to it
+	 * so that it does not need to be computed the next time.  Landmarks are turned on
+	 * even if the table can't be saved.
+	 * @param count : number of landmarks to use
+	 * @param cache : file to load the table from or save it to, or null to always
+	 * compute the table without saving it
+	 * @requires count >= 0
+	 * @modifies this, cache
+	 * @return false if the table was computed and could not be saved to cache, true
+	 * otherwise
+	 */
+	public boolean useLandmarks(int count, File cache){
+		LandmarkTable table = null;
+		if(cache != null && cache.exists()){
+			try {
+				table = LandmarkTable.load(cache, network);
+			} catch (IOException e) {
+				table = null; // unreadable or for another map, so compute it again
+			}
+			if(table != null && table.landmarkCount() != Math.min(count, network.nodeCount())){
+				table = null; // stale, so compute it again
+			}
+		}
+		boolean saved = true;
+		if(table == null){
+			table = LandmarkTable.compute(network, count);
+			if(cache != null){
+				try {
+					table.save(cache);
+				} catch (IOException e) {
+					saved = false;
+				}
+			}
+		}
+		useLandmarks(table);
+		return saved;
+	}
+	
+	/**
+	 * Returns the EndPoint of the campus closest to the given coordinates.
+	 * @param x : x-coordinate of the location
+	 * @param y : y-coordinate of the location
+	 * @return the EndPoint of the campus closest to (x, y), or null if the campus
+	 * has no EndPoints
+	 */
+	public EndPoint nearestEndPoint(double x, double y){
+		return endPointIndex.nearest(x, y);
+	}
+	
+	/**
+	 * Returns all EndPoints of the campus within the given distance of the given
+	 * coordinates, in no particular order.
+	 * @param x : x-coordinate of the location
+	 * @param y : y-coordinate of the location
+	 * @param radius : maximum distance (in feet) from (x, y)
+	 * @return list of the EndPoints of the campus within radius of (x, y)
+	 */
+	public List<EndPoint> endPointsWithin(double x, double y, double radius){
+		return endPointIndex.withinRadius(x, y, radius);
+	}
+
+	/**
+	 * Returns the walkways of the campus that cross the given rectangle, for example
+	 * the part of the map that is currently visible.  Walkways that can be walked in
+	 * both directions are only returned once (in one of the two directions).
+	 * @param minX : smallest x-coordinate of the rectangle
+	 * @param minY : smallest y-coordinate of the rectangle
+	 * @param maxX : largest x-coordinate of the rectangle
+	 * @param maxY : largest y-coordinate of the rectangle
+	 * @return list of the walkways that intersect the rectangle, in no particular order
+	 */
+	public List<CampusEdge> walkwaysIn(double minX, double minY, double maxX, double maxY){
+		return walkwayIndex().query(minX, minY, maxX, maxY);
+	}
+	
+	// Returns walkwayIndex, building it if this is the first time it is needed
+	private synchronized SegmentIndex walkwayIndex(){
+		if(walkwayIndex == null){
+			List<CampusEdge> walkways = new ArrayList<CampusEdge>();
+			for(EndPoint p : registry.endPoints()){
+				for(Edge e : campusGraph.edgesOf(p)){
+					CampusEdge c = (CampusEdge) e;
+					// keep only one direction of each two-way walkway
+					CampusEdge reverse = new CampusEdge(c.getTarget(), c.getSource(), c.getDistance());
+					if(registry.idOf(c.getSource()) < registry.idOf(c.getTarget()) ||
+							!campusGraph.edgesOf(c.getTarget()).contains(reverse)){
+						walkways.add(c);
+					}
+				}
+			}
+			walkwayIndex = new SegmentIndex(walkways);
+		}
+		return walkwayIndex;
+	}
+	
+	/**
+	 * Returns the Building object associated with this short name.
+	 * Returns null if the building is not found.
+	 */
+	public Building getBuilding(String name){
+		for(Building b : buildings){
+			if(b.shortName.equals(name) || b.longName.equals(name)){
+				return b;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns whether there is a building with the given short name on campus.
+	 * @return true if there is a building on campus with the given shortName
+	 * @param shortName: the short name of the building being searched for
+	 */
+	public boolean containsBuilding(String shortName){
+		for(Building b : buildings){
+			if(b.shortName.equals(shortName)){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns a set of the Buildings present on campus
+	 * @return set of buildings present on campus
+	 */
+	public Set<Building> getBuildings(){
+		return buildings;
+	}
+	
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep() {
+		if(!CheckLevel.enabled(CheckLevel.CHEAP)){
+			return;
+		}
+		assert campusGraph != null;
+		assert buildings != null;
+		assert analysis != null;
+		assert buildingIndex.size() == buildingReach.length;
+		// check that all Buildings in buildings are present in campusGraph
+		// compares based on coordinates (sufficient because duplicate endPoints
+		// are not allowed in graph, and endPoints & buildings are compared for
+		// equality based on coordinates)
+		for(Building b: buildings){
+			if(!campusGraph.containsNode(b)){
+				throw new IllegalStateException("Building not in graph: " + b.shortName());
+			}
+		}
+	}
+
+	public Route findLeastCostPathLongName(String startBuilding,
+			String endBuilding) {
+		return findLeastCostPath(longtoShort(startBuilding), longtoShort(endBuilding));
+	}
+	
+	private String longtoShort(String longName){
+		for(Building b : buildings){
+			if(b.longName.equals(longName)){
+				return b.shortName();
+			}
+		}
+		return null;
+	}
+}
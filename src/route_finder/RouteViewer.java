@@ -1,85 +1,101 @@
-package route_finder;
-
-import java.util.Collection;
-
-/**
- * RouteViewer formats the display of a user interface.
- * @author Janelle Van Hofwegen
- *
- */
-public class RouteViewer {
-
-	/**
-	 * Prints the given Route, one CampusEdge per line.
-	 * Format is : Walk <feet> feet <direction> to (<First Coordinate>, <Second Coordinate>)
-	 * @param r the Route to be printed
-	 */
-	public void displayRoute(Route r) {
-		for(CampusEdge e : r.getPaths()){
-			System.out.printf("    Walk %.1f feet " + getDirection(e) + " to (%.2f,%.2f)", 
-					e.getDistance(), e.getTarget().getX(), e.getTarget().getY());
-			System.out.println();
-		}
-		System.out.println();
-	}
-
-	/**
-	 * Prints the given collectoin of Buildings, one building per line.
-	 * Format is : <Building short name> : <Building long name>
-	 * @param buildings : buildings to be printed
-	 */
-	public void displayBuildings(Collection<Building> buildings) {
-		System.out.println("Buildings:");
-		for(Building b : buildings){
-			System.out.print("    ");
-			System.out.print(b.shortName() + ": " + b.longName());
-			System.out.println();
-		}
-		System.out.println();
-	}
-	
-	/**
-	 * Returns the cardinal direction that the given CampusEdge points.
-	 * @param e : edge for which a direction is being computed
-	 * @return String representing the cardinal direction this edge is pointing
-	 * (N, S, E, W, NE, NW, SE, SW).
-	 */
-	private String getDirection(CampusEdge e){
-		double x1 = e.getSource().getX();
-		double y1 = e.getSource().getY();
-		double x2 = e.getTarget().getX();
-		double y2 = e.getTarget().getY();
-		
-		String direction = "";
-		if(y2 < y1){
-			direction+="N";
-		} else{
-			direction+="S";
-		}
-		
-		if(x2 < x1){
-			direction+="W";
-		} else if(x2 > x1){
-			direction+="E";
-		}
-		return direction;
-	}
-	/**
-	 * Prints out an "Unknown Building" error message
-	 * @param building : name of the unknown building
-	 */
-	public void displayNotFoundMessage(String building) {
-		System.out.println("Unknown building: " + building);
-	}
-
-	/**
-	 * Prints out the menu.
-	 */
-	public void displayMenu() {
-		System.out.println("Menu:");
-		System.out.println("    r to find a route");
-		System.out.println("    b to see a list of all buildings");
-		System.out.println("    q to quit");
-		System.out.println();
-	}
-}
\ No newline at end of file
+package route_finder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collection;
+
+/**
+ * RouteViewer formats the display of a user interface.
+ * <br>
+ * <br>
+ * Output goes through a buffer and is written out once per call, instead of once
+ * per line.
+ * @author Janelle Van Hofwegen
+ *
+ */
+public class RouteViewer {
+	private final Writer out;
+	private final StringBuilder text = new StringBuilder();
+
+	/**
+	 * Constructs a RouteViewer that prints to System.out
+	 */
+	public RouteViewer() {
+		this(new OutputStreamWriter(System.out));
+	}
+
+	/**
+	 * Constructs a RouteViewer that prints to the given stream
+	 * @param out : stream to print to
+	 * @throws IllegalArgumentException if out is null
+	 */
+	public RouteViewer(Writer out) {
+		if(out == null){
+			throw new IllegalArgumentException("argument should not be null");
+		}
+		this.out = new BufferedWriter(out);
+	}
+
+	/**
+	 * Prints the given Route, one line per maneuver (run of CampusEdges in the same
+	 * direction, see Instructions).
+	 * Format is : Walk <feet> feet <direction> to (<First Coordinate>, <Second Coordinate>)
+	 * @param r the Route to be printed
+	 */
+	public void displayRoute(Route r) {
+		for(Instructions.Maneuver m : Instructions.compile(r)){
+			RouteWriter.appendStep(text, m.asEdge()).append('\n');
+		}
+		text.append('\n');
+		print();
+	}
+
+	/**
+	 * Prints the given collectoin of Buildings, one building per line.
+	 * Format is : <Building short name> : <Building long name>
+	 * @param buildings : buildings to be printed
+	 */
+	public void displayBuildings(Collection<Building> buildings) {
+		text.append("Buildings:\n");
+		for(Building b : buildings){
+			text.append("    ").append(b.shortName()).append(": ").append(b.longName()).append('\n');
+		}
+		text.append('\n');
+		print();
+	}
+	
+	/**
+	 * Prints out an "Unknown Building" error message
+	 * @param building : name of the unknown building
+	 */
+	public void displayNotFoundMessage(String building) {
+		text.append("Unknown building: ").append(building).append('\n');
+		print();
+	}
+
+	/**
+	 * Prints out the menu.
+	 */
+	public void displayMenu() {
+		text.append("Menu:\n");
+		text.append("    r to find a route\n");
+		text.append("    b to see a list of all buildings\n");
+		text.append("    q to quit\n");
+		text.append('\n');
+		print();
+	}
+	
+	// Writes out and clears text
+	private void print() {
+		try {
+			out.append(text);
+			out.flush();
+		} catch (IOException e) {
+			throw new IllegalStateException("could not print", e);
+		} finally {
+			text.setLength(0);
+		}
+	}
+}
@@ -0,0 +1,470 @@
+package route_finder;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+
+/**
+ * RouteWriter writes the directions of many routes, one after another, to a
+ * character stream.  Each route's edges are written as they are read from an
+ * iterator, and nothing is kept once a route has been written, so batches of any
+ * size are written in a fixed amount of memory.  Numbers are written with
+ * FixedFormat rather than String.format, which is several times faster.
+ * <br>
+ * <br>
+ * In the TEXT format, each route is written as:
+ * <pre>
+ * Path from START to DEST:
+ *     Walk 12.3 feet NE to (1903.72,1952.43)
+ *     ...
+ * Total distance: 123.4 feet
+ * </pre>
+ * followed by a blank line, or as "No route from START to DEST" if there is no route.
+ * <br>
+ * <br>
+ * The TSV format starts with the header line
+ * "start, dest, step, feet, direction, x, y" (separated by tabs), and has one line
+ * per edge with the edge's number in the route (from 1), distance, direction and
+ * target coordinates.  Each route ends with a line whose step is "total" and whose
+ * feet is the route's distance, or whose step is "none" if there is no route.
+ * <br>
+ * <br>
+ * The JSON format has one object per line (JSON Lines):
+ * {"start":"A","dest":"B","found":true,"steps":[{"feet":5.0,"direction":"SE",
+ * "x":3.00,"y":4.00},...],"feet":10.0}, or {"start":"A","dest":"B","found":false}
+ * if there is no route.
+ * <br>
+ * <br>
+ * The GEOJSON format has one GeoJSON Feature per line, whose geometry is the line
+ * the route follows, simplified with RouteGeometry to the writer's tolerance, and
+ * whose properties are the start, dest, found and feet of the route:
+ * {"type":"Feature","properties":{"start":"A","dest":"B","found":true,"feet":10.0},
+ * "geometry":{"type":"LineString","coordinates":[[0.00,0.00],[3.00,4.00],...]}}.
+ * The geometry is null if there is no route, and a Point if the route has no edges.
+ * Unlike the other formats, a route's points are held in memory until it is written.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * out -> the stream routes are written to
+ * format -> how routes are written
+ * routes -> number of routes (including missing routes and errors) written so far
+ * edges -> number of edges written so far
+ * line -> text not yet passed to out
+ * tolerance -> how far, in map coordinates, GEOJSON lines may be from the routes
+ *              they show
+ *
+ * Representation Invariant:
+ * out != null, format != null, line != null, routes >= 0, edges >= 0, tolerance >= 0
+ */
+public class RouteWriter implements Closeable, Flushable {
+	/**
+	 * The ways routes can be written
+	 */
+	public enum Format {
+		/** walking directions for people to read */
+		TEXT,
+		/** tab separated values, one line per edge */
+		TSV,
+		/** one JSON object per route, one route per line */
+		JSON,
+		/** one GeoJSON Feature per route with a simplified line, one route per line */
+		GEOJSON
+	}
+	
+	// text is passed to out once line is this long
+	private static final int CHUNK = 8192;
+	
+	private final Writer out;
+	private final Format format;
+	private final double tolerance;
+	private final StringBuilder line = new StringBuilder(CHUNK * 2);
+	private long routes;
+	private long edges;
+
+	/**
+	 * Constructs a RouteWriter that writes walking directions (the TEXT format) to
+	 * the given stream through a buffer
+	 * @param out : stream to write routes to
+	 * @throws IllegalArgumentException if out is null
+	 */
+	public RouteWriter(Writer out){
+		this(out, Format.TEXT);
+	}
+
+	/**
+	 * Constructs a RouteWriter that writes routes in the given format to the given
+	 * stream through a buffer.  The TSV header line is written straight away.
+	 * @param out : stream to write routes to
+	 * @param format : how to write routes
+	 * @throws IllegalArgumentException if out or format is null
+	 */
+	public RouteWriter(Writer out, Format format){
+		this(out, format, RouteGeometry.DEFAULT_TOLERANCE);
+	}
+
+	/**
+	 * Constructs a RouteWriter that writes routes in the given format to the given
+	 * stream through a buffer, simplifying GEOJSON lines to the given tolerance
+	 * @param out : stream to write routes to
+	 * @param format : how to write routes
+	 * @param tolerance : largest distance, in map coordinates, a GEOJSON line may be
+	 * from its route
+	 * @throws IllegalArgumentException if out or format is null, or tolerance is
+	 * negative or NaN
+	 */
+	public RouteWriter(Writer out, Format format, double tolerance){
+		if(out == null || format == null){
+			throw new IllegalArgumentException("argument should not be null");
+		}
+		if(!(tolerance >= 0)){
+			throw new IllegalArgumentException("bad tolerance " + tolerance);
+		}
+		this.out = new BufferedWriter(out);
+		this.format = format;
+		this.tolerance = tolerance;
+		if(format == Format.TSV){
+			line.append("start\tdest\tstep\tfeet\tdirection\tx\ty\n");
+		}
+		checkRep();
+	}
+
+	/**
+	 * Writes the directions of the given route
+	 * @param start : name of the place the route starts at
+	 * @param dest : name of the place the route ends at
+	 * @param route : route to write, or null if there is no route
+	 * @modifies this
+	 * @throws IOException if the stream can't be written to
+	 */
+	public void writeRoute(String start, String dest, Route route) throws IOException {
+		if(route == null){
+			writeRoute(start, dest, null, null);
+		} else {
+			writeRoute(start, dest, route.iterator(), route.getStart());
+		}
+	}
+
+	/**
+	 * Writes the directions of a route as compiled Instructions, with one step per
+	 * maneuver rather than per edge
+	 * @param start : name of the place the route starts at
+	 * @param dest : name of the place the route ends at
+	 * @param route : instructions of the route to write, or null if there is no route
+	 * @modifies this
+	 * @throws IOException if the stream can't be written to
+	 */
+	public void writeRoute(String start, String dest, Instructions route) throws IOException {
+		if(route == null){
+			writeRoute(start, dest, null, null);
+		} else {
+			writeRoute(start, dest, route.edges(), route.getStart());
+		}
+	}
+
+	/**
+	 * Writes the directions of a route, reading its edges from the given iterator
+	 * one at a time
+	 * @param start : name of the place the route starts at
+	 * @param dest : name of the place the route ends at
+	 * @param route : edges of the route in order (linked, as in a Route), or null if
+	 * there is no route
+	 * @modifies this
+	 * @throws IOException if the stream can't be written to
+	 */
+	public void writeRoute(String start, String dest, Iterator<CampusEdge> route)
+			throws IOException {
+		writeRoute(start, dest, route, null);
+	}
+
+	// Writes a route, which starts at the given point if that is known
+	private void writeRoute(String start, String dest, Iterator<CampusEdge> route,
+			EndPoint at) throws IOException {
+		routes++;
+		switch(format){
+		case TEXT:
+			writeText(start, dest, route);
+			break;
+		case TSV:
+			writeTsv(start, dest, route);
+			break;
+		case JSON:
+			writeJson(start, dest, route);
+			break;
+		default:
+			writeGeoJson(start, dest, route, at);
+			break;
+		}
+		out.append(line);
+		line.setLength(0);
+	}
+	
+	/**
+	 * Writes a message in place of a route, for example for a query naming an
+	 * unknown building.  TEXT writes the message on its own line, TSV writes a line
+	 * whose step is "error" and whose feet column holds the message, and JSON and
+	 * GEOJSON write {"error":message}.
+	 * @param message : message to write, on one line
+	 * @modifies this
+	 * @throws IOException if the stream can't be written to
+	 */
+	public void writeError(String message) throws IOException {
+		routes++;
+		switch(format){
+		case TEXT:
+			line.append(message).append('\n');
+			break;
+		case TSV:
+			line.append("\t\terror\t").append(message).append("\t\t\t\n");
+			break;
+		default:
+			line.append("{\"error\":");
+			appendJsonString(line, message);
+			line.append("}\n");
+			break;
+		}
+		out.append(line);
+		line.setLength(0);
+	}
+	
+	// Writes a route in the TEXT format
+	private void writeText(String start, String dest, Iterator<CampusEdge> route)
+			throws IOException {
+		if(route == null){
+			line.append("No route from ").append(start).append(" to ").append(dest).append('\n');
+			return;
+		}
+		line.append("Path from ").append(start).append(" to ").append(dest).append(":\n");
+		double total = 0;
+		while(route.hasNext()){
+			CampusEdge e = route.next();
+			appendStep(line, e).append('\n');
+			total += e.getDistance();
+			edges++;
+			spill();
+		}
+		line.append("Total distance: ");
+		FixedFormat.append(line, total, 1).append(" feet\n\n");
+	}
+	
+	// Writes a route in the TSV format
+	private void writeTsv(String start, String dest, Iterator<CampusEdge> route)
+			throws IOException {
+		if(route == null){
+			line.append(start).append('\t').append(dest).append("\tnone\t\t\t\t\n");
+			return;
+		}
+		double total = 0;
+		int step = 0;
+		while(route.hasNext()){
+			CampusEdge e = route.next();
+			line.append(start).append('\t').append(dest).append('\t').append(++step).append('\t');
+			FixedFormat.append(line, e.getDistance(), 1).append('\t');
+			line.append(Direction.of(e).name()).append('\t');
+			FixedFormat.append(line, e.getTarget().getX(), 2).append('\t');
+			FixedFormat.append(line, e.getTarget().getY(), 2).append('\n');
+			total += e.getDistance();
+			edges++;
+			spill();
+		}
+		line.append(start).append('\t').append(dest).append("\ttotal\t");
+		FixedFormat.append(line, total, 1).append("\t\t\t\n");
+	}
+	
+	// Writes a route in the JSON format
+	private void writeJson(String start, String dest, Iterator<CampusEdge> route)
+			throws IOException {
+		line.append("{\"start\":");
+		appendJsonString(line, start);
+		line.append(",\"dest\":");
+		appendJsonString(line, dest);
+		if(route == null){
+			line.append(",\"found\":false}\n");
+			return;
+		}
+		line.append(",\"found\":true,\"steps\":[");
+		double total = 0;
+		boolean first = true;
+		while(route.hasNext()){
+			CampusEdge e = route.next();
+			line.append(first ? "{\"feet\":" : ",{\"feet\":");
+			FixedFormat.append(line, e.getDistance(), 1);
+			line.append(",\"direction\":\"").append(Direction.of(e).name()).append("\",\"x\":");
+			FixedFormat.append(line, e.getTarget().getX(), 2).append(",\"y\":");
+			FixedFormat.append(line, e.getTarget().getY(), 2).append('}');
+			first = false;
+			total += e.getDistance();
+			edges++;
+			spill();
+		}
+		line.append("],\"feet\":");
+		FixedFormat.append(line, total, 1).append("}\n");
+	}
+	
+	// Writes a route in the GEOJSON format
+	private void writeGeoJson(String start, String dest, Iterator<CampusEdge> route,
+			EndPoint at) throws IOException {
+		line.append("{\"type\":\"Feature\",\"properties\":{\"start\":");
+		appendJsonString(line, start);
+		line.append(",\"dest\":");
+		appendJsonString(line, dest);
+		if(route == null){
+			line.append(",\"found\":false},\"geometry\":null}\n");
+			return;
+		}
+		double total = 0;
+		RouteGeometry geometry = null;
+		if(route.hasNext()){
+			Counting counting = new Counting(route);
+			geometry = RouteGeometry.of(counting).simplify(tolerance);
+			total = counting.total;
+			edges += counting.count;
+		}
+		line.append(",\"found\":true,\"feet\":");
+		FixedFormat.append(line, total, 1).append("},\"geometry\":");
+		if(geometry == null){
+			if(at == null){
+				line.append("null}\n");
+				return;
+			}
+			line.append("{\"type\":\"Point\",\"coordinates\":");
+			appendPosition(line, at.getX(), at.getY()).append("}}\n");
+			return;
+		}
+		line.append("{\"type\":\"LineString\",\"coordinates\":[");
+		for(int i = 0; i < geometry.size(); i++){
+			if(i > 0){
+				line.append(',');
+			}
+			appendPosition(line, geometry.getX(i), geometry.getY(i));
+			spill();
+		}
+		line.append("]}}\n");
+	}
+
+	// Appends [x,y] to sb
+	private static StringBuilder appendPosition(StringBuilder sb, double x, double y){
+		sb.append('[');
+		FixedFormat.append(sb, x, 2).append(',');
+		return FixedFormat.append(sb, y, 2).append(']');
+	}
+
+	/**
+	 * An iterator over the edges of another, which counts them and adds up their
+	 * distances as they are read
+	 */
+	private static class Counting implements Iterator<CampusEdge> {
+		private final Iterator<CampusEdge> edges;
+		long count;
+		double total;
+
+		Counting(Iterator<CampusEdge> edges){
+			this.edges = edges;
+		}
+
+		public boolean hasNext() {
+			return edges.hasNext();
+		}
+
+		public CampusEdge next() {
+			CampusEdge e = edges.next();
+			count++;
+			total += e.getDistance();
+			return e;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+	
+	// Passes line to out if it has grown long, so long routes use bounded memory
+	private void spill() throws IOException {
+		if(line.length() >= CHUNK){
+			out.append(line);
+			line.setLength(0);
+		}
+	}
+	
+	/**
+	 * Appends the walking direction for one edge to sb, without a line break:
+	 * "    Walk 12.3 feet NE to (1903.72,1952.43)"
+	 * @param sb : where to append the text
+	 * @param e : edge to describe
+	 * @requires sb != null, e != null
+	 * @modifies sb
+	 * @return sb
+	 */
+	static StringBuilder appendStep(StringBuilder sb, CampusEdge e){
+		sb.append("    Walk ");
+		FixedFormat.append(sb, e.getDistance(), 1).append(" feet ");
+		sb.append(Direction.of(e).name()).append(" to (");
+		FixedFormat.append(sb, e.getTarget().getX(), 2).append(',');
+		FixedFormat.append(sb, e.getTarget().getY(), 2).append(')');
+		return sb;
+	}
+	
+	// Appends s to sb as a quoted JSON string
+	private static void appendJsonString(StringBuilder sb, String s){
+		sb.append('"');
+		for(int i = 0; i < s.length(); i++){
+			char c = s.charAt(i);
+			if(c == '"' || c == '\\'){
+				sb.append('\\').append(c);
+			} else if(c < 0x20){
+				sb.append("\\u00");
+				sb.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 15, 16));
+			} else {
+				sb.append(c);
+			}
+		}
+		sb.append('"');
+	}
+
+	/**
+	 * Returns the number of routes written, including missing routes and errors
+	 * @return the number of calls to writeRoute and writeError so far
+	 */
+	public long routeCount(){
+		return routes;
+	}
+
+	/**
+	 * Returns the number of edges written
+	 * @return the total number of edges of the routes written so far
+	 */
+	public long edgeCount(){
+		return edges;
+	}
+
+	/**
+	 * Writes everything buffered so far to the underlying stream
+	 * @throws IOException if the stream can't be written to
+	 */
+	public void flush() throws IOException {
+		out.append(line);
+		line.setLength(0);
+		out.flush();
+	}
+
+	/**
+	 * Writes everything buffered so far and closes the underlying stream
+	 * @throws IOException if the stream can't be written to or closed
+	 */
+	public void close() throws IOException {
+		out.append(line);
+		line.setLength(0);
+		out.close();
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert out != null && format != null && line != null;
+		assert routes >= 0 && edges >= 0 && tolerance >= 0;
+	}
+}
@@ -0,0 +1,184 @@
+package route_finder;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * SegmentIndex is an immutable uniform grid over the straight-line segments of a set
+ * of CampusEdges.  It returns the edges that cross a rectangular window (such as the
+ * visible part of the map) without looking at edges that are far away from it.
+ * <br>
+ * <br>
+ * Each edge is stored in every grid cell that its bounding box overlaps.  A query only
+ * visits the cells overlapping the window, and reports each edge once.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * edges -> the indexed CampusEdges
+ * The grid covers [minX, minX + columns * cellSize) x [minY, minY + rows * cellSize).
+ * Cell (cx, cy) has index c = cy * columns + cx, and contains the edges
+ * edges[cellEdges[i]] for cellStart[c] <= i < cellStart[c + 1].
+ * Coordinates outside the grid are clamped to the cells on its border.
+ *
+ * Representation Invariant:
+ * edges != null, cellStart != null, cellEdges != null
+ * columns >= 1, rows >= 1, cellSize > 0
+ * cellStart.length == columns * rows + 1, and cellStart is non-decreasing
+ * Every edge is contained in exactly the cells overlapped by its bounding box
+ */
+public class SegmentIndex {
+	// target number of edges per cell, used to choose the cell size
+	private static final double EDGES_PER_CELL = 2.0;
+	// upper limit on the number of cells along one side of the grid
+	private static final int MAX_CELLS_PER_SIDE = 2048;
+
+	private final CampusEdge[] edges;
+	private final double minX;
+	private final double minY;
+	private final double cellSize;
+	private final int columns;
+	private final int rows;
+	private final int[] cellStart;
+	private final int[] cellEdges;
+
+	/**
+	 * Constructs an index over the given edges, choosing a cell size that puts a
+	 * small number of edges in each cell.
+	 * @param edges : edges to be indexed
+	 * @requires edges != null, and edges does not contain null
+	 * @throws IllegalArgumentException if edges == null
+	 */
+	public SegmentIndex(Collection<CampusEdge> edges){
+		if(edges == null){
+			throw new IllegalArgumentException("argument should not be null");
+		}
+		this.edges = edges.toArray(new CampusEdge[edges.size()]);
+
+		// bounding box of all edges
+		double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+		double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+		for(CampusEdge e : this.edges){
+			x0 = Math.min(x0, Math.min(e.getSource().x, e.getTarget().x));
+			y0 = Math.min(y0, Math.min(e.getSource().y, e.getTarget().y));
+			x1 = Math.max(x1, Math.max(e.getSource().x, e.getTarget().x));
+			y1 = Math.max(y1, Math.max(e.getSource().y, e.getTarget().y));
+		}
+		if(this.edges.length == 0){
+			x0 = y0 = 0;
+			x1 = y1 = 1;
+		}
+		minX = x0;
+		minY = y0;
+		double width = Math.max(x1 - x0, 1);
+		double height = Math.max(y1 - y0, 1);
+		double size = Math.sqrt(width * height * EDGES_PER_CELL / Math.max(this.edges.length, 1));
+		size = Math.max(size, Math.max(width, height) / MAX_CELLS_PER_SIDE);
+		cellSize = size;
+		columns = (int) (width / size) + 1;
+		rows = (int) (height / size) + 1;
+
+		// count the edges in each cell, then fill the cells (counting sort)
+		cellStart = new int[columns * rows + 1];
+		for(CampusEdge e : this.edges){
+			for(int cy = row(minY(e)); cy <= row(maxY(e)); cy++){
+				for(int cx = column(minX(e)); cx <= column(maxX(e)); cx++){
+					cellStart[cy * columns + cx + 1]++;
+				}
+			}
+		}
+		for(int c = 0; c < columns * rows; c++){
+			cellStart[c + 1] += cellStart[c];
+		}
+		cellEdges = new int[cellStart[columns * rows]];
+		int[] next = new int[columns * rows];
+		System.arraycopy(cellStart, 0, next, 0, next.length);
+		for(int i = 0; i < this.edges.length; i++){
+			CampusEdge e = this.edges[i];
+			for(int cy = row(minY(e)); cy <= row(maxY(e)); cy++){
+				for(int cx = column(minX(e)); cx <= column(maxX(e)); cx++){
+					cellEdges[next[cy * columns + cx]++] = i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of edges in this index
+	 * @return the number of edges in this index
+	 */
+	public int size(){
+		return edges.length;
+	}
+
+	/**
+	 * Returns every indexed edge whose line segment intersects the given rectangle
+	 * (including segments that lie completely inside it), in no particular order.
+	 * Each edge is returned at most once.
+	 * @param x0 : smallest x-coordinate of the rectangle
+	 * @param y0 : smallest y-coordinate of the rectangle
+	 * @param x1 : largest x-coordinate of the rectangle
+	 * @param y1 : largest y-coordinate of the rectangle
+	 * @return list of edges intersecting the rectangle
+	 */
+	public List<CampusEdge> query(double x0, double y0, double x1, double y1){
+		List<CampusEdge> result = new ArrayList<CampusEdge>();
+		if(x1 < x0 || y1 < y0){
+			return result;
+		}
+		Rectangle2D window = new Rectangle2D.Double(x0, y0, x1 - x0, y1 - y0);
+		int c0 = column(x0), c1 = column(x1);
+		int r0 = row(y0), r1 = row(y1);
+		for(int cy = r0; cy <= r1; cy++){
+			for(int cx = c0; cx <= c1; cx++){
+				int c = cy * columns + cx;
+				for(int i = cellStart[c]; i < cellStart[c + 1]; i++){
+					CampusEdge e = edges[cellEdges[i]];
+					// An edge is in every cell its box overlaps, so only report it from the
+					// cell holding the lower corner of the overlap of its box and the window
+					if(column(Math.max(minX(e), x0)) != cx || row(Math.max(minY(e), y0)) != cy){
+						continue;
+					}
+					if(maxX(e) < x0 || minX(e) > x1 || maxY(e) < y0 || minY(e) > y1){
+						continue;
+					}
+					if(window.intersectsLine(e.getSource().x, e.getSource().y,
+							e.getTarget().x, e.getTarget().y)){
+						result.add(e);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	// Returns the grid column containing x, clamped to the grid
+	private int column(double x){
+		int c = (int) Math.floor((x - minX) / cellSize);
+		return Math.min(Math.max(c, 0), columns - 1);
+	}
+
+	// Returns the grid row containing y, clamped to the grid
+	private int row(double y){
+		int r = (int) Math.floor((y - minY) / cellSize);
+		return Math.min(Math.max(r, 0), rows - 1);
+	}
+
+	private static double minX(CampusEdge e){
+		return Math.min(e.getSource().x, e.getTarget().x);
+	}
+
+	private static double maxX(CampusEdge e){
+		return Math.max(e.getSource().x, e.getTarget().x);
+	}
+
+	private static double minY(CampusEdge e){
+		return Math.min(e.getSource().y, e.getTarget().y);
+	}
+
+	private static double maxY(CampusEdge e){
+		return Math.max(e.getSource().y, e.getTarget().y);
+	}
+}
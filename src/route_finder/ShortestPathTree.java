@@ -0,0 +1,157 @@
+package route_finder;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * ShortestPathTree is an immutable record of the least cost routes from one EndPoint of
+ * a CampusNetwork to every other EndPoint.  It is found with one search, after which
+ * the Route to any destination is read off the tree in time proportional to its
+ * number of edges, so many destinations can be routed from the same origin without
+ * searching again.
+ * <br>
+ * <br>
+ * Networks with at least PARALLEL_THRESHOLD nodes are searched with DeltaStepping,
+ * and smaller ones with Dijkstra's algorithm.
+ * @author Janelle Van Hofwegen
+ */
+/*
+ * Abstraction Function:
+ * network.endPoint(source) -> the EndPoint all routes start at
+ * dist[u] -> least cost distance from the source to node u of network, or
+ *            Double.POSITIVE_INFINITY if u can't be reached
+ * predecessor[u] -> the last edge of the least cost route to u, for every reachable
+ *                   u other than source
+ *
+ * Representation Invariant:
+ * network != null
+ * dist.length == predecessor.length == network.nodeCount()
+ * dist[source] == 0
+ */
+public final class ShortestPathTree {
+	// smallest network searched in parallel
+	static final int PARALLEL_THRESHOLD = 100000;
+
+	private final CampusNetwork network;
+	private final int source;
+	private final double[] dist;
+	private final int[] predecessor;
+
+	/**
+	 * Finds the least cost routes from the given node to every node of network
+	 * @param network : network to search
+	 * @param source : id of the node the routes start at
+	 * @requires network != null, 0 <= source < network.nodeCount()
+	 */
+	ShortestPathTree(CampusNetwork network, int source){
+		this.network = network;
+		this.source = source;
+		dist = new double[network.nodeCount()];
+		if(network.nodeCount() >= PARALLEL_THRESHOLD){
+			predecessor = DeltaStepping.shortestPaths(network, source, dist);
+		} else {
+			predecessor = DeltaStepping.dijkstra(network, source, dist);
+		}
+		checkRep();
+	}
+
+	/**
+	 * Returns the EndPoint every route of this tree starts at
+	 * @return the start of every route of this tree
+	 */
+	public EndPoint getStart(){
+		return network.endPoint(source);
+	}
+
+	/**
+	 * Returns whether there is a route from the start of this tree to dest
+	 * @param dest : destination EndPoint
+	 * @throws IllegalArgumentException if dest is not an EndPoint of the network
+	 * @return true if dest can be reached from getStart()
+	 */
+	public boolean canReach(EndPoint dest){
+		return dist[idOf(dest)] != Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Returns the cost of the least cost route from the start of this tree to dest
+	 * @param dest : destination EndPoint
+	 * @throws IllegalArgumentException if dest is not an EndPoint of the network
+	 * @return the cost of the least cost route to dest, or Double.POSITIVE_INFINITY if
+	 * dest can't be reached
+	 */
+	public double costTo(EndPoint dest){
+		return dist[idOf(dest)];
+	}
+
+	/**
+	 * Returns the least cost route from the start of this tree to dest.  Takes time
+	 * proportional to the number of edges of the route.
+	 * @param dest : destination EndPoint
+	 * @throws IllegalArgumentException if dest is not an EndPoint of the network
+	 * @returns null if dest can't be reached
+	 * @returns a Route with no edges if dest is the start of this tree
+	 */
+	public Route routeTo(EndPoint dest){
+		int target = idOf(dest);
+		if(dist[target] == Double.POSITIVE_INFINITY){
+			return null;
+		}
+		int[] path = NetworkSearch.path(network, source, target, predecessor);
+		return network.route(source, path, path.length);
+	}
+
+	/**
+	 * Returns the edges of the least cost route from the start of this tree to dest,
+	 * in order, without making a Route.  Each CampusEdge is made when the iterator
+	 * reaches it, so only the ids of the route's edges are held while it is written out.
+	 * The iterator does not support remove().
+	 * @param dest : destination EndPoint
+	 * @throws IllegalArgumentException if dest is not an EndPoint of the network
+	 * @returns null if dest can't be reached
+	 * @returns an iterator with no edges if dest is the start of this tree
+	 */
+	public Iterator<CampusEdge> edgesTo(EndPoint dest){
+		int target = idOf(dest);
+		if(dist[target] == Double.POSITIVE_INFINITY){
+			return null;
+		}
+		final int[] path = NetworkSearch.path(network, source, target, predecessor);
+		return new Iterator<CampusEdge>() {
+			private int next = 0;
+			
+			public boolean hasNext() {
+				return next < path.length;
+			}
+			
+			public CampusEdge next() {
+				if(next == path.length){
+					throw new NoSuchElementException();
+				}
+				return network.edge(path[next++]);
+			}
+			
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	// Returns the id of p in the network
+	private int idOf(EndPoint p){
+		int id = p == null ? -1 : network.idOf(p);
+		if(id < 0){
+			throw new IllegalArgumentException("EndPoint is not on campus");
+		}
+		return id;
+	}
+
+	/**
+	 *  Throws an exception if the representation invariant is violated.
+	 */
+	private void checkRep(){
+		assert network != null;
+		assert dist.length == predecessor.length && dist.length == network.nodeCount();
+		assert dist[source] == 0;
+	}
+}
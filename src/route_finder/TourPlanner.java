@@ -0,0 +1,249 @@
+package route_finder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * TourPlanner finds a least cost route that starts at one node of a CampusNetwork,
+ * visits a set of stops in any order, and ends at another node.
+ * <br>
+ * <br>
+ * The distances between every pair of points are found with one search from each
+ * point, and these searches run in parallel.  The order of the stops is then chosen
+ * exactly (with the Held-Karp dynamic program) when there are at most EXACT_LIMIT
+ * stops, or with a nearest neighbor tour improved by 2-opt moves when there are more.
+ * @author Janelle Van Hofwegen
+ */
+class TourPlanner {
+	// largest number of stops whose best order is found exactly
+	static final int EXACT_LIMIT = 12;
+	private static final int THREADS = Runtime.getRuntime().availableProcessors();
+	// pool the distance searches run on, made the first time it is needed
+	private static volatile ForkJoinPool sharedPool;
+
+	private TourPlanner(){
+		// static methods only
+	}
+
+	/**
+	 * Finds a route from start to end that passes through every one of the stops.
+	 * @param network : network to search
+	 * @param start : node the route starts at
+	 * @param stops : nodes the route visits, in any order
+	 * @param end : node the route ends at
+	 * @return a Route from start to end through every stop, made of the least cost
+	 * path between each pair of consecutive stops. The order of the stops is optimal
+	 * when stops.length <= EXACT_LIMIT. Returns null if no such route exists.
+	 */
+	static Route plan(CampusNetwork network, int start, int[] stops, int end){
+		int m = stops.length + 2;
+		int[] points = new int[m];
+		points[0] = start;
+		System.arraycopy(stops, 0, points, 1, stops.length);
+		points[m - 1] = end;
+		double[][] cost = new double[m][];
+		int[][] trees = new int[m][];
+		computeMatrix(network, points, cost, trees);
+
+		int[] order = stops.length <= EXACT_LIMIT ? exactOrder(cost) : improvedOrder(cost);
+		if(order == null || tourCost(cost, order) == Double.POSITIVE_INFINITY){
+			return null;
+		}
+		// join the least cost paths between consecutive points of the tour
+		Route route = new Route(network.endPoint(start));
+		int from = 0;
+		for(int i = 0; i <= order.length; i++){
+			int to = i < order.length ? order[i] : m - 1;
+			for(int e : NetworkSearch.path(network, points[from], points[to], trees[from])){
+				route = route.extend(network.edge(e));
+			}
+			from = to;
+		}
+		return route;
+	}
+
+	// Fills cost[i][j] with the distance from points[i] to points[j], and trees[i] with
+	// the path tree grown from points[i], for every point but the last
+	private static void computeMatrix(final CampusNetwork network, final int[] points,
+			final double[][] cost, final int[][] trees){
+		final int[] targets = Arrays.copyOfRange(points, 1, points.length);
+		List<Callable<Void>> rows = new ArrayList<Callable<Void>>();
+		for(int i = 0; i < points.length - 1; i++){
+			final int row = i;
+			rows.add(new Callable<Void>() {
+				public Void call() {
+					double[] dist = new double[network.nodeCount()];
+					trees[row] = NetworkSearch.pathTree(network, points[row], targets, dist);
+					cost[row] = new double[points.length];
+					for(int j = 0; j < points.length; j++){
+						cost[row][j] = dist[points[j]];
+					}
+					return null;
+				}
+			});
+		}
+		int threads = Math.min(THREADS, rows.size());
+		if(threads <= 1){
+			for(Callable<Void> row : rows){
+				try {
+					row.call();
+				} catch (RuntimeException e) {
+					throw e;
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}
+			return;
+		}
+		try {
+			for(Future<Void> f : pool().invokeAll(rows)){
+				f.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while finding distances", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException){
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	// Returns the pool shared by every plan
+	private static ForkJoinPool pool(){
+		ForkJoinPool pool = sharedPool;
+		if(pool == null){
+			synchronized(TourPlanner.class){
+				if(sharedPool == null){
+					sharedPool = new ForkJoinPool(THREADS);
+				}
+				pool = sharedPool;
+			}
+		}
+		return pool;
+	}
+
+	// Returns the total cost of visiting the stops in the given order, where the
+	// stops are points 1 to m - 2, point 0 is the start and point m - 1 is the end
+	private static double tourCost(double[][] cost, int[] order){
+		int from = 0;
+		double total = 0;
+		for(int stop : order){
+			total += cost[from][stop];
+			from = stop;
+		}
+		return total + cost[from][cost.length - 1];
+	}
+
+	// Returns the least cost order of the stops, found with the Held-Karp algorithm,
+	// or null if no order visits every stop
+	private static int[] exactOrder(double[][] cost){
+		int m = cost.length;
+		int s = m - 2;
+		int[] order = new int[s];
+		if(s == 0){
+			return order;
+		}
+		// best[mask][j] is the least cost of leaving the start, visiting the stops in
+		// mask, and finishing at stop j (stop j is point j + 1)
+		double[][] best = new double[1 << s][s];
+		int[][] previous = new int[1 << s][s];
+		for(int mask = 0; mask < (1 << s); mask++){
+			Arrays.fill(best[mask], Double.POSITIVE_INFINITY);
+			Arrays.fill(previous[mask], -1);
+		}
+		for(int j = 0; j < s; j++){
+			best[1 << j][j] = cost[0][j + 1];
+		}
+		for(int mask = 1; mask < (1 << s); mask++){
+			for(int j = 0; j < s; j++){
+				if((mask & (1 << j)) == 0 || best[mask][j] == Double.POSITIVE_INFINITY){
+					continue;
+				}
+				for(int k = 0; k < s; k++){
+					if((mask & (1 << k)) != 0){
+						continue;
+					}
+					int next = mask | (1 << k);
+					double c = best[mask][j] + cost[j + 1][k + 1];
+					if(c < best[next][k]){
+						best[next][k] = c;
+						previous[next][k] = j;
+					}
+				}
+			}
+		}
+		int full = (1 << s) - 1;
+		int last = 0;
+		for(int j = 1; j < s; j++){
+			if(best[full][j] + cost[j + 1][m - 1] < best[full][last] + cost[last + 1][m - 1]){
+				last = j;
+			}
+		}
+		if(best[full][last] + cost[last + 1][m - 1] == Double.POSITIVE_INFINITY){
+			return null;
+		}
+		for(int i = s - 1, mask = full, j = last; i >= 0; i--){
+			order[i] = j + 1;
+			int p = previous[mask][j];
+			mask &= ~(1 << j);
+			j = p;
+		}
+		return order;
+	}
+
+	// Returns a good order of the stops, built by always going to the closest stop not
+	// yet visited and then improved by reversing parts of the tour (2-opt)
+	private static int[] improvedOrder(double[][] cost){
+		int s = cost.length - 2;
+		int[] order = new int[s];
+		boolean[] visited = new boolean[s + 1];
+		int from = 0;
+		for(int i = 0; i < s; i++){
+			int next = -1;
+			for(int j = 1; j <= s; j++){
+				if(!visited[j] && (next < 0 || cost[from][j] < cost[from][next])){
+					next = j;
+				}
+			}
+			visited[next] = true;
+			order[i] = next;
+			from = next;
+		}
+
+		// distances may differ in each direction, so reversed parts are costed in full
+		double current = tourCost(cost, order);
+		boolean improved = true;
+		while(improved){
+			improved = false;
+			for(int i = 0; i < s - 1; i++){
+				for(int j = i + 1; j < s; j++){
+					reverse(order, i, j);
+					double c = tourCost(cost, order);
+					if(c < current){
+						current = c;
+						improved = true;
+					} else {
+						reverse(order, i, j);
+					}
+				}
+			}
+		}
+		return order;
+	}
+
+	// Reverses order[i..j]
+	private static void reverse(int[] order, int i, int j){
+		for(; i < j; i++, j--){
+			int t = order[i];
+			order[i] = order[j];
+			order[j] = t;
+		}
+	}
+}
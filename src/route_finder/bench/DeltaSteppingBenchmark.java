@@ -0,0 +1,150 @@
+package route_finder.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import graph.DirectedGraph;
+import graph.Edge;
+import route_finder.*;
+
+/**
+ * DeltaSteppingBenchmark compares the time taken to find the distances from one node
+ * to every other node with Dijkstra's algorithm and with DeltaStepping on pools of
+ * several sizes, on the campus map and on square grids with random walkway lengths.
+ * Every result is checked against Dijkstra's algorithm.
+ * <br>
+ * <br>
+ * Run from the directory holding the campus data files:
+ * java route_finder.bench.DeltaSteppingBenchmark [grid width ...]
+ * @author Janelle Van Hofwegen
+ */
+public class DeltaSteppingBenchmark {
+	private static final int[] DEFAULT_WIDTHS = {300, 1000};
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args){
+		int[] widths = DEFAULT_WIDTHS;
+		if(args.length > 0){
+			widths = new int[args.length];
+			for(int i = 0; i < args.length; i++){
+				widths[i] = Integer.parseInt(args[i]);
+			}
+		}
+		int processors = Runtime.getRuntime().availableProcessors();
+		List<Integer> threads = new ArrayList<Integer>();
+		for(int t = 1; t < processors; t *= 2){
+			threads.add(t);
+		}
+		threads.add(processors);
+
+		System.out.println("processors: " + processors);
+		System.out.print("network\tnodes\tedges\tdijkstra ms");
+		for(int t : threads){
+			System.out.print("\t" + t + " thread ms");
+		}
+		System.out.println();
+		run("campus", campus(), threads);
+		for(int width : widths){
+			run(width + "x" + width, grid(width, width), threads);
+		}
+	}
+
+	// Times the searches on network and prints one row of results
+	private static void run(String name, CampusNetwork network, List<Integer> threads){
+		int n = network.nodeCount();
+		double[] expected = new double[n];
+		double[] dist = new double[n];
+		Random random = new Random(40);
+		int[] sources = new int[ROUNDS];
+		for(int i = 0; i < ROUNDS; i++){
+			sources[i] = random.nextInt(n);
+		}
+		// warm up once, then report the mean of the timed rounds
+		DeltaStepping.dijkstra(network, sources[0], expected);
+		long total = 0;
+		for(int source : sources){
+			long start = System.nanoTime();
+			DeltaStepping.dijkstra(network, source, expected);
+			total += System.nanoTime() - start;
+		}
+		System.out.print(name + "\t" + n + "\t" + network.edgeCount() + "\t" +
+				millis(total / ROUNDS));
+		for(int t : threads){
+			ForkJoinPool pool = new ForkJoinPool(t);
+			DeltaStepping.shortestPaths(network, sources[0],
+					DeltaStepping.defaultDelta(network), pool, dist);
+			total = 0;
+			for(int source : sources){
+				long start = System.nanoTime();
+				DeltaStepping.shortestPaths(network, source,
+						DeltaStepping.defaultDelta(network), pool, dist);
+				total += System.nanoTime() - start;
+				DeltaStepping.dijkstra(network, source, expected);
+				check(expected, dist);
+			}
+			pool.shutdown();
+			System.out.print("\t" + millis(total / ROUNDS));
+		}
+		System.out.println();
+	}
+
+	// Throws an exception if the distances differ
+	private static void check(double[] expected, double[] dist){
+		for(int u = 0; u < expected.length; u++){
+			if(Math.abs(expected[u] - dist[u]) > 1e-6){
+				throw new IllegalStateException("distance to " + u + " is " + dist[u] +
+						", expected " + expected[u]);
+			}
+		}
+	}
+
+	// Returns the network of the campus map
+	private static CampusNetwork campus(){
+		EndPointRegistry registry = new EndPointRegistry();
+		CampusDataParser.parseBuildingData(registry);
+		List<Edge> paths = new ArrayList<Edge>();
+		CampusDataParser.parsePathsData(paths, new ArrayList<EndPoint>(), registry);
+		return network(registry, paths);
+	}
+
+	// Returns a width x height grid with walkways both ways between neighbours, of
+	// random lengths between 10 and 50 feet
+	private static CampusNetwork grid(int width, int height){
+		Random random = new Random(width * 31 + height);
+		EndPointRegistry registry = new EndPointRegistry();
+		List<Edge> edges = new ArrayList<Edge>(width * height * 4);
+		for(int x = 0; x < width; x++){
+			for(int y = 0; y < height; y++){
+				EndPoint p = registry.intern(x * 30, y * 30);
+				if(x > 0){
+					EndPoint q = registry.intern((x - 1) * 30, y * 30);
+					double d = 10 + random.nextDouble() * 40;
+					edges.add(new CampusEdge(p, q, d));
+					edges.add(new CampusEdge(q, p, d));
+				}
+				if(y > 0){
+					EndPoint q = registry.intern(x * 30, (y - 1) * 30);
+					double d = 10 + random.nextDouble() * 40;
+					edges.add(new CampusEdge(p, q, d));
+					edges.add(new CampusEdge(q, p, d));
+				}
+			}
+		}
+		return network(registry, edges);
+	}
+
+	// Returns a network of the points of registry and the given edges
+	private static CampusNetwork network(EndPointRegistry registry, List<Edge> edges){
+		DirectedGraph<EndPoint> graph = new DirectedGraph.Builder<EndPoint>(
+				registry.size(), edges.size()).addNodes(registry.endPoints())
+				.addEdges(edges).build();
+		return new CampusNetwork(registry, graph);
+	}
+
+	// Returns the given number of nanoseconds in milliseconds
+	private static String millis(long nanos){
+		return String.format("%.1f", nanos / 1e6);
+	}
+}
@@ -0,0 +1,96 @@
+package route_finder.bench;
+
+import graph.DirectedGraph;
+import graph.Edge;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import route_finder.*;
+
+/**
+ * GraphMemoryBenchmark measures the heap used by the campus graph when every edge is
+ * stored separately and when reverse edges are shared, and the heap used by a whole
+ * RouteModel.
+ * <br>
+ * <br>
+ * Run from the directory holding the campus data files:
+ * java route_finder.bench.GraphMemoryBenchmark
+ * @author Janelle Van Hofwegen
+ */
+public class GraphMemoryBenchmark {
+
+	public static void main(String[] args){
+		EndPointRegistry registry = new EndPointRegistry();
+		CampusDataParser.parseBuildingData(registry);
+		final List<Edge> paths = new ArrayList<Edge>();
+		CampusDataParser.parsePathsData(paths, new ArrayList<EndPoint>(), registry);
+		final List<EndPoint> endPoints = registry.endPoints();
+		System.out.println("nodes: " + endPoints.size() + ", edges: " + paths.size());
+
+		// each graph is given its own copies of the edges, so that edge objects which
+		// the graph does not keep are garbage by the time it is measured
+		long separate = retained(new Factory() {
+			public Object create() {
+				return new DirectedGraph<EndPoint>(endPoints, copy(paths), false);
+			}
+		});
+		long shared = retained(new Factory() {
+			public Object create() {
+				return new DirectedGraph<EndPoint>(endPoints, copy(paths), true);
+			}
+		});
+		System.out.println("graph, separate edges: " + kb(separate) + " KB");
+		System.out.println("graph, shared reverse edges: " + kb(shared) + " KB");
+		long model = retained(new Factory() {
+			public Object create() {
+				return new RouteModel();
+			}
+		});
+		System.out.println("RouteModel: " + kb(model) + " KB");
+	}
+
+	// Returns new CampusEdges equal to the given edges
+	private static List<Edge> copy(List<Edge> edges){
+		List<Edge> copies = new ArrayList<Edge>(edges.size());
+		for(Edge e : edges){
+			CampusEdge c = (CampusEdge) e;
+			copies.add(new CampusEdge(c.getSource(), c.getTarget(), c.getDistance()));
+		}
+		return copies;
+	}
+
+	// Creates the object to be measured
+	private interface Factory {
+		Object create();
+	}
+
+	// Returns the number of bytes of heap kept alive by the object made by factory
+	// (the median of several measurements)
+	private static long retained(Factory factory){
+		long[] sizes = new long[5];
+		for(int i = 0; i < sizes.length; i++){
+			long before = used();
+			Object o = factory.create();
+			sizes[i] = used() - before;
+			Reference.reachabilityFence(o); // keeps o reachable until after measuring
+		}
+		Arrays.sort(sizes);
+		return sizes[sizes.length / 2];
+	}
+
+	// Returns the heap in use after collecting garbage
+	private static long used(){
+		Runtime runtime = Runtime.getRuntime();
+		for(int i = 0; i < 4; i++){
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static long kb(long bytes){
+		return bytes / 1024;
+	}
+}
@@ -0,0 +1,103 @@
+package route_finder.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import route_finder.*;
+
+/**
+ * KShortestBenchmark measures how long RouteModel.findLeastCostPaths takes on the
+ * campus map for several values of k, over every pair of buildings.  It also checks
+ * that every result is ordered by cost, loopless, and starts with the least cost path.
+ * <br>
+ * <br>
+ * Run from the directory holding the campus data files:
+ * java route_finder.bench.KShortestBenchmark [k ...]
+ * @author Janelle Van Hofwegen
+ */
+public class KShortestBenchmark {
+	private static final int[] DEFAULT_KS = {1, 2, 3, 5, 10};
+	private static final int WARMUP_ROUNDS = 2;
+
+	public static void main(String[] args){
+		int[] ks = DEFAULT_KS;
+		if(args.length > 0){
+			ks = new int[args.length];
+			for(int i = 0; i < args.length; i++){
+				ks[i] = Integer.parseInt(args[i]);
+			}
+		}
+		RouteModel model = new RouteModel();
+		List<String> names = new ArrayList<String>();
+		for(Building b : model.getBuildings()){
+			names.add(b.shortName);
+		}
+
+		for(int round = 0; round < WARMUP_ROUNDS; round++){
+			run(model, names, ks[ks.length - 1], null);
+		}
+		System.out.println("pairs: " + names.size() * names.size());
+		System.out.println("k\tmean us\tp50 us\tp99 us\tmax us\troutes");
+		for(int k : ks){
+			long[] times = new long[names.size() * names.size()];
+			int routes = run(model, names, k, times);
+			Arrays.sort(times);
+			long total = 0;
+			for(long t : times){
+				total += t;
+			}
+			System.out.println(k + "\t" + micros(total / times.length) + "\t" +
+					micros(times[times.length / 2]) + "\t" +
+					micros(times[times.length * 99 / 100]) + "\t" +
+					micros(times[times.length - 1]) + "\t" + routes);
+		}
+	}
+
+	// Finds k routes between every pair of buildings, storing each query's time in
+	// times (if not null). Returns the number of routes found.
+	private static int run(RouteModel model, List<String> names, int k, long[] times){
+		int count = 0;
+		int i = 0;
+		for(String a : names){
+			for(String b : names){
+				long start = System.nanoTime();
+				List<Route> routes = model.findLeastCostPaths(a, b, k);
+				long time = System.nanoTime() - start;
+				if(times != null){
+					times[i++] = time;
+				}
+				check(model, a, b, routes);
+				count += routes.size();
+			}
+		}
+		return count;
+	}
+
+	// Throws an exception if routes is not a valid k shortest paths result
+	private static void check(RouteModel model, String a, String b, List<Route> routes){
+		Route best = model.findLeastCostPath(a, b);
+		if(best == null ? !routes.isEmpty() : routes.get(0).getCost() != best.getCost()){
+			throw new IllegalStateException("first route is not the least cost route " + a + " " + b);
+		}
+		for(int i = 0; i < routes.size(); i++){
+			Route r = routes.get(i);
+			if(i > 0 && r.getCost() < routes.get(i - 1).getCost()){
+				throw new IllegalStateException("routes out of order " + a + " " + b);
+			}
+			Set<EndPoint> visited = new HashSet<EndPoint>();
+			visited.add(r.getStart());
+			for(CampusEdge e : r.getPaths()){
+				if(!visited.add(e.getTarget())){
+					throw new IllegalStateException("route has a loop " + a + " " + b);
+				}
+			}
+		}
+	}
+
+	private static String micros(long nanos){
+		return String.valueOf(nanos / 1000);
+	}
+}
@@ -0,0 +1,176 @@
+package route_finder.bench;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import route_finder.*;
+
+/**
+ * MapLoadBenchmark measures how fast a large map made by MapGenerator is read from
+ * each kind of MapDataSource: text files, gzip compressed text files, text in
+ * memory, and a snapshot.  For each it reports the time to read the map alone and
+ * the time to build a RouteModel from it.  As a baseline it also reads the paths
+ * file the way CampusDataParser did before MapDataSource, splitting every line with
+ * a regular expression.
+ * <br>
+ * <br>
+ * java route_finder.bench.MapLoadBenchmark [grid width]
+ * @author Janelle Van Hofwegen
+ */
+public class MapLoadBenchmark {
+	private static final int DEFAULT_WIDTH = 500;
+	private static final int BUILDINGS = 1000;
+	private static final int ROUNDS = 3;
+
+	public static void main(String[] args) throws IOException {
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WIDTH;
+		File buildings = temp(".txt");
+		File paths = temp(".txt");
+		File buildingsGz = temp(".txt.gz");
+		File pathsGz = temp(".txt.gz");
+		File snapshot = temp(".map");
+		long walkways = MapGenerator.grid(width, width, 0.25, 47).write(BUILDINGS,
+				buildings.getPath(), paths.getPath());
+		gzip(buildings, buildingsGz);
+		gzip(paths, pathsGz);
+		MapDataSource text = MapDataSource.file(buildings.getPath(), paths.getPath());
+		text.writeSnapshot(snapshot.getPath());
+		MapDataSource memory = MapDataSource.bytes(read(buildings), read(paths));
+		MapDataSource[] sources = {text, MapDataSource.file(buildingsGz.getPath(), pathsGz.getPath()),
+				memory, MapDataSource.snapshot(snapshot.getPath())};
+		String[] names = {"text", "gzip", "memory", "snapshot"};
+		long[] sizes = {buildings.length() + paths.length(), buildingsGz.length() + pathsGz.length(),
+				buildings.length() + paths.length(), snapshot.length()};
+
+		System.out.println(width + "x" + width + " grid: " + walkways + " walkways");
+		System.out.println("source\tMB\tread ms\tmodel ms");
+		for(int round = 0; round < ROUNDS; round++){
+			boolean report = round == ROUNDS - 1;
+			long start = System.nanoTime();
+			long count = parseOld(paths);
+			if(count != walkways){
+				throw new IllegalStateException("old parser read " + count + " walkways");
+			}
+			if(report){
+				System.out.println("old text\t" + megabytes(sizes[0]) + "\t" +
+						millis(System.nanoTime() - start) + "\t");
+			}
+			for(int i = 0; i < sources.length; i++){
+				start = System.nanoTime();
+				Counter counter = new Counter();
+				sources[i].read(counter);
+				long read = System.nanoTime() - start;
+				if(counter.walkways != walkways){
+					throw new IllegalStateException(names[i] + " read " + counter.walkways + " walkways");
+				}
+				start = System.nanoTime();
+				new RouteModel(sources[i]);
+				long model = System.nanoTime() - start;
+				if(report){
+					System.out.println(names[i] + "\t" + megabytes(sizes[i]) + "\t" + millis(read) +
+							"\t" + millis(model));
+				}
+			}
+		}
+	}
+
+	// Reads the paths file the way CampusDataParser used to, returning the walkway count
+	private static long parseOld(File file) throws IOException {
+		BufferedReader rdr = new BufferedReader(new InputStreamReader(new FileInputStream(file)));
+		long count = 0;
+		double sum = 0;
+		try {
+			String sourceCoordinate = rdr.readLine();
+			while(sourceCoordinate != null){
+				String[] sourceTokens = sourceCoordinate.split("[,]");
+				sum += Double.parseDouble(sourceTokens[0]) + Double.parseDouble(sourceTokens[1]);
+				String next = rdr.readLine().trim();
+				String[] tokens = next.split("[ \t,:]+");
+				while(next != null && tokens.length == 3){
+					sum += Double.parseDouble(tokens[0]) + Double.parseDouble(tokens[1]) +
+							Double.parseDouble(tokens[2]);
+					count++;
+					next = rdr.readLine();
+					if(next != null){
+						next = next.trim();
+						tokens = next.split("[ \t,:]+");
+					}
+				}
+				sourceCoordinate = next;
+			}
+		} finally {
+			rdr.close();
+		}
+		return sum > 0 ? count : -count;
+	}
+
+	/**
+	 * A Handler that only counts what it is given
+	 */
+	private static class Counter implements MapDataSource.Handler {
+		long buildings;
+		long points;
+		long walkways;
+
+		public void building(double x, double y, String shortName, String longName){
+			buildings++;
+		}
+
+		public void point(double x, double y){
+			points++;
+		}
+
+		public void walkway(double x, double y, double distance){
+			walkways++;
+		}
+	}
+
+	// Returns a new temporary file, deleted on exit
+	private static File temp(String suffix) throws IOException {
+		File f = File.createTempFile("mapload", suffix);
+		f.deleteOnExit();
+		return f;
+	}
+
+	// Writes a gzip compressed copy of from to to
+	private static void gzip(File from, File to) throws IOException {
+		OutputStream out = new GZIPOutputStream(new FileOutputStream(to), 1 << 16);
+		try {
+			out.write(read(from));
+		} finally {
+			out.close();
+		}
+	}
+
+	// Returns the contents of the given file
+	private static byte[] read(File file) throws IOException {
+		byte[] bytes = new byte[(int) file.length()];
+		InputStream in = new FileInputStream(file);
+		try {
+			int n = 0;
+			while(n < bytes.length){
+				n += in.read(bytes, n, bytes.length - n);
+			}
+		} finally {
+			in.close();
+		}
+		return bytes;
+	}
+
+	// Returns the given number of bytes in megabytes
+	private static String megabytes(long bytes){
+		return String.format("%.1f", bytes / 1e6);
+	}
+
+	// Returns the given number of nanoseconds in whole milliseconds
+	private static String millis(long nanos){
+		return Long.toString(Math.round(nanos / 1e6));
+	}
+}
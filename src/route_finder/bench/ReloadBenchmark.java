@@ -0,0 +1,93 @@
+package route_finder.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import route_finder.*;
+
+/**
+ * ReloadBenchmark measures reloading a large map made by MapGenerator while route
+ * queries keep running on another thread.  For each reload it reports the time the
+ * reload took and the peak heap it used, and afterwards the query latency seen
+ * during the reloads, to show that queries are never stopped to wait for one.
+ * <br>
+ * <br>
+ * java route_finder.bench.ReloadBenchmark [grid width] [reloads]
+ * @author Janelle Van Hofwegen
+ */
+public class ReloadBenchmark {
+	private static final int DEFAULT_WIDTH = 300;
+	private static final int DEFAULT_RELOADS = 3;
+	private static final int BUILDINGS = 200;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int width = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WIDTH;
+		int reloads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_RELOADS;
+		File buildings = File.createTempFile("reload", ".txt");
+		File paths = File.createTempFile("reload", ".txt");
+		buildings.deleteOnExit();
+		paths.deleteOnExit();
+		long walkways = MapGenerator.grid(width, width, 0.25, 48).write(BUILDINGS,
+				buildings.getPath(), paths.getPath());
+		final MapReloader maps = new MapReloader(buildings.getPath(), paths.getPath());
+		System.out.println(width + "x" + width + " grid: " + walkways + " walkways");
+
+		// queries run until every reload is done
+		final List<Long> latencies = new ArrayList<Long>();
+		final boolean[] done = new boolean[1];
+		Thread queries = new Thread(new Runnable() {
+			public void run() {
+				Random random = new Random(48);
+				while(true){
+					synchronized(done){
+						if(done[0]){
+							return;
+						}
+					}
+					String a = "B" + pad(1 + random.nextInt(BUILDINGS));
+					String b = "B" + pad(1 + random.nextInt(BUILDINGS));
+					long start = System.nanoTime();
+					maps.current().findLeastCostPath(a, b);
+					latencies.add(System.nanoTime() - start);
+				}
+			}
+		});
+		queries.start();
+		for(int i = 0; i < reloads; i++){
+			MapReloader.Reload reload = maps.reload();
+			System.out.println(reload);
+		}
+		synchronized(done){
+			done[0] = true;
+		}
+		queries.join();
+
+		long[] sorted = new long[latencies.size()];
+		for(int i = 0; i < sorted.length; i++){
+			sorted[i] = latencies.get(i);
+		}
+		Arrays.sort(sorted);
+		System.out.println(sorted.length + " queries during reloads: p50 " +
+				millis(sorted[sorted.length / 2]) + " ms, p99 " +
+				millis(sorted[(int) (sorted.length * 0.99)]) + " ms, max " +
+				millis(sorted[sorted.length - 1]) + " ms");
+	}
+
+	// Returns the number of a building, padded with zeros as MapGenerator names them
+	private static String pad(int number){
+		String s = Integer.toString(number);
+		while(s.length() < Integer.toString(BUILDINGS).length()){
+			s = "0" + s;
+		}
+		return s;
+	}
+
+	// Returns the given number of nanoseconds in milliseconds
+	private static String millis(long nanos){
+		return String.format("%.2f", nanos / 1e6);
+	}
+}
@@ -0,0 +1,75 @@
+package route_finder.bench;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import route_finder.*;
+
+/**
+ * RouteGeometryBenchmark measures how much RouteGeometry simplifies campus routes:
+ * for routes from a number of EndPoints to every EndPoint of the campus, it reports
+ * the number of points left at several tolerances (the number of lines drawn for
+ * the routes), the time taken to simplify, and the size of the routes written as
+ * JSON steps and as GEOJSON lines.
+ * <br>
+ * <br>
+ * Run from the directory holding the campus data files:
+ * java route_finder.bench.RouteGeometryBenchmark [origins]
+ * @author Janelle Van Hofwegen
+ */
+public class RouteGeometryBenchmark {
+	private static final int DEFAULT_ORIGINS = 20;
+	private static final double[] TOLERANCES = {0, 1, 2.5, 5, 10};
+
+	public static void main(String[] args) throws IOException {
+		int origins = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ORIGINS;
+		RouteModel model = new RouteModel();
+		List<EndPoint> points = model.endPointsWithin(0, 0, Double.MAX_VALUE);
+		List<Route> routes = new ArrayList<Route>();
+		long edges = 0;
+		for(EndPoint start : points.subList(0, Math.min(origins, points.size()))){
+			ShortestPathTree tree = model.shortestPathTree(start);
+			for(EndPoint dest : points){
+				Route r = tree.routeTo(dest);
+				if(r != null){
+					routes.add(r);
+					edges += r.size();
+				}
+			}
+		}
+		System.out.println("routes: " + routes.size() + ", edges (lines drawn before): " + edges);
+		System.out.println("tolerance\tpoints\tlines\tms");
+		for(double tolerance : TOLERANCES){
+			long start = System.nanoTime();
+			long lines = 0;
+			long kept = 0;
+			for(Route r : routes){
+				RouteGeometry g = RouteGeometry.of(r).simplify(tolerance);
+				kept += g.size();
+				lines += g.size() - 1;
+			}
+			System.out.println(tolerance + "\t" + kept + "\t" + lines + "\t" +
+					Math.round((System.nanoTime() - start) / 1e6));
+		}
+		System.out.println("format\tMB");
+		StringWriter json = new StringWriter();
+		RouteWriter writer = new RouteWriter(json, RouteWriter.Format.JSON);
+		for(Route r : routes){
+			writer.writeRoute("A", "B", r);
+		}
+		writer.flush();
+		System.out.println("JSON\t" + String.format("%.1f", json.getBuffer().length() / 1e6));
+		for(double tolerance : TOLERANCES){
+			StringWriter geo = new StringWriter();
+			writer = new RouteWriter(geo, RouteWriter.Format.GEOJSON, tolerance);
+			for(Route r : routes){
+				writer.writeRoute("A", "B", r);
+			}
+			writer.flush();
+			System.out.println("GEOJSON " + tolerance + "\t" +
+					String.format("%.1f", geo.getBuffer().length() / 1e6));
+		}
+	}
+}
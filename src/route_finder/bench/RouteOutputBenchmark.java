@@ -0,0 +1,166 @@
+package route_finder.bench;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import route_finder.*;
+
+/**
+ * RouteOutputBenchmark measures how fast routes are written as walking directions,
+ * comparing the old way (String.format for every edge) with RouteWriter in each of
+ * its formats, and writing routes merged into maneuvers by Instructions.  Routes
+ * from a number of EndPoints to every EndPoint of the campus are written to a
+ * stream that only counts characters, and the old and new walking directions are
+ * checked to be identical.
+ * <br>
+ * <br>
+ * Run from the directory holding the campus data files:
+ * java route_finder.bench.RouteOutputBenchmark [origins]
+ * @author Janelle Van Hofwegen
+ */
+public class RouteOutputBenchmark {
+	private static final int DEFAULT_ORIGINS = 20;
+	private static final int ROUNDS = 3;
+
+	public static void main(String[] args) throws IOException {
+		int origins = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ORIGINS;
+		RouteModel model = new RouteModel();
+		List<EndPoint> points = model.endPointsWithin(0, 0, Double.MAX_VALUE);
+		List<Route> routes = new ArrayList<Route>();
+		for(EndPoint start : points.subList(0, Math.min(origins, points.size()))){
+			ShortestPathTree tree = model.shortestPathTree(start);
+			for(EndPoint dest : points){
+				routes.add(tree.routeTo(dest));
+			}
+		}
+		// check on the first thousand routes that the text is unchanged
+		StringBuilder old = new StringBuilder();
+		StringWriter now = new StringWriter();
+		RouteWriter check = new RouteWriter(now);
+		for(Route r : routes.subList(0, Math.min(1000, routes.size()))){
+			writeOld(old, r);
+			check.writeRoute("A", "B", r);
+		}
+		check.flush();
+		if(!old.toString().equals(now.toString())){
+			throw new IllegalStateException("RouteWriter text differs from String.format");
+		}
+
+		System.out.println("routes: " + routes.size());
+		System.out.println("output\tms\troutes/s\tMB/s");
+		for(int round = 0; round < ROUNDS; round++){
+			boolean report = round == ROUNDS - 1;
+			CountingWriter sink = new CountingWriter();
+			long start = System.nanoTime();
+			StringBuilder sb = new StringBuilder();
+			for(Route r : routes){
+				writeOld(sb, r);
+				sink.append(sb);
+				sb.setLength(0);
+			}
+			print(report, "String.format", System.nanoTime() - start, routes.size(), sink.count);
+			for(RouteWriter.Format format : RouteWriter.Format.values()){
+				sink = new CountingWriter();
+				start = System.nanoTime();
+				RouteWriter writer = new RouteWriter(sink, format);
+				for(Route r : routes){
+					writer.writeRoute("A", "B", r);
+				}
+				writer.flush();
+				print(report, format.toString(), System.nanoTime() - start, routes.size(), sink.count);
+			}
+			sink = new CountingWriter();
+			start = System.nanoTime();
+			RouteWriter merged = new RouteWriter(sink);
+			long maneuvers = 0;
+			for(Route r : routes){
+				Instructions steps = r == null ? null : Instructions.compile(r);
+				maneuvers += steps == null ? 0 : steps.size();
+				merged.writeRoute("A", "B", steps);
+			}
+			merged.flush();
+			print(report, "TEXT merged", System.nanoTime() - start, routes.size(), sink.count);
+			if(report){
+				System.out.println("steps: " + edges(routes) + " edges, " + maneuvers + " maneuvers");
+			}
+		}
+	}
+
+	// Appends r to sb the way routes were written before RouteWriter, with String.format
+	private static void writeOld(StringBuilder sb, Route r){
+		if(r == null){
+			sb.append("No route from A to B\n");
+			return;
+		}
+		sb.append("Path from A to B:\n");
+		for(CampusEdge e : r){
+			sb.append(String.format("    Walk %.1f feet " + direction(e) + " to (%.2f,%.2f)",
+					e.getDistance(), e.getTarget().getX(), e.getTarget().getY()));
+			sb.append('\n');
+		}
+		sb.append(String.format("Total distance: %.1f feet", r.getCost())).append("\n\n");
+	}
+
+	// Returns the direction of e, built the way RouteViewer used to build it
+	private static String direction(CampusEdge e){
+		String direction = "";
+		if(e.getTarget().getY() < e.getSource().getY()){
+			direction+="N";
+		} else{
+			direction+="S";
+		}
+		if(e.getTarget().getX() < e.getSource().getX()){
+			direction+="W";
+		} else if(e.getTarget().getX() > e.getSource().getX()){
+			direction+="E";
+		}
+		return direction;
+	}
+
+	// Returns the number of edges of the given routes
+	private static long edges(List<Route> routes){
+		long edges = 0;
+		for(Route r : routes){
+			edges += r == null ? 0 : r.size();
+		}
+		return edges;
+	}
+
+	// Prints one row of results if report is true
+	private static void print(boolean report, String name, long nanos, int routes, long chars){
+		if(report){
+			double seconds = nanos / 1e9;
+			System.out.println(name + "\t" + Math.round(nanos / 1e6) + "\t" +
+					Math.round(routes / seconds) + "\t" + String.format("%.1f", chars / 1e6 / seconds));
+		}
+	}
+
+	/**
+	 * A Writer that throws away what is written, counting the characters
+	 */
+	private static class CountingWriter extends Writer {
+		long count;
+
+		public void write(char[] cbuf, int off, int len){
+			count += len;
+		}
+
+		public void write(String str, int off, int len){
+			count += len;
+		}
+
+		public Writer append(CharSequence csq){
+			count += csq.length();
+			return this;
+		}
+
+		public void flush(){
+		}
+
+		public void close(){
+		}
+	}
+}
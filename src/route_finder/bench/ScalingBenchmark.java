@@ -0,0 +1,145 @@
+package route_finder.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import graph.DirectedGraph;
+import graph.Edge;
+import route_finder.*;
+
+/**
+ * ScalingBenchmark measures how RouteModel and DirectedGraph scale with the size of
+ * the map, on grids and random geometric maps made by MapGenerator.  For each map it
+ * reports the time taken to write and parse the data files, to build a RouteModel
+ * and the heap it holds, the time of a route query between random buildings, and
+ * the time to build a DirectedGraph of the walkways and to find least paths
+ * (fewest walkways) on it.
+ * <br>
+ * <br>
+ * Maps are named "grid:width" (a width by width grid) or "geometric:points" (a
+ * random geometric map with an average of 6 walkways per point).  The data files are
+ * written to a temporary directory and deleted afterwards.
+ * <br>
+ * <br>
+ * java route_finder.bench.ScalingBenchmark [map ...]
+ * @author Janelle Van Hofwegen
+ */
+public class ScalingBenchmark {
+	private static final String[] DEFAULT_MAPS = {"grid:100", "grid:300", "grid:700",
+		"geometric:10000", "geometric:100000", "geometric:400000"};
+	private static final double DEGREE = 6;
+	private static final int BUILDINGS = 1000;
+	private static final int QUERIES = 20;
+
+	public static void main(String[] args) throws IOException {
+		String[] maps = args.length > 0 ? args : DEFAULT_MAPS;
+		System.out.println("map\tpoints\twalkways\twrite ms\tfile MB\tparse ms\tmodel ms" +
+				"\tmodel MB\troute ms\tgraph ms\tbfs ms");
+		for(String map : maps){
+			run(map);
+		}
+	}
+
+	// Makes the given map, measures it, and prints one row of results
+	private static void run(String map) throws IOException {
+		String[] parts = map.split(":");
+		int size = Integer.parseInt(parts[1]);
+		MapGenerator generator;
+		if(parts[0].equals("grid")){
+			generator = MapGenerator.grid(size, size, 0.25, 46);
+		} else if(parts[0].equals("geometric")){
+			generator = MapGenerator.randomGeometric(size, DEGREE, 46);
+		} else {
+			throw new IllegalArgumentException("unknown map " + map);
+		}
+		File buildingsFile = File.createTempFile("buildings", ".txt");
+		File pathsFile = File.createTempFile("paths", ".txt");
+		try {
+			int buildings = Math.min(BUILDINGS, generator.pointCount() / 4);
+			long start = System.nanoTime();
+			long walkways = generator.write(buildings, buildingsFile.getPath(), pathsFile.getPath());
+			long write = System.nanoTime() - start;
+			generator = null;
+
+			start = System.nanoTime();
+			EndPointRegistry registry = new EndPointRegistry();
+			Set<Building> parsed = CampusDataParser.parseBuildingData(buildingsFile.getPath(), registry);
+			List<EndPoint> endPoints = new ArrayList<EndPoint>();
+			List<Edge> paths = new ArrayList<Edge>();
+			CampusDataParser.parsePathsData(pathsFile.getPath(), paths, endPoints, registry);
+			long parse = System.nanoTime() - start;
+
+			// graph of the walkways alone, searched for fewest walkways
+			start = System.nanoTime();
+			DirectedGraph<EndPoint> graph = new DirectedGraph.Builder<EndPoint>(
+					registry.size(), paths.size()).addNodes(registry.endPoints())
+					.addEdges(paths).build();
+			long build = System.nanoTime() - start;
+			List<Building> names = new ArrayList<Building>(parsed);
+			Random random = new Random(46);
+			Building[][] queries = new Building[QUERIES][];
+			for(int i = 0; i < QUERIES; i++){
+				queries[i] = new Building[] {names.get(random.nextInt(names.size())),
+						names.get(random.nextInt(names.size()))};
+			}
+			long[] bfs = new long[QUERIES];
+			for(int i = 0; i < QUERIES; i++){
+				start = System.nanoTime();
+				graph.leastPaths(queries[i][0], queries[i][1]);
+				bfs[i] = System.nanoTime() - start;
+			}
+			graph = null;
+			paths = null;
+			endPoints = null;
+			registry = null;
+
+			long before = usedMemory();
+			start = System.nanoTime();
+			RouteModel model = new RouteModel(buildingsFile.getPath(), pathsFile.getPath());
+			long load = System.nanoTime() - start;
+			long held = usedMemory() - before;
+			long[] routes = new long[QUERIES];
+			for(int i = 0; i < QUERIES; i++){
+				start = System.nanoTime();
+				model.findLeastCostPath(queries[i][0].shortName, queries[i][1].shortName);
+				routes[i] = System.nanoTime() - start;
+			}
+
+			System.out.println(map + "\t" + model.endPointsWithin(0, 0, Double.MAX_VALUE).size() +
+					"\t" + walkways + "\t" + millis(write) + "\t" +
+					String.format("%.1f", (buildingsFile.length() + pathsFile.length()) / 1e6) +
+					"\t" + millis(parse) + "\t" + millis(load) + "\t" +
+					String.format("%.1f", held / 1e6) + "\t" + median(routes) + "\t" +
+					millis(build) + "\t" + median(bfs));
+		} finally {
+			buildingsFile.delete();
+			pathsFile.delete();
+		}
+	}
+
+	// Returns the heap in use after collecting garbage
+	private static long usedMemory(){
+		Runtime runtime = Runtime.getRuntime();
+		for(int i = 0; i < 3; i++){
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	// Returns the median of the given times, in milliseconds
+	private static String median(long[] times){
+		long[] sorted = times.clone();
+		Arrays.sort(sorted);
+		return String.format("%.2f", sorted[sorted.length / 2] / 1e6);
+	}
+
+	// Returns the given number of nanoseconds in whole milliseconds
+	private static String millis(long nanos){
+		return Long.toString(Math.round(nanos / 1e6));
+	}
+}
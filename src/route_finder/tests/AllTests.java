@@ -1,16 +1,27 @@
-package route_finder.tests;
-
-import org.junit.runner.RunWith;
-import org.junit.runners.Suite;
-
-@RunWith(Suite.class)
-@Suite.SuiteClasses({
-	EndPointTest.class,
-	BuildingTest.class,
-	CampusEdgeTest.class,
-	RouteTest.class,
-	RouteModelTest.class
-	})
-public class AllTests {
-	// this class intentionally left blank.
-}
+package route_finder.tests;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+	EndPointTest.class,
+	EndPointRegistryTest.class,
+	EndPointIndexTest.class,
+	SegmentIndexTest.class,
+	BuildingTest.class,
+	CampusEdgeTest.class,
+	RouteTest.class,
+	RouteWriterTest.class,
+	RouteGeometryTest.class,
+	InstructionsTest.class,
+	RouteBatchTest.class,
+	MapGeneratorTest.class,
+	MapDataSourceTest.class,
+	MapReloaderTest.class,
+	DeltaSteppingTest.class,
+	RouteModelTest.class
+	})
+public class AllTests {
+	// this class intentionally left blank.
+}
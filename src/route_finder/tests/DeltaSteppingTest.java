@@ -0,0 +1,163 @@
+package route_finder.tests;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import graph.DirectedGraph;
+import graph.Edge;
+import route_finder.*;
+
+public class DeltaSteppingTest {
+	private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@AfterClass
+	public static void shutDownPool(){
+		pool.shutdown();
+	}
+
+	// Returns a network of the given points and edges
+	private static CampusNetwork network(EndPointRegistry registry, List<Edge> edges){
+		return new CampusNetwork(registry, new DirectedGraph<EndPoint>(registry.endPoints(), edges));
+	}
+
+	// Returns a width x height grid with walkways both ways between neighbours, whose
+	// distances are random multiples of 0.5 up to 10 (some of them zero)
+	private static CampusNetwork grid(int width, int height, long seed){
+		Random random = new Random(seed);
+		EndPointRegistry registry = new EndPointRegistry();
+		List<Edge> edges = new ArrayList<Edge>();
+		for(int x = 0; x < width; x++){
+			for(int y = 0; y < height; y++){
+				EndPoint p = registry.intern(x, y);
+				if(x > 0){
+					EndPoint q = registry.intern(x - 1, y);
+					edges.add(new CampusEdge(p, q, random.nextInt(21) * 0.5));
+					edges.add(new CampusEdge(q, p, random.nextInt(21) * 0.5));
+				}
+				if(y > 0){
+					EndPoint q = registry.intern(x, y - 1);
+					edges.add(new CampusEdge(p, q, random.nextInt(21) * 0.5));
+					edges.add(new CampusEdge(q, p, random.nextInt(21) * 0.5));
+				}
+			}
+		}
+		return network(registry, edges);
+	}
+
+	// Checks that shortestPaths from source matches Dijkstra's algorithm, and that
+	// every predecessor edge lies on a least cost path back to source
+	private void assertMatchesDijkstra(CampusNetwork network, int source, double delta){
+		int n = network.nodeCount();
+		double[] expected = new double[n];
+		DeltaStepping.dijkstra(network, source, expected);
+		double[] dist = new double[n];
+		int[] predecessor = DeltaStepping.shortestPaths(network, source, delta, pool, dist);
+		assertEquals(-1, predecessor[source]);
+		for(int v = 0; v < n; v++){
+			assertEquals(expected[v], dist[v], 1e-9);
+			if(v == source || dist[v] == Double.POSITIVE_INFINITY){
+				continue;
+			}
+			int e = predecessor[v];
+			assertEquals(v, network.target(e));
+			assertEquals(dist[v], dist[network.source(e)] + network.distance(e), 1e-9);
+			// following predecessors leads back to source without cycling
+			int steps = 0;
+			for(int u = v; u != source; u = network.source(predecessor[u])){
+				assertTrue(++steps <= n);
+			}
+		}
+	}
+
+	@Test
+	public void testCampusMatchesDijkstra(){
+		EndPointRegistry registry = new EndPointRegistry();
+		CampusDataParser.parseBuildingData(registry);
+		List<Edge> paths = new ArrayList<Edge>();
+		CampusDataParser.parsePathsData(paths, new ArrayList<EndPoint>(), registry);
+		CampusNetwork campus = network(registry, paths);
+		Random random = new Random(401);
+		for(int i = 0; i < 10; i++){
+			assertMatchesDijkstra(campus, random.nextInt(campus.nodeCount()), 25);
+		}
+	}
+
+	@Test
+	public void testLargeGridMatchesDijkstra(){
+		CampusNetwork grid = grid(200, 200, 402);
+		assertMatchesDijkstra(grid, 0, 5);
+		assertMatchesDijkstra(grid, grid.nodeCount() / 2 + 100, 5);
+	}
+
+	@Test
+	public void testDeltaDoesNotChangeResult(){
+		CampusNetwork grid = grid(40, 30, 403);
+		for(double delta : new double[] {0.01, 1, 5, 1000}){
+			assertMatchesDijkstra(grid, 17, delta);
+		}
+	}
+
+	@Test
+	public void testDefaultPool(){
+		CampusNetwork grid = grid(30, 30, 404);
+		double[] expected = new double[grid.nodeCount()];
+		DeltaStepping.dijkstra(grid, 5, expected);
+		double[] dist = new double[grid.nodeCount()];
+		DeltaStepping.shortestPaths(grid, 5, dist);
+		assertArrayEquals(expected, dist, 1e-9);
+	}
+
+	@Test
+	public void testUnreachableNodes(){
+		EndPointRegistry registry = new EndPointRegistry();
+		EndPoint a = registry.intern(0, 0);
+		EndPoint b = registry.intern(1, 0);
+		registry.intern(2, 0);
+		List<Edge> edges = new ArrayList<Edge>();
+		edges.add(new CampusEdge(a, b, 1));
+		CampusNetwork network = network(registry, edges);
+		double[] dist = new double[3];
+		int[] predecessor = DeltaStepping.shortestPaths(network, 1, 1, pool, dist);
+		assertEquals(Double.POSITIVE_INFINITY, dist[0], 0);
+		assertEquals(0, dist[1], 0);
+		assertEquals(Double.POSITIVE_INFINITY, dist[2], 0);
+		assertEquals(-1, predecessor[0]);
+		assertEquals(-1, predecessor[2]);
+	}
+
+	// a distance whose bucket, (long) (x / delta), is 11 although 11 * delta > x
+	@Test
+	public void testDistanceOnBucketBoundary(){
+		double x = 2912.567782362227;
+		double delta = 264.778889305657;
+		assertEquals(11, (long) (x / delta));
+		assertTrue(11 * delta > x);
+		EndPointRegistry registry = new EndPointRegistry();
+		EndPoint a = registry.intern(0, 0);
+		EndPoint b = registry.intern(1, 0);
+		EndPoint c = registry.intern(2, 0);
+		List<Edge> edges = new ArrayList<Edge>();
+		edges.add(new CampusEdge(a, b, x));
+		edges.add(new CampusEdge(b, c, 1));
+		CampusNetwork network = network(registry, edges);
+		assertMatchesDijkstra(network, 0, delta);
+		double[] dist = new double[3];
+		DeltaStepping.shortestPaths(network, 0, delta, pool, dist);
+		assertEquals(x + 1, dist[2], 0);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testIllegalSource(){
+		CampusNetwork grid = grid(3, 3, 405);
+		DeltaStepping.shortestPaths(grid, 9, new double[9]);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testIllegalDelta(){
+		CampusNetwork grid = grid(3, 3, 406);
+		DeltaStepping.shortestPaths(grid, 0, 0, pool, new double[9]);
+	}
+}
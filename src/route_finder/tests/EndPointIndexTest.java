@@ -0,0 +1,76 @@
+package route_finder.tests;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import route_finder.*;
+
+public class EndPointIndexTest {
+	List<EndPoint> points;
+	EndPointIndex index;
+	
+	public EndPointIndexTest(){
+		// random points, plus a few duplicate coordinates along one axis
+		Random random = new Random(331);
+		points = new ArrayList<EndPoint>();
+		for(int i = 0; i < 500; i++){
+			points.add(new EndPoint(random.nextInt(1000), random.nextDouble() * 1000));
+		}
+		index = new EndPointIndex(points);
+	}
+	
+	// returns the distance between p and (x, y)
+	private static double distance(EndPoint p, double x, double y){
+		return Math.hypot(p.getX() - x, p.getY() - y);
+	}
+	
+	@Test
+	public void testEmptyIndex(){
+		EndPointIndex empty = new EndPointIndex(new ArrayList<EndPoint>());
+		assertEquals(0, empty.size());
+		assertNull(empty.nearest(1, 1));
+		assertTrue(empty.withinRadius(1, 1, 100).isEmpty());
+	}
+	
+	@Test
+	public void testNearestMatchesLinearScan(){
+		Random random = new Random(332);
+		for(int i = 0; i < 200; i++){
+			double x = random.nextDouble() * 1200 - 100;
+			double y = random.nextDouble() * 1200 - 100;
+			double best = Double.POSITIVE_INFINITY;
+			for(EndPoint p : points){
+				best = Math.min(best, distance(p, x, y));
+			}
+			assertEquals(best, distance(index.nearest(x, y), x, y), .0000001);
+		}
+	}
+	
+	@Test
+	public void testNearestOfIndexedPointIsItself(){
+		for(EndPoint p : points){
+			assertEquals(p, index.nearest(p.getX(), p.getY()));
+		}
+	}
+	
+	@Test
+	public void testWithinRadiusMatchesLinearScan(){
+		Random random = new Random(333);
+		for(int i = 0; i < 50; i++){
+			double x = random.nextDouble() * 1000;
+			double y = random.nextDouble() * 1000;
+			double radius = random.nextDouble() * 150;
+			HashSet<EndPoint> expected = new HashSet<EndPoint>();
+			for(EndPoint p : points){
+				if(distance(p, x, y) <= radius){
+					expected.add(p);
+				}
+			}
+			List<EndPoint> found = index.withinRadius(x, y, radius);
+			assertEquals(expected.size(), found.size());
+			assertEquals(expected, new HashSet<EndPoint>(found));
+		}
+	}
+}
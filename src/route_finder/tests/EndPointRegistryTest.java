@@ -0,0 +1,73 @@
+package route_finder.tests;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import route_finder.*;
+
+public class EndPointRegistryTest {
+	
+	// same coordinates should always give back the same instance
+	@Test
+	public void testInternReturnsCanonicalInstance(){
+		EndPointRegistry registry = new EndPointRegistry();
+		EndPoint p1 = registry.intern(1, 2);
+		EndPoint p2 = registry.intern(3, 4);
+		assertSame(p1, registry.intern(1, 2));
+		assertSame(p2, registry.intern(new EndPoint(3, 4)));
+		assertNotSame(p1, p2);
+		assertEquals(2, registry.size());
+	}
+	
+	// ids should be dense and in order of first appearance
+	@Test
+	public void testIdsAreDense(){
+		EndPointRegistry registry = new EndPointRegistry();
+		EndPoint p0 = registry.intern(5, 5);
+		EndPoint p1 = registry.intern(-1, 2.5);
+		registry.intern(5, 5);
+		EndPoint p2 = registry.intern(0, 0);
+		assertEquals(0, p0.getId());
+		assertEquals(1, p1.getId());
+		assertEquals(2, p2.getId());
+		List<EndPoint> all = registry.endPoints();
+		for(int i = 0; i < all.size(); i++){
+			assertEquals(i, all.get(i).getId());
+			assertSame(all.get(i), registry.get(i));
+		}
+	}
+	
+	// a building registered first becomes the canonical EndPoint for its location
+	@Test
+	public void testBuildingIsCanonical(){
+		EndPointRegistry registry = new EndPointRegistry();
+		Building b = registry.internBuilding(1, 1, "CSE", "Computer Science Building");
+		assertSame(b, registry.intern(1, 1));
+		assertSame(b, registry.internBuilding(1, 1, "CSE", "Computer Science Building"));
+		assertTrue(registry.intern(new Building(1, 1, "X", "Y")) instanceof Building);
+	}
+	
+	@Test(expected=IllegalStateException.class)
+	public void testBuildingAfterEndPointAtSameLocation(){
+		EndPointRegistry registry = new EndPointRegistry();
+		registry.intern(1, 1);
+		registry.internBuilding(1, 1, "CSE", "Computer Science Building");
+	}
+	
+	// EndPoints from outside the registry are looked up by coordinates
+	@Test
+	public void testIdOf(){
+		EndPointRegistry registry = new EndPointRegistry();
+		registry.intern(1, 1);
+		EndPoint p = registry.intern(2, 2);
+		assertEquals(1, registry.idOf(p));
+		assertEquals(1, registry.idOf(new EndPoint(2, 2)));
+		assertEquals(-1, registry.idOf(new EndPoint(3, 3)));
+		assertEquals(-1, new EndPoint(2, 2).getId());
+		
+		// an EndPoint from another registry is not mistaken for a canonical one
+		EndPointRegistry other = new EndPointRegistry();
+		EndPoint q = other.intern(2, 2);
+		assertEquals(0, q.getId());
+		assertEquals(1, registry.idOf(q));
+	}
+}
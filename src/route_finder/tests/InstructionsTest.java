@@ -0,0 +1,114 @@
+package route_finder.tests;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import route_finder.*;
+
+public class InstructionsTest {
+	EndPoint p1 = new EndPoint(0, 0);
+	EndPoint p2 = new EndPoint(1, 1);
+	EndPoint p3 = new EndPoint(3, 2);
+	EndPoint p4 = new EndPoint(4, 4);
+	EndPoint p5 = new EndPoint(2, 5);
+	EndPoint p6 = new EndPoint(2, 9);
+	
+	// Returns the route made of the given edges
+	private static Route route(CampusEdge... edges){
+		List<CampusEdge> list = new ArrayList<CampusEdge>();
+		for(CampusEdge e : edges){
+			list.add(e);
+		}
+		return new Route(list);
+	}
+	
+	@Test
+	public void testMergeSameDirection(){
+		// three walkways SE, then one SW, then one S
+		Route r = route(new CampusEdge(p1, p2, 1.5), new CampusEdge(p2, p3, 2.25),
+				new CampusEdge(p3, p4, 2.5), new CampusEdge(p4, p5, 3),
+				new CampusEdge(p5, p6, 4));
+		Instructions steps = Instructions.compile(r);
+		assertEquals(3, steps.size());
+		assertSame(p1, steps.getStart());
+		
+		Instructions.Maneuver m = steps.get(0);
+		assertEquals(Direction.SE, m.getDirection());
+		assertEquals(6.25, m.getFeet(), 0);
+		assertEquals(3, m.getSteps());
+		assertSame(p1, m.getStart());
+		assertSame(p4, m.getEnd());
+		assertEquals(Direction.SE, Direction.of(m.asEdge()));
+		
+		assertEquals(Direction.SW, steps.get(1).getDirection());
+		assertEquals(1, steps.get(1).getSteps());
+		assertSame(p4, steps.get(1).getStart());
+		assertEquals(Direction.S, steps.get(2).getDirection());
+		assertSame(p6, steps.get(2).getEnd());
+		assertEquals(r.getCost(), steps.getFeet(), 1e-12);
+		assertEquals("Walk 6.3 feet SE to (4.00,4.00)", m.toString());
+	}
+	
+	@Test
+	public void testOneManeuver(){
+		Instructions steps = Instructions.compile(route(new CampusEdge(p1, p2, 1),
+				new CampusEdge(p2, p3, 1), new CampusEdge(p3, p4, 1)));
+		assertEquals(1, steps.size());
+		assertEquals(3, steps.get(0).getSteps());
+		assertEquals(3, steps.getFeet(), 0);
+	}
+	
+	@Test
+	public void testEmptyRoute(){
+		Instructions steps = Instructions.compile(new Route(p3));
+		assertEquals(0, steps.size());
+		assertSame(p3, steps.getStart());
+		assertEquals(0, steps.getFeet(), 0);
+		assertFalse(steps.iterator().hasNext());
+	}
+	
+	@Test
+	public void testIterators(){
+		Instructions steps = Instructions.compile(route(new CampusEdge(p1, p2, 1),
+				new CampusEdge(p2, p3, 1), new CampusEdge(p3, p4, 1), new CampusEdge(p4, p5, 3)));
+		int i = 0;
+		for(Instructions.Maneuver m : steps){
+			assertSame(steps.get(i++), m);
+		}
+		assertEquals(2, i);
+		Iterator<CampusEdge> edges = steps.edges();
+		assertSame(steps.get(0).asEdge(), edges.next());
+		assertSame(steps.get(1).asEdge(), edges.next());
+		assertFalse(edges.hasNext());
+	}
+	
+	// on campus, maneuvers are consecutive, alternate in direction, and add up to the route
+	@Test
+	public void testCampusRoutes(){
+		RouteModel model = new RouteModel();
+		for(String[] pair : new String[][] {{"BGR", "PAB"}, {"CSE", "MGH"}, {"EEB", "MUS"}}){
+			Route r = model.findLeastCostPath(pair[0], pair[1]);
+			Instructions steps = Instructions.compile(r.iterator());
+			assertTrue(steps.size() <= r.size());
+			int edges = 0;
+			for(int i = 0; i < steps.size(); i++){
+				edges += steps.get(i).getSteps();
+				if(i > 0){
+					assertSame(steps.get(i - 1).getEnd(), steps.get(i).getStart());
+					assertNotSame(steps.get(i - 1).getDirection(), steps.get(i).getDirection());
+				}
+			}
+			assertEquals(r.size(), edges);
+			assertEquals(r.getCost(), steps.getFeet(), 1e-9);
+			assertSame(r.getStart(), steps.getStart());
+			assertSame(r.getEnd(), steps.get(steps.size() - 1).getEnd());
+		}
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullRoute(){
+		Instructions.compile((Route) null);
+	}
+}
@@ -0,0 +1,230 @@
+package route_finder.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import graph.Edge;
+import route_finder.*;
+
+public class MapDataSourceTest {
+	static final String BUILDINGS = "CSE\tComputer Science Building\t1.0\t1.0\n" +
+			"MGH\tMary Gates Hall\t2.0\t1.0\n";
+	static final String PATHS = "1.0,1.0\n\t2.0,1.0: 1.0\n\t1.0,2.0: 1.5\n" +
+			"2.0,1.0\n\t1.0,1.0: 1.0\n";
+
+	// Returns the bytes of s, compressed with gzip if zip is true
+	private static byte[] bytes(String s, boolean zip) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputStream o = zip ? new GZIPOutputStream(out) : out;
+		o.write(s.getBytes("UTF-8"));
+		o.close();
+		return out.toByteArray();
+	}
+
+	// Writes the given bytes to a new temporary file
+	private static File temp(String suffix, byte[] contents) throws IOException {
+		File f = File.createTempFile("map", suffix);
+		f.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(f);
+		out.write(contents);
+		out.close();
+		return f;
+	}
+
+	// Checks that source reads the map of BUILDINGS and PATHS
+	private static void checkSmallMap(MapDataSource source) throws IOException {
+		EndPointRegistry registry = new EndPointRegistry();
+		List<Edge> paths = new ArrayList<Edge>();
+		List<EndPoint> endPoints = new ArrayList<EndPoint>();
+		Set<Building> buildings = CampusDataParser.parse(source, registry, paths, endPoints);
+		assertEquals(2, buildings.size());
+		assertEquals(3, paths.size());
+		assertEquals(2, endPoints.size());
+		assertEquals(3, registry.size());
+		assertTrue(endPoints.get(0) instanceof Building);
+		assertEquals(1.5, ((CampusEdge) paths.get(1)).getDistance(), 0);
+	}
+
+	// Returns the message of the IOException thrown reading the given text
+	private static String error(String buildings, String paths){
+		try {
+			CampusDataParser.parse(MapDataSource.bytes(bytes(buildings, false), bytes(paths, false)),
+					new EndPointRegistry(), new ArrayList<Edge>(), new ArrayList<EndPoint>());
+		} catch (IOException e) {
+			return e.getMessage();
+		}
+		fail("no IOException");
+		return null;
+	}
+
+	@Test
+	public void testBytes() throws IOException {
+		checkSmallMap(MapDataSource.bytes(bytes(BUILDINGS, false), bytes(PATHS, false)));
+	}
+
+	@Test
+	public void testGzipBytes() throws IOException {
+		checkSmallMap(MapDataSource.bytes(bytes(BUILDINGS, true), bytes(PATHS, true)));
+	}
+
+	@Test
+	public void testFiles() throws IOException {
+		File buildings = temp(".txt", bytes(BUILDINGS, false));
+		File paths = temp(".txt.gz", bytes(PATHS, true));
+		checkSmallMap(MapDataSource.file(buildings.getPath(), paths.getPath()));
+	}
+
+	@Test
+	public void testCarriageReturnsAndBlankLines() throws IOException {
+		checkSmallMap(MapDataSource.bytes(bytes(BUILDINGS.replace("\n", "\r\n") + "\r\n", false),
+				bytes(PATHS.replace("\n", "\r\n") + "\r\n", false)));
+	}
+
+	@Test
+	public void testResource() throws IOException {
+		File buildings = temp(".txt", bytes(BUILDINGS, false));
+		File paths = temp(".txt", bytes(PATHS, false));
+		File dir = buildings.getParentFile();
+		ClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL()}, null);
+		checkSmallMap(MapDataSource.resource(loader, buildings.getName(), paths.getName()));
+	}
+
+	@Test(expected=FileNotFoundException.class)
+	public void testMissingResource() throws IOException {
+		ClassLoader loader = new URLClassLoader(new URL[0], null);
+		MapDataSource.resource(loader, "no/such/buildings.txt", null).read(null);
+	}
+
+	@Test
+	public void testStreamReadOnce() throws IOException {
+		MapDataSource source = MapDataSource.stream(new ByteArrayInputStream(bytes(BUILDINGS, true)),
+				new ByteArrayInputStream(bytes(PATHS, false)));
+		checkSmallMap(source);
+		try {
+			checkSmallMap(source);
+			fail("read twice");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testSnapshotMatchesText() throws IOException {
+		File snapshot = temp(".map", new byte[0]);
+		MapDataSource.file("campus_buildings.txt", "campus_paths.txt").writeSnapshot(snapshot.getPath());
+		RouteModel text = new RouteModel();
+		RouteModel binary = new RouteModel(MapDataSource.snapshot(snapshot.getPath()));
+		assertEquals(text.getBuildings().size(), binary.getBuildings().size());
+		assertEquals(text.endPointsWithin(0, 0, 1e9).size(), binary.endPointsWithin(0, 0, 1e9).size());
+		for(String[] pair : new String[][] {{"CSE", "MGH"}, {"EEB", "SUZ"}, {"BGR", "PAB"}}){
+			Route a = text.findLeastCostPath(pair[0], pair[1]);
+			Route b = binary.findLeastCostPath(pair[0], pair[1]);
+			assertEquals(a.getCost(), b.getCost(), 0);
+			assertEquals(a.getPaths(), b.getPaths());
+		}
+	}
+
+	@Test
+	public void testSnapshotErrors() throws IOException {
+		File snapshot = temp(".map", bytes(BUILDINGS, false));
+		try {
+			new RouteModel(MapDataSource.snapshot(snapshot.getPath()));
+			fail("read text as a snapshot");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("not a map snapshot"));
+		}
+		MapDataSource.bytes(bytes(BUILDINGS, false), bytes(PATHS, false)).writeSnapshot(snapshot.getPath());
+		RandomAccessFile f = new RandomAccessFile(snapshot, "rw");
+		f.setLength(f.length() - 5);
+		f.close();
+		try {
+			new RouteModel(MapDataSource.snapshot(snapshot.getPath()));
+			fail("read a truncated snapshot");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("ends before the end"));
+		}
+	}
+
+	// a snapshot that can't be made leaves the old snapshot in place
+	@Test
+	public void testFailedSnapshotKeepsOld() throws IOException {
+		File dir = File.createTempFile("snapshots", "");
+		dir.delete();
+		dir.mkdir();
+		dir.deleteOnExit();
+		File snapshot = new File(dir, "map.snap");
+		snapshot.deleteOnExit();
+		MapDataSource.bytes(bytes(BUILDINGS, false), bytes(PATHS, false)).writeSnapshot(snapshot.getPath());
+		try {
+			MapDataSource.bytes(bytes(BUILDINGS, false), bytes("1.0,1.0\n\tx\n", false))
+					.writeSnapshot(snapshot.getPath());
+			fail("wrote a snapshot of bad data");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("paths line 2"));
+		}
+		checkSmallMap(MapDataSource.snapshot(snapshot.getPath()));
+		assertEquals(1, dir.list().length);
+	}
+
+	// a gzip file cut off in its header is reported, not read
+	@Test(expected=IOException.class)
+	public void testTruncatedGzip() throws IOException {
+		byte[] zipped = bytes(BUILDINGS, true);
+		File buildings = temp(".txt.gz", Arrays.copyOf(zipped, 5));
+		MapDataSource.file(buildings.getPath(), null).read(new MapDataSource.Handler() {
+			public void building(double x, double y, String shortName, String longName) {}
+			public void point(double x, double y) {}
+			public void walkway(double x, double y, double distance) {}
+		});
+	}
+
+	@Test
+	public void testBadData(){
+		assertTrue(error("CSE\tComputer Science\t1.0\n", "").contains("buildings line 1"));
+		assertTrue(error("CSE\tComputer Science\t1.0\tone\n", "").contains("bad number \"one\""));
+		assertTrue(error(BUILDINGS, "1.0,1.0\n\t2.0,1.0: x\n").contains("paths line 2"));
+		assertTrue(error(BUILDINGS, "1.0,1.0\n\t2.0,1.0: -1\n").contains("bad distance"));
+		assertTrue(error(BUILDINGS, "1.0,1.0\n\t2.0,1.0 1.0\n").contains("expected x,y: distance"));
+		assertTrue(error(BUILDINGS, "\t2.0,1.0: 1.0\n").contains("before its source"));
+		assertTrue(error(BUILDINGS, "1.0 1.0\n").contains("expected x,y"));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testMissingFile(){
+		new RouteModel("no_such_buildings.txt", "no_such_paths.txt");
+	}
+
+	// the file parse methods report errors rather than returning what was read
+	@Test
+	public void testFileParseErrors() throws IOException {
+		File paths = temp(".txt", bytes("1.0,1.0\n\t2.0,1.0: 1.0\n\t2.0,x: 1.0\n", false));
+		List<Edge> edges = new ArrayList<Edge>();
+		try {
+			CampusDataParser.parsePathsData(paths.getPath(), edges, new ArrayList<EndPoint>(),
+					new EndPointRegistry());
+			fail("read bad paths");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("bad number"));
+		}
+		try {
+			CampusDataParser.parseBuildingData("no_such_buildings.txt", new EndPointRegistry());
+			fail("read a missing file");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getCause() instanceof FileNotFoundException);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package route_finder.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import graph.Edge;
+import route_finder.*;
+
+public class MapGeneratorTest {
+	File buildingsFile;
+	File pathsFile;
+
+	public MapGeneratorTest() throws IOException {
+		buildingsFile = File.createTempFile("buildings", ".txt");
+		pathsFile = File.createTempFile("paths", ".txt");
+		buildingsFile.deleteOnExit();
+		pathsFile.deleteOnExit();
+	}
+
+	// Writes the map made by generator to the data files, returning the walkway count
+	private long write(MapGenerator generator, int buildings) throws IOException {
+		return generator.write(buildings, buildingsFile.getPath(), pathsFile.getPath());
+	}
+
+	@Test
+	public void testGridCounts() throws IOException {
+		MapGenerator generator = MapGenerator.grid(7, 5, 0, 1);
+		assertEquals(35, generator.pointCount());
+		// each of 5 rows has 6 links and each of 7 columns 4, in both directions
+		assertEquals(2 * (5 * 6 + 7 * 4), write(generator, 10));
+
+		EndPointRegistry registry = new EndPointRegistry();
+		Set<Building> buildings = CampusDataParser.parseBuildingData(buildingsFile.getPath(), registry);
+		List<EndPoint> endPoints = new ArrayList<EndPoint>();
+		List<Edge> paths = new ArrayList<Edge>();
+		CampusDataParser.parsePathsData(pathsFile.getPath(), paths, endPoints, registry);
+		assertEquals(10, buildings.size());
+		assertEquals(35, endPoints.size());
+		assertEquals(116, paths.size());
+		assertEquals(35, registry.size());
+		for(Edge e : paths){
+			assertEquals(MapGenerator.GRID_SPACING, ((CampusEdge) e).getDistance(), 0);
+		}
+	}
+
+	@Test
+	public void testBuildingNames() throws IOException {
+		write(MapGenerator.grid(10, 10, 0.2, 3), 12);
+		RouteModel model = new RouteModel(buildingsFile.getPath(), pathsFile.getPath());
+		assertEquals(12, model.getBuildings().size());
+		assertTrue(model.containsBuilding("B01"));
+		assertTrue(model.containsBuilding("B12"));
+		assertFalse(model.containsBuilding("B13"));
+		assertEquals("B07", model.getBuilding("Building 7").shortName);
+	}
+
+	@Test
+	public void testGridRoutesAreManhattan() throws IOException {
+		write(MapGenerator.grid(40, 30, 0, 5), 20);
+		RouteModel model = new RouteModel(buildingsFile.getPath(), pathsFile.getPath());
+		for(Building a : model.getBuildings()){
+			for(Building b : model.getBuildings()){
+				Route r = model.findLeastCostPath(a.shortName, b.shortName);
+				double expected = Math.abs(a.getX() - b.getX()) + Math.abs(a.getY() - b.getY());
+				assertEquals(expected, r.getCost(), 1e-6);
+			}
+		}
+	}
+
+	@Test
+	public void testJitteredGridMatchesDijkstra() throws IOException {
+		write(MapGenerator.grid(60, 60, 0.3, 8), 10);
+		RouteModel model = new RouteModel(buildingsFile.getPath(), pathsFile.getPath());
+		for(Building a : model.getBuildings()){
+			ShortestPathTree tree = model.shortestPathTree(a);
+			for(Building b : model.getBuildings()){
+				Route r = model.findLeastCostPath(a.shortName, b.shortName);
+				assertEquals(tree.costTo(b), r.getCost(), 1e-9);
+			}
+		}
+	}
+
+	@Test
+	public void testRandomGeometricIsSymmetric() throws IOException {
+		MapGenerator generator = MapGenerator.randomGeometric(2000, 6, 11);
+		long walkways = write(generator, 50);
+		// about 6 walkways per point, fewer near the edges of the map
+		assertTrue(walkways > 2000 * 4 && walkways < 2000 * 7);
+
+		EndPointRegistry registry = new EndPointRegistry();
+		CampusDataParser.parseBuildingData(buildingsFile.getPath(), registry);
+		List<EndPoint> endPoints = new ArrayList<EndPoint>();
+		List<Edge> paths = new ArrayList<Edge>();
+		CampusDataParser.parsePathsData(pathsFile.getPath(), paths, endPoints, registry);
+		assertEquals(walkways, paths.size());
+		RouteModel model = new RouteModel(endPoints, paths, CampusDataParser.parseBuildingData(
+				buildingsFile.getPath(), registry));
+		for(Edge e : paths){
+			CampusEdge c = (CampusEdge) e;
+			Route back = model.findLeastCostPath(c.getTarget(), c.getSource());
+			assertNotNull(back);
+			assertTrue(back.getCost() <= c.getDistance() + 1e-9);
+		}
+	}
+
+	@Test
+	public void testSameSeedSameMap() throws IOException {
+		StringWriter b1 = new StringWriter();
+		StringWriter p1 = new StringWriter();
+		StringWriter b2 = new StringWriter();
+		StringWriter p2 = new StringWriter();
+		MapGenerator.randomGeometric(500, 5, 7).write(20, b1, p1);
+		MapGenerator.randomGeometric(500, 5, 7).write(20, b2, p2);
+		assertEquals(b1.toString(), b2.toString());
+		assertEquals(p1.toString(), p2.toString());
+		StringWriter p3 = new StringWriter();
+		MapGenerator.randomGeometric(500, 5, 8).write(20, new StringWriter(), p3);
+		assertFalse(p1.toString().equals(p3.toString()));
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testTooManyBuildings() throws IOException {
+		MapGenerator.grid(3, 3, 0, 1).write(10, new StringWriter(), new StringWriter());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBadJitter(){
+		MapGenerator.grid(3, 3, 0.5, 1);
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testBadGridSize(){
+		MapGenerator.grid(0, 3, 0, 1);
+	}
+}
@@ -0,0 +1,193 @@
+package route_finder.tests;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import route_finder.*;
+
+public class MapReloaderTest {
+	File dir;
+	File buildingsFile;
+	File pathsFile;
+	List<MapReloader.Reload> reloads = new ArrayList<MapReloader.Reload>();
+	List<Exception> failures = new ArrayList<Exception>();
+
+	public MapReloaderTest() throws IOException {
+		dir = File.createTempFile("maps", "");
+		dir.delete();
+		dir.mkdir();
+		dir.deleteOnExit();
+		buildingsFile = new File(dir, "buildings.txt");
+		pathsFile = new File(dir, "paths.txt");
+		buildingsFile.deleteOnExit();
+		pathsFile.deleteOnExit();
+		writeGrid(5, 4);
+	}
+
+	// Writes a width by width grid with the given number of buildings to the data files
+	private void writeGrid(int width, int buildings) throws IOException {
+		MapGenerator.grid(width, width, 0, width).write(buildings, buildingsFile.getPath(),
+				pathsFile.getPath());
+	}
+
+	// Returns a MapReloader of the data files, recording the outcome of each reload
+	private MapReloader reloader(){
+		MapReloader reloader = new MapReloader(buildingsFile.getPath(), pathsFile.getPath());
+		reloader.addListener(listener());
+		return reloader;
+	}
+
+	// Returns a listener recording the outcome of each reload
+	private MapReloader.Listener listener(){
+		return new MapReloader.Listener() {
+			public void reloaded(MapReloader.Reload reload) {
+				synchronized(reloads){
+					reloads.add(reload);
+				}
+			}
+
+			public void failed(Exception e) {
+				synchronized(failures){
+					failures.add(e);
+				}
+			}
+		};
+	}
+
+	@Test
+	public void testReloadSwapsModel() throws IOException {
+		MapReloader reloader = reloader();
+		RouteModel old = reloader.current();
+		assertEquals(4, old.getBuildings().size());
+		writeGrid(8, 6);
+		MapReloader.Reload reload = reloader.reload();
+		assertNotNull(reload);
+		assertEquals(2, reload.getVersion());
+		assertSame(reload.getModel(), reloader.current());
+		assertNotSame(old, reloader.current());
+		assertEquals(6, reloader.current().getBuildings().size());
+		assertTrue(reload.getMillis() > 0);
+		assertTrue(reload.getPeakHeap() > 0);
+		assertEquals(1, reloads.size());
+		assertTrue(failures.isEmpty());
+	}
+
+	@Test
+	public void testOldModelStillAnswers() throws IOException {
+		MapReloader reloader = reloader();
+		RouteModel old = reloader.current();
+		Route before = old.findLeastCostPath("B1", "B2");
+		writeGrid(8, 2);
+		reloader.reload();
+		// a query that started on the old version finishes on it
+		Route after = old.findLeastCostPath("B1", "B2");
+		assertEquals(before.getCost(), after.getCost(), 0);
+		assertEquals(25, old.endPointsWithin(0, 0, 1e9).size());
+		assertEquals(64, reloader.current().endPointsWithin(0, 0, 1e9).size());
+	}
+
+	@Test
+	public void testBadDataKeepsModel() throws IOException {
+		MapReloader reloader = reloader();
+		RouteModel old = reloader.current();
+		FileWriter out = new FileWriter(pathsFile, true);
+		out.write("1.0,1.0\n\t2.0,x: 1.0\n");
+		out.close();
+		assertNull(reloader.reload());
+		assertSame(old, reloader.current());
+		assertEquals(1, failures.size());
+		assertTrue(failures.get(0).getMessage().contains("bad number"));
+		assertTrue(reloads.isEmpty());
+	}
+
+	// a landmark table that can't be saved is reported, and the reload still happens
+	@Test
+	public void testLandmarkTableNotSaved() throws IOException {
+		MapReloader reloader = reloader();
+		File cache = new File(new File(dir, "none"), "landmarks.dat");
+		assertFalse(reloader.useLandmarks(2, cache));
+		MapReloader.Reload reload = reloader.reload();
+		assertFalse(reload.isLandmarkTableSaved());
+		assertTrue(reload.toString().contains("landmark table not saved"));
+		assertSame(reload.getModel(), reloader.current());
+		
+		cache = new File(dir, "landmarks.dat");
+		cache.deleteOnExit();
+		assertTrue(reloader.useLandmarks(2, cache));
+		assertTrue(reloader.reload().isLandmarkTableSaved());
+		assertTrue(cache.exists());
+	}
+
+	@Test
+	public void testWatchReloads() throws IOException, InterruptedException {
+		MapReloader reloader = reloader();
+		reloader.start();
+		try {
+			writeGrid(10, 7);
+			long deadline = System.currentTimeMillis() + 20000;
+			while(reloader.current().getBuildings().size() != 7 &&
+					System.currentTimeMillis() < deadline){
+				Thread.sleep(50);
+			}
+			assertEquals(7, reloader.current().getBuildings().size());
+			assertEquals(100, reloader.current().endPointsWithin(0, 0, 1e9).size());
+		} finally {
+			reloader.close();
+		}
+	}
+
+	// a listener that throws doesn't stop the other listeners or the watch
+	@Test
+	public void testListenerExceptions() throws IOException, InterruptedException {
+		final List<Throwable> uncaught = new ArrayList<Throwable>();
+		Thread.UncaughtExceptionHandler old = Thread.getDefaultUncaughtExceptionHandler();
+		Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			public void uncaughtException(Thread t, Throwable e) {
+				synchronized(uncaught){
+					uncaught.add(e);
+				}
+			}
+		});
+		MapReloader reloader = new MapReloader(buildingsFile.getPath(), pathsFile.getPath());
+		reloader.addListener(new MapReloader.Listener() {
+			public void reloaded(MapReloader.Reload reload) {
+				throw new IllegalStateException("reloaded");
+			}
+
+			public void failed(Exception e) {
+				throw new IllegalStateException("failed");
+			}
+		});
+		reloader.addListener(listener());
+		try {
+			assertNotNull(reloader.reload());
+			assertEquals(1, reloads.size());
+			reloader.start();
+			for(int width = 6; width <= 7; width++){
+				writeGrid(width, width);
+				long deadline = System.currentTimeMillis() + 20000;
+				while(reloader.current().getBuildings().size() != width &&
+						System.currentTimeMillis() < deadline){
+					Thread.sleep(50);
+				}
+				assertEquals(width, reloader.current().getBuildings().size());
+			}
+			synchronized(uncaught){
+				assertTrue(uncaught.size() >= 3);
+				assertEquals("reloaded", uncaught.get(0).getMessage());
+			}
+		} finally {
+			reloader.close();
+			Thread.setDefaultUncaughtExceptionHandler(old);
+		}
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void testMissingFiles(){
+		new MapReloader(new File(dir, "none.txt").getPath(), pathsFile.getPath());
+	}
+}
@@ -0,0 +1,89 @@
+package route_finder.tests;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import graph.Edge;
+import route_finder.*;
+
+public class RouteBatchTest {
+	Building b1 = new Building(1, 1, "CSE", "Computer Science Building");
+	Building b2 = new Building(2, 1, "MGH", "Mary Gates Hall");
+	Building b3 = new Building(1, 2, "SUZ", "Suzallo");
+	CampusEdge c1 = new CampusEdge(b1, b2, 1);
+	CampusEdge c2 = new CampusEdge(b2, b1, 1);
+	RouteModel model;
+	
+	public RouteBatchTest(){
+		List<EndPoint> endPoints = new ArrayList<EndPoint>();
+		Set<Building> buildings = new HashSet<Building>();
+		List<Edge> edges = new ArrayList<Edge>();
+		endPoints.add(b1);
+		endPoints.add(b2);
+		endPoints.add(b3);
+		buildings.add(b1);
+		buildings.add(b2);
+		buildings.add(b3);
+		edges.add(c1);
+		edges.add(c2);
+		model = new RouteModel(endPoints, edges, buildings);
+	}
+	
+	// Returns what batch writes for the given input, in the given format
+	private static String run(RouteBatch batch, String input, RouteWriter.Format format)
+			throws IOException {
+		StringWriter out = new StringWriter();
+		batch.run(new BufferedReader(new StringReader(input)), new RouteWriter(out, format));
+		return out.toString();
+	}
+	
+	@Test
+	public void testQueries() throws IOException {
+		RouteBatch batch = new RouteBatch(model, 1);
+		String out = run(batch, "# comment\nCSE MGH\n\nMary Gates Hall,Computer Science Building\n" +
+				"CSE\tSUZ\nCSE XYZ\nCSE MGH SUZ\n", RouteWriter.Format.TSV);
+		assertEquals("start\tdest\tstep\tfeet\tdirection\tx\ty\n" +
+				"CSE\tMGH\t1\t1.0\tSE\t2.00\t1.00\n" +
+				"CSE\tMGH\ttotal\t1.0\t\t\t\n" +
+				"MGH\tCSE\t1\t1.0\tSW\t1.00\t1.00\n" +
+				"MGH\tCSE\ttotal\t1.0\t\t\t\n" +
+				"CSE\tSUZ\tnone\t\t\t\t\n" +
+				"\t\terror\tUnknown building: XYZ\t\t\t\n" +
+				"\t\terror\tMalformed query: CSE MGH SUZ\t\t\t\n", out);
+		assertEquals(2, batch.unknownCount());
+		assertEquals(1, batch.missingCount());
+	}
+	
+	// results are written in the order of the queries, however many threads there are
+	@Test
+	public void testThreadsKeepOrder() throws IOException {
+		RouteModel campus = new RouteModel();
+		List<String> names = new ArrayList<String>();
+		for(Building b : campus.getBuildings()){
+			names.add(b.shortName);
+		}
+		Random random = new Random(451);
+		StringBuilder input = new StringBuilder();
+		for(int i = 0; i < 1000; i++){
+			input.append(names.get(random.nextInt(names.size()))).append(' ');
+			input.append(names.get(random.nextInt(names.size()))).append('\n');
+		}
+		String one = run(new RouteBatch(campus, 1), input.toString(), RouteWriter.Format.JSON);
+		String four = run(new RouteBatch(campus, 4), input.toString(), RouteWriter.Format.JSON);
+		assertEquals(one, four);
+		assertEquals(1000, one.split("\n").length);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNoThreads(){
+		new RouteBatch(model, 0);
+	}
+}
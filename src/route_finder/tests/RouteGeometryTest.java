@@ -0,0 +1,119 @@
+package route_finder.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import route_finder.*;
+
+public class RouteGeometryTest {
+	
+	// Returns the route through the given points, given as x, y pairs
+	private static Route route(double... xy){
+		List<CampusEdge> edges = new ArrayList<CampusEdge>();
+		for(int i = 2; i < xy.length; i += 2){
+			EndPoint a = new EndPoint(xy[i - 2], xy[i - 1]);
+			EndPoint b = new EndPoint(xy[i], xy[i + 1]);
+			edges.add(new CampusEdge(a, b, Math.hypot(xy[i] - xy[i - 2], xy[i + 1] - xy[i - 1])));
+		}
+		return new Route(edges);
+	}
+	
+	// Returns the distance from (px, py) to the segment from (ax, ay) to (bx, by)
+	private static double distance(double px, double py, double ax, double ay,
+			double bx, double by){
+		double dx = bx - ax;
+		double dy = by - ay;
+		double t = Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / (dx * dx + dy * dy)));
+		return Math.hypot(px - ax - t * dx, py - ay - t * dy);
+	}
+	
+	@Test
+	public void testFullGeometry(){
+		RouteGeometry g = RouteGeometry.of(route(0, 0, 1, 0, 2, 0, 2, 3));
+		assertEquals(4, g.size());
+		assertEquals(2, g.getX(2), 0);
+		assertEquals(3, g.getY(3), 0);
+		assertEquals(5, g.length(), 1e-12);
+	}
+	
+	@Test
+	public void testCollinearPointsDropped(){
+		RouteGeometry g = RouteGeometry.of(route(0, 0, 1, 0, 2, 0, 3, 0, 3, 1, 3, 2)).simplify(0);
+		assertEquals(3, g.size());
+		assertEquals(3, g.getX(1), 0);
+		assertEquals(0, g.getY(1), 0);
+		assertEquals(5, g.length(), 1e-12);
+	}
+	
+	@Test
+	public void testTolerances(){
+		RouteGeometry g = RouteGeometry.of(route(0, 0, 5, 1, 10, 0, 15, 4, 20, 0));
+		assertEquals(5, g.simplify(0.5).size());
+		assertEquals(4, g.simplify(2).size());
+		assertEquals(3, g.simplify(3).size()); // the bump at (15, 4) is kept
+		assertEquals(2, g.simplify(5).size());
+		assertSame(g, g.simplify(0));
+		assertEquals(2, g.simplify(5).simplify(1).size());
+	}
+	
+	@Test
+	public void testSinglePoint(){
+		RouteGeometry g = RouteGeometry.of(new Route(new EndPoint(4, 5)));
+		assertEquals(1, g.size());
+		assertEquals(4, g.getX(0), 0);
+		assertEquals(0, g.length(), 0);
+		assertEquals(1, g.simplify(100).size());
+	}
+	
+	// every point dropped is within the tolerance of the simplified line, the ends
+	// are kept, and simplifying in steps matches simplifying at once
+	@Test
+	public void testRandomWalk(){
+		Random random = new Random(49);
+		double[] xy = new double[2000];
+		for(int i = 2; i < xy.length; i += 2){
+			xy[i] = xy[i - 2] + random.nextDouble() * 10 - 3;
+			xy[i + 1] = xy[i - 1] + random.nextDouble() * 10 - 5;
+		}
+		RouteGeometry full = RouteGeometry.of(route(xy));
+		for(double tolerance : new double[] {0, 1, 4, 16, 64}){
+			RouteGeometry g = full.simplify(tolerance);
+			assertEquals(full.getX(0), g.getX(0), 0);
+			assertEquals(full.getY(full.size() - 1), g.getY(g.size() - 1), 0);
+			int j = 0;
+			for(int i = 0; i < full.size(); i++){
+				if(j + 1 < g.size() && full.getX(i) == g.getX(j + 1) && full.getY(i) == g.getY(j + 1)){
+					j++;
+				} else if(full.getX(i) != g.getX(j) || full.getY(i) != g.getY(j)){
+					assertTrue(distance(full.getX(i), full.getY(i), g.getX(j), g.getY(j),
+							g.getX(j + 1), g.getY(j + 1)) <= tolerance + 1e-9);
+				}
+			}
+			assertEquals(g.size() - 1, j);
+			assertEquals(g.size(), full.simplify(tolerance / 2).simplify(tolerance).size());
+		}
+	}
+	
+	@Test
+	public void testCampusRoute(){
+		RouteModel model = new RouteModel();
+		Route r = model.findLeastCostPath("BGR", "PAB");
+		RouteGeometry g = RouteGeometry.of(r);
+		assertEquals(r.size() + 1, g.size());
+		RouteGeometry simple = g.simplify(RouteGeometry.DEFAULT_TOLERANCE);
+		assertTrue(simple.size() < g.size());
+		assertTrue(simple.length() <= g.length());
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeTolerance(){
+		RouteGeometry.of(route(0, 0, 1, 1)).simplify(-1);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullRoute(){
+		RouteGeometry.of((Route) null);
+	}
+}
@@ -1,142 +1,553 @@
-package route_finder.tests;
-import static org.junit.Assert.*;
-
-import graph.Edge;
-
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
-import route_finder.*;
-
-import org.junit.Test;
-
-public class RouteModelTest {
-	
-	public RouteModel model0;
-	public RouteModel model1;
-	public RouteModel model2;
-	public RouteModel model4;
-	public RouteModel model5;
-	
-	// test models that hold different graphs (these correspond to above fields):
-	// model0: graph with zero buildings, zero edges
-	// model1: graph with one building, zero edges
-	// model2: graph with two buildings, multiple edges
-	// model4: graph with four buildings, multiple edges
-	
-	EndPoint b1 = new Building(1, 1, "CSE", "Computer Science Building");
-	EndPoint b2 = new Building(2, 1, "MGH", "Mary Gates Hall");
-	EndPoint b3 = new Building(1, 2, "SUZ", "Suzallo");
-	EndPoint b4 = new Building(2 ,2, "DEN", "Denny Hall");
-	EndPoint b5 = new Building(1, 3, "PAC", "Paccar Hall");
-	
-	CampusEdge c1 = new CampusEdge(b1, b2, 1);
-	CampusEdge c2 = new CampusEdge(b1, b3, 2);
-	CampusEdge c3 = new CampusEdge(b1, b4, 7);
-	CampusEdge c4 = new CampusEdge(b2, b4, 2);
-	CampusEdge c5 = new CampusEdge(b4, b5, 1);
-	CampusEdge c6 = new CampusEdge(b3, b5, 12);
-	
-	public RouteModelTest(){
-		List<EndPoint> endPoints = new ArrayList<EndPoint>(); // accumulates endPoints
-		Set<Building> buildings = new HashSet<Building>(); // accumulates buildings
-		List<Edge> edges = new ArrayList<Edge>(); // accumulates CampusEdges
-		model0 = new RouteModel(new ArrayList<EndPoint>(), new ArrayList<Edge>(),
-				new HashSet<Building>());
-		endPoints.add(b1);
-		buildings.add((Building) b1);
-		model1 = new RouteModel(endPoints, new ArrayList<Edge>(), buildings);
-		endPoints.add(b2);
-		buildings.add((Building) b2);
-		edges.add(c1);
-		model2 = new RouteModel(endPoints, edges, buildings);
-		endPoints.add(b3);
-		buildings.add((Building) b3);
-		edges.add(c2);
-		endPoints.add(b4);
-		buildings.add((Building) b4);
-		edges.add(c3);
-		edges.add(c4);
-		model4 = new RouteModel(endPoints, edges, buildings);
-		endPoints.add(b5);
-		buildings.add((Building) b5);
-		edges.add(c5);
-		edges.add(c6);
-		model5 = new RouteModel(endPoints, edges, buildings);
-	} 
-	
-	// **************************************************************
-	// Test findLeastCostPath()
-	//***************************************************************
-	
-	// least cost path is one edge away (least cost path is also shortest)
-	@Test
-	public void testFindLeastCostPathOneEdge(){		
-		List<CampusEdge> m2 = new ArrayList<CampusEdge>();
-		m2.add(c1);
-		Route r2 = new Route(m2);
-		assertEquals(model2.findLeastCostPath("CSE", "MGH"), r2);
-	}
-	
-	// least cost path is 2 edges, a shorter (1 edge) path exist in graph (but is more costly)
-	@Test
-	public void testFindLeastCostPathTwoEdges(){
-		List<CampusEdge> m3 = new ArrayList<CampusEdge>();
-		m3.add(c1);
-		m3.add(c4);
-		Route r3 = new Route(m3);
-		assertEquals(model4.findLeastCostPath("CSE", "DEN"), r3);
-	}
-	
-	// least cost path is 3 edges, a shorter (2 edge) path exist in graph (but is more costly)
-	@Test
-	public void testFindLeastCostPathThreeEdges(){
-		List<CampusEdge> m = new ArrayList<CampusEdge>();
-		m.add(c1);
-		m.add(c4);
-		m.add(c5);
-		Route r = new Route(m);
-		assertEquals(model5.findLeastCostPath("CSE", "PAC"), r);
-	}
-	
-	// path does not exist between the two buildings (should return null)
-	@Test
-	public void testFindLeastCostPathWhenPathDNE(){
-		assertNull(model4.findLeastCostPath("MGH", "SUZ"));
-	}
-	
-	// path to self (should return a Route with no edges.  The start and end EndPoints 
-	// of the Route should be the same).
-	@Test
-	public void testFindLeastCostPathtoSelf(){
-		Route r4 = new Route(b2);
-		assertEquals(model4.findLeastCostPath("MGH", "MGH"), r4);
-	}
-		
-	// an exception should be thrown when the client passes a (short) building name
-	// which doesn't exist on campus
-	@Test(expected=IllegalArgumentException.class)
-	public void testExceptionWhenFirstBuildingDoesntExist(){
-		model4.findLeastCostPath("MGH", "PAA");
-	}
-	
-	// an exception should be thrown when the client passes a (short) building name
-	// which doesn't exist on campus
-	@Test(expected=IllegalArgumentException.class)
-	public void testExceptionWhenSecondBuildingDoesntExist(){
-		model4.findLeastCostPath("MGHAFD", "PAA");
-	}
-	
-	// **************************************************************
-	// Test containsBuilding()
-	//***************************************************************
-	
-	@Test
-	public void testContainsBuilding(){
-		assertTrue(model1.containsBuilding("CSE"));
-		assertTrue(model4.containsBuilding("DEN"));
-		assertTrue(model4.containsBuilding("SUZ"));
-	}
-}
+package route_finder.tests;
+import static org.junit.Assert.*;
+
+import graph.Edge;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import route_finder.*;
+
+import org.junit.Test;
+
+public class RouteModelTest {
+	
+	public RouteModel model0;
+	public RouteModel model1;
+	public RouteModel model2;
+	public RouteModel model4;
+	public RouteModel model5;
+	
+	// test models that hold different graphs (these correspond to above fields):
+	// model0: graph with zero buildings, zero edges
+	// model1: graph with one building, zero edges
+	// model2: graph with two buildings, multiple edges
+	// model4: graph with four buildings, multiple edges
+	
+	EndPoint b1 = new Building(1, 1, "CSE", "Computer Science Building");
+	EndPoint b2 = new Building(2, 1, "MGH", "Mary Gates Hall");
+	EndPoint b3 = new Building(1, 2, "SUZ", "Suzallo");
+	EndPoint b4 = new Building(2 ,2, "DEN", "Denny Hall");
+	EndPoint b5 = new Building(1, 3, "PAC", "Paccar Hall");
+	
+	CampusEdge c1 = new CampusEdge(b1, b2, 1);
+	CampusEdge c2 = new CampusEdge(b1, b3, 2);
+	CampusEdge c3 = new CampusEdge(b1, b4, 7);
+	CampusEdge c4 = new CampusEdge(b2, b4, 2);
+	CampusEdge c5 = new CampusEdge(b4, b5, 1);
+	CampusEdge c6 = new CampusEdge(b3, b5, 12);
+	
+	public RouteModelTest(){
+		List<EndPoint> endPoints = new ArrayList<EndPoint>(); // accumulates endPoints
+		Set<Building> buildings = new HashSet<Building>(); // accumulates buildings
+		List<Edge> edges = new ArrayList<Edge>(); // accumulates CampusEdges
+		model0 = new RouteModel(new ArrayList<EndPoint>(), new ArrayList<Edge>(),
+				new HashSet<Building>());
+		endPoints.add(b1);
+		buildings.add((Building) b1);
+		model1 = new RouteModel(endPoints, new ArrayList<Edge>(), buildings);
+		endPoints.add(b2);
+		buildings.add((Building) b2);
+		edges.add(c1);
+		model2 = new RouteModel(endPoints, edges, buildings);
+		endPoints.add(b3);
+		buildings.add((Building) b3);
+		edges.add(c2);
+		endPoints.add(b4);
+		buildings.add((Building) b4);
+		edges.add(c3);
+		edges.add(c4);
+		model4 = new RouteModel(endPoints, edges, buildings);
+		endPoints.add(b5);
+		buildings.add((Building) b5);
+		edges.add(c5);
+		edges.add(c6);
+		model5 = new RouteModel(endPoints, edges, buildings);
+	} 
+	
+	// **************************************************************
+	// Test findLeastCostPath()
+	//***************************************************************
+	
+	// least cost path is one edge away (least cost path is also shortest)
+	@Test
+	public void testFindLeastCostPathOneEdge(){		
+		List<CampusEdge> m2 = new ArrayList<CampusEdge>();
+		m2.add(c1);
+		Route r2 = new Route(m2);
+		assertEquals(model2.findLeastCostPath("CSE", "MGH"), r2);
+	}
+	
+	// least cost path is 2 edges, a shorter (1 edge) path exist in graph (but is more costly)
+	@Test
+	public void testFindLeastCostPathTwoEdges(){
+		List<CampusEdge> m3 = new ArrayList<CampusEdge>();
+		m3.add(c1);
+		m3.add(c4);
+		Route r3 = new Route(m3);
+		assertEquals(model4.findLeastCostPath("CSE", "DEN"), r3);
+	}
+	
+	// least cost path is 3 edges, a shorter (2 edge) path exist in graph (but is more costly)
+	@Test
+	public void testFindLeastCostPathThreeEdges(){
+		List<CampusEdge> m = new ArrayList<CampusEdge>();
+		m.add(c1);
+		m.add(c4);
+		m.add(c5);
+		Route r = new Route(m);
+		assertEquals(model5.findLeastCostPath("CSE", "PAC"), r);
+	}
+	
+	// path does not exist between the two buildings (should return null)
+	@Test
+	public void testFindLeastCostPathWhenPathDNE(){
+		assertNull(model4.findLeastCostPath("MGH", "SUZ"));
+	}
+	
+	// path to self (should return a Route with no edges.  The start and end EndPoints 
+	// of the Route should be the same).
+	@Test
+	public void testFindLeastCostPathtoSelf(){
+		Route r4 = new Route(b2);
+		assertEquals(model4.findLeastCostPath("MGH", "MGH"), r4);
+	}
+		
+	// an exception should be thrown when the client passes a (short) building name
+	// which doesn't exist on campus
+	@Test(expected=IllegalArgumentException.class)
+	public void testExceptionWhenFirstBuildingDoesntExist(){
+		model4.findLeastCostPath("MGH", "PAA");
+	}
+	
+	// an exception should be thrown when the client passes a (short) building name
+	// which doesn't exist on campus
+	@Test(expected=IllegalArgumentException.class)
+	public void testExceptionWhenSecondBuildingDoesntExist(){
+		model4.findLeastCostPath("MGHAFD", "PAA");
+	}
+	
+	// the k least cost routes are returned cheapest first
+	@Test
+	public void testFindLeastCostPathsOrderedByCost(){
+		List<CampusEdge> m1 = new ArrayList<CampusEdge>();
+		m1.add(c1);
+		m1.add(c4);
+		m1.add(c5);
+		List<CampusEdge> m2 = new ArrayList<CampusEdge>();
+		m2.add(c3);
+		m2.add(c5);
+		List<Route> routes = model5.findLeastCostPaths("CSE", "PAC", 2);
+		assertEquals(2, routes.size());
+		assertEquals(new Route(m1), routes.get(0));
+		assertEquals(new Route(m2), routes.get(1));
+	}
+	
+	// asking for more routes than exist returns every loopless route
+	@Test
+	public void testFindLeastCostPathsFewerThanK(){
+		List<Route> routes = model5.findLeastCostPaths("CSE", "PAC", 10);
+		assertEquals(3, routes.size());
+		assertEquals(14, routes.get(2).getCost(), 0.0);
+		assertEquals(model5.findLeastCostPath("CSE", "PAC"), routes.get(0));
+	}
+	
+	// no routes are returned when the destination can't be reached, and a single
+	// empty route is returned for a route to self
+	@Test
+	public void testFindLeastCostPathsNoRouteAndSelf(){
+		assertTrue(model4.findLeastCostPaths("MGH", "SUZ", 3).isEmpty());
+		List<Route> routes = model4.findLeastCostPaths("MGH", "MGH", 3);
+		assertEquals(1, routes.size());
+		assertEquals(new Route(b2), routes.get(0));
+	}
+	
+	// k must be at least one
+	@Test(expected=IllegalArgumentException.class)
+	public void testFindLeastCostPathsExceptionWhenKIsZero(){
+		model5.findLeastCostPaths("CSE", "PAC", 0);
+	}
+	
+	// the stops are visited in the cheapest order, not the order they are given in
+	@Test
+	public void testFindTourChoosesOrder(){
+		List<String> stops = new ArrayList<String>();
+		stops.add("DEN");
+		stops.add("MGH");
+		List<CampusEdge> m = new ArrayList<CampusEdge>();
+		m.add(c1);
+		m.add(c4);
+		m.add(c5);
+		assertEquals(new Route(m), model5.findTour("CSE", stops, "PAC"));
+	}
+	
+	// a tour with no stops is the least cost path
+	@Test
+	public void testFindTourNoStops(){
+		assertEquals(model5.findLeastCostPath("CSE", "PAC"),
+				model5.findTour("CSE", new ArrayList<String>(), "PAC"));
+	}
+	
+	// no tour exists when a stop can't be reached
+	@Test
+	public void testFindTourUnreachableStop(){
+		List<String> stops = new ArrayList<String>();
+		stops.add("SUZ");
+		assertNull(model4.findTour("MGH", stops, "DEN"));
+	}
+	
+	// no tour exists when every stop can be reached, but not one from another
+	@Test
+	public void testFindTourDisconnectedStops(){
+		Building s = new Building(0, 0, "S", "Start");
+		Building a = new Building(1, 1, "A", "A");
+		Building b = new Building(1, -1, "B", "B");
+		Building e = new Building(2, 0, "E", "End");
+		List<EndPoint> points = new ArrayList<EndPoint>();
+		Set<Building> names = new HashSet<Building>();
+		for(Building p : new Building[] {s, a, b, e}){
+			points.add(p);
+			names.add(p);
+		}
+		List<Edge> edges = new ArrayList<Edge>();
+		edges.add(new CampusEdge(s, a, 1));
+		edges.add(new CampusEdge(s, b, 1));
+		edges.add(new CampusEdge(a, e, 1));
+		edges.add(new CampusEdge(b, e, 1));
+		RouteModel model = new RouteModel(points, edges, names);
+		List<String> stops = new ArrayList<String>();
+		stops.add("A");
+		stops.add("B");
+		assertNull(model.findTour("S", stops, "E"));
+		stops.remove("B");
+		assertEquals(2, model.findTour("S", stops, "E").getCost(), 0.0);
+	}
+	
+	// an exception should be thrown when a stop doesn't exist on campus
+	@Test(expected=IllegalArgumentException.class)
+	public void testFindTourExceptionWhenStopDoesntExist(){
+		List<String> stops = new ArrayList<String>();
+		stops.add("PAA");
+		model5.findTour("CSE", stops, "PAC");
+	}
+	
+	// with more stops than can be ordered exactly, a tour along a line of buildings
+	// still visits them in order from one end to the other
+	@Test
+	public void testFindTourManyStops(){
+		List<EndPoint> line = new ArrayList<EndPoint>();
+		Set<Building> lineBuildings = new HashSet<Building>();
+		List<Edge> lineEdges = new ArrayList<Edge>();
+		for(int i = 0; i < 20; i++){
+			Building b = new Building(i, 0, "B" + i, "Building " + i);
+			line.add(b);
+			lineBuildings.add(b);
+			if(i > 0){
+				lineEdges.add(new CampusEdge(line.get(i - 1), b, 1));
+				lineEdges.add(new CampusEdge(b, line.get(i - 1), 1));
+			}
+		}
+		RouteModel lineModel = new RouteModel(line, lineEdges, lineBuildings);
+		List<String> stops = new ArrayList<String>();
+		for(int i = 0; i < 18; i++){
+			stops.add("B" + (1 + (i * 7) % 18)); // every middle building, shuffled
+		}
+		Route r = lineModel.findTour("B0", stops, "B19");
+		assertEquals(19, r.getCost(), 0.0);
+		assertEquals(19, r.getPaths().size());
+	}
+	
+	// the distance profile finds the same route as findLeastCostPath
+	@Test
+	public void testCostProfileDistance(){
+		CostProfile distance = model5.createCostProfile(CostProfile.DISTANCE);
+		assertEquals(model5.findLeastCostPath("CSE", "PAC"),
+				model5.findLeastCostPath("CSE", "PAC", distance));
+		assertNull(model4.findLeastCostPath("MGH", "SUZ",
+				model4.createCostProfile(CostProfile.DISTANCE)));
+	}
+	
+	// walkways that a profile doesn't allow are never used
+	@Test
+	public void testCostProfileAvoiding(){
+		List<CampusEdge> avoided = new ArrayList<CampusEdge>();
+		avoided.add(c4);
+		CostProfile profile = model5.createCostProfile(CostProfile.avoiding(avoided));
+		List<CampusEdge> m = new ArrayList<CampusEdge>();
+		m.add(c3);
+		m.add(c5);
+		assertEquals(new Route(m), model5.findLeastCostPath("CSE", "PAC", profile));
+		avoided.add(c3);
+		avoided.add(c6);
+		profile = model5.createCostProfile(CostProfile.avoiding(avoided));
+		assertNull(model5.findLeastCostPath("CSE", "PAC", profile));
+	}
+	
+	// the provided edge costs
+	@Test
+	public void testCostProfileEdgeCosts(){
+		CostProfile.EdgeCost penalized = CostProfile.penalizeLongerThan(1.5, 10);
+		assertEquals(1, penalized.cost(c1), 0.0);
+		assertEquals(20, penalized.cost(c4), 0.0);
+		assertEquals(3.5, CostProfile.walkingTime(2).cost(c3), 0.0);
+		CostProfile profile = model5.createCostProfile(penalized);
+		assertEquals(model5.findLeastCostPath("CSE", "PAC"),
+				model5.findLeastCostPath("CSE", "PAC", profile));
+	}
+	
+	// a profile can only be used with the map it was made for
+	@Test(expected=IllegalArgumentException.class)
+	public void testCostProfileFromDifferentMap(){
+		model5.findLeastCostPath("CSE", "MGH", model4.createCostProfile(CostProfile.walkingTime(4)));
+	}
+	
+	// costs must not be negative
+	@Test(expected=IllegalArgumentException.class)
+	public void testCostProfileNegativeCost(){
+		model5.createCostProfile(new CostProfile.EdgeCost() {
+			public double cost(CampusEdge edge) {
+				return -edge.getDistance();
+			}
+		});
+	}
+	
+	// which buildings can reach each other is known without searching
+	@Test
+	public void testCanReach(){
+		assertTrue(model4.canReach("CSE", "DEN"));
+		assertTrue(model4.canReach("MGH", "MGH"));
+		assertFalse(model4.canReach("MGH", "SUZ"));
+		assertFalse(model4.canReach("DEN", "CSE"));
+		assertTrue(model5.canReach("SUZ", "PAC"));
+	}
+	
+	// the report lists the building pairs with no route
+	@Test
+	public void testConnectivityReport(){
+		String report = model4.connectivityReport();
+		assertTrue(report.contains("nodes: 4"));
+		assertTrue(report.contains("MGH -> SUZ"));
+		assertFalse(report.contains("CSE -> DEN"));
+	}
+	
+	// **************************************************************
+	// Test shortestPathTree()
+	//***************************************************************
+	
+	// routes read off a tree are the least cost routes
+	@Test
+	public void testShortestPathTreeRoutes(){
+		String[] names = {"CSE", "MGH", "SUZ", "DEN", "PAC"};
+		EndPoint[] points = {b1, b2, b3, b4, b5};
+		for(int i = 0; i < names.length; i++){
+			Route[] expected = new Route[names.length];
+			for(int j = 0; j < names.length; j++){
+				expected[j] = model5.findLeastCostPath(names[i], names[j]);
+			}
+			ShortestPathTree tree = model5.shortestPathTree(names[i]);
+			assertEquals(points[i], tree.getStart());
+			for(int j = 0; j < names.length; j++){
+				assertEquals(expected[j], tree.routeTo(points[j]));
+				// findLeastCostPath now reads the route off the kept tree
+				assertEquals(expected[j], model5.findLeastCostPath(names[i], names[j]));
+				if(expected[j] != null){
+					assertEquals(expected[j].getCost(), tree.costTo(points[j]), 1e-9);
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testShortestPathTreeUnreachable(){
+		ShortestPathTree tree = model4.shortestPathTree("MGH");
+		assertFalse(tree.canReach(b3));
+		assertNull(tree.routeTo(b3));
+		assertEquals(Double.POSITIVE_INFINITY, tree.costTo(b3), 0);
+		assertTrue(tree.canReach(b2));
+		assertEquals(new Route(b2), tree.routeTo(b2));
+	}
+	
+	// trees are kept, and the least recently used one is dropped when too many are kept
+	@Test
+	public void testShortestPathTreeCache(){
+		ShortestPathTree tree = model5.shortestPathTree("CSE");
+		assertSame(tree, model5.shortestPathTree("CSE"));
+		assertSame(tree, model5.shortestPathTree("Computer Science Building"));
+		
+		RouteModel campus = new RouteModel();
+		List<EndPoint> starts = campus.endPointsWithin(1000, 1000, 1e6).subList(0, 33);
+		ShortestPathTree first = campus.shortestPathTree(starts.get(0));
+		ShortestPathTree second = campus.shortestPathTree(starts.get(1));
+		for(int i = 2; i < 32; i++){
+			campus.shortestPathTree(starts.get(i));
+		}
+		assertSame(first, campus.shortestPathTree(starts.get(0)));
+		campus.shortestPathTree(starts.get(32));
+		assertSame(first, campus.shortestPathTree(starts.get(0)));
+		assertNotSame(second, campus.shortestPathTree(starts.get(1)));
+	}
+	
+	// edgesTo gives the same edges as routeTo, one at a time
+	@Test
+	public void testShortestPathTreeEdgesTo(){
+		ShortestPathTree tree = model5.shortestPathTree("CSE");
+		Iterator<CampusEdge> edges = tree.edgesTo(b5);
+		for(CampusEdge e : tree.routeTo(b5)){
+			assertEquals(e, edges.next());
+		}
+		assertFalse(edges.hasNext());
+		assertFalse(tree.edgesTo(b1).hasNext());
+		assertNull(model4.shortestPathTree("MGH").edgesTo(b3));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testShortestPathTreeUnknownBuilding(){
+		model5.shortestPathTree("XYZ");
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testShortestPathTreeRouteToUnknownEndPoint(){
+		model4.shortestPathTree("CSE").routeTo(b5);
+	}
+	
+	// coordinates are snapped to the nearest EndPoints before routing
+	@Test
+	public void testFindLeastCostPathFromCoordinates(){
+		List<CampusEdge> m = new ArrayList<CampusEdge>();
+		m.add(c1);
+		m.add(c4);
+		m.add(c5);
+		Route r = new Route(m);
+		assertEquals(model5.findLeastCostPath(1.1, 0.9, 1.2, 3.3), r);
+		assertEquals(model5.findLeastCostPath(2.1, 1.1, 2.1, 1.1), new Route(b2));
+		assertNull(model0.findLeastCostPath(1, 1, 2, 2));
+	}
+	
+	@Test
+	public void testNearestEndPoint(){
+		assertEquals(b4, model5.nearestEndPoint(2.2, 2.4));
+		assertEquals(b1, model5.nearestEndPoint(-10, -10));
+		assertNull(model0.nearestEndPoint(0, 0));
+		assertEquals(3, model5.endPointsWithin(1, 1, 1).size()); // CSE, MGH, SUZ
+		assertEquals(1, model5.endPointsWithin(1, 1, .5).size());
+	}
+	
+	@Test
+	public void testWalkwaysIn(){
+		assertEquals(6, model5.walkwaysIn(0, 0, 3, 4).size());
+		assertEquals(0, model5.walkwaysIn(5, 5, 6, 6).size());
+		// only the edges reaching the top row of buildings (SUZ, DEN)
+		assertEquals(3, model4.walkwaysIn(0, 1.5, 3, 2.5).size());
+	}
+	
+	// **************************************************************
+	// Test landmark based (ALT) searching
+	//***************************************************************
+	
+	// ALT searches should find the same routes as Dijkstra's algorithm
+	@Test
+	public void testLandmarkSearchFindsSameRoutes(){
+		String[] names = {"CSE", "MGH", "SUZ", "DEN", "PAC"};
+		for(int count = 0; count <= 5; count++){
+			model5.useLandmarks(null);
+			Route[][] expected = new Route[names.length][names.length];
+			for(int i = 0; i < names.length; i++){
+				for(int j = 0; j < names.length; j++){
+					expected[i][j] = model5.findLeastCostPath(names[i], names[j]);
+				}
+			}
+			model5.useLandmarks(count, null);
+			for(int i = 0; i < names.length; i++){
+				for(int j = 0; j < names.length; j++){
+					assertEquals(expected[i][j], model5.findLeastCostPath(names[i], names[j]));
+				}
+			}
+		}
+	}
+	
+	// landmark tables are saved to and loaded from the cache file
+	@Test
+	public void testLandmarkCache() throws IOException {
+		File cache = File.createTempFile("landmarks", ".dat");
+		cache.delete();
+		try {
+			assertTrue(model5.useLandmarks(2, cache));
+			assertTrue(cache.exists());
+			LandmarkTable table = LandmarkTable.load(cache);
+			assertEquals(2, table.landmarkCount());
+			model5.useLandmarks(table);
+			assertEquals(3, model5.findLeastCostPath("CSE", "PAC").getPaths().size());
+			
+			// a table for a different map is recomputed rather than used
+			model4.useLandmarks(2, cache);
+			assertEquals(2, model4.findLeastCostPath("CSE", "DEN").getPaths().size());
+		} finally {
+			cache.delete();
+		}
+	}
+	
+	// a cache whose header claims a huge table is rejected before it is allocated
+	@Test
+	public void testLandmarkCacheCorruptHeader() throws IOException {
+		File cache = File.createTempFile("landmarks", ".dat");
+		cache.deleteOnExit();
+		DataOutputStream out = new DataOutputStream(new FileOutputStream(cache));
+		out.writeInt(0x4c4d524b); // magic
+		out.writeInt(1); // version
+		out.writeInt(Integer.MAX_VALUE); // node count
+		out.writeLong(0); // fingerprint
+		out.writeInt(Integer.MAX_VALUE); // landmark count
+		out.close();
+		try {
+			LandmarkTable.load(cache);
+			fail("loaded a corrupt table");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains("Corrupt"));
+		}
+		assertTrue(model5.useLandmarks(2, cache));
+		assertEquals(2, LandmarkTable.load(cache).landmarkCount());
+		assertEquals(3, model5.findLeastCostPath("CSE", "PAC").getPaths().size());
+	}
+	
+	// landmarks are used even when the cache file can't be written
+	@Test
+	public void testLandmarkCacheNotSaved() throws IOException {
+		File cache = new File(File.createTempFile("landmarks", ".dat").getPath(), "landmarks.dat");
+		cache.getParentFile().deleteOnExit();
+		assertFalse(model5.useLandmarks(2, cache));
+		assertFalse(cache.exists());
+		assertEquals(3, model5.findLeastCostPath("CSE", "PAC").getPaths().size());
+		assertTrue(model5.useLandmarks(2, null));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testLandmarkTableForDifferentMap() throws IOException {
+		File cache = File.createTempFile("landmarks", ".dat");
+		try {
+			cache.delete();
+			model4.useLandmarks(2, cache);
+			model5.useLandmarks(LandmarkTable.load(cache));
+		} finally {
+			cache.delete();
+		}
+	}
+	
+	// **************************************************************
+	// Test containsBuilding()
+	//***************************************************************
+	
+	@Test
+	public void testContainsBuilding(){
+		assertTrue(model1.containsBuilding("CSE"));
+		assertTrue(model4.containsBuilding("DEN"));
+		assertTrue(model4.containsBuilding("SUZ"));
+	}
+}
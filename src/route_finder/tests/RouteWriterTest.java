@@ -0,0 +1,249 @@
+package route_finder.tests;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import route_finder.*;
+
+public class RouteWriterTest {
+	EndPoint p1 = new EndPoint(0, 0);
+	EndPoint p2 = new EndPoint(3, 4);
+	EndPoint p3 = new EndPoint(0, 8);
+	CampusEdge c1 = new CampusEdge(p1, p2, 5);
+	CampusEdge c2 = new CampusEdge(p2, p3, 5.04);
+	
+	// Returns the route made of the given edges
+	private static Route route(CampusEdge... edges){
+		List<CampusEdge> list = new ArrayList<CampusEdge>();
+		for(CampusEdge e : edges){
+			list.add(e);
+		}
+		return new Route(list);
+	}
+	
+	@Test
+	public void testWriteRoute() throws IOException {
+		StringWriter out = new StringWriter();
+		RouteWriter writer = new RouteWriter(out);
+		writer.writeRoute("A", "C", route(c1, c2));
+		writer.flush();
+		assertEquals("Path from A to C:\n" +
+				"    Walk 5.0 feet SE to (3.00,4.00)\n" +
+				"    Walk 5.0 feet SW to (0.00,8.00)\n" +
+				"Total distance: 10.0 feet\n\n", out.toString());
+		assertEquals(1, writer.routeCount());
+		assertEquals(2, writer.edgeCount());
+	}
+	
+	@Test
+	public void testWriteMissingAndEmptyRoutes() throws IOException {
+		StringWriter out = new StringWriter();
+		RouteWriter writer = new RouteWriter(out);
+		writer.writeRoute("A", "B", (Route) null);
+		writer.writeRoute("A", "A", new Route(p1));
+		writer.close();
+		assertEquals("No route from A to B\n" +
+				"Path from A to A:\n" +
+				"Total distance: 0.0 feet\n\n", out.toString());
+		assertEquals(2, writer.routeCount());
+		assertEquals(0, writer.edgeCount());
+	}
+	
+	// routes can be written straight from an iterator, and are written in order
+	@Test
+	public void testWriteFromIterator() throws IOException {
+		StringWriter expected = new StringWriter();
+		RouteWriter a = new RouteWriter(expected);
+		StringWriter out = new StringWriter();
+		RouteWriter b = new RouteWriter(out);
+		for(int i = 0; i < 1000; i++){
+			Route r = i % 2 == 0 ? route(c1) : route(c1, c2);
+			a.writeRoute("S" + i, "D" + i, r);
+			b.writeRoute("S" + i, "D" + i, r.iterator());
+		}
+		a.close();
+		b.close();
+		assertEquals(expected.toString(), out.toString());
+		assertEquals(1500, b.edgeCount());
+	}
+	
+	// numbers are written exactly as String.format writes them
+	@Test
+	public void testNumbersMatchStringFormat() throws IOException {
+		Random random = new Random(441);
+		StringWriter out = new StringWriter();
+		RouteWriter writer = new RouteWriter(out);
+		StringBuilder expected = new StringBuilder();
+		for(int i = 0; i < 5000; i++){
+			// include values on and near halves, which round differently in binary
+			double scale = i % 3 == 0 ? 1000 : i % 3 == 1 ? 0.05 : 1e7;
+			EndPoint a = new EndPoint(random.nextDouble() * scale, random.nextDouble() * scale);
+			EndPoint b = i % 5 == 0 ? new EndPoint(i * 0.005, i * 0.125)
+					: new EndPoint(random.nextDouble() * scale, random.nextDouble() * scale);
+			double distance = i % 7 == 0 ? i * 0.05 : random.nextDouble() * scale;
+			CampusEdge e = new CampusEdge(a, b, distance);
+			writer.writeRoute("A", "B", route(e));
+			expected.append("Path from A to B:\n");
+			expected.append(String.format("    Walk %.1f feet %s to (%.2f,%.2f)\n",
+					distance, Direction.of(e), b.getX(), b.getY()));
+			expected.append(String.format("Total distance: %.1f feet\n\n", distance));
+		}
+		writer.flush();
+		assertEquals(expected.toString(), out.toString());
+	}
+	
+	// numbers half way between two outputs, at every magnitude, are written as
+	// String.format writes them
+	@Test
+	public void testHalvesMatchStringFormat() throws IOException {
+		Random random = new Random(442);
+		StringWriter out = new StringWriter();
+		RouteWriter writer = new RouteWriter(out, RouteWriter.Format.TSV);
+		StringBuilder expected = new StringBuilder("start\tdest\tstep\tfeet\tdirection\tx\ty\n");
+		for(int i = 0; i < 20000; i++){
+			double magnitude = Math.pow(10, random.nextInt(15));
+			double distance = ((long) (random.nextDouble() * magnitude) + 0.5) / 10;
+			double x = ((long) (random.nextDouble() * magnitude) + 0.5) / 100;
+			double y = -((long) (random.nextDouble() * magnitude) + 0.5) / 100;
+			if(i % 2 == 0){
+				x = Math.nextUp(x);
+				distance = Math.nextDown(distance);
+			}
+			CampusEdge e = new CampusEdge(new EndPoint(0, 0), new EndPoint(x, y), distance);
+			writer.writeRoute("A", "B", route(e));
+			expected.append(String.format("A\tB\t1\t%.1f\t%s\t%.2f\t%.2f\n",
+					distance, Direction.of(e), x, y));
+			expected.append(String.format("A\tB\ttotal\t%.1f\t\t\t\n", distance));
+		}
+		writer.flush();
+		assertEquals(expected.toString(), out.toString());
+	}
+	
+	@Test
+	public void testWriteTsv() throws IOException {
+		StringWriter out = new StringWriter();
+		RouteWriter writer = new RouteWriter(out, RouteWriter.Format.TSV);
+		writer.writeRoute("A", "C", route(c1, c2));
+		writer.writeRoute("A", "B", (Route) null);
+		writer.close();
+		assertEquals("start\tdest\tstep\tfeet\tdirection\tx\ty\n" +
+				"A\tC\t1\t5.0\tSE\t3.00\t4.00\n" +
+				"A\tC\t2\t5.0\tSW\t0.00\t8.00\n" +
+				"A\tC\ttotal\t10.0\t\t\t\n" +
+				"A\tB\tnone\t\t\t\t\n", out.toString());
+	}
+	
+	@Test
+	public void testWriteJson() throws IOException {
+		StringWriter out = new StringWriter();
+		RouteWriter writer = new RouteWriter(out, RouteWriter.Format.JSON);
+		writer.writeRoute("A", "C", route(c1, c2));
+		writer.writeRoute("\"Q\"\\", "B", (Route) null);
+		writer.writeRoute("A", "A", new Route(p1));
+		writer.close();
+		assertEquals("{\"start\":\"A\",\"dest\":\"C\",\"found\":true,\"steps\":[" +
+				"{\"feet\":5.0,\"direction\":\"SE\",\"x\":3.00,\"y\":4.00}," +
+				"{\"feet\":5.0,\"direction\":\"SW\",\"x\":0.00,\"y\":8.00}],\"feet\":10.0}\n" +
+				"{\"start\":\"\\\"Q\\\"\\\\\",\"dest\":\"B\",\"found\":false}\n" +
+				"{\"start\":\"A\",\"dest\":\"A\",\"found\":true,\"steps\":[],\"feet\":0.0}\n",
+				out.toString());
+	}
+	
+	@Test
+	public void testWriteGeoJson() throws IOException {
+		EndPoint p4 = new EndPoint(0, 8.5);
+		EndPoint p5 = new EndPoint(0, 20);
+		StringWriter out = new StringWriter();
+		RouteWriter writer = new RouteWriter(out, RouteWriter.Format.GEOJSON);
+		writer.writeRoute("A", "E", route(c1, c2, new CampusEdge(p3, p4, 0.5),
+				new CampusEdge(p4, p5, 11.5)));
+		writer.writeRoute("A", "B", (Route) null);
+		writer.writeRoute("A", "A", new Route(p2));
+		writer.writeError("Unknown building: X");
+		writer.close();
+		// (0, 8.5) is on the straight line from (0, 8) to (0, 20)
+		assertEquals("{\"type\":\"Feature\",\"properties\":{\"start\":\"A\",\"dest\":\"E\"," +
+				"\"found\":true,\"feet\":22.0},\"geometry\":{\"type\":\"LineString\"," +
+				"\"coordinates\":[[0.00,0.00],[3.00,4.00],[0.00,8.00],[0.00,20.00]]}}\n" +
+				"{\"type\":\"Feature\",\"properties\":{\"start\":\"A\",\"dest\":\"B\"," +
+				"\"found\":false},\"geometry\":null}\n" +
+				"{\"type\":\"Feature\",\"properties\":{\"start\":\"A\",\"dest\":\"A\"," +
+				"\"found\":true,\"feet\":0.0},\"geometry\":{\"type\":\"Point\"," +
+				"\"coordinates\":[3.00,4.00]}}\n" +
+				"{\"error\":\"Unknown building: X\"}\n", out.toString());
+		assertEquals(4, writer.edgeCount());
+		
+		// at a larger tolerance, the bend at (3, 4) is dropped as well
+		out = new StringWriter();
+		writer = new RouteWriter(out, RouteWriter.Format.GEOJSON, 5);
+		writer.writeRoute("A", "C", route(c1, c2));
+		writer.close();
+		assertTrue(out.toString().contains("\"coordinates\":[[0.00,0.00],[0.00,8.00]]"));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testBadTolerance(){
+		new RouteWriter(new StringWriter(), RouteWriter.Format.GEOJSON, -1);
+	}
+	
+	// RouteViewer merges edges in the same direction, and RouteWriter writes merged
+	// Instructions in each format
+	@Test
+	public void testMergedSteps() throws IOException {
+		EndPoint p4 = new EndPoint(-1, 10);
+		Route r = route(c1, c2, new CampusEdge(p3, p4, 2.5));
+		StringWriter out = new StringWriter();
+		new RouteViewer(out).displayRoute(r);
+		assertEquals("    Walk 5.0 feet SE to (3.00,4.00)\n" +
+				"    Walk 7.5 feet SW to (-1.00,10.00)\n\n", out.toString());
+		
+		out = new StringWriter();
+		RouteWriter writer = new RouteWriter(out, RouteWriter.Format.TSV);
+		writer.writeRoute("A", "D", Instructions.compile(r));
+		writer.writeRoute("A", "B", (Instructions) null);
+		writer.close();
+		assertEquals("start\tdest\tstep\tfeet\tdirection\tx\ty\n" +
+				"A\tD\t1\t5.0\tSE\t3.00\t4.00\n" +
+				"A\tD\t2\t7.5\tSW\t-1.00\t10.00\n" +
+				"A\tD\ttotal\t12.5\t\t\t\n" +
+				"A\tB\tnone\t\t\t\t\n", out.toString());
+		
+		out = new StringWriter();
+		writer = new RouteWriter(out, RouteWriter.Format.GEOJSON, 0);
+		writer.writeRoute("A", "A", Instructions.compile(new Route(p2)));
+		writer.close();
+		assertTrue(out.toString().contains("{\"type\":\"Point\",\"coordinates\":[3.00,4.00]}"));
+	}
+	
+	// RouteViewer prints the same steps as the TEXT format
+	@Test
+	public void testRouteViewer(){
+		StringWriter out = new StringWriter();
+		RouteViewer viewer = new RouteViewer(out);
+		viewer.displayRoute(route(c1, c2));
+		viewer.displayNotFoundMessage("XYZ");
+		assertEquals("    Walk 5.0 feet SE to (3.00,4.00)\n" +
+				"    Walk 5.0 feet SW to (0.00,8.00)\n\n" +
+				"Unknown building: XYZ\n", out.toString());
+	}
+	
+	@Test
+	public void testDirection(){
+		EndPoint o = new EndPoint(5, 5);
+		assertEquals(Direction.N, Direction.of(new CampusEdge(o, new EndPoint(5, 1), 1)));
+		assertEquals(Direction.NE, Direction.of(new CampusEdge(o, new EndPoint(6, 1), 1)));
+		assertEquals(Direction.NW, Direction.of(new CampusEdge(o, new EndPoint(4, 1), 1)));
+		assertEquals(Direction.S, Direction.of(new CampusEdge(o, new EndPoint(5, 9), 1)));
+		assertEquals(Direction.SE, Direction.of(new CampusEdge(o, new EndPoint(6, 5), 1)));
+		assertEquals(Direction.SW, Direction.of(new CampusEdge(o, new EndPoint(4, 9), 1)));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNullStream(){
+		new RouteWriter(null);
+	}
+}
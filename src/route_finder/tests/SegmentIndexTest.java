@@ -0,0 +1,73 @@
+package route_finder.tests;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import route_finder.*;
+
+public class SegmentIndexTest {
+	List<CampusEdge> edges;
+	SegmentIndex index;
+	
+	public SegmentIndexTest(){
+		// short random segments, plus a few long ones that span many cells
+		Random random = new Random(331);
+		edges = new ArrayList<CampusEdge>();
+		for(int i = 0; i < 400; i++){
+			double x = random.nextDouble() * 1000;
+			double y = random.nextDouble() * 1000;
+			EndPoint source = new EndPoint(x, y);
+			EndPoint target = new EndPoint(x + random.nextGaussian() * 20, y + random.nextGaussian() * 20);
+			edges.add(new CampusEdge(source, target, 1));
+		}
+		edges.add(new CampusEdge(new EndPoint(0, 0), new EndPoint(1000, 1000), 1));
+		edges.add(new CampusEdge(new EndPoint(1000, 0), new EndPoint(0, 1000), 1));
+		edges.add(new CampusEdge(new EndPoint(500, 500), new EndPoint(500, 500), 0));
+		index = new SegmentIndex(edges);
+	}
+	
+	@Test
+	public void testEmptyIndex(){
+		SegmentIndex empty = new SegmentIndex(new ArrayList<CampusEdge>());
+		assertEquals(0, empty.size());
+		assertTrue(empty.query(0, 0, 10, 10).isEmpty());
+	}
+	
+	@Test
+	public void testWholeAreaReturnsEveryEdgeOnce(){
+		List<CampusEdge> found = index.query(-100, -100, 1100, 1100);
+		assertEquals(edges.size(), found.size());
+		assertEquals(new HashSet<CampusEdge>(edges), new HashSet<CampusEdge>(found));
+	}
+	
+	@Test
+	public void testQueryMatchesLinearScan(){
+		Random random = new Random(332);
+		for(int i = 0; i < 100; i++){
+			double x0 = random.nextDouble() * 1000;
+			double y0 = random.nextDouble() * 1000;
+			double x1 = x0 + random.nextDouble() * 200;
+			double y1 = y0 + random.nextDouble() * 200;
+			Rectangle2D window = new Rectangle2D.Double(x0, y0, x1 - x0, y1 - y0);
+			HashSet<CampusEdge> expected = new HashSet<CampusEdge>();
+			for(CampusEdge e : edges){
+				if(window.intersectsLine(e.getSource().getX(), e.getSource().getY(),
+						e.getTarget().getX(), e.getTarget().getY())){
+					expected.add(e);
+				}
+			}
+			List<CampusEdge> found = index.query(x0, y0, x1, y1);
+			assertEquals(expected.size(), found.size());
+			assertEquals(expected, new HashSet<CampusEdge>(found));
+		}
+	}
+	
+	@Test
+	public void testQueryOutsideGrid(){
+		assertTrue(index.query(2000, 2000, 3000, 3000).isEmpty());
+		assertTrue(index.query(10, 10, 5, 5).isEmpty());
+	}
+}